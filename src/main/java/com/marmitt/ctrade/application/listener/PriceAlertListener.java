@@ -1,5 +1,6 @@
 package com.marmitt.ctrade.application.listener;
 
+import com.marmitt.ctrade.application.service.AlertNotificationDispatcher;
 import com.marmitt.ctrade.application.service.PriceAlertService;
 import com.marmitt.ctrade.domain.dto.PriceUpdateMessage;
 import com.marmitt.ctrade.domain.entity.PriceAlert;
@@ -16,6 +17,7 @@ import java.util.List;
 public class PriceAlertListener implements PriceUpdateListener {
     
     private final PriceAlertService priceAlertService;
+    private final AlertNotificationDispatcher notificationDispatcher;
     
     @Override
     public void onPriceUpdate(PriceUpdateMessage message) {
@@ -23,24 +25,16 @@ public class PriceAlertListener implements PriceUpdateListener {
         
         List<PriceAlert> triggeredAlerts = priceAlertService.checkAndTriggerAlerts(
             tradingPair, 
-            message.getPrice()
+            message.getPrice(),
+            message.getTimestamp()
         );
         
         if (!triggeredAlerts.isEmpty()) {
             log.info("Processed {} triggered alerts for {}", 
                     triggeredAlerts.size(), tradingPair);
             
-            // Aqui poderia enviar notificações (email, webhook, etc.)
-            triggeredAlerts.forEach(this::sendNotification);
+            // Entrega assíncrona: nunca adiciona latência ao processamento de ticks
+            triggeredAlerts.forEach(notificationDispatcher::enqueue);
         }
     }
-    
-    private void sendNotification(PriceAlert alert) {
-        // Placeholder para sistema de notificações
-        log.warn("🚨 PRICE ALERT: {} has {} {} (triggered at {})", 
-                alert.getTradingPair(),
-                alert.getAlertType() == PriceAlert.AlertType.ABOVE ? "exceeded" : "fallen below",
-                alert.getThreshold(),
-                alert.getTriggeredAt());
-    }
 }
\ No newline at end of file
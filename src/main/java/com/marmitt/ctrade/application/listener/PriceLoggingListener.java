@@ -20,6 +20,13 @@ public class PriceLoggingListener implements PriceUpdateListener {
     // Track previous prices for change detection
     private final Map<String, BigDecimal> previousPrices = new ConcurrentHashMap<>();
     
+    /**
+     * Esquece o último preço de um par que deixou de ser monitorado.
+     */
+    public void forget(String tradingPair) {
+        previousPrices.remove(tradingPair);
+    }
+    
     @Override
     public void onPriceUpdate(PriceUpdateMessage message) {
         String tradingPair = message.getTradingPair();
@@ -0,0 +1,38 @@
+package com.marmitt.ctrade.application.listener;
+
+import com.marmitt.ctrade.application.service.ExchangeQueryCache;
+import com.marmitt.ctrade.domain.dto.OrderUpdateMessage;
+import com.marmitt.ctrade.domain.dto.PriceUpdateMessage;
+import com.marmitt.ctrade.domain.listener.OrderUpdateListener;
+import com.marmitt.ctrade.domain.listener.PriceUpdateListener;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+/**
+ * Invalida as entradas do {@link ExchangeQueryCache} quando o WebSocket informa uma mudança.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class QueryCacheInvalidationListener implements OrderUpdateListener, PriceUpdateListener {
+    
+    private final ExchangeQueryCache exchangeQueryCache;
+    
+    @Override
+    public void onOrderUpdate(OrderUpdateMessage orderUpdate) {
+        if (orderUpdate == null || orderUpdate.getOrderId() == null) {
+            return;
+        }
+        exchangeQueryCache.invalidateOrderStatus(orderUpdate.getOrderId());
+        log.debug("Invalidated cached status for order {}", orderUpdate.getOrderId());
+    }
+    
+    @Override
+    public void onPriceUpdate(PriceUpdateMessage priceUpdate) {
+        if (priceUpdate == null || priceUpdate.getTradingPair() == null) {
+            return;
+        }
+        exchangeQueryCache.invalidatePrice(priceUpdate.getTradingPair());
+    }
+}
@@ -0,0 +1,69 @@
+package com.marmitt.ctrade.application.listener;
+
+import com.marmitt.ctrade.application.service.ExchangeQueryCache;
+import com.marmitt.ctrade.application.service.PriceAlertService;
+import com.marmitt.ctrade.application.service.PriceCacheService;
+import com.marmitt.ctrade.application.service.PriceMetricsService;
+import com.marmitt.ctrade.domain.event.TradingPairsChangedEvent;
+import com.marmitt.ctrade.domain.port.WebSocketPort;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Aplica a diferença de trading pairs ativos: assina os pares novos nos adapters WebSocket,
+ * cancela os removidos e libera o estado por par deles (cache de preços, métricas, janela
+ * dos alertas e último preço logado). O estado dos pares que continuam ativos não é tocado.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TradingPairLifecycleListener {
+
+    private final List<WebSocketPort> webSocketPorts;
+    private final PriceCacheService priceCacheService;
+    private final PriceMetricsService priceMetricsService;
+    private final PriceAlertService priceAlertService;
+    private final PriceLoggingListener priceLoggingListener;
+    private final ExchangeQueryCache exchangeQueryCache;
+
+    @EventListener
+    public void onTradingPairsChanged(TradingPairsChangedEvent event) {
+        for (String tradingPair : event.getRemoved()) {
+            webSocketPorts.forEach(port -> unsubscribe(port, tradingPair));
+            releaseState(tradingPair);
+        }
+        for (String tradingPair : event.getAdded()) {
+            webSocketPorts.forEach(port -> subscribe(port, tradingPair));
+        }
+        log.info("Applied trading pair change from {}: {} added, {} removed",
+                event.getOrigin(), event.getAdded().size(), event.getRemoved().size());
+    }
+
+    private void subscribe(WebSocketPort port, String tradingPair) {
+        try {
+            port.subscribeToPrice(tradingPair);
+        } catch (Exception e) {
+            log.error("Error subscribing {} on {}: {}", tradingPair, port.getClass().getSimpleName(), e.getMessage(), e);
+        }
+    }
+
+    private void unsubscribe(WebSocketPort port, String tradingPair) {
+        try {
+            port.unsubscribeFromPrice(tradingPair);
+        } catch (Exception e) {
+            log.error("Error unsubscribing {} on {}: {}", tradingPair, port.getClass().getSimpleName(), e.getMessage(), e);
+        }
+    }
+
+    private void releaseState(String tradingPair) {
+        priceCacheService.evict(tradingPair);
+        priceMetricsService.resetMetrics(tradingPair);
+        priceAlertService.releaseWindowState(tradingPair);
+        priceLoggingListener.forget(tradingPair);
+        exchangeQueryCache.invalidatePrice(tradingPair);
+    }
+}
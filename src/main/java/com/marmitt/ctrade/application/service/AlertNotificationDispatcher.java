@@ -0,0 +1,309 @@
+package com.marmitt.ctrade.application.service;
+
+import com.marmitt.ctrade.domain.dto.AlertNotificationBatch;
+import com.marmitt.ctrade.domain.entity.PriceAlert;
+import com.marmitt.ctrade.domain.port.NotificationSink;
+import com.marmitt.ctrade.infrastructure.config.NotificationProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Despacha notificações de alertas de forma assíncrona.
+ *
+ * A thread de ticks apenas enfileira o alerta (offer não bloqueante em fila limitada).
+ * Uma thread dedicada coalesce os alertas por alvo dentro da janela configurada e
+ * entrega os lotes para cada {@link NotificationSink} em um pool separado, com
+ * retentativas em backoff exponencial e dead-letter após esgotar as tentativas.
+ *
+ * As retentativas agendadas são limitadas; acima do limite, a entrega vai direto para o
+ * dead-letter. No desligamento, as retentativas que não chegaram a rodar também vão para
+ * o dead-letter em vez de sumirem com a fila do executor.
+ */
+@Service
+@Slf4j
+public class AlertNotificationDispatcher {
+
+    private static final long POLL_TIMEOUT_MILLIS = 200;
+
+    private final NotificationProperties properties;
+    private final List<NotificationSink> sinks;
+    private final BlockingQueue<PriceAlert> queue;
+    private final ScheduledThreadPoolExecutor deliveryExecutor;
+    private final ConcurrentLinkedDeque<DeadLetter> deadLetters = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger deadLetterCount = new AtomicInteger(0);
+    private final Set<PendingRetry> pendingRetries = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong enqueued = new AtomicLong(0);
+    private final AtomicLong dropped = new AtomicLong(0);
+    private final AtomicLong batchesDelivered = new AtomicLong(0);
+    private final AtomicLong retries = new AtomicLong(0);
+    private final AtomicLong retriesRejected = new AtomicLong(0);
+    private final AtomicLong deadLettered = new AtomicLong(0);
+
+    private volatile boolean running;
+    private Thread dispatcherThread;
+
+    public AlertNotificationDispatcher(NotificationProperties properties, List<NotificationSink> sinks) {
+        this.properties = properties;
+        this.sinks = List.copyOf(sinks);
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+
+        AtomicInteger threadCounter = new AtomicInteger(0);
+        this.deliveryExecutor = new ScheduledThreadPoolExecutor(properties.getDeliveryThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "alert-notification-delivery-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.deliveryExecutor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        dispatcherThread = new Thread(this::runDispatchLoop, "alert-notification-dispatcher");
+        dispatcherThread.setDaemon(true);
+        dispatcherThread.start();
+        log.info("Alert notification dispatcher started with {} sinks: {}",
+                sinks.size(), sinks.stream().map(NotificationSink::getName).toList());
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        try {
+            if (dispatcherThread != null) {
+                dispatcherThread.join(properties.getCoalesceWindow().toMillis() + POLL_TIMEOUT_MILLIS * 5);
+            }
+            deliveryExecutor.shutdown();
+            if (!deliveryExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
+                deliveryExecutor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            deliveryExecutor.shutdownNow();
+        }
+        int flushedRetries = flushPendingRetries();
+        log.info("Alert notification dispatcher stopped. Pending alerts discarded: {}, pending retries moved to dead-letter: {}",
+                queue.size(), flushedRetries);
+    }
+
+    /**
+     * Enfileira um alerta disparado. Nunca bloqueia a thread chamadora;
+     * se a fila estiver cheia, o alerta é descartado e contabilizado.
+     */
+    public boolean enqueue(PriceAlert alert) {
+        if (queue.offer(alert)) {
+            enqueued.incrementAndGet();
+            return true;
+        }
+
+        dropped.incrementAndGet();
+        log.warn("Notification queue full ({}), dropping alert {}", properties.getQueueCapacity(), alert.getId());
+        return false;
+    }
+
+    public List<DeadLetter> getDeadLetters() {
+        return List.copyOf(deadLetters);
+    }
+
+    public NotificationStats getStats() {
+        return new NotificationStats(
+            enqueued.get(),
+            dropped.get(),
+            batchesDelivered.get(),
+            retries.get(),
+            retriesRejected.get(),
+            pendingRetries.size(),
+            deadLettered.get(),
+            queue.size()
+        );
+    }
+
+    private void runDispatchLoop() {
+        List<PriceAlert> buffer = new ArrayList<>();
+
+        while (running || !queue.isEmpty()) {
+            try {
+                PriceAlert first = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+
+                buffer.add(first);
+                collectWithinWindow(buffer);
+                dispatch(buffer);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                log.error("Unexpected error in notification dispatch loop: {}", e.getMessage(), e);
+            } finally {
+                buffer.clear();
+            }
+        }
+    }
+
+    private void collectWithinWindow(List<PriceAlert> buffer) throws InterruptedException {
+        long deadline = System.nanoTime() + properties.getCoalesceWindow().toNanos();
+
+        while (buffer.size() < properties.getMaxBatchSize()) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                break;
+            }
+
+            PriceAlert next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            buffer.add(next);
+        }
+    }
+
+    private void dispatch(List<PriceAlert> buffer) {
+        Map<String, List<PriceAlert>> alertsByTarget = new LinkedHashMap<>();
+        for (PriceAlert alert : buffer) {
+            alertsByTarget.computeIfAbsent(alert.getTradingPair(), k -> new ArrayList<>()).add(alert);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (Map.Entry<String, List<PriceAlert>> entry : alertsByTarget.entrySet()) {
+            AlertNotificationBatch batch = new AlertNotificationBatch(entry.getKey(), List.copyOf(entry.getValue()), now);
+            for (NotificationSink sink : sinks) {
+                deliveryExecutor.execute(() -> deliver(sink, batch, 1));
+            }
+        }
+
+        log.debug("Dispatched {} alerts in {} batches to {} sinks", buffer.size(), alertsByTarget.size(), sinks.size());
+    }
+
+    private void deliver(NotificationSink sink, AlertNotificationBatch batch, int attempt) {
+        try {
+            sink.send(batch);
+            batchesDelivered.incrementAndGet();
+        } catch (Exception e) {
+            if (attempt >= properties.getMaxAttempts() || deliveryExecutor.isShutdown()
+                    || !scheduleRetry(sink, batch, attempt, e)) {
+                deadLetter(sink, batch, attempt, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Agenda a próxima tentativa, se houver espaço entre as retentativas pendentes.
+     *
+     * @return false quando a retentativa não foi agendada e a entrega deve ir para o dead-letter
+     */
+    private boolean scheduleRetry(NotificationSink sink, AlertNotificationBatch batch, int attempt, Exception error) {
+        PendingRetry retry = new PendingRetry(sink, batch, attempt + 1);
+        synchronized (pendingRetries) {
+            if (pendingRetries.size() >= properties.getMaxPendingRetries()) {
+                retriesRejected.incrementAndGet();
+                log.warn("Notification retry queue full ({}), not retrying {} on sink {}",
+                        properties.getMaxPendingRetries(), batch.target(), sink.getName());
+                return false;
+            }
+            pendingRetries.add(retry);
+        }
+        Duration backoff = calculateBackoff(attempt);
+        try {
+            deliveryExecutor.schedule(() -> {
+                // Quem remove primeiro é dono da entrega: a retentativa ou o flush do desligamento
+                if (pendingRetries.remove(retry)) {
+                    deliver(sink, batch, retry.attempt);
+                }
+            }, backoff.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException rejected) {
+            pendingRetries.remove(retry);
+            return false;
+        }
+
+        retries.incrementAndGet();
+        log.warn("Notification sink {} failed for {} (attempt {}/{}), retrying in {}: {}",
+                sink.getName(), batch.target(), attempt, properties.getMaxAttempts(), backoff, error.getMessage());
+        return true;
+    }
+
+    private int flushPendingRetries() {
+        int flushed = 0;
+        for (PendingRetry retry : pendingRetries) {
+            if (pendingRetries.remove(retry)) {
+                deadLetter(retry.sink, retry.batch, retry.attempt - 1, "Dispatcher stopped before retry");
+                flushed++;
+            }
+        }
+        return flushed;
+    }
+
+    private Duration calculateBackoff(int attempt) {
+        long multiplier = 1L << Math.min(attempt - 1, 20);
+        Duration backoff = properties.getInitialBackoff().multipliedBy(multiplier);
+        return backoff.compareTo(properties.getMaxBackoff()) > 0 ? properties.getMaxBackoff() : backoff;
+    }
+
+    private void deadLetter(NotificationSink sink, AlertNotificationBatch batch, int attempts, String error) {
+        deadLetters.addLast(new DeadLetter(sink.getName(), batch, error, LocalDateTime.now()));
+        deadLettered.incrementAndGet();
+
+        // Mantém o dead-letter limitado, descartando os mais antigos
+        if (deadLetterCount.incrementAndGet() > properties.getDeadLetterCapacity()) {
+            deadLetters.pollFirst();
+            deadLetterCount.decrementAndGet();
+        }
+
+        log.error("Notification for {} moved to dead-letter after {} attempts on sink {}: {}",
+                batch.target(), attempts, sink.getName(), error);
+    }
+
+    /**
+     * Retentativa agendada e ainda não executada. Comparada por identidade: duas falhas
+     * do mesmo lote no mesmo sink são retentativas distintas.
+     */
+    private static final class PendingRetry {
+        private final NotificationSink sink;
+        private final AlertNotificationBatch batch;
+        private final int attempt;
+
+        private PendingRetry(NotificationSink sink, AlertNotificationBatch batch, int attempt) {
+            this.sink = sink;
+            this.batch = batch;
+            this.attempt = attempt;
+        }
+    }
+
+    public record DeadLetter(String sinkName, AlertNotificationBatch batch, String error, LocalDateTime failedAt) {
+    }
+
+    public record NotificationStats(
+        long enqueued,
+        long dropped,
+        long batchesDelivered,
+        long retries,
+        long retriesRejected,
+        int pendingRetries,
+        long deadLettered,
+        int queueSize
+    ) {}
+}
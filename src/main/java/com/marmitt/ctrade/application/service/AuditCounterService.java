@@ -0,0 +1,309 @@
+package com.marmitt.ctrade.application.service;
+
+import com.marmitt.ctrade.domain.entity.TradingAuditLog;
+import com.marmitt.ctrade.domain.listener.AuditLogWriteListener;
+import com.marmitt.ctrade.infrastructure.config.AuditCounterProperties;
+import com.marmitt.ctrade.infrastructure.repository.TradingAuditLogRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contadores de auditoria por tipo de ação e status, mantidos em memória.
+ *
+ * São reconstruídos a partir da tabela na inicialização e depois incrementados a cada lote
+ * gravado (após o commit), então consultar as taxas de erro não toca o banco. Os totais
+ * refletem o que está na tabela: a retenção desconta o que expurga ou move para o arquivo
+ * morto, e uma reconstrução chega aos mesmos números. Além dos
+ * totais, guarda contagens por minuto em um anel que cobre
+ * {@code trading.audit.counters.bucket-retention-minutes}; buckets maiores são agregados
+ * na leitura.
+ */
+@Service
+@Slf4j
+public class AuditCounterService implements AuditLogWriteListener {
+
+    private static final TradingAuditLog.ActionType[] ACTION_TYPES = TradingAuditLog.ActionType.values();
+    private static final TradingAuditLog.Status[] STATUSES = TradingAuditLog.Status.values();
+
+    /** Coluna extra para registros sem status. */
+    private static final int STATUS_SLOTS = STATUSES.length + 1;
+
+    private final TradingAuditLogRepository repository;
+    private final int retentionMinutes;
+    private final Clock clock;
+
+    private final LongAdder[][] totals = new LongAdder[ACTION_TYPES.length][STATUS_SLOTS];
+    private final MinuteBucket[] buckets;
+
+    @Autowired
+    public AuditCounterService(TradingAuditLogRepository repository, AuditCounterProperties properties) {
+        this(repository, properties.getBucketRetentionMinutes(), Clock.systemDefaultZone());
+    }
+
+    AuditCounterService(TradingAuditLogRepository repository, int retentionMinutes, Clock clock) {
+        if (retentionMinutes <= 0) {
+            throw new IllegalArgumentException("Audit counter bucket retention must be positive");
+        }
+        this.repository = repository;
+        this.retentionMinutes = retentionMinutes;
+        this.clock = clock;
+
+        for (LongAdder[] row : totals) {
+            for (int i = 0; i < row.length; i++) {
+                row[i] = new LongAdder();
+            }
+        }
+        this.buckets = new MinuteBucket[retentionMinutes];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new MinuteBucket();
+        }
+    }
+
+    /**
+     * Carrega os contadores a partir da tabela. Roda antes de qualquer escrita, pois o
+     * inserter de auditoria depende deste bean.
+     */
+    @PostConstruct
+    public void rebuild() {
+        long start = System.nanoTime();
+
+        for (Object[] row : repository.countByActionTypeAndStatus()) {
+            TradingAuditLog.ActionType actionType = (TradingAuditLog.ActionType) row[0];
+            TradingAuditLog.Status status = (TradingAuditLog.Status) row[1];
+            totals[actionType.ordinal()][statusSlot(status)].add(((Number) row[2]).longValue());
+        }
+
+        long currentMinute = currentMinute();
+        LocalDateTime since = toLocalDateTime(currentMinute - retentionMinutes + 1);
+        for (Object[] row : repository.countByActionTypeAndStatusPerMinute(since)) {
+            TradingAuditLog.ActionType actionType = TradingAuditLog.ActionType.valueOf((String) row[0]);
+            TradingAuditLog.Status status = row[1] != null ? TradingAuditLog.Status.valueOf((String) row[1]) : null;
+            addToBucket(toEpochMinute(toLocalDateTime(row[2])), currentMinute,
+                    actionType.ordinal(), statusSlot(status), ((Number) row[3]).longValue());
+        }
+
+        log.info("Audit counters rebuilt from database in {} ms ({} records)",
+                (System.nanoTime() - start) / 1_000_000, overall().total());
+    }
+
+    @Override
+    public void onAuditLogsPersisted(List<TradingAuditLog> auditLogs) {
+        long currentMinute = currentMinute();
+        for (TradingAuditLog auditLog : auditLogs) {
+            if (auditLog.getActionType() == null) {
+                continue;
+            }
+            int action = auditLog.getActionType().ordinal();
+            int status = statusSlot(auditLog.getStatus());
+            totals[action][status].increment();
+
+            if (auditLog.getCreatedAt() != null) {
+                addToBucket(toEpochMinute(auditLog.getCreatedAt()), currentMinute, action, status, 1);
+            }
+        }
+    }
+
+    /**
+     * Desconta registros apagados da tabela pela retenção. Só os totais mudam: os buckets
+     * contam o que foi gravado em cada minuto.
+     */
+    public void onAuditLogsDeleted(TradingAuditLog.ActionType actionType, TradingAuditLog.Status status, long count) {
+        totals[actionType.ordinal()][statusSlot(status)].add(-count);
+    }
+
+    /**
+     * @param bucketMinutes tamanho dos buckets em minutos; null omite a série temporal
+     * @param since início da série; padrão é o início da janela retida
+     */
+    public AuditCounterSnapshot getSnapshot(Integer bucketMinutes, LocalDateTime since) {
+        Map<TradingAuditLog.ActionType, ActionCounters> byAction = new EnumMap<>(TradingAuditLog.ActionType.class);
+        for (TradingAuditLog.ActionType actionType : ACTION_TYPES) {
+            long[] counts = new long[STATUS_SLOTS];
+            LongAdder[] row = totals[actionType.ordinal()];
+            for (int i = 0; i < STATUS_SLOTS; i++) {
+                counts[i] = row[i].sum();
+            }
+            byAction.put(actionType, ActionCounters.of(counts));
+        }
+
+        List<AuditCounterBucket> series = bucketMinutes != null ? series(bucketMinutes, since) : List.of();
+        return new AuditCounterSnapshot(overall(byAction), byAction, bucketMinutes, series);
+    }
+
+    private List<AuditCounterBucket> series(int bucketMinutes, LocalDateTime since) {
+        if (bucketMinutes <= 0 || bucketMinutes > retentionMinutes) {
+            throw new IllegalArgumentException("Bucket size must be between 1 and " + retentionMinutes + " minutes");
+        }
+
+        long currentMinute = currentMinute();
+        long oldestMinute = currentMinute - retentionMinutes + 1;
+        long fromMinute = oldestMinute;
+        if (since != null) {
+            fromMinute = toEpochMinute(since);
+            if (fromMinute < oldestMinute || fromMinute > currentMinute) {
+                throw new IllegalArgumentException("Audit counter buckets are only kept for the last "
+                        + retentionMinutes + " minutes");
+            }
+        }
+
+        // Alinha ao múltiplo do tamanho do bucket para que as fronteiras não dependam de "since"
+        long firstBucket = Math.floorDiv(fromMinute, bucketMinutes) * bucketMinutes;
+        List<AuditCounterBucket> series = new ArrayList<>();
+        for (long bucketStart = firstBucket; bucketStart <= currentMinute; bucketStart += bucketMinutes) {
+            long[][] counts = new long[ACTION_TYPES.length][STATUS_SLOTS];
+            long bucketEnd = Math.min(bucketStart + bucketMinutes - 1, currentMinute);
+            for (long minute = Math.max(bucketStart, fromMinute); minute <= bucketEnd; minute++) {
+                buckets[slotOf(minute)].addTo(minute, counts);
+            }
+
+            Map<TradingAuditLog.ActionType, ActionCounters> byAction = new EnumMap<>(TradingAuditLog.ActionType.class);
+            for (TradingAuditLog.ActionType actionType : ACTION_TYPES) {
+                ActionCounters counters = ActionCounters.of(counts[actionType.ordinal()]);
+                if (counters.total() > 0) {
+                    byAction.put(actionType, counters);
+                }
+            }
+            series.add(new AuditCounterBucket(toLocalDateTime(bucketStart), overall(byAction), byAction));
+        }
+        return series;
+    }
+
+    private void addToBucket(long minute, long currentMinute, int action, int status, long count) {
+        // Registros fora da janela (ou com relógio adiantado) só entram nos totais
+        if (minute <= currentMinute - retentionMinutes || minute > currentMinute + 1) {
+            return;
+        }
+        buckets[slotOf(minute)].add(minute, action, status, count);
+    }
+
+    private ActionCounters overall() {
+        long[] counts = new long[STATUS_SLOTS];
+        for (LongAdder[] row : totals) {
+            for (int i = 0; i < STATUS_SLOTS; i++) {
+                counts[i] += row[i].sum();
+            }
+        }
+        return ActionCounters.of(counts);
+    }
+
+    private static ActionCounters overall(Map<TradingAuditLog.ActionType, ActionCounters> byAction) {
+        long success = 0;
+        long error = 0;
+        long validationError = 0;
+        long total = 0;
+        for (ActionCounters counters : byAction.values()) {
+            success += counters.success();
+            error += counters.error();
+            validationError += counters.validationError();
+            total += counters.total();
+        }
+        return new ActionCounters(success, error, validationError, total, errorRate(error, total));
+    }
+
+    private int slotOf(long minute) {
+        return (int) Math.floorMod(minute, (long) retentionMinutes);
+    }
+
+    private long currentMinute() {
+        return Math.floorDiv(clock.millis(), 60_000L);
+    }
+
+    private long toEpochMinute(LocalDateTime dateTime) {
+        return Math.floorDiv(dateTime.atZone(clock.getZone()).toEpochSecond(), 60L);
+    }
+
+    private LocalDateTime toLocalDateTime(long epochMinute) {
+        return LocalDateTime.ofInstant(Instant.ofEpochSecond(epochMinute * 60), clock.getZone());
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        return (LocalDateTime) value;
+    }
+
+    private static int statusSlot(TradingAuditLog.Status status) {
+        return status != null ? status.ordinal() : STATUSES.length;
+    }
+
+    private static double errorRate(long error, long total) {
+        return total == 0 ? 0.0 : error / (double) total;
+    }
+
+    /**
+     * Contagens de um minuto. O slot é reaproveitado quando o anel dá a volta.
+     */
+    private static final class MinuteBucket {
+
+        private long minute = Long.MIN_VALUE;
+        private final long[][] counts = new long[ACTION_TYPES.length][STATUS_SLOTS];
+
+        private synchronized void add(long targetMinute, int action, int status, long count) {
+            if (targetMinute < minute) {
+                return;
+            }
+            if (targetMinute > minute) {
+                for (long[] row : counts) {
+                    Arrays.fill(row, 0);
+                }
+                minute = targetMinute;
+            }
+            counts[action][status] += count;
+        }
+
+        private synchronized void addTo(long targetMinute, long[][] target) {
+            if (targetMinute != minute) {
+                return;
+            }
+            for (int action = 0; action < counts.length; action++) {
+                for (int status = 0; status < STATUS_SLOTS; status++) {
+                    target[action][status] += counts[action][status];
+                }
+            }
+        }
+    }
+
+    public record ActionCounters(long success, long error, long validationError, long total, double errorRate) {
+
+        private static ActionCounters of(long[] counts) {
+            long total = 0;
+            for (long count : counts) {
+                total += count;
+            }
+            long error = counts[TradingAuditLog.Status.ERROR.ordinal()];
+            return new ActionCounters(
+                    counts[TradingAuditLog.Status.SUCCESS.ordinal()],
+                    error,
+                    counts[TradingAuditLog.Status.VALIDATION_ERROR.ordinal()],
+                    total,
+                    errorRate(error, total));
+        }
+    }
+
+    public record AuditCounterBucket(
+        LocalDateTime start,
+        ActionCounters overall,
+        Map<TradingAuditLog.ActionType, ActionCounters> byActionType
+    ) {}
+
+    public record AuditCounterSnapshot(
+        ActionCounters overall,
+        Map<TradingAuditLog.ActionType, ActionCounters> byActionType,
+        Integer bucketMinutes,
+        List<AuditCounterBucket> buckets
+    ) {}
+}
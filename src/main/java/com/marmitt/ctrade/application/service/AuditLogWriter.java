@@ -0,0 +1,299 @@
+package com.marmitt.ctrade.application.service;
+
+import com.marmitt.ctrade.domain.entity.TradingAuditLog;
+import com.marmitt.ctrade.domain.port.AuditLogSink;
+import com.marmitt.ctrade.infrastructure.audit.AuditSpillStore;
+import com.marmitt.ctrade.infrastructure.config.AuditWriterProperties;
+import com.marmitt.ctrade.infrastructure.repository.JdbcAuditLogBatchInserter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Escreve os registros de auditoria de forma assíncrona e em lote.
+ *
+ * A thread chamadora apenas entrega o registro a uma fila limitada; uma thread dedicada
+ * agrupa até {@code flush-size} registros ou o que chegar dentro de {@code flush-interval}
+ * e os insere via JDBC batch em uma única transação. Com a fila cheia, a política de
+ * overflow decide entre bloquear a chamadora ou gravar o registro em disco. Lotes cuja
+ * escrita falha também vão para o disco e são reinseridos quando a fila esvazia. No
+ * desligamento a fila é drenada antes de a thread terminar.
+ *
+ * Alternativa ao journal de auditoria, ativada com {@code trading.audit.sink=QUEUE}.
+ */
+@Service
+@ConditionalOnProperty(name = "trading.audit.sink", havingValue = "QUEUE")
+@Slf4j
+public class AuditLogWriter implements AuditLogSink {
+
+    private static final long REPLAY_RETRY_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    private final AuditWriterProperties properties;
+    private final JdbcAuditLogBatchInserter inserter;
+    private final AuditSpillStore spillStore;
+    private final BlockingQueue<TradingAuditLog> queue;
+    private final ConcurrentLinkedQueue<CompletableFuture<Void>> flushRequests = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean spillPending = new AtomicBoolean(true);
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder blocked = new LongAdder();
+    private final LongAdder spilled = new LongAdder();
+    private final LongAdder replayed = new LongAdder();
+    private final LongAdder failedBatches = new LongAdder();
+
+    private volatile boolean running;
+    private Thread writerThread;
+    private long nextReplayAttemptNanos;
+
+    public AuditLogWriter(AuditWriterProperties properties, JdbcAuditLogBatchInserter inserter, AuditSpillStore spillStore) {
+        this.properties = properties;
+        this.inserter = inserter;
+        this.spillStore = spillStore;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.nextReplayAttemptNanos = System.nanoTime();
+    }
+
+    @PostConstruct
+    public void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        writerThread = new Thread(this::runWriteLoop, "audit-log-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+        log.info("Audit log writer started: flush size {}, flush interval {}, overflow policy {}",
+                properties.getFlushSize(), properties.getFlushInterval(), properties.getOverflowPolicy());
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        try {
+            if (writerThread != null) {
+                writerThread.join(properties.getShutdownTimeout().toMillis());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // Se o banco não respondeu a tempo, o que sobrou na fila vai para o disco
+        List<TradingAuditLog> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            spill(remaining);
+            log.warn("Audit log writer stopped with {} pending logs, spilled to disk", remaining.size());
+        }
+        log.info("Audit log writer stopped. Written: {}, spilled: {}", written.sum(), spilled.sum());
+    }
+
+    @Override
+    public void submit(TradingAuditLog auditLog) {
+        submitted.increment();
+        if (!running) {
+            spill(List.of(auditLog));
+            return;
+        }
+        if (queue.offer(auditLog)) {
+            return;
+        }
+
+        if (properties.getOverflowPolicy() == AuditWriterProperties.OverflowPolicy.SPILL) {
+            spill(List.of(auditLog));
+            return;
+        }
+
+        blocked.increment();
+        try {
+            queue.put(auditLog);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            spill(List.of(auditLog));
+        }
+    }
+
+    @Override
+    public void submitAll(List<TradingAuditLog> auditLogs) {
+        auditLogs.forEach(this::submit);
+    }
+
+    /**
+     * Aguarda até que todos os registros entregues antes da chamada tenham sido escritos
+     * (no banco ou, em caso de falha, no disco).
+     *
+     * @return false se o tempo limite expirou antes disso
+     */
+    @Override
+    public boolean flush(Duration timeout) {
+        if (!running) {
+            return queue.isEmpty();
+        }
+        CompletableFuture<Void> request = new CompletableFuture<>();
+        flushRequests.add(request);
+        try {
+            request.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            return true;
+        } catch (TimeoutException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Audit log flush failed", e.getCause());
+        }
+    }
+
+    @Override
+    public AuditWriterStats getStats() {
+        long batchCount = batches.sum();
+        long writtenCount = written.sum();
+        return new AuditWriterStats(
+            submitted.sum(),
+            writtenCount,
+            batchCount,
+            batchCount == 0 ? 0.0 : writtenCount / (double) batchCount,
+            blocked.sum(),
+            spilled.sum(),
+            replayed.sum(),
+            failedBatches.sum(),
+            queue.size()
+        );
+    }
+
+    private void runWriteLoop() {
+        List<TradingAuditLog> buffer = new ArrayList<>(properties.getFlushSize());
+
+        while (running || !queue.isEmpty()) {
+            try {
+                List<CompletableFuture<Void>> waiters = takeFlushRequests();
+                if (!waiters.isEmpty()) {
+                    // Tudo o que já está na fila foi entregue antes do pedido de flush
+                    while (queue.drainTo(buffer, properties.getFlushSize()) > 0) {
+                        write(buffer);
+                    }
+                    waiters.forEach(waiter -> waiter.complete(null));
+                    continue;
+                }
+
+                TradingAuditLog first = queue.poll(properties.getFlushInterval().toMillis(), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    replaySpilledIfIdle();
+                    continue;
+                }
+
+                buffer.add(first);
+                collectUntilFlush(buffer);
+                write(buffer);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                log.error("Unexpected error in audit log writer loop: {}", e.getMessage(), e);
+            }
+        }
+
+        takeFlushRequests().forEach(waiter -> waiter.complete(null));
+    }
+
+    private void collectUntilFlush(List<TradingAuditLog> buffer) throws InterruptedException {
+        long deadline = System.nanoTime() + properties.getFlushInterval().toNanos();
+
+        while (buffer.size() < properties.getFlushSize()) {
+            queue.drainTo(buffer, properties.getFlushSize() - buffer.size());
+            if (buffer.size() >= properties.getFlushSize() || !running) {
+                break;
+            }
+
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                break;
+            }
+
+            TradingAuditLog next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            buffer.add(next);
+        }
+    }
+
+    private void write(List<TradingAuditLog> buffer) {
+        try {
+            inserter.insertAll(buffer);
+            written.add(buffer.size());
+            batches.increment();
+            log.debug("Audit log batch written: {} logs", buffer.size());
+        } catch (Exception e) {
+            failedBatches.increment();
+            log.error("Failed to write audit log batch of {} logs, spilling to disk: {}", buffer.size(), e.getMessage());
+            spill(buffer);
+        } finally {
+            buffer.clear();
+        }
+    }
+
+    private void spill(List<TradingAuditLog> auditLogs) {
+        try {
+            spillStore.append(auditLogs);
+            spilled.add(auditLogs.size());
+            spillPending.set(true);
+        } catch (Exception e) {
+            log.error("Failed to spill {} audit logs to disk, logs lost: {}", auditLogs.size(), e.getMessage(), e);
+        }
+    }
+
+    private void replaySpilledIfIdle() {
+        if (!spillPending.get() || System.nanoTime() - nextReplayAttemptNanos < 0) {
+            return;
+        }
+
+        try {
+            spillPending.set(false);
+            if (spillStore.hasPending()) {
+                replayed.add(spillStore.replay(inserter::insertAll));
+            }
+        } catch (Exception e) {
+            spillPending.set(true);
+            nextReplayAttemptNanos = System.nanoTime() + REPLAY_RETRY_NANOS;
+            log.warn("Failed to replay spilled audit logs, retrying later: {}", e.getMessage());
+        }
+    }
+
+    private List<CompletableFuture<Void>> takeFlushRequests() {
+        List<CompletableFuture<Void>> waiters = new ArrayList<>();
+        CompletableFuture<Void> waiter;
+        while ((waiter = flushRequests.poll()) != null) {
+            waiters.add(waiter);
+        }
+        return waiters;
+    }
+
+    public record AuditWriterStats(
+        long submitted,
+        long written,
+        long batches,
+        double averageBatchSize,
+        long blocked,
+        long spilled,
+        long replayed,
+        long failedBatches,
+        int queueSize
+    ) {}
+}
@@ -0,0 +1,375 @@
+package com.marmitt.ctrade.application.service;
+
+import com.marmitt.ctrade.domain.dto.AuditLogFilter;
+import com.marmitt.ctrade.domain.dto.AuditLogPage;
+import com.marmitt.ctrade.domain.entity.TradingAuditLog;
+import com.marmitt.ctrade.infrastructure.audit.AuditArchiveStore;
+import com.marmitt.ctrade.infrastructure.repository.TradingAuditLogRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.function.Predicate;
+
+/**
+ * Consultas de auditoria com paginação por keyset e exportação em fluxo.
+ *
+ * Os registros são sempre ordenados do mais recente para o mais antigo, por (createdAt, id).
+ * O cursor devolvido ao cliente codifica o último par lido. Filtros suportados: nenhum,
+ * tradingPair, orderId, status, actionType ou actionType com status; cada combinação é
+ * servida por um índice composto.
+ *
+ * A paginação lê só a tabela (dias recentes). A exportação por intervalo também percorre os
+ * dias já movidos para o {@link AuditArchiveStore}, intercalando as duas fontes na mesma ordem.
+ */
+@Service
+@RequiredArgsConstructor
+public class AuditQueryService {
+
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 1_000;
+
+    private static final int EXPORT_PAGE_SIZE = 1_000;
+    private static final LocalDateTime LATEST = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+    private static final Comparator<TradingAuditLog> NEWEST_FIRST = Comparator
+            .comparing(TradingAuditLog::getCreatedAt)
+            .thenComparing(TradingAuditLog::getId)
+            .reversed();
+
+    private final TradingAuditLogRepository repository;
+    private final AuditArchiveStore archiveStore;
+
+    public AuditLogPage findPage(AuditLogFilter filter, String cursor, Integer limit) {
+        int pageSize = limit != null ? limit : DEFAULT_PAGE_SIZE;
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        validate(filter);
+
+        Position position = cursor != null ? decodeCursor(cursor) : new Position(LATEST, Long.MAX_VALUE);
+        // Um registro a mais indica se existe próxima página sem precisar de contagem
+        List<TradingAuditLog> items = fetch(filter, position, pageSize + 1);
+        if (items.size() <= pageSize) {
+            return new AuditLogPage(items, null);
+        }
+
+        List<TradingAuditLog> page = items.subList(0, pageSize);
+        TradingAuditLog last = page.get(pageSize - 1);
+        return new AuditLogPage(List.copyOf(page), encodeCursor(new Position(last.getCreatedAt(), last.getId())));
+    }
+
+    /**
+     * Percorre os registros entre {@code from} e {@code to} (inclusivos; nulos não limitam),
+     * do mais recente para o mais antigo. As páginas são buscadas sob demanda, então a
+     * memória usada não depende do total exportado. Filtro e intervalo são validados na
+     * chamada, antes de qualquer leitura. Quem interrompe a leitura antes do fim deve fechar
+     * o cursor, que pode ter arquivos do arquivo morto abertos.
+     */
+    public ExportCursor export(AuditLogFilter filter, LocalDateTime from, LocalDateTime to) {
+        validate(filter);
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("Export start must not be after export end");
+        }
+        ExportIterator live = new ExportIterator(filter, from, new Position(to != null ? to : LATEST, Long.MAX_VALUE));
+
+        List<LocalDate> archivedDays = archiveStore.archivedDays().stream()
+                .filter(day -> from == null || !day.isBefore(from.toLocalDate()))
+                .filter(day -> to == null || !day.isAfter(to.toLocalDate()))
+                .sorted(Comparator.reverseOrder())
+                .toList();
+        if (archivedDays.isEmpty()) {
+            return live;
+        }
+        return new MergingIterator(live, new ArchiveIterator(archivedDays, archivePredicate(filter, from, to)));
+    }
+
+    private static Predicate<TradingAuditLog> archivePredicate(AuditLogFilter filter, LocalDateTime from, LocalDateTime to) {
+        return auditLog -> (filter.tradingPair() == null || filter.tradingPair().equals(auditLog.getTradingPair()))
+                && (filter.orderId() == null || filter.orderId().equals(auditLog.getOrderId()))
+                && (filter.actionType() == null || filter.actionType() == auditLog.getActionType())
+                && (filter.status() == null || filter.status() == auditLog.getStatus())
+                && (from == null || !auditLog.getCreatedAt().isBefore(from))
+                && (to == null || !auditLog.getCreatedAt().isAfter(to));
+    }
+
+    private List<TradingAuditLog> fetch(AuditLogFilter filter, Position position, int size) {
+        PageRequest page = PageRequest.of(0, size);
+        LocalDateTime createdAt = position.createdAt();
+        long id = position.id();
+
+        if (filter.orderId() != null) {
+            return repository.findPageByOrderId(filter.orderId(), createdAt, id, page);
+        }
+        if (filter.tradingPair() != null) {
+            return repository.findPageByTradingPair(filter.tradingPair(), createdAt, id, page);
+        }
+        if (filter.actionType() != null && filter.status() != null) {
+            return repository.findPageByActionTypeAndStatus(filter.actionType(), filter.status(), createdAt, id, page);
+        }
+        if (filter.actionType() != null) {
+            return repository.findPageByActionType(filter.actionType(), createdAt, id, page);
+        }
+        if (filter.status() != null) {
+            return repository.findPageByStatus(filter.status(), createdAt, id, page);
+        }
+        return repository.findPage(createdAt, id, page);
+    }
+
+    private static void validate(AuditLogFilter filter) {
+        int filters = (filter.tradingPair() != null ? 1 : 0)
+                + (filter.orderId() != null ? 1 : 0)
+                + (filter.actionType() != null ? 1 : 0)
+                + (filter.status() != null ? 1 : 0);
+        boolean actionTypeWithStatus = filters == 2 && filter.actionType() != null && filter.status() != null;
+        if (filters > 1 && !actionTypeWithStatus) {
+            throw new IllegalArgumentException("Unsupported audit filter combination: use a single filter "
+                    + "or actionType with status");
+        }
+    }
+
+    private static String encodeCursor(Position position) {
+        String raw = position.createdAt() + "_" + position.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Position decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('_');
+            return new Position(LocalDateTime.parse(raw.substring(0, separator)), Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid audit cursor: " + cursor);
+        }
+    }
+
+    /**
+     * Registros exportados, do mais recente para o mais antigo.
+     */
+    public interface ExportCursor extends Iterator<TradingAuditLog>, AutoCloseable {
+
+        @Override
+        void close();
+    }
+
+    private record Position(LocalDateTime createdAt, long id) {
+    }
+
+    private final class ExportIterator implements ExportCursor {
+
+        private final AuditLogFilter filter;
+        private final LocalDateTime from;
+        private Position position;
+        private Iterator<TradingAuditLog> page = List.<TradingAuditLog>of().iterator();
+        private boolean lastPage;
+        private TradingAuditLog next;
+
+        private ExportIterator(AuditLogFilter filter, LocalDateTime from, Position start) {
+            this.filter = filter;
+            this.from = from;
+            this.position = start;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next != null) {
+                return true;
+            }
+            if (!page.hasNext()) {
+                if (lastPage) {
+                    return false;
+                }
+                List<TradingAuditLog> items = fetch(filter, position, EXPORT_PAGE_SIZE);
+                lastPage = items.size() < EXPORT_PAGE_SIZE;
+                page = items.iterator();
+                if (!page.hasNext()) {
+                    return false;
+                }
+            }
+
+            TradingAuditLog candidate = page.next();
+            position = new Position(candidate.getCreatedAt(), candidate.getId());
+            // Ordem decrescente: o primeiro registro anterior ao início encerra a exportação
+            if (from != null && candidate.getCreatedAt().isBefore(from)) {
+                lastPage = true;
+                page = List.<TradingAuditLog>of().iterator();
+                return false;
+            }
+            next = candidate;
+            return true;
+        }
+
+        @Override
+        public TradingAuditLog next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            TradingAuditLog current = next;
+            next = null;
+            return current;
+        }
+
+        @Override
+        public void close() {
+            lastPage = true;
+            next = null;
+            page = List.<TradingAuditLog>of().iterator();
+        }
+    }
+
+    /**
+     * Lê o arquivo um dia por vez, do mais recente para o mais antigo. Cada arquivo já está
+     * nessa ordem, então os arquivos do dia são intercalados mantendo em memória só o row
+     * group atual de cada um.
+     */
+    private final class ArchiveIterator implements ExportCursor {
+
+        private final Iterator<LocalDate> days;
+        private final Predicate<TradingAuditLog> predicate;
+        private final PriorityQueue<ArchiveFileCursor> files =
+                new PriorityQueue<>(Comparator.comparing(ArchiveFileCursor::head, NEWEST_FIRST));
+
+        private ArchiveIterator(List<LocalDate> days, Predicate<TradingAuditLog> predicate) {
+            this.days = days.iterator();
+            this.predicate = predicate;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (files.isEmpty() && days.hasNext()) {
+                for (AuditArchiveStore.ArchiveFile file : archiveStore.filesOf(days.next())) {
+                    ArchiveFileCursor cursor = new ArchiveFileCursor(archiveStore.openReader(file), predicate);
+                    if (cursor.advance()) {
+                        files.add(cursor);
+                    }
+                }
+            }
+            return !files.isEmpty();
+        }
+
+        @Override
+        public TradingAuditLog next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            ArchiveFileCursor cursor = files.poll();
+            TradingAuditLog current = cursor.head();
+            if (cursor.advance()) {
+                files.add(cursor);
+            }
+            return current;
+        }
+
+        @Override
+        public void close() {
+            files.forEach(ArchiveFileCursor::close);
+            files.clear();
+        }
+    }
+
+    /**
+     * Próximo registro de um arquivo que atende ao filtro, lendo um row group por vez.
+     */
+    private static final class ArchiveFileCursor {
+
+        private final AuditArchiveStore.ArchiveReader reader;
+        private final Predicate<TradingAuditLog> predicate;
+        private Iterator<TradingAuditLog> rowGroup = List.<TradingAuditLog>of().iterator();
+        private TradingAuditLog head;
+
+        private ArchiveFileCursor(AuditArchiveStore.ArchiveReader reader, Predicate<TradingAuditLog> predicate) {
+            this.reader = reader;
+            this.predicate = predicate;
+        }
+
+        private TradingAuditLog head() {
+            return head;
+        }
+
+        /**
+         * @return false quando o arquivo acabou (e já foi fechado)
+         */
+        private boolean advance() {
+            while (true) {
+                while (rowGroup.hasNext()) {
+                    TradingAuditLog candidate = rowGroup.next();
+                    if (predicate.test(candidate)) {
+                        head = candidate;
+                        return true;
+                    }
+                }
+                List<TradingAuditLog> rows = reader.nextRowGroup();
+                if (rows == null) {
+                    head = null;
+                    return false;
+                }
+                rowGroup = rows.iterator();
+            }
+        }
+
+        private void close() {
+            reader.close();
+        }
+    }
+
+    /**
+     * Intercala duas sequências já ordenadas do mais recente para o mais antigo.
+     */
+    private static final class MergingIterator implements ExportCursor {
+
+        private final ExportCursor first;
+        private final ExportCursor second;
+        private TradingAuditLog firstHead;
+        private TradingAuditLog secondHead;
+
+        private MergingIterator(ExportCursor first, ExportCursor second) {
+            this.first = first;
+            this.second = second;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (firstHead == null && first.hasNext()) {
+                firstHead = first.next();
+            }
+            if (secondHead == null && second.hasNext()) {
+                secondHead = second.next();
+            }
+            return firstHead != null || secondHead != null;
+        }
+
+        @Override
+        public TradingAuditLog next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            TradingAuditLog result;
+            if (secondHead == null || (firstHead != null && NEWEST_FIRST.compare(firstHead, secondHead) <= 0)) {
+                result = firstHead;
+                firstHead = null;
+            } else {
+                result = secondHead;
+                secondHead = null;
+            }
+            return result;
+        }
+
+        @Override
+        public void close() {
+            try {
+                first.close();
+            } finally {
+                second.close();
+            }
+        }
+    }
+}
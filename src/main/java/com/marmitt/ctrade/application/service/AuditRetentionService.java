@@ -0,0 +1,279 @@
+package com.marmitt.ctrade.application.service;
+
+import com.marmitt.ctrade.domain.entity.TradingAuditLog;
+import com.marmitt.ctrade.infrastructure.audit.AuditArchiveStore;
+import com.marmitt.ctrade.infrastructure.config.AuditRetentionProperties;
+import com.marmitt.ctrade.infrastructure.repository.TradingAuditLogRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Retenção e compactação da auditoria.
+ *
+ * A tabela é tratada como uma sequência de partições diárias sobre o índice de
+ * {@code created_at}: só os últimos {@code hot-days} dias ficam nela, então as consultas
+ * do dia a dia percorrem apenas dados recentes. Cada execução:
+ * <ol>
+ *   <li>apaga da tabela os registros cujo tipo de ação passou do prazo de retenção;</li>
+ *   <li>move os dias anteriores à janela quente para o {@link AuditArchiveStore}, um dia
+ *       por arquivo, apagando da tabela só depois que o arquivo foi publicado;</li>
+ *   <li>reescreve (ou apaga) arquivos que contêm tipos de ação já vencidos.</li>
+ * </ol>
+ * Se a execução for interrompida entre publicar um arquivo e apagar da tabela, a próxima
+ * ignora os ids que já estão nos arquivos do dia. Tudo o que sai da tabela é descontado do
+ * {@link AuditCounterService}.
+ */
+@Service
+@Slf4j
+public class AuditRetentionService {
+
+    private static final int DELETE_CHUNK_SIZE = 1_000;
+
+    private final TradingAuditLogRepository repository;
+    private final AuditArchiveStore archiveStore;
+    private final AuditCounterService counterService;
+    private final AuditRetentionProperties properties;
+    private final Clock clock;
+
+    private volatile RetentionResult lastResult;
+
+    @Autowired
+    public AuditRetentionService(TradingAuditLogRepository repository,
+                                 AuditArchiveStore archiveStore,
+                                 AuditCounterService counterService,
+                                 AuditRetentionProperties properties) {
+        this(repository, archiveStore, counterService, properties, Clock.systemDefaultZone());
+    }
+
+    AuditRetentionService(TradingAuditLogRepository repository,
+                          AuditArchiveStore archiveStore,
+                          AuditCounterService counterService,
+                          AuditRetentionProperties properties,
+                          Clock clock) {
+        this.repository = repository;
+        this.archiveStore = archiveStore;
+        this.counterService = counterService;
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    @Scheduled(cron = "${trading.audit.retention.cron:0 15 3 * * *}")
+    public void scheduledRetention() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            RetentionResult result = runRetention();
+            log.info("Audit retention purged {} records, archived {} records from {} days, rewrote {} and deleted {} archive files",
+                    result.purgedRecords(), result.archivedRecords(), result.compactedDays(),
+                    result.rewrittenArchiveFiles(), result.deletedArchiveFiles());
+        } catch (Exception e) {
+            log.error("Error during scheduled audit retention", e);
+        }
+    }
+
+    public synchronized RetentionResult runRetention() {
+        LocalDateTime now = LocalDateTime.now(clock);
+
+        long purged = purgeExpired(now);
+
+        int compactedDays = 0;
+        long archived = 0;
+        LocalDateTime oldest = repository.findOldestCreatedAt();
+        LocalDate hotStart = now.toLocalDate().minusDays(Math.max(properties.getHotDays(), 1) - 1L);
+        if (oldest != null) {
+            for (LocalDate day = oldest.toLocalDate(); day.isBefore(hotStart); day = day.plusDays(1)) {
+                long dayRecords = compactDay(day, now);
+                if (dayRecords > 0) {
+                    compactedDays++;
+                    archived += dayRecords;
+                }
+            }
+        }
+
+        int rewritten = 0;
+        int deleted = 0;
+        for (AuditArchiveStore.ArchiveFile file : archiveStore.listFiles()) {
+            switch (applyRetention(file, now)) {
+                case REWRITTEN -> rewritten++;
+                case DELETED -> deleted++;
+                case UNCHANGED -> { }
+            }
+        }
+
+        RetentionResult result = new RetentionResult(now, purged, compactedDays, archived, rewritten, deleted);
+        lastResult = result;
+        return result;
+    }
+
+    public RetentionStatus getStatus() {
+        return new RetentionStatus(properties.isEnabled(), properties.getHotDays(), lastResult, archiveStore.getStats());
+    }
+
+    private long purgeExpired(LocalDateTime now) {
+        long purged = 0;
+        for (TradingAuditLog.ActionType actionType : TradingAuditLog.ActionType.values()) {
+            LocalDateTime cutoff = cutoff(actionType, now);
+            // Registros novos nunca ficam antes do prazo, então a contagem bate com o que é apagado
+            List<Object[]> counts = repository.countByStatusForActionTypeCreatedBefore(actionType, cutoff);
+            purged += repository.deleteByActionTypeCreatedBefore(actionType, cutoff);
+            for (Object[] row : counts) {
+                counterService.onAuditLogsDeleted(actionType, (TradingAuditLog.Status) row[0], ((Number) row[1]).longValue());
+            }
+        }
+        return purged;
+    }
+
+    /**
+     * Move o dia em blocos de {@code compaction-chunk-size} registros: cada bloco vira um
+     * arquivo, publicado antes de os registros dele saírem da tabela. A memória usada fica
+     * limitada ao bloco, qualquer que seja o volume do dia.
+     *
+     * @return registros movidos da tabela para o arquivo
+     */
+    private long compactDay(LocalDate day, LocalDateTime now) {
+        LocalDateTime from = day.atStartOfDay();
+        LocalDateTime to = day.plusDays(1).atStartOfDay();
+        int sliceSize = properties.getRowGroupSize();
+        int chunkSize = Math.max(properties.getCompactionChunkSize(), sliceSize);
+        // Só uma execução interrompida deixa arquivos do dia com registros ainda na tabela
+        boolean previouslyArchived = !archiveStore.filesOf(day).isEmpty();
+
+        // Do fim do dia para o início: cada arquivo fica na ordem em que a exportação lê
+        LocalDateTime beforeCreatedAt = to;
+        long beforeId = Long.MIN_VALUE;
+        long compacted = 0;
+        boolean exhausted = false;
+        while (!exhausted) {
+            List<Long> chunkIds = new ArrayList<>();
+            Map<CounterKey, Long> chunkCounts = new HashMap<>();
+            try (AuditArchiveStore.ArchiveWriter writer = archiveStore.openWriter(day)) {
+                while (chunkIds.size() < chunkSize) {
+                    List<TradingAuditLog> slice = repository.findSlice(from, beforeCreatedAt, beforeId, PageRequest.of(0, sliceSize));
+                    if (slice.isEmpty()) {
+                        exhausted = true;
+                        break;
+                    }
+
+                    Set<Long> alreadyArchived = previouslyArchived
+                            ? archiveStore.readIds(day, slice.stream().map(TradingAuditLog::getId).collect(Collectors.toSet()))
+                            : Set.of();
+                    List<TradingAuditLog> rowGroup = new ArrayList<>(slice.size());
+                    for (TradingAuditLog auditLog : slice) {
+                        chunkIds.add(auditLog.getId());
+                        chunkCounts.merge(new CounterKey(auditLog.getActionType(), auditLog.getStatus()), 1L, Long::sum);
+                        if (!alreadyArchived.contains(auditLog.getId()) && !isExpired(auditLog, now)) {
+                            rowGroup.add(auditLog);
+                        }
+                    }
+                    writer.writeRowGroup(rowGroup);
+                    TradingAuditLog last = slice.get(slice.size() - 1);
+                    beforeCreatedAt = last.getCreatedAt();
+                    beforeId = last.getId();
+
+                    if (slice.size() < sliceSize) {
+                        exhausted = true;
+                        break;
+                    }
+                }
+
+                if (writer.rows() > 0) {
+                    writer.commit();
+                }
+            }
+
+            for (int i = 0; i < chunkIds.size(); i += DELETE_CHUNK_SIZE) {
+                repository.deleteAllByIdInBatch(chunkIds.subList(i, Math.min(i + DELETE_CHUNK_SIZE, chunkIds.size())));
+            }
+            chunkCounts.forEach((key, count) -> counterService.onAuditLogsDeleted(key.actionType(), key.status(), count));
+            compacted += chunkIds.size();
+        }
+
+        if (compacted > 0) {
+            log.info("Compacted {} audit records of {} into the archive", compacted, day);
+        }
+        return compacted;
+    }
+
+    private ArchiveAction applyRetention(AuditArchiveStore.ArchiveFile file, LocalDateTime now) {
+        LocalDateTime dayEnd = file.day().plusDays(1).atStartOfDay();
+        Set<TradingAuditLog.ActionType> expired = EnumSet.noneOf(TradingAuditLog.ActionType.class);
+        boolean keepsAny = false;
+        for (TradingAuditLog.ActionType actionType : TradingAuditLog.ActionType.values()) {
+            if (file.count(actionType) == 0) {
+                continue;
+            }
+            // Só descarta quando o dia inteiro passou do prazo; dias parciais esperam a próxima execução
+            if (!dayEnd.isAfter(cutoff(actionType, now))) {
+                expired.add(actionType);
+            } else {
+                keepsAny = true;
+            }
+        }
+
+        if (expired.isEmpty()) {
+            return ArchiveAction.UNCHANGED;
+        }
+        if (!keepsAny) {
+            archiveStore.delete(file);
+            log.info("Deleted expired audit archive file {} ({} records)", file.path().getFileName(), file.rows());
+            return ArchiveAction.DELETED;
+        }
+
+        try (AuditArchiveStore.ArchiveWriter writer = archiveStore.openWriter(file.day())) {
+            archiveStore.forEachRowGroup(file, rows ->
+                    writer.writeRowGroup(rows.stream().filter(row -> !expired.contains(row.getActionType())).toList()));
+            writer.commit();
+        }
+        archiveStore.delete(file);
+        log.info("Rewrote audit archive file {} without expired action types {}", file.path().getFileName(), expired);
+        return ArchiveAction.REWRITTEN;
+    }
+
+    private boolean isExpired(TradingAuditLog auditLog, LocalDateTime now) {
+        return auditLog.getCreatedAt().isBefore(cutoff(auditLog.getActionType(), now));
+    }
+
+    private LocalDateTime cutoff(TradingAuditLog.ActionType actionType, LocalDateTime now) {
+        return now.minus(properties.retentionFor(actionType));
+    }
+
+    private record CounterKey(TradingAuditLog.ActionType actionType, TradingAuditLog.Status status) {
+    }
+
+    private enum ArchiveAction {
+        UNCHANGED,
+        REWRITTEN,
+        DELETED
+    }
+
+    public record RetentionResult(
+        LocalDateTime ranAt,
+        long purgedRecords,
+        int compactedDays,
+        long archivedRecords,
+        int rewrittenArchiveFiles,
+        int deletedArchiveFiles
+    ) {}
+
+    public record RetentionStatus(
+        boolean enabled,
+        int hotDays,
+        RetentionResult lastRun,
+        AuditArchiveStore.ArchiveStats archive
+    ) {}
+}
@@ -0,0 +1,178 @@
+package com.marmitt.ctrade.application.service;
+
+import com.marmitt.ctrade.domain.dto.BatchItemResult;
+import com.marmitt.ctrade.domain.dto.BatchOrderCommand;
+import com.marmitt.ctrade.domain.entity.Order;
+import com.marmitt.ctrade.domain.port.ExchangePort;
+import com.marmitt.ctrade.infrastructure.config.BatchTradingProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Envio e cancelamento de ordens em lote.
+ *
+ * Todos os itens são validados antes de qualquer envio; os válidos são submetidos à exchange
+ * em paralelo (limitado por {@code trading.batch.max-concurrency}) e o lote inteiro é auditado
+ * em uma única escrita. Falhas de um item não interrompem os demais.
+ */
+@Service
+@Slf4j
+public class BatchTradingService {
+
+    private final ExchangePort exchangePort;
+    private final TradingAuditService auditService;
+    private final OrderStateStore orderStateStore;
+    private final PreTradeRiskService riskService;
+    private final BatchTradingProperties properties;
+    private final ExecutorService submissionExecutor;
+
+    public BatchTradingService(ExchangePort exchangePort,
+                               TradingAuditService auditService,
+                               OrderStateStore orderStateStore,
+                               PreTradeRiskService riskService,
+                               BatchTradingProperties properties) {
+        this.exchangePort = exchangePort;
+        this.auditService = auditService;
+        this.orderStateStore = orderStateStore;
+        this.riskService = riskService;
+        this.properties = properties;
+
+        AtomicInteger threadCounter = new AtomicInteger(0);
+        this.submissionExecutor = Executors.newFixedThreadPool(properties.getMaxConcurrency(), runnable -> {
+            Thread thread = new Thread(runnable, "batch-order-submission-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        submissionExecutor.shutdown();
+        try {
+            if (!submissionExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
+                submissionExecutor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            submissionExecutor.shutdownNow();
+        }
+    }
+
+    public List<BatchItemResult> placeOrders(List<BatchOrderCommand> commands) {
+        validateBatchSize(commands);
+
+        List<CompletableFuture<BatchItemResult>> futures = new ArrayList<>(commands.size());
+        for (int i = 0; i < commands.size(); i++) {
+            int index = i;
+            BatchOrderCommand command = commands.get(i);
+
+            Order order;
+            try {
+                order = new Order(command.tradingPair(), Order.OrderType.LIMIT, requireSide(command), command.quantity(), command.price());
+                // Reserva na thread chamadora: o lote é verificado contra os limites na ordem dos itens
+                riskService.reserve(order);
+            } catch (IllegalArgumentException e) {
+                futures.add(CompletableFuture.completedFuture(BatchItemResult.rejected(index, null, e.getMessage())));
+                continue;
+            }
+
+            futures.add(CompletableFuture.supplyAsync(() -> submitOrder(index, order), submissionExecutor));
+        }
+
+        List<BatchItemResult> results = join(futures);
+        auditService.logOrderPlacementBatch(commands, results);
+        logSummary("placement", results);
+        return results;
+    }
+
+    public List<BatchItemResult> cancelOrders(List<String> orderIds) {
+        validateBatchSize(orderIds);
+
+        Set<String> seen = new HashSet<>();
+        List<CompletableFuture<BatchItemResult>> futures = new ArrayList<>(orderIds.size());
+        for (int i = 0; i < orderIds.size(); i++) {
+            int index = i;
+            String orderId = orderIds.get(i);
+
+            if (orderId == null || orderId.trim().isEmpty()) {
+                futures.add(CompletableFuture.completedFuture(
+                        BatchItemResult.rejected(index, orderId, "Order ID cannot be null or empty")));
+            } else if (!seen.add(orderId)) {
+                futures.add(CompletableFuture.completedFuture(
+                        BatchItemResult.rejected(index, orderId, "Duplicate order ID in batch")));
+            } else {
+                futures.add(CompletableFuture.supplyAsync(() -> submitCancel(index, orderId), submissionExecutor));
+            }
+        }
+
+        List<BatchItemResult> results = join(futures);
+        auditService.logCancelBatch(results);
+        logSummary("cancellation", results);
+        return results;
+    }
+
+    private BatchItemResult submitOrder(int index, Order order) {
+        Order result;
+        try {
+            result = exchangePort.placeOrder(order);
+        } catch (Exception e) {
+            riskService.release(order.getId());
+            log.warn("Batch order {} for {} failed: {}", index, order.getTradingPair().getSymbol(), e.getMessage());
+            return BatchItemResult.failed(index, order.getId(), e.getMessage());
+        }
+
+        riskService.onOrderAccepted(order.getId(), result);
+        orderStateStore.save(result);
+        return BatchItemResult.success(index, result.getId(), result);
+    }
+
+    private BatchItemResult submitCancel(int index, String orderId) {
+        try {
+            Order result = exchangePort.cancelOrder(orderId);
+            orderStateStore.save(result);
+            riskService.onStatusChange(result.getId(), result.getStatus());
+            return BatchItemResult.success(index, orderId, result);
+        } catch (Exception e) {
+            log.warn("Batch cancellation of order {} failed: {}", orderId, e.getMessage());
+            return BatchItemResult.failed(index, orderId, e.getMessage());
+        }
+    }
+
+    private Order.OrderSide requireSide(BatchOrderCommand command) {
+        if (command.side() == null) {
+            throw new IllegalArgumentException("Order side is required");
+        }
+        return command.side();
+    }
+
+    private void validateBatchSize(List<?> items) {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("Batch cannot be empty");
+        }
+        if (items.size() > properties.getMaxSize()) {
+            throw new IllegalArgumentException("Batch size " + items.size() + " exceeds maximum of " + properties.getMaxSize());
+        }
+    }
+
+    private static List<BatchItemResult> join(List<CompletableFuture<BatchItemResult>> futures) {
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        return futures.stream().map(CompletableFuture::join).toList();
+    }
+
+    private static void logSummary(String operation, List<BatchItemResult> results) {
+        long succeeded = results.stream().filter(BatchItemResult::isSuccess).count();
+        log.info("Batch {} completed: {} succeeded, {} not processed out of {}",
+                operation, succeeded, results.size() - succeeded, results.size());
+    }
+}
@@ -0,0 +1,187 @@
+package com.marmitt.ctrade.application.service;
+
+import com.marmitt.ctrade.domain.entity.Order;
+import com.marmitt.ctrade.domain.entity.TradingPair;
+import com.marmitt.ctrade.domain.port.ExchangePort;
+import com.marmitt.ctrade.domain.valueobject.Price;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Cache de curta duração com coalescência das consultas de leitura à exchange.
+ *
+ * Consultas concorrentes pela mesma chave compartilham uma única chamada ao {@link ExchangePort}
+ * (single-flight), e o resultado fica válido pelo TTL configurado. Eventos do WebSocket
+ * invalidam a entrada correspondente; uma invalidação durante uma chamada em voo impede que
+ * o resultado dessa chamada seja armazenado. Erros nunca são armazenados.
+ */
+@Service
+@Slf4j
+public class ExchangeQueryCache {
+
+    private final ExchangePort exchangePort;
+    private final SingleFlightCache<String, Price> priceCache;
+    private final SingleFlightCache<String, Order> orderStatusCache;
+
+    public ExchangeQueryCache(ExchangePort exchangePort,
+                              @Value("${trading.query-cache.price-ttl-ms:500}") long priceTtlMillis,
+                              @Value("${trading.query-cache.order-status-ttl-ms:1000}") long orderStatusTtlMillis) {
+        this.exchangePort = exchangePort;
+        this.priceCache = new SingleFlightCache<>(TimeUnit.MILLISECONDS.toNanos(priceTtlMillis));
+        this.orderStatusCache = new SingleFlightCache<>(TimeUnit.MILLISECONDS.toNanos(orderStatusTtlMillis));
+    }
+
+    public Price getCurrentPrice(TradingPair tradingPair) {
+        return priceCache.get(tradingPair.getSymbol(), symbol -> exchangePort.getCurrentPrice(tradingPair));
+    }
+
+    public Order getOrderStatus(String orderId) {
+        return orderStatusCache.get(orderId, exchangePort::getOrderStatus);
+    }
+
+    public void invalidatePrice(String tradingPairSymbol) {
+        priceCache.invalidate(tradingPairSymbol);
+    }
+
+    public void invalidateOrderStatus(String orderId) {
+        orderStatusCache.invalidate(orderId);
+    }
+
+    @Scheduled(fixedRateString = "${trading.query-cache.cleanup-interval-seconds:60}", timeUnit = TimeUnit.SECONDS)
+    public void clearExpiredEntries() {
+        int removed = priceCache.clearExpired() + orderStatusCache.clearExpired();
+        if (removed > 0) {
+            log.debug("Removed {} expired exchange query cache entries", removed);
+        }
+    }
+
+    public QueryCacheStats getStats() {
+        return new QueryCacheStats(priceCache.stats(), orderStatusCache.stats());
+    }
+
+    /**
+     * Cache por chave com TTL e uma única chamada em voo por chave.
+     */
+    private static final class SingleFlightCache<K, V> {
+
+        private final long ttlNanos;
+        private final Map<K, CachedValue<V>> entries = new ConcurrentHashMap<>();
+        private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder coalesced = new LongAdder();
+        private final LongAdder invalidations = new LongAdder();
+
+        private SingleFlightCache(long ttlNanos) {
+            this.ttlNanos = ttlNanos;
+        }
+
+        private V get(K key, Function<K, V> loader) {
+            CachedValue<V> cached = entries.get(key);
+            if (cached != null && cached.isValid(System.nanoTime())) {
+                hits.increment();
+                return cached.value();
+            }
+
+            CompletableFuture<V> call = new CompletableFuture<>();
+            CompletableFuture<V> existing = inFlight.putIfAbsent(key, call);
+            if (existing != null) {
+                coalesced.increment();
+                return await(existing);
+            }
+
+            misses.increment();
+            V value;
+            try {
+                value = loader.apply(key);
+            } catch (RuntimeException e) {
+                inFlight.remove(key, call);
+                call.completeExceptionally(e);
+                throw e;
+            }
+
+            if (ttlNanos > 0) {
+                CachedValue<V> entry = new CachedValue<>(value, System.nanoTime() + ttlNanos);
+                entries.put(key, entry);
+                // Se a chave foi invalidada durante a chamada, o resultado não pode ficar no cache
+                if (!inFlight.remove(key, call)) {
+                    entries.remove(key, entry);
+                }
+            } else {
+                inFlight.remove(key, call);
+            }
+            call.complete(value);
+            return value;
+        }
+
+        private void invalidate(K key) {
+            inFlight.remove(key);
+            if (entries.remove(key) != null) {
+                invalidations.increment();
+            }
+        }
+
+        private int clearExpired() {
+            long now = System.nanoTime();
+            int before = entries.size();
+            entries.values().removeIf(entry -> !entry.isValid(now));
+            return Math.max(0, before - entries.size());
+        }
+
+        private CacheStats stats() {
+            long hitCount = hits.sum();
+            long missCount = misses.sum();
+            long coalescedCount = coalesced.sum();
+            long total = hitCount + missCount + coalescedCount;
+            return new CacheStats(
+                hitCount,
+                missCount,
+                coalescedCount,
+                invalidations.sum(),
+                entries.size(),
+                total == 0 ? 0.0 : (hitCount + coalescedCount) / (double) total
+            );
+        }
+
+        private static <V> V await(CompletableFuture<V> call) {
+            try {
+                return call.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+    }
+
+    private record CachedValue<V>(V value, long expiresAtNanos) {
+
+        private boolean isValid(long nowNanos) {
+            return expiresAtNanos - nowNanos > 0;
+        }
+    }
+
+    public record CacheStats(
+        long hits,
+        long misses,
+        long coalesced,
+        long invalidations,
+        int size,
+        double hitRatio
+    ) {}
+
+    public record QueryCacheStats(CacheStats price, CacheStats orderStatus) {
+    }
+}
@@ -0,0 +1,102 @@
+package com.marmitt.ctrade.application.service;
+
+import com.marmitt.ctrade.domain.entity.TradingPair;
+import com.marmitt.ctrade.domain.port.ExchangePort;
+import com.marmitt.ctrade.domain.valueobject.Price;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Resolve o preço de referência para ordens a mercado.
+ *
+ * Usa o último preço recebido via stream no {@link PriceCacheService} enquanto ele estiver
+ * dentro da idade máxima configurada, e só recorre à chamada síncrona à exchange quando o
+ * cache está ausente ou velho. Também registra a latência de colocação de ordens por origem
+ * do preço, para comparar os dois caminhos.
+ */
+@Service
+@Slf4j
+public class MarketPriceResolver {
+
+    private final PriceCacheService priceCacheService;
+    private final ExchangePort exchangePort;
+    private final Duration maxStaleness;
+    private final Map<PriceSource, LatencyRecorder> placementLatency = new EnumMap<>(PriceSource.class);
+
+    public MarketPriceResolver(PriceCacheService priceCacheService,
+                               ExchangePort exchangePort,
+                               @Value("${trading.market-orders.max-price-staleness-ms:2000}") long maxStalenessMillis) {
+        this.priceCacheService = priceCacheService;
+        this.exchangePort = exchangePort;
+        this.maxStaleness = Duration.ofMillis(maxStalenessMillis);
+        for (PriceSource source : PriceSource.values()) {
+            placementLatency.put(source, new LatencyRecorder());
+        }
+        log.info("Market order pricing uses cached prices up to {} ms old", maxStalenessMillis);
+    }
+
+    public ResolvedPrice resolve(TradingPair tradingPair) {
+        Optional<PriceCacheService.PriceCacheEntry> cached = priceCacheService.getLatestEntry(tradingPair.getSymbol());
+
+        if (cached.isPresent() && isFresh(cached.get().timestamp())) {
+            return new ResolvedPrice(new Price(cached.get().price()), PriceSource.CACHE);
+        }
+
+        log.debug("Cached price for {} is missing or older than {} ms, querying exchange",
+                tradingPair.getSymbol(), maxStaleness.toMillis());
+        return new ResolvedPrice(exchangePort.getCurrentPrice(tradingPair), PriceSource.EXCHANGE);
+    }
+
+    public void recordPlacementLatency(PriceSource source, long elapsedNanos) {
+        placementLatency.get(source).record(elapsedNanos);
+    }
+
+    public Map<PriceSource, LatencyStats> getPlacementLatencyStats() {
+        Map<PriceSource, LatencyStats> stats = new EnumMap<>(PriceSource.class);
+        placementLatency.forEach((source, recorder) -> stats.put(source, recorder.snapshot()));
+        return stats;
+    }
+
+    private boolean isFresh(LocalDateTime timestamp) {
+        return Duration.between(timestamp, LocalDateTime.now()).compareTo(maxStaleness) <= 0;
+    }
+
+    public enum PriceSource {
+        CACHE, EXCHANGE
+    }
+
+    public record ResolvedPrice(Price price, PriceSource source) {
+    }
+
+    public record LatencyStats(long count, double averageMicros, long maxMicros) {
+    }
+
+    private static final class LatencyRecorder {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        private void record(long elapsedNanos) {
+            count.increment();
+            totalNanos.add(elapsedNanos);
+            maxNanos.accumulate(elapsedNanos);
+        }
+
+        private LatencyStats snapshot() {
+            long samples = count.sum();
+            double average = samples == 0 ? 0.0 : totalNanos.sum() / (double) samples / 1_000;
+            return new LatencyStats(samples, average, TimeUnit.NANOSECONDS.toMicros(maxNanos.get()));
+        }
+    }
+}
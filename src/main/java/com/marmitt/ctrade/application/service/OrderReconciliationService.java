@@ -0,0 +1,90 @@
+package com.marmitt.ctrade.application.service;
+
+import com.marmitt.ctrade.domain.entity.Order;
+import com.marmitt.ctrade.domain.port.ExchangePort;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reconcilia periodicamente o {@link OrderStateStore} com a exchange.
+ *
+ * Corrige divergências causadas por atualizações perdidas no WebSocket: incorpora ordens
+ * ativas que o store não conhece e consulta individualmente as ordens que estão ativas
+ * localmente mas não aparecem mais como ativas na exchange.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrderReconciliationService {
+
+    private final ExchangePort exchangePort;
+    private final OrderStateStore orderStateStore;
+    private final PreTradeRiskService riskService;
+
+    @Scheduled(fixedDelayString = "${trading.orders.reconciliation-interval-seconds:30}", timeUnit = TimeUnit.SECONDS)
+    public void scheduledReconciliation() {
+        try {
+            ReconciliationResult result = reconcile();
+
+            if (result.corrected() > 0 || result.removed() > 0) {
+                log.info("Order reconciliation corrected {} orders and removed {} unknown orders",
+                        result.corrected(), result.removed());
+            } else {
+                log.debug("Order reconciliation found no drift ({} active orders on exchange)", result.checked());
+            }
+        } catch (Exception e) {
+            log.error("Error during scheduled order reconciliation", e);
+        }
+    }
+
+    public ReconciliationResult reconcile() {
+        List<Order> exchangeActive = exchangePort.getActiveOrders();
+        Set<String> exchangeActiveIds = new HashSet<>();
+        int corrected = 0;
+        int removed = 0;
+
+        for (Order order : exchangeActive) {
+            exchangeActiveIds.add(order.getId());
+            Order.OrderStatus previous = orderStateStore.save(order);
+            if (previous != order.getStatus()) {
+                corrected++;
+            }
+        }
+
+        // Ordens ativas localmente que a exchange não lista mais como ativas
+        for (Order local : orderStateStore.findActive()) {
+            if (exchangeActiveIds.contains(local.getId())) {
+                continue;
+            }
+
+            try {
+                Order remote = exchangePort.getOrderStatus(local.getId());
+                orderStateStore.save(remote);
+                if (remote.getStatus() != local.getStatus()) {
+                    riskService.onStatusChange(remote.getId(), remote.getStatus());
+                    corrected++;
+                }
+            } catch (IllegalArgumentException e) {
+                log.warn("Order {} no longer exists on exchange, removing from local store", local.getId());
+                orderStateStore.remove(local.getId());
+                riskService.release(local.getId());
+                removed++;
+            } catch (RuntimeException e) {
+                // Falha que não prova a inexistência da ordem: fica como está até a próxima rodada
+                log.warn("Could not reconcile order {}, keeping it: {}", local.getId(), e.getMessage());
+            }
+        }
+
+        return new ReconciliationResult(exchangeActive.size(), corrected, removed);
+    }
+
+    public record ReconciliationResult(int checked, int corrected, int removed) {
+    }
+}
@@ -0,0 +1,239 @@
+package com.marmitt.ctrade.application.service;
+
+import com.marmitt.ctrade.domain.entity.Order;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Armazenamento local do estado das ordens, indexado por ID.
+ *
+ * Mantém índices secundários por status e por trading pair atualizados de forma
+ * incremental a cada escrita, permitindo leituras em O(1) por ID e O(k) por índice
+ * sem consultar a exchange. As ordens são copiadas na entrada e na saída para que
+ * mutações externas não deixem os índices inconsistentes.
+ *
+ * Ordens terminais (FILLED, CANCELLED) ficam disponíveis por um período de
+ * retenção contado a partir de quando o store as viu terminar, e depois são descartadas.
+ */
+@Service
+@Slf4j
+public class OrderStateStore {
+
+    private static final Set<Order.OrderStatus> ACTIVE_STATUSES =
+            Set.of(Order.OrderStatus.PENDING, Order.OrderStatus.PARTIALLY_FILLED);
+    private static final int DEFAULT_TERMINAL_RETENTION_MINUTES = 60;
+
+    private final Map<String, Order> ordersById = new ConcurrentHashMap<>();
+    private final Map<Order.OrderStatus, Set<String>> idsByStatus = new EnumMap<>(Order.OrderStatus.class);
+    private final Map<String, Set<String>> idsByTradingPair = new ConcurrentHashMap<>();
+    // Instante em que cada ordem terminal foi vista terminar; alterado junto com os índices
+    private final Map<String, Instant> terminalSince = new ConcurrentHashMap<>();
+    private final Duration terminalRetention;
+
+    public OrderStateStore() {
+        this(DEFAULT_TERMINAL_RETENTION_MINUTES);
+    }
+
+    @Autowired
+    public OrderStateStore(@Value("${trading.orders.terminal-retention-minutes:60}") int terminalRetentionMinutes) {
+        this.terminalRetention = Duration.ofMinutes(terminalRetentionMinutes);
+        for (Order.OrderStatus status : Order.OrderStatus.values()) {
+            idsByStatus.put(status, ConcurrentHashMap.newKeySet());
+        }
+    }
+
+    /**
+     * Insere ou atualiza uma ordem, reindexando se o status mudou.
+     *
+     * @return status anterior da ordem, ou null se a ordem não existia
+     */
+    public Order.OrderStatus save(Order order) {
+        if (order == null || order.getId() == null) {
+            throw new IllegalArgumentException("Order and order ID cannot be null");
+        }
+
+        Order snapshot = copyOf(order);
+        Order.OrderStatus[] previousStatus = new Order.OrderStatus[1];
+
+        // compute garante atomicidade por ordem entre o mapa principal e os índices
+        ordersById.compute(order.getId(), (id, existing) -> {
+            if (existing != null) {
+                previousStatus[0] = existing.getStatus();
+                unindex(existing);
+            }
+            index(snapshot);
+            return snapshot;
+        });
+
+        return previousStatus[0];
+    }
+
+    /**
+     * Aplica uma atualização de status recebida via WebSocket.
+     *
+     * @return true se a ordem era conhecida e foi atualizada
+     */
+    public boolean applyStatusUpdate(String orderId, Order.OrderStatus newStatus, LocalDateTime timestamp) {
+        Order updated = ordersById.computeIfPresent(orderId, (id, existing) -> {
+            Order snapshot = copyOf(existing);
+            snapshot.setStatus(newStatus);
+            snapshot.setUpdatedAt(timestamp != null ? timestamp : LocalDateTime.now());
+
+            unindex(existing);
+            index(snapshot);
+            return snapshot;
+        });
+
+        if (updated == null) {
+            log.debug("Ignoring status update for unknown order {}", orderId);
+            return false;
+        }
+        return true;
+    }
+
+    public Optional<Order> findById(String orderId) {
+        Order order = ordersById.get(orderId);
+        return order != null ? Optional.of(copyOf(order)) : Optional.empty();
+    }
+
+    public List<Order> findByStatus(Order.OrderStatus status) {
+        return resolve(idsByStatus.get(status));
+    }
+
+    public List<Order> findByTradingPair(String tradingPairSymbol) {
+        return resolve(idsByTradingPair.getOrDefault(tradingPairSymbol, Collections.emptySet()));
+    }
+
+    public List<Order> findActive() {
+        List<Order> active = new ArrayList<>();
+        for (Order.OrderStatus status : ACTIVE_STATUSES) {
+            active.addAll(findByStatus(status));
+        }
+        return active;
+    }
+
+    public boolean isActive(Order.OrderStatus status) {
+        return ACTIVE_STATUSES.contains(status);
+    }
+
+    public void remove(String orderId) {
+        ordersById.computeIfPresent(orderId, (id, existing) -> {
+            unindex(existing);
+            terminalSince.remove(id);
+            return null;
+        });
+    }
+
+    @Scheduled(fixedRateString = "${trading.orders.eviction-interval-seconds:60}", timeUnit = TimeUnit.SECONDS)
+    public void scheduledEviction() {
+        int evicted = evictTerminalBefore(Instant.now().minus(terminalRetention));
+        if (evicted > 0) {
+            log.debug("Evicted {} terminal orders older than {}", evicted, terminalRetention);
+        }
+    }
+
+    /**
+     * Descarta as ordens que terminaram antes de {@code cutoff}. Uma ordem que voltou a
+     * ficar ativa nesse meio tempo é mantida.
+     *
+     * @return quantidade de ordens descartadas
+     */
+    public int evictTerminalBefore(Instant cutoff) {
+        int evicted = 0;
+        for (Map.Entry<String, Instant> entry : terminalSince.entrySet()) {
+            if (!entry.getValue().isBefore(cutoff)) {
+                continue;
+            }
+            boolean[] removed = new boolean[1];
+            ordersById.computeIfPresent(entry.getKey(), (id, existing) -> {
+                if (isActive(existing.getStatus()) || !entry.getValue().equals(terminalSince.get(id))) {
+                    return existing;
+                }
+                unindex(existing);
+                terminalSince.remove(id);
+                removed[0] = true;
+                return null;
+            });
+            if (removed[0]) {
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    public int size() {
+        return ordersById.size();
+    }
+
+    public int countByStatus(Order.OrderStatus status) {
+        return idsByStatus.get(status).size();
+    }
+
+    public void clear() {
+        ordersById.clear();
+        idsByStatus.values().forEach(Set::clear);
+        idsByTradingPair.clear();
+        terminalSince.clear();
+        log.info("Order state store cleared");
+    }
+
+    private void index(Order order) {
+        idsByStatus.get(order.getStatus()).add(order.getId());
+        if (isActive(order.getStatus())) {
+            terminalSince.remove(order.getId());
+        } else {
+            terminalSince.putIfAbsent(order.getId(), Instant.now());
+        }
+        idsByTradingPair.computeIfAbsent(order.getTradingPair().getSymbol(), k -> ConcurrentHashMap.newKeySet())
+                .add(order.getId());
+    }
+
+    private void unindex(Order order) {
+        idsByStatus.get(order.getStatus()).remove(order.getId());
+        Set<String> pairIds = idsByTradingPair.get(order.getTradingPair().getSymbol());
+        if (pairIds != null) {
+            pairIds.remove(order.getId());
+        }
+    }
+
+    private List<Order> resolve(Set<String> ids) {
+        List<Order> result = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            Order order = ordersById.get(id);
+            if (order != null) {
+                result.add(copyOf(order));
+            }
+        }
+        return result;
+    }
+
+    private static Order copyOf(Order order) {
+        return new Order(
+            order.getId(),
+            order.getTradingPair(),
+            order.getType(),
+            order.getSide(),
+            order.getQuantity(),
+            order.getPrice(),
+            order.getStatus(),
+            order.getCreatedAt(),
+            order.getUpdatedAt()
+        );
+    }
+}
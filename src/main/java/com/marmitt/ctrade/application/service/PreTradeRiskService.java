@@ -0,0 +1,370 @@
+package com.marmitt.ctrade.application.service;
+
+import com.marmitt.ctrade.domain.entity.Order;
+import com.marmitt.ctrade.infrastructure.config.RiskProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Controle de risco pré-trade em memória.
+ *
+ * Cada ordem reserva exposição (nocional em aberto, quantidade de ordens e posição projetada)
+ * antes de ir para a exchange. As reservas usam CAS sobre contadores em unidades inteiras
+ * (10^-8), então requisições concorrentes nunca ultrapassam um limite e nenhuma trava é
+ * adquirida no caminho da ordem. Como o limite global de posição depende da posição de todos
+ * os pares, as posições ficam num único livro imutável trocado por CAS: a verificação e a
+ * reserva valem para o mesmo estado, e ordens concorrentes em pares diferentes não
+ * ultrapassam juntas o limite global. A posição é marcada a mercado pelo {@link PriceCacheService};
+ * sem preço em cache, vale o último preço de ordem ou execução do par, e sem nenhum preço
+ * conhecido a ordem que aumentaria a exposição é rejeitada.
+ * Reservas são liberadas quando a ordem é cancelada, rejeitada ou executada; na execução a
+ * quantidade migra da posição pendente para a posição efetiva.
+ */
+@Service
+@Slf4j
+public class PreTradeRiskService {
+
+    private static final int UNIT_SCALE = 8;
+
+    private final RiskProperties properties;
+    private final PriceCacheService priceCacheService;
+
+    private final Map<String, PairExposure> exposureByPair = new ConcurrentHashMap<>();
+    private final Map<String, Reservation> reservationsByOrderId = new ConcurrentHashMap<>();
+    // Posição efetiva e pendente de todos os pares; substituído por inteiro a cada alteração
+    private final AtomicReference<Map<String, PairPosition>> positions = new AtomicReference<>(Map.of());
+    private final AtomicLong globalOpenNotional = new AtomicLong();
+    private final AtomicInteger globalOpenOrders = new AtomicInteger();
+
+    private final LongAdder checks = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+    private final LongAdder checkNanos = new LongAdder();
+
+    public PreTradeRiskService(RiskProperties properties, PriceCacheService priceCacheService) {
+        this.properties = properties;
+        this.priceCacheService = priceCacheService;
+    }
+
+    /**
+     * Verifica os limites e reserva a exposição da ordem.
+     *
+     * @throws IllegalArgumentException se algum limite for violado; nada fica reservado
+     */
+    public void reserve(Order order) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        checks.increment();
+        try {
+            doReserve(order);
+        } catch (IllegalArgumentException e) {
+            rejections.increment();
+            log.warn("Pre-trade risk check rejected order {} on {}: {}",
+                    order.getId(), order.getTradingPair().getSymbol(), e.getMessage());
+            throw e;
+        } finally {
+            checkNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Reconcilia a reserva com o resultado devolvido pela exchange. Se a exchange atribuiu
+     * outro ID, a reserva é transferida; status finais liberam a reserva imediatamente.
+     */
+    public void onOrderAccepted(String provisionalOrderId, Order result) {
+        if (!provisionalOrderId.equals(result.getId())) {
+            Reservation reservation = reservationsByOrderId.remove(provisionalOrderId);
+            if (reservation != null) {
+                reservationsByOrderId.put(result.getId(), reservation);
+            }
+        }
+        onStatusChange(result.getId(), result.getStatus());
+    }
+
+    public void onStatusChange(String orderId, Order.OrderStatus status) {
+        if (status == Order.OrderStatus.FILLED) {
+            settle(orderId, true);
+        } else if (status == Order.OrderStatus.CANCELLED) {
+            settle(orderId, false);
+        }
+    }
+
+    /**
+     * Libera a reserva de uma ordem que não chegou a ser aceita pela exchange.
+     */
+    public void release(String orderId) {
+        settle(orderId, false);
+    }
+
+    public RiskSnapshot getSnapshot() {
+        Map<String, PairRiskSnapshot> pairs = new TreeMap<>();
+        Map<String, PairPosition> book = positions.get();
+        exposureByPair.forEach((symbol, exposure) -> {
+            PairPosition position = book.getOrDefault(symbol, PairPosition.EMPTY);
+            pairs.put(symbol, new PairRiskSnapshot(
+                    fromUnits(exposure.openNotional.get()),
+                    exposure.openOrders.get(),
+                    fromUnits(position.position()),
+                    fromUnits(position.pending()),
+                    markToMarket(symbol, position.position(), position.lastPrice())
+            ));
+        });
+
+        long totalChecks = checks.sum();
+        return new RiskSnapshot(
+                fromUnits(globalOpenNotional.get()),
+                globalOpenOrders.get(),
+                globalPositionNotional(book, false),
+                totalChecks,
+                rejections.sum(),
+                totalChecks == 0 ? 0.0 : checkNanos.sum() / (double) totalChecks / 1_000,
+                pairs
+        );
+    }
+
+    private void doReserve(Order order) {
+        String symbol = order.getTradingPair().getSymbol();
+        BigDecimal notional = order.getTotalValue();
+        long notionalUnits = toUnits(notional);
+        long signedQuantity = order.getSide() == Order.OrderSide.BUY
+                ? toUnits(order.getQuantity())
+                : -toUnits(order.getQuantity());
+
+        if (exceeds(notional, properties.getMaxOrderNotional())) {
+            throw new IllegalArgumentException("Risk limit exceeded: order notional " + notional
+                    + " above maximum " + properties.getMaxOrderNotional());
+        }
+
+        PairExposure exposure = exposureByPair.computeIfAbsent(symbol, k -> new PairExposure());
+
+        // Em caso de violação, desfaz apenas as reservas já efetuadas
+        reserveCount(exposure.openOrders, properties.getMaxPairOpenOrders(), "open orders for " + symbol);
+        boolean globalOrdersReserved = false;
+        boolean pairNotionalReserved = false;
+        boolean globalNotionalReserved = false;
+        try {
+            reserveCount(globalOpenOrders, properties.getMaxGlobalOpenOrders(), "global open orders");
+            globalOrdersReserved = true;
+            reserveUnits(exposure.openNotional, notionalUnits, properties.getMaxPairOpenNotional(), "open notional for " + symbol);
+            pairNotionalReserved = true;
+            reserveUnits(globalOpenNotional, notionalUnits, properties.getMaxGlobalOpenNotional(), "global open notional");
+            globalNotionalReserved = true;
+            reservePosition(symbol, signedQuantity, order.getPrice());
+        } catch (IllegalArgumentException e) {
+            exposure.openOrders.decrementAndGet();
+            if (globalOrdersReserved) {
+                globalOpenOrders.decrementAndGet();
+            }
+            if (pairNotionalReserved) {
+                exposure.openNotional.addAndGet(-notionalUnits);
+            }
+            if (globalNotionalReserved) {
+                globalOpenNotional.addAndGet(-notionalUnits);
+            }
+            throw e;
+        }
+
+        reservationsByOrderId.put(order.getId(), new Reservation(symbol, notionalUnits, signedQuantity, order.getPrice()));
+    }
+
+    private void reservePosition(String symbol, long signedQuantity, BigDecimal orderPrice) {
+        BigDecimal pairLimit = properties.getMaxPairPositionNotional();
+        while (true) {
+            Map<String, PairPosition> book = positions.get();
+            PairPosition position = book.getOrDefault(symbol, PairPosition.EMPTY);
+            long current = position.projected();
+            long projected = current + signedQuantity;
+
+            // Ordens que reduzem a exposição projetada nunca são bloqueadas pelo limite de posição
+            boolean reducesExposure = Math.abs(projected) <= Math.abs(current);
+
+            if (!reducesExposure) {
+                BigDecimal referencePrice = orderPrice != null ? orderPrice : position.lastPrice();
+                BigDecimal projectedNotional = requireMarkToMarket(symbol, projected, referencePrice);
+                if (exceeds(projectedNotional, pairLimit)) {
+                    throw new IllegalArgumentException("Risk limit exceeded: projected position notional for " + symbol
+                            + " " + projectedNotional + " above maximum " + pairLimit);
+                }
+
+                BigDecimal globalProjected = globalPositionNotional(book, true)
+                        .subtract(requireMarkToMarket(symbol, current, referencePrice))
+                        .add(projectedNotional);
+                if (exceeds(globalProjected, properties.getMaxGlobalPositionNotional())) {
+                    throw new IllegalArgumentException("Risk limit exceeded: projected global position notional "
+                            + globalProjected + " above maximum " + properties.getMaxGlobalPositionNotional());
+                }
+            }
+
+            // Falha se qualquer par mudou desde a leitura; a verificação é refeita sobre o novo livro
+            PairPosition reserved = new PairPosition(position.position(), position.pending() + signedQuantity,
+                    orderPrice != null ? orderPrice : position.lastPrice());
+            if (positions.compareAndSet(book, with(book, symbol, reserved))) {
+                return;
+            }
+        }
+    }
+
+    private void settle(String orderId, boolean filled) {
+        Reservation reservation = reservationsByOrderId.remove(orderId);
+        if (reservation == null) {
+            return;
+        }
+
+        PairExposure exposure = exposureByPair.get(reservation.symbol());
+        exposure.openOrders.decrementAndGet();
+        exposure.openNotional.addAndGet(-reservation.notionalUnits());
+        globalOpenOrders.decrementAndGet();
+        globalOpenNotional.addAndGet(-reservation.notionalUnits());
+
+        long quantity = reservation.signedQuantityUnits();
+        positions.updateAndGet(book -> {
+            PairPosition position = book.getOrDefault(reservation.symbol(), PairPosition.EMPTY);
+            return with(book, reservation.symbol(), new PairPosition(
+                    filled ? position.position() + quantity : position.position(),
+                    position.pending() - quantity,
+                    filled && reservation.price() != null ? reservation.price() : position.lastPrice()));
+        });
+    }
+
+    /**
+     * @param requirePrice se true, uma posição sem preço conhecido rejeita a verificação; senão
+     *                     ela fica de fora da soma
+     */
+    private BigDecimal globalPositionNotional(Map<String, PairPosition> book, boolean requirePrice) {
+        BigDecimal total = BigDecimal.ZERO;
+        for (Map.Entry<String, PairPosition> entry : book.entrySet()) {
+            PairPosition position = entry.getValue();
+            BigDecimal notional = requirePrice
+                    ? requireMarkToMarket(entry.getKey(), position.projected(), position.lastPrice())
+                    : markToMarket(entry.getKey(), position.projected(), position.lastPrice());
+            if (notional != null) {
+                total = total.add(notional);
+            }
+        }
+        return total;
+    }
+
+    private static Map<String, PairPosition> with(Map<String, PairPosition> book, String symbol, PairPosition position) {
+        Map<String, PairPosition> updated = new HashMap<>(book);
+        updated.put(symbol, position);
+        return updated;
+    }
+
+    /**
+     * Valor absoluto da posição pelo último preço em cache, ou pelo preço de referência se não houver cache.
+     *
+     * @return null se nenhum dos dois preços é conhecido
+     */
+    private BigDecimal markToMarket(String symbol, long positionUnits, BigDecimal fallbackPrice) {
+        if (positionUnits == 0) {
+            return BigDecimal.ZERO;
+        }
+        BigDecimal markPrice = priceCacheService.getLatestPrice(symbol).orElse(fallbackPrice);
+        if (markPrice == null) {
+            return null;
+        }
+        return fromUnits(Math.abs(positionUnits)).multiply(markPrice);
+    }
+
+    private BigDecimal requireMarkToMarket(String symbol, long positionUnits, BigDecimal fallbackPrice) {
+        BigDecimal notional = markToMarket(symbol, positionUnits, fallbackPrice);
+        if (notional == null) {
+            throw new IllegalArgumentException("Risk check failed: no price known to value the position in " + symbol);
+        }
+        return notional;
+    }
+
+    private static void reserveCount(AtomicInteger counter, Integer limit, String description) {
+        while (true) {
+            int current = counter.get();
+            if (limit != null && current + 1 > limit) {
+                throw new IllegalArgumentException("Risk limit exceeded: " + description + " at maximum " + limit);
+            }
+            if (counter.compareAndSet(current, current + 1)) {
+                return;
+            }
+        }
+    }
+
+    private static void reserveUnits(AtomicLong counter, long units, BigDecimal limit, String description) {
+        long limitUnits = limit != null ? toUnits(limit) : Long.MAX_VALUE;
+        while (true) {
+            long current = counter.get();
+            if (current + units > limitUnits) {
+                throw new IllegalArgumentException("Risk limit exceeded: " + description + " would be "
+                        + fromUnits(current + units) + ", maximum " + limit);
+            }
+            if (counter.compareAndSet(current, current + units)) {
+                return;
+            }
+        }
+    }
+
+    private static boolean exceeds(BigDecimal value, BigDecimal limit) {
+        return limit != null && value.compareTo(limit) > 0;
+    }
+
+    private static long toUnits(BigDecimal value) {
+        try {
+            return value.movePointRight(UNIT_SCALE).setScale(0, RoundingMode.UP).longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Value out of range for risk accounting: " + value);
+        }
+    }
+
+    private static BigDecimal fromUnits(long units) {
+        return BigDecimal.valueOf(units, UNIT_SCALE).stripTrailingZeros();
+    }
+
+    private static final class PairExposure {
+        private final AtomicLong openNotional = new AtomicLong();
+        private final AtomicInteger openOrders = new AtomicInteger();
+    }
+
+    /**
+     * @param position quantidade executada, em unidades (positiva comprada, negativa vendida)
+     * @param pending quantidade reservada por ordens em aberto
+     * @param lastPrice preço da última ordem reservada ou executada, usado quando não há preço em cache
+     */
+    private record PairPosition(long position, long pending, BigDecimal lastPrice) {
+        private static final PairPosition EMPTY = new PairPosition(0, 0, null);
+
+        long projected() {
+            return position + pending;
+        }
+    }
+
+    private record Reservation(String symbol, long notionalUnits, long signedQuantityUnits, BigDecimal price) {
+    }
+
+    public record PairRiskSnapshot(
+        BigDecimal openNotional,
+        int openOrders,
+        BigDecimal position,
+        BigDecimal pendingPosition,
+        BigDecimal positionNotional
+    ) {}
+
+    public record RiskSnapshot(
+        BigDecimal globalOpenNotional,
+        int globalOpenOrders,
+        BigDecimal globalPositionNotional,
+        long checks,
+        long rejections,
+        double averageCheckMicros,
+        Map<String, PairRiskSnapshot> pairs
+    ) {}
+}
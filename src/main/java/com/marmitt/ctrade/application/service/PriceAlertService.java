@@ -1,13 +1,18 @@
 package com.marmitt.ctrade.application.service;
 
+import com.marmitt.ctrade.domain.dto.PriceUpdateMessage;
 import com.marmitt.ctrade.domain.entity.PriceAlert;
+import com.marmitt.ctrade.domain.entity.PriceWindowState;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
 
 @Service
@@ -16,9 +21,20 @@ public class PriceAlertService {
     
     private final Map<String, List<PriceAlert>> alertsByPair = new ConcurrentHashMap<>();
     
+    // Estado de janela compartilhado por todos os alertas do mesmo par
+    private final Map<String, PriceWindowState> windowStateByPair = new ConcurrentHashMap<>();
+    
     public void addAlert(PriceAlert alert) {
-        alertsByPair.computeIfAbsent(alert.getTradingPair(), k -> new java.util.concurrent.CopyOnWriteArrayList<>())
-                   .add(alert);
+        alertsByPair.compute(alert.getTradingPair(), (pair, alerts) -> {
+            List<PriceAlert> updated = alerts != null ? alerts : new CopyOnWriteArrayList<>();
+            updated.add(alert);
+            return updated;
+        });
+        
+        // Registrado depois de o alerta estar na lista: uma liberação concorrente o enxerga
+        if (alert.requiresWindowState()) {
+            registerWindowRequirements(alert);
+        }
         log.info("Price alert created: {} {} {}", 
                 alert.getTradingPair(), 
                 alert.getAlertType(), 
@@ -49,25 +65,100 @@ public class PriceAlertService {
     }
     
     public List<PriceAlert> checkAndTriggerAlerts(String tradingPair, BigDecimal currentPrice) {
-        List<PriceAlert> activeAlerts = getActiveAlerts(tradingPair);
-
-        return activeAlerts.stream()
-                .filter(alert -> alert.shouldTrigger(currentPrice))
-                .peek(alert -> {
-                    alert.trigger();
-                    log.warn("PRICE ALERT TRIGGERED! {} {} {} - Current: {}",
-                            alert.getTradingPair(),
-                            alert.getAlertType(),
-                            alert.getThreshold(),
-                            currentPrice);
-                })
-                .collect(Collectors.toList());
+        return checkAndTriggerAlerts(tradingPair, currentPrice, LocalDateTime.now());
+    }
+    
+    /**
+     * Atualiza o estado de janela do par com o tick e avalia os alertas ativos.
+     * Cada alerta é avaliado em O(1), sem reprocessar o histórico de preços.
+     *
+     * A avaliação de um par é serializada pela lista de alertas dele, compartilhada com
+     * {@link #replayBackfill}: um alerta nunca dispara duas vezes nem tem o trailing stop
+     * atualizado por duas threads ao mesmo tempo.
+     */
+    public List<PriceAlert> checkAndTriggerAlerts(String tradingPair, BigDecimal currentPrice, LocalDateTime timestamp) {
+        PriceWindowState windowState = windowStateByPair.get(tradingPair);
+        List<PriceAlert> alerts = alertsByPair.get(tradingPair);
+        if (alerts == null) {
+            if (windowState != null) {
+                windowState.update(currentPrice, timestamp != null ? timestamp : LocalDateTime.now());
+            }
+            return new ArrayList<>();
+        }
+        
+        synchronized (alerts) {
+            if (windowState != null) {
+                windowState.update(currentPrice, timestamp != null ? timestamp : LocalDateTime.now());
+            }
+            
+            return alerts.stream()
+                    .filter(alert -> alert.shouldTrigger(currentPrice, windowState))
+                    .peek(alert -> {
+                        alert.trigger();
+                        log.warn("PRICE ALERT TRIGGERED! {} {} {} - Current: {}",
+                                alert.getTradingPair(),
+                                alert.getAlertType(),
+                                alert.getThreshold(),
+                                currentPrice);
+                    })
+                    .collect(Collectors.toList());
+        }
+    }
+    
+    /**
+     * Avalia os alertas ativos do par contra preços repostos de um intervalo sem feed, em
+     * ordem cronológica, e marca os disparados como backfill.
+     *
+     * A janela dos alertas é reconstruída numa cópia descartável alimentada só pelos pontos
+     * repostos, então o estado ao vivo (já à frente no tempo) não retrocede. Um alerta não
+     * é avaliado contra pontos anteriores à sua criação. Os ticks ao vivo do par esperam o
+     * fim da reposição.
+     */
+    public List<PriceAlert> replayBackfill(String tradingPair, List<PriceUpdateMessage> history) {
+        List<PriceAlert> alerts = alertsByPair.get(tradingPair);
+        if (alerts == null || history.isEmpty()) {
+            return List.of();
+        }
+        
+        synchronized (alerts) {
+            List<PriceAlert> activeAlerts = alerts.stream().filter(PriceAlert::isActive).toList();
+            if (activeAlerts.isEmpty()) {
+                return List.of();
+            }
+            
+            PriceWindowState replayState = new PriceWindowState(tradingPair);
+            activeAlerts.stream()
+                    .filter(PriceAlert::requiresWindowState)
+                    .forEach(alert -> registerWindowRequirements(replayState, alert));
+            
+            List<PriceAlert> triggered = new ArrayList<>();
+            for (PriceUpdateMessage point : history) {
+                replayState.update(point.getPrice(), point.getTimestamp());
+                for (PriceAlert alert : activeAlerts) {
+                    if (alert.getCreatedAt() != null && point.getTimestamp().isBefore(alert.getCreatedAt())) {
+                        continue;
+                    }
+                    if (alert.shouldTrigger(point.getPrice(), replayState)) {
+                        alert.triggerFromBackfill(point.getTimestamp());
+                        triggered.add(alert);
+                        log.warn("PRICE ALERT TRIGGERED (backfill)! {} {} {} - Price: {} at {}",
+                                alert.getTradingPair(),
+                                alert.getAlertType(),
+                                alert.getThreshold(),
+                                point.getPrice(),
+                                point.getTimestamp());
+                    }
+                }
+            }
+            return triggered;
+        }
     }
     
     public boolean removeAlert(String alertId) {
-        for (List<PriceAlert> alerts : alertsByPair.values()) {
-            boolean removed = alerts.removeIf(alert -> alert.getId().equals(alertId));
+        for (Map.Entry<String, List<PriceAlert>> entry : alertsByPair.entrySet()) {
+            boolean removed = entry.getValue().removeIf(alert -> alert.getId().equals(alertId));
             if (removed) {
+                releaseUnusedState(entry.getKey());
                 log.info("Price alert removed: {}", alertId);
                 return true;
             }
@@ -76,10 +167,64 @@ public class PriceAlertService {
     }
     
     public void clearInactiveAlerts() {
-        alertsByPair.values().forEach(alerts -> 
-            alerts.removeIf(alert -> !alert.isActive()));
+        alertsByPair.forEach((tradingPair, alerts) -> {
+            if (alerts.removeIf(alert -> !alert.isActive())) {
+                releaseUnusedState(tradingPair);
+            }
+        });
         log.info("Inactive alerts cleared");
     }
+    
+    public PriceWindowState getWindowState(String tradingPair) {
+        return windowStateByPair.get(tradingPair);
+    }
+    
+    /**
+     * Libera as amostras de janela de um par que deixou de ser monitorado. Os alertas são
+     * mantidos e o estado é recriado vazio com os requisitos deles, para voltar a valer
+     * se o par for reativado.
+     */
+    public void releaseWindowState(String tradingPair) {
+        if (windowStateByPair.remove(tradingPair) == null) {
+            return;
+        }
+        alertsByPair.getOrDefault(tradingPair, List.of()).stream()
+                .filter(PriceAlert::requiresWindowState)
+                .forEach(this::registerWindowRequirements);
+        log.info("Price window state released for trading pair: {}", tradingPair);
+    }
+    
+    /**
+     * Descarta o estado de janela do par quando nenhum alerta ativo precisa mais dele, e a
+     * lista de alertas quando ficou vazia. As duas verificações rodam sob a trava do mapa
+     * correspondente, então um alerta adicionado ao mesmo tempo não fica sem estado.
+     */
+    private void releaseUnusedState(String tradingPair) {
+        PriceWindowState released = windowStateByPair.computeIfPresent(tradingPair, (pair, windowState) ->
+                alertsByPair.getOrDefault(pair, List.of()).stream()
+                        .anyMatch(alert -> alert.isActive() && alert.requiresWindowState()) ? windowState : null);
+        alertsByPair.computeIfPresent(tradingPair, (pair, alerts) -> alerts.isEmpty() ? null : alerts);
+        if (released == null) {
+            log.debug("Price window state released for trading pair without window alerts: {}", tradingPair);
+        }
+    }
+    
+    private void registerWindowRequirements(PriceAlert alert) {
+        windowStateByPair.compute(alert.getTradingPair(), (pair, windowState) -> {
+            PriceWindowState updated = windowState != null ? windowState : new PriceWindowState(pair);
+            registerWindowRequirements(updated, alert);
+            return updated;
+        });
+    }
+    
+    private static void registerWindowRequirements(PriceWindowState windowState, PriceAlert alert) {
+        if (alert.getWindowSeconds() != null) {
+            windowState.registerWindow(alert.getWindowSeconds());
+        }
+        if (alert.getEmaPeriod() != null) {
+            windowState.registerEma(alert.getEmaPeriod());
+        }
+    }
 
 
 }
\ No newline at end of file
@@ -14,6 +14,8 @@ import java.util.concurrent.ConcurrentHashMap;
 @Slf4j
 public class PriceCacheService {
     
+    // Cada histórico é lido e alterado sob o próprio monitor; as escritas passam por compute,
+    // que serializa a criação, a alteração e a remoção do par
     private final Map<String, List<PriceCacheEntry>> priceHistoryCache = new ConcurrentHashMap<>();
     private final Duration cacheTtl;
     private final int maxHistorySize;
@@ -34,31 +36,83 @@ public class PriceCacheService {
         
         PriceCacheEntry entry = new PriceCacheEntry(price, timestamp);
         
-        priceHistoryCache.computeIfAbsent(tradingPair, k -> new ArrayList<>()).add(entry);
-        
-        List<PriceCacheEntry> history = priceHistoryCache.get(tradingPair);
+        List<PriceCacheEntry> history = priceHistoryCache.compute(tradingPair, (pair, current) -> {
+            List<PriceCacheEntry> list = current != null ? current : new ArrayList<>();
+            synchronized (list) {
+                list.add(entry);
+                
+                // Limitar tamanho do histórico
+                if (list.size() > maxHistorySize) {
+                    list.remove(0); // Remove o mais antigo
+                    log.debug("Removed oldest price entry for {} to maintain max history size", pair);
+                }
+            }
+            return list;
+        });
         
-        // Limitar tamanho do histórico
-        if (history.size() > maxHistorySize) {
-            history.remove(0); // Remove o mais antigo
-            log.debug("Removed oldest price entry for {} to maintain max history size", tradingPair);
+        log.debug("Price added to history cache: {} = {} at {} (history size: {})", 
+                tradingPair, price, timestamp, sizeOf(history));
+    }
+    
+    /**
+     * Intercala no histórico preços repostos de um intervalo sem feed, mantendo a ordem
+     * cronológica. Pontos no mesmo instante de uma entrada existente são descartados (a
+     * entrada recebida ao vivo prevalece) e o limite de tamanho continua descartando os
+     * mais antigos.
+     *
+     * @return quantidade de pontos novos, antes da aplicação do limite de tamanho
+     */
+    public int mergeHistory(String tradingPair, List<PriceCacheEntry> entries) {
+        if (tradingPair == null || entries == null || entries.isEmpty()) {
+            return 0;
         }
         
-        log.debug("Price added to history cache: {} = {} at {} (history size: {})", 
-                tradingPair, price, timestamp, history.size());
+        int[] merged = new int[1];
+        List<PriceCacheEntry> history = priceHistoryCache.compute(tradingPair, (pair, current) -> {
+            List<PriceCacheEntry> list = current != null ? current : new ArrayList<>();
+            synchronized (list) {
+                TreeMap<LocalDateTime, PriceCacheEntry> byTimestamp = new TreeMap<>();
+                list.forEach(entry -> byTimestamp.put(entry.timestamp, entry));
+                for (PriceCacheEntry entry : entries) {
+                    if (entry.price != null && entry.timestamp != null
+                            && byTimestamp.putIfAbsent(entry.timestamp, entry) == null) {
+                        merged[0]++;
+                    }
+                }
+                
+                List<PriceCacheEntry> ordered = new ArrayList<>(byTimestamp.values());
+                int excess = ordered.size() - maxHistorySize;
+                list.clear();
+                list.addAll(excess > 0 ? ordered.subList(excess, ordered.size()) : ordered);
+            }
+            return list;
+        });
+        
+        log.debug("Merged {} backfilled prices into history cache of {} (history size: {})",
+                merged[0], tradingPair, sizeOf(history));
+        return merged[0];
     }
     
     public Optional<BigDecimal> getLatestPrice(String tradingPair) {
+        return getLatestEntry(tradingPair).map(PriceCacheEntry::price);
+    }
+    
+    /**
+     * Entrada válida mais recente (preço e timestamp lidos juntos, sem corrida entre as duas leituras).
+     */
+    public Optional<PriceCacheEntry> getLatestEntry(String tradingPair) {
         List<PriceCacheEntry> history = priceHistoryCache.get(tradingPair);
-        if (history == null || history.isEmpty()) {
+        if (history == null) {
             return Optional.empty();
         }
         
         // Buscar a entrada mais recente válida (de trás para frente)
-        for (int i = history.size() - 1; i >= 0; i--) {
-            PriceCacheEntry entry = history.get(i);
-            if (isEntryValid(entry)) {
-                return Optional.of(entry.price);
+        synchronized (history) {
+            for (int i = history.size() - 1; i >= 0; i--) {
+                PriceCacheEntry entry = history.get(i);
+                if (isEntryValid(entry)) {
+                    return Optional.of(entry);
+                }
             }
         }
         
@@ -67,20 +121,7 @@ public class PriceCacheService {
     }
     
     public Optional<LocalDateTime> getLastUpdateTime(String tradingPair) {
-        List<PriceCacheEntry> history = priceHistoryCache.get(tradingPair);
-        if (history == null || history.isEmpty()) {
-            return Optional.empty();
-        }
-        
-        // Buscar a entrada mais recente válida
-        for (int i = history.size() - 1; i >= 0; i--) {
-            PriceCacheEntry entry = history.get(i);
-            if (isEntryValid(entry)) {
-                return Optional.of(entry.timestamp);
-            }
-        }
-        
-        return Optional.empty();
+        return getLatestEntry(tradingPair).map(PriceCacheEntry::timestamp);
     }
     
     public boolean hasPrice(String tradingPair) {
@@ -94,9 +135,11 @@ public class PriceCacheService {
         }
         
         // Retornar apenas entradas válidas (não expiradas)
-        return history.stream()
-                .filter(this::isEntryValid)
-                .toList();
+        synchronized (history) {
+            return history.stream()
+                    .filter(this::isEntryValid)
+                    .toList();
+        }
     }
     
     public List<PriceCacheEntry> getPriceHistory(String tradingPair, int limit) {
@@ -116,10 +159,19 @@ public class PriceCacheService {
     
     public int getTotalHistoryEntries() {
         return priceHistoryCache.values().stream()
-                .mapToInt(List::size)
+                .mapToInt(PriceCacheService::sizeOf)
                 .sum();
     }
     
+    /**
+     * Descarta o histórico de um par que deixou de ser monitorado.
+     */
+    public void evict(String tradingPair) {
+        if (priceHistoryCache.remove(tradingPair) != null) {
+            log.info("Price cache released for trading pair: {}", tradingPair);
+        }
+    }
+    
     public void clearCache() {
         priceHistoryCache.clear();
         log.info("Price cache cleared");
@@ -128,23 +180,26 @@ public class PriceCacheService {
     public int clearExpiredEntries() {
         int totalRemoved = 0;
         
-        for (Map.Entry<String, List<PriceCacheEntry>> cacheEntry : priceHistoryCache.entrySet()) {
-            String tradingPair = cacheEntry.getKey();
-            List<PriceCacheEntry> history = cacheEntry.getValue();
-            
-            int originalSize = history.size();
-            history.removeIf(entry -> !isEntryValid(entry));
-            int removedCount = originalSize - history.size();
-            
-            if (removedCount > 0) {
-                log.debug("Removed {} expired entries for {}", removedCount, tradingPair);
-                totalRemoved += removedCount;
-            }
+        for (String tradingPair : priceHistoryCache.keySet()) {
+            int[] removedCount = new int[1];
+            priceHistoryCache.computeIfPresent(tradingPair, (pair, history) -> {
+                synchronized (history) {
+                    int originalSize = history.size();
+                    history.removeIf(entry -> !isEntryValid(entry));
+                    removedCount[0] = originalSize - history.size();
+                    
+                    // Se não restaram entradas válidas, remove o trading pair do cache
+                    if (history.isEmpty()) {
+                        log.debug("Removed empty history for: {}", pair);
+                        return null;
+                    }
+                    return history;
+                }
+            });
             
-            // Se não restaram entradas válidas, remove o trading pair do cache
-            if (history.isEmpty()) {
-                priceHistoryCache.remove(tradingPair);
-                log.debug("Removed empty history for: {}", tradingPair);
+            if (removedCount[0] > 0) {
+                log.debug("Removed {} expired entries for {}", removedCount[0], tradingPair);
+                totalRemoved += removedCount[0];
             }
         }
         
@@ -154,6 +209,12 @@ public class PriceCacheService {
         return totalRemoved;
     }
     
+    private static int sizeOf(List<PriceCacheEntry> history) {
+        synchronized (history) {
+            return history.size();
+        }
+    }
+    
     private boolean isEntryValid(PriceCacheEntry entry) {
         return Duration.between(entry.timestamp, LocalDateTime.now()).compareTo(cacheTtl) < 0;
     }
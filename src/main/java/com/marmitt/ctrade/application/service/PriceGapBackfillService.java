@@ -0,0 +1,168 @@
+package com.marmitt.ctrade.application.service;
+
+import com.marmitt.ctrade.domain.dto.PriceUpdateMessage;
+import com.marmitt.ctrade.domain.entity.PriceAlert;
+import com.marmitt.ctrade.domain.event.PriceFeedRecoveredEvent;
+import com.marmitt.ctrade.domain.port.PriceHistoryPort;
+import com.marmitt.ctrade.infrastructure.config.PriceBackfillProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reposição dos preços perdidos enquanto os pares ficaram sem feed.
+ *
+ * Quando um adapter anuncia a recuperação ({@link PriceFeedRecoveredEvent}), o histórico de
+ * cada par é buscado no {@link PriceHistoryPort} em paralelo (limitado por
+ * {@code trading.backfill.max-concurrency}), intercalado no cache em ordem cronológica,
+ * contabilizado nas métricas e reavaliado pelos alertas; os disparados seguem para
+ * notificação marcados como backfill. Falhas de um par não interrompem os demais.
+ *
+ * O intervalo de cada par começa no último preço dele no cache, que pode ser anterior à
+ * queda se o stream parou antes do socket, ou na própria queda, e termina na recuperação.
+ */
+@Service
+@Slf4j
+public class PriceGapBackfillService {
+
+    private final ObjectProvider<PriceHistoryPort> historyPort;
+    private final PriceCacheService priceCacheService;
+    private final PriceMetricsService priceMetricsService;
+    private final PriceAlertService priceAlertService;
+    private final AlertNotificationDispatcher notificationDispatcher;
+    private final PriceBackfillProperties properties;
+    private final ExecutorService backfillExecutor;
+
+    public PriceGapBackfillService(ObjectProvider<PriceHistoryPort> historyPort,
+                                   PriceCacheService priceCacheService,
+                                   PriceMetricsService priceMetricsService,
+                                   PriceAlertService priceAlertService,
+                                   AlertNotificationDispatcher notificationDispatcher,
+                                   PriceBackfillProperties properties) {
+        this.historyPort = historyPort;
+        this.priceCacheService = priceCacheService;
+        this.priceMetricsService = priceMetricsService;
+        this.priceAlertService = priceAlertService;
+        this.notificationDispatcher = notificationDispatcher;
+        this.properties = properties;
+
+        AtomicInteger threadCounter = new AtomicInteger(0);
+        this.backfillExecutor = Executors.newFixedThreadPool(Math.max(properties.getMaxConcurrency(), 1), runnable -> {
+            Thread thread = new Thread(runnable, "price-gap-backfill-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        backfillExecutor.shutdown();
+        try {
+            if (!backfillExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
+                backfillExecutor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            backfillExecutor.shutdownNow();
+        }
+    }
+
+    @EventListener
+    public void onFeedRecovered(PriceFeedRecoveredEvent event) {
+        backfill(event.getTradingPairs(), event.getDisconnectedAt(), Instant.ofEpochMilli(event.getTimestamp()));
+    }
+
+    /**
+     * Agenda a reposição dos pares e retorna sem esperar por ela.
+     *
+     * @return conclusão de todos os pares, com o resultado de cada um
+     */
+    public CompletableFuture<List<BackfillResult>> backfill(List<String> tradingPairs, Instant disconnectedAt, Instant recoveredAt) {
+        PriceHistoryPort port = historyPort.getIfAvailable();
+        if (!properties.isEnabled() || port == null) {
+            log.debug("Price backfill skipped for {} pairs: {}", tradingPairs.size(),
+                    port == null ? "no price history source" : "disabled");
+            return CompletableFuture.completedFuture(List.of());
+        }
+
+        List<CompletableFuture<BackfillResult>> futures = new ArrayList<>(tradingPairs.size());
+        for (String tradingPair : tradingPairs) {
+            Instant from = gapStart(tradingPair, disconnectedAt, recoveredAt);
+            if (Duration.between(from, recoveredAt).compareTo(properties.getMinGap()) < 0) {
+                continue;
+            }
+            futures.add(CompletableFuture.supplyAsync(() -> backfillPair(port, tradingPair, from, recoveredAt), backfillExecutor));
+        }
+        if (!futures.isEmpty()) {
+            log.info("Backfilling {} pairs missed since {}", futures.size(), disconnectedAt);
+        }
+
+        return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> futures.stream().map(CompletableFuture::join).toList());
+    }
+
+    private BackfillResult backfillPair(PriceHistoryPort port, String tradingPair, Instant from, Instant to) {
+        try {
+            LocalDateTime after = toDateTime(from);
+            List<PriceUpdateMessage> history = port.getPriceHistory(tradingPair, from, to).stream()
+                    .filter(point -> point.getPrice() != null && point.getTimestamp() != null)
+                    .filter(point -> point.getTimestamp().isAfter(after))
+                    .toList();
+            if (history.isEmpty()) {
+                return new BackfillResult(tradingPair, 0, 0, null);
+            }
+
+            int merged = priceCacheService.mergeHistory(tradingPair, history.stream()
+                    .map(point -> new PriceCacheService.PriceCacheEntry(point.getPrice(), point.getTimestamp()))
+                    .toList());
+            priceMetricsService.recordBackfill(tradingPair, history);
+            List<PriceAlert> triggered = priceAlertService.replayBackfill(tradingPair, history);
+            triggered.forEach(notificationDispatcher::enqueue);
+
+            log.info("Backfilled {}: {} prices between {} and {} ({} new in cache), {} alerts triggered",
+                    tradingPair, history.size(), from, to, merged, triggered.size());
+            return new BackfillResult(tradingPair, history.size(), triggered.size(), null);
+        } catch (Exception e) {
+            log.error("Error backfilling {} between {} and {}: {}", tradingPair, from, to, e.getMessage(), e);
+            return new BackfillResult(tradingPair, 0, 0, e.getMessage());
+        }
+    }
+
+    /**
+     * Último preço do par no cache ou a queda, o que vier antes, limitado a {@code max-gap}.
+     */
+    private Instant gapStart(String tradingPair, Instant disconnectedAt, Instant recoveredAt) {
+        Instant from = priceCacheService.getLastUpdateTime(tradingPair)
+                .map(lastUpdate -> lastUpdate.atZone(ZoneId.systemDefault()).toInstant())
+                .filter(lastUpdate -> lastUpdate.isBefore(disconnectedAt))
+                .orElse(disconnectedAt);
+        Instant earliest = recoveredAt.minus(properties.getMaxGap());
+        return from.isBefore(earliest) ? earliest : from;
+    }
+
+    private static LocalDateTime toDateTime(Instant instant) {
+        return LocalDateTime.ofInstant(instant, ZoneId.systemDefault());
+    }
+
+    /**
+     * @param prices pontos repostos no intervalo
+     * @param alerts alertas disparados pela reposição
+     * @param error motivo da falha; null quando o par foi reposto
+     */
+    public record BackfillResult(String tradingPair, int prices, int alerts, String error) {
+    }
+}
@@ -1,6 +1,7 @@
 package com.marmitt.ctrade.application.service;
 
 import com.marmitt.ctrade.controller.dto.SystemMetricsSummary;
+import com.marmitt.ctrade.domain.dto.PriceUpdateMessage;
 import com.marmitt.ctrade.domain.entity.PriceMetrics;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -8,6 +9,7 @@ import org.springframework.stereotype.Service;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -27,6 +29,20 @@ public class PriceMetricsService {
                 metrics.getAveragePrice());
     }
     
+    /**
+     * Contabiliza preços repostos de um intervalo sem feed, em ordem cronológica, sem
+     * retroceder o preço atual do par.
+     */
+    public void recordBackfill(String tradingPair, List<PriceUpdateMessage> history) {
+        if (history.isEmpty()) {
+            return;
+        }
+        PriceMetrics metrics = metricsByPair.computeIfAbsent(tradingPair, PriceMetrics::new);
+        history.forEach(point -> metrics.backfillPrice(point.getPrice(), point.getTimestamp()));
+        
+        log.debug("Price metrics backfilled for {} with {} prices", tradingPair, history.size());
+    }
+    
     public PriceMetrics getMetrics(String tradingPair) {
         return metricsByPair.get(tradingPair);
     }
@@ -1,26 +1,31 @@
 package com.marmitt.ctrade.application.service;
 
+import com.marmitt.ctrade.domain.dto.BatchItemResult;
+import com.marmitt.ctrade.domain.dto.BatchOrderCommand;
 import com.marmitt.ctrade.domain.entity.Order;
 import com.marmitt.ctrade.domain.entity.TradingAuditLog;
 import com.marmitt.ctrade.domain.entity.TradingPair;
-import com.marmitt.ctrade.infrastructure.repository.TradingAuditLogRepository;
+import com.marmitt.ctrade.domain.port.AuditLogSink;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
+/**
+ * Monta os registros de auditoria das operações de trading e os entrega ao {@link AuditLogSink},
+ * que os persiste fora da thread da requisição.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class TradingAuditService {
     
-    private final TradingAuditLogRepository auditLogRepository;
+    private final AuditLogSink auditLogSink;
     
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void logOrderPlacement(TradingAuditLog.ActionType actionType, TradingPair tradingPair, 
                                  Order.OrderType orderType, Order.OrderSide orderSide, 
                                  BigDecimal quantity, BigDecimal price, Order result) {
@@ -31,15 +36,14 @@ public class TradingAuditService {
                     .withOrderId(result.getId())
                     .withRequestId(generateRequestId());
             
-            auditLogRepository.save(auditLog);
-            log.info("Audit log saved: action={}, orderId={}, tradingPair={}", 
+            auditLogSink.submit(auditLog);
+            log.info("Audit log recorded: action={}, orderId={}, tradingPair={}", 
                     actionType, result.getId(), tradingPair.getSymbol());
         } catch (Exception e) {
             log.error("Failed to save audit log for order placement", e);
         }
     }
     
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void logOrderAction(TradingAuditLog.ActionType actionType, String orderId, Order result) {
         try {
             TradingAuditLog auditLog = TradingAuditLog.success(actionType)
@@ -47,14 +51,13 @@ public class TradingAuditService {
                     .withTradingPair(result.getTradingPair().getSymbol())
                     .withRequestId(generateRequestId());
             
-            auditLogRepository.save(auditLog);
-            log.info("Audit log saved: action={}, orderId={}", actionType, orderId);
+            auditLogSink.submit(auditLog);
+            log.info("Audit log recorded: action={}, orderId={}", actionType, orderId);
         } catch (Exception e) {
             log.error("Failed to save audit log for order action", e);
         }
     }
     
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void logPriceQuery(TradingPair tradingPair, BigDecimal price) {
         try {
             TradingAuditLog auditLog = TradingAuditLog.success(TradingAuditLog.ActionType.GET_CURRENT_PRICE)
@@ -62,28 +65,26 @@ public class TradingAuditService {
                     .withOrderDetails(null, null, null, price)
                     .withRequestId(generateRequestId());
             
-            auditLogRepository.save(auditLog);
-            log.debug("Price query audit log saved: tradingPair={}, price={}", 
+            auditLogSink.submit(auditLog);
+            log.debug("Price query audit log recorded: tradingPair={}, price={}", 
                     tradingPair.getSymbol(), price);
         } catch (Exception e) {
             log.error("Failed to save audit log for price query", e);
         }
     }
     
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void logActiveOrdersQuery(int orderCount) {
         try {
             TradingAuditLog auditLog = TradingAuditLog.success(TradingAuditLog.ActionType.GET_ACTIVE_ORDERS)
                     .withRequestId(generateRequestId());
             
-            auditLogRepository.save(auditLog);
-            log.debug("Active orders query audit log saved: orderCount={}", orderCount);
+            auditLogSink.submit(auditLog);
+            log.debug("Active orders query audit log recorded: orderCount={}", orderCount);
         } catch (Exception e) {
             log.error("Failed to save audit log for active orders query", e);
         }
     }
     
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void logValidationError(TradingAuditLog.ActionType actionType, String errorMessage, 
                                   TradingPair tradingPair, BigDecimal quantity, BigDecimal price) {
         try {
@@ -98,14 +99,13 @@ public class TradingAuditService {
                 auditLog.withOrderDetails(null, null, quantity, price);
             }
             
-            auditLogRepository.save(auditLog);
-            log.warn("Validation error audit log saved: action={}, error={}", actionType, errorMessage);
+            auditLogSink.submit(auditLog);
+            log.warn("Validation error audit log recorded: action={}, error={}", actionType, errorMessage);
         } catch (Exception e) {
             log.error("Failed to save validation error audit log", e);
         }
     }
     
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void logError(TradingAuditLog.ActionType actionType, String errorMessage, 
                         TradingPair tradingPair, String orderId) {
         try {
@@ -120,13 +120,73 @@ public class TradingAuditService {
                 auditLog.withOrderId(orderId);
             }
             
-            auditLogRepository.save(auditLog);
-            log.error("Error audit log saved: action={}, error={}", actionType, errorMessage);
+            auditLogSink.submit(auditLog);
+            log.error("Error audit log recorded: action={}, error={}", actionType, errorMessage);
         } catch (Exception e) {
             log.error("Failed to save error audit log", e);
         }
     }
     
+    /**
+     * Registra todos os itens de um lote de ordens compartilhando o mesmo requestId para correlação.
+     */
+    public void logOrderPlacementBatch(List<BatchOrderCommand> commands, List<BatchItemResult> results) {
+        try {
+            String requestId = generateRequestId();
+            List<TradingAuditLog> auditLogs = new ArrayList<>(results.size());
+            
+            for (BatchItemResult result : results) {
+                BatchOrderCommand command = commands.get(result.index());
+                TradingAuditLog.ActionType actionType = command.side() == Order.OrderSide.SELL
+                        ? TradingAuditLog.ActionType.PLACE_SELL_ORDER
+                        : TradingAuditLog.ActionType.PLACE_BUY_ORDER;
+                
+                TradingAuditLog auditLog = batchEntry(actionType, result)
+                        .withOrderDetails(Order.OrderType.LIMIT, command.side(), command.quantity(), command.price())
+                        .withRequestId(requestId);
+                if (command.tradingPair() != null) {
+                    auditLog.withTradingPair(command.tradingPair().getSymbol());
+                }
+                auditLogs.add(auditLog);
+            }
+            
+            auditLogSink.submitAll(auditLogs);
+            log.info("Batch audit log recorded: {} order placements, requestId={}", auditLogs.size(), requestId);
+        } catch (Exception e) {
+            log.error("Failed to save audit log for order placement batch", e);
+        }
+    }
+    
+    public void logCancelBatch(List<BatchItemResult> results) {
+        try {
+            String requestId = generateRequestId();
+            List<TradingAuditLog> auditLogs = new ArrayList<>(results.size());
+            
+            for (BatchItemResult result : results) {
+                TradingAuditLog auditLog = batchEntry(TradingAuditLog.ActionType.CANCEL_ORDER, result)
+                        .withOrderId(result.reference())
+                        .withRequestId(requestId);
+                if (result.order() != null) {
+                    auditLog.withTradingPair(result.order().getTradingPair().getSymbol());
+                }
+                auditLogs.add(auditLog);
+            }
+            
+            auditLogSink.submitAll(auditLogs);
+            log.info("Batch audit log recorded: {} cancellations, requestId={}", auditLogs.size(), requestId);
+        } catch (Exception e) {
+            log.error("Failed to save audit log for cancel batch", e);
+        }
+    }
+    
+    private TradingAuditLog batchEntry(TradingAuditLog.ActionType actionType, BatchItemResult result) {
+        return switch (result.status()) {
+            case SUCCESS -> TradingAuditLog.success(actionType).withOrderId(result.order().getId());
+            case REJECTED -> TradingAuditLog.validationError(actionType, result.error());
+            case FAILED -> TradingAuditLog.error(actionType, result.error());
+        };
+    }
+    
     private String generateRequestId() {
         return UUID.randomUUID().toString().substring(0, 8);
     }
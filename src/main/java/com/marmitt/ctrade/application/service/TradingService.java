@@ -3,6 +3,7 @@ package com.marmitt.ctrade.application.service;
 import com.marmitt.ctrade.domain.entity.Order;
 import com.marmitt.ctrade.domain.entity.TradingAuditLog;
 import com.marmitt.ctrade.domain.entity.TradingPair;
+import com.marmitt.ctrade.domain.port.AsyncExchangePort;
 import com.marmitt.ctrade.domain.port.ExchangePort;
 import com.marmitt.ctrade.domain.valueobject.Price;
 import lombok.RequiredArgsConstructor;
@@ -10,7 +11,10 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @Service
 @RequiredArgsConstructor
@@ -18,14 +22,20 @@ import java.util.List;
 public class TradingService {
 
     private final ExchangePort exchangePort;
+    private final AsyncExchangePort asyncExchangePort;
     private final TradingAuditService auditService;
+    private final OrderStateStore orderStateStore;
+    private final MarketPriceResolver marketPriceResolver;
+    private final PreTradeRiskService riskService;
+    private final ExchangeQueryCache exchangeQueryCache;
 
     public Order placeBuyOrder(TradingPair tradingPair, BigDecimal quantity, BigDecimal price) {
         try {
             validateOrderParameters(quantity, price);
             
             Order order = new Order(tradingPair, Order.OrderType.LIMIT, Order.OrderSide.BUY, quantity, price);
-            Order result = exchangePort.placeOrder(order);
+            Order result = submitWithRiskCheck(order);
+            orderStateStore.save(result);
             
             auditService.logOrderPlacement(
                 TradingAuditLog.ActionType.PLACE_BUY_ORDER, 
@@ -63,7 +73,8 @@ public class TradingService {
             validateOrderParameters(quantity, price);
             
             Order order = new Order(tradingPair, Order.OrderType.LIMIT, Order.OrderSide.SELL, quantity, price);
-            Order result = exchangePort.placeOrder(order);
+            Order result = submitWithRiskCheck(order);
+            orderStateStore.save(result);
             
             auditService.logOrderPlacement(
                 TradingAuditLog.ActionType.PLACE_SELL_ORDER, 
@@ -102,9 +113,13 @@ public class TradingService {
                 throw new IllegalArgumentException("Quantity must be positive");
             }
             
-            Price currentPrice = exchangePort.getCurrentPrice(tradingPair);
+            long startNanos = System.nanoTime();
+            MarketPriceResolver.ResolvedPrice resolvedPrice = marketPriceResolver.resolve(tradingPair);
+            Price currentPrice = resolvedPrice.price();
             Order order = new Order(tradingPair, Order.OrderType.MARKET, Order.OrderSide.BUY, quantity, currentPrice.getValue());
-            Order result = exchangePort.placeOrder(order);
+            Order result = submitWithRiskCheck(order);
+            marketPriceResolver.recordPlacementLatency(resolvedPrice.source(), System.nanoTime() - startNanos);
+            orderStateStore.save(result);
             
             auditService.logOrderPlacement(
                 TradingAuditLog.ActionType.PLACE_MARKET_BUY_ORDER, 
@@ -144,6 +159,8 @@ public class TradingService {
             }
             
             Order result = exchangePort.cancelOrder(orderId);
+            orderStateStore.save(result);
+            riskService.onStatusChange(result.getId(), result.getStatus());
             
             auditService.logOrderAction(
                 TradingAuditLog.ActionType.CANCEL_ORDER, 
@@ -178,7 +195,12 @@ public class TradingService {
                 throw new IllegalArgumentException("Order ID cannot be null or empty");
             }
             
-            Order result = exchangePort.getOrderStatus(orderId);
+            // Servido do store local; só consulta a exchange para ordens desconhecidas
+            Order result = orderStateStore.findById(orderId).orElseGet(() -> {
+                Order fetched = exchangeQueryCache.getOrderStatus(orderId);
+                orderStateStore.save(fetched);
+                return fetched;
+            });
             
             auditService.logOrderAction(
                 TradingAuditLog.ActionType.GET_ORDER_STATUS, 
@@ -209,7 +231,7 @@ public class TradingService {
 
     public List<Order> getActiveOrders() {
         try {
-            List<Order> result = exchangePort.getActiveOrders();
+            List<Order> result = orderStateStore.findActive();
             
             auditService.logActiveOrdersQuery(result.size());
             
@@ -231,7 +253,7 @@ public class TradingService {
                 throw new IllegalArgumentException("Trading pair cannot be null");
             }
             
-            Price result = exchangePort.getCurrentPrice(tradingPair);
+            Price result = exchangeQueryCache.getCurrentPrice(tradingPair);
             
             auditService.logPriceQuery(tradingPair, result.getValue());
             
@@ -267,9 +289,13 @@ public class TradingService {
             
             log.info("Processing order status update: {} -> {}", orderId, newStatus);
             
-            // Aqui poderia atualizar em um repository local se tivéssemos
-            // Por enquanto apenas logamos a atualização
-            log.info("Order {} updated to status: {} (reason: {})", orderId, newStatus, reason);
+            riskService.onStatusChange(orderId, newStatus);
+            if (orderStateStore.applyStatusUpdate(orderId, newStatus, LocalDateTime.now())) {
+                log.info("Order {} updated to status: {} (reason: {})", orderId, newStatus, reason);
+            } else {
+                // Ordem desconhecida localmente; a reconciliação periódica a incorpora
+                log.warn("Received status update for unknown order {} -> {} (reason: {})", orderId, newStatus, reason);
+            }
             
         } catch (Exception e) {
             log.error("Error processing order status update for order {}: {}", orderId, e.getMessage(), e);
@@ -277,6 +303,120 @@ public class TradingService {
         }
     }
 
+    public CompletableFuture<Order> placeBuyOrderAsync(TradingPair tradingPair, BigDecimal quantity, BigDecimal price) {
+        return placeLimitOrderAsync(TradingAuditLog.ActionType.PLACE_BUY_ORDER, Order.OrderSide.BUY, tradingPair, quantity, price);
+    }
+
+    public CompletableFuture<Order> placeSellOrderAsync(TradingPair tradingPair, BigDecimal quantity, BigDecimal price) {
+        return placeLimitOrderAsync(TradingAuditLog.ActionType.PLACE_SELL_ORDER, Order.OrderSide.SELL, tradingPair, quantity, price);
+    }
+
+    public CompletableFuture<Order> cancelOrderAsync(String orderId) {
+        if (orderId == null || orderId.trim().isEmpty()) {
+            IllegalArgumentException e = new IllegalArgumentException("Order ID cannot be null or empty");
+            auditService.logValidationError(TradingAuditLog.ActionType.CANCEL_ORDER, e.getMessage(), null, null, null);
+            return CompletableFuture.failedFuture(e);
+        }
+        
+        return asyncExchangePort.cancelOrder(orderId)
+            .whenComplete((result, error) -> {
+                if (error != null) {
+                    auditService.logError(TradingAuditLog.ActionType.CANCEL_ORDER, unwrap(error).getMessage(), null, orderId);
+                } else {
+                    orderStateStore.save(result);
+                    riskService.onStatusChange(result.getId(), result.getStatus());
+                    auditService.logOrderAction(TradingAuditLog.ActionType.CANCEL_ORDER, orderId, result);
+                }
+            });
+    }
+
+    public CompletableFuture<Order> getOrderStatusAsync(String orderId) {
+        if (orderId == null || orderId.trim().isEmpty()) {
+            IllegalArgumentException e = new IllegalArgumentException("Order ID cannot be null or empty");
+            auditService.logValidationError(TradingAuditLog.ActionType.GET_ORDER_STATUS, e.getMessage(), null, null, null);
+            return CompletableFuture.failedFuture(e);
+        }
+        
+        // Ordens conhecidas são respondidas do store sem sair da thread chamadora
+        CompletableFuture<Order> lookup = orderStateStore.findById(orderId)
+            .map(CompletableFuture::completedFuture)
+            .orElseGet(() -> asyncExchangePort.getOrderStatus(orderId)
+                .thenApply(fetched -> {
+                    orderStateStore.save(fetched);
+                    return fetched;
+                }));
+        
+        return lookup.whenComplete((result, error) -> {
+            if (error != null) {
+                auditService.logError(TradingAuditLog.ActionType.GET_ORDER_STATUS, unwrap(error).getMessage(), null, orderId);
+            } else {
+                auditService.logOrderAction(TradingAuditLog.ActionType.GET_ORDER_STATUS, orderId, result);
+            }
+        });
+    }
+
+    public CompletableFuture<Price> getCurrentPriceAsync(TradingPair tradingPair) {
+        if (tradingPair == null) {
+            IllegalArgumentException e = new IllegalArgumentException("Trading pair cannot be null");
+            auditService.logValidationError(TradingAuditLog.ActionType.GET_CURRENT_PRICE, e.getMessage(), null, null, null);
+            return CompletableFuture.failedFuture(e);
+        }
+        
+        return asyncExchangePort.getCurrentPrice(tradingPair)
+            .whenComplete((result, error) -> {
+                if (error != null) {
+                    auditService.logError(TradingAuditLog.ActionType.GET_CURRENT_PRICE, unwrap(error).getMessage(), tradingPair, null);
+                } else {
+                    auditService.logPriceQuery(tradingPair, result.getValue());
+                }
+            });
+    }
+
+    private CompletableFuture<Order> placeLimitOrderAsync(TradingAuditLog.ActionType actionType, Order.OrderSide side,
+                                                         TradingPair tradingPair, BigDecimal quantity, BigDecimal price) {
+        Order order;
+        try {
+            validateOrderParameters(quantity, price);
+            order = new Order(tradingPair, Order.OrderType.LIMIT, side, quantity, price);
+            riskService.reserve(order);
+        } catch (IllegalArgumentException e) {
+            auditService.logValidationError(actionType, e.getMessage(), tradingPair, quantity, price);
+            return CompletableFuture.failedFuture(e);
+        }
+        
+        return asyncExchangePort.placeOrder(order)
+            .whenComplete((result, error) -> {
+                if (error != null) {
+                    riskService.release(order.getId());
+                    auditService.logError(actionType, unwrap(error).getMessage(), tradingPair, null);
+                } else {
+                    riskService.onOrderAccepted(order.getId(), result);
+                    orderStateStore.save(result);
+                    auditService.logOrderPlacement(actionType, tradingPair, Order.OrderType.LIMIT, side, quantity, price, result);
+                }
+            });
+    }
+
+    /**
+     * Reserva a exposição no controle de risco antes de enviar a ordem e a libera se a exchange falhar.
+     */
+    private Order submitWithRiskCheck(Order order) {
+        riskService.reserve(order);
+        Order result;
+        try {
+            result = exchangePort.placeOrder(order);
+        } catch (RuntimeException e) {
+            riskService.release(order.getId());
+            throw e;
+        }
+        riskService.onOrderAccepted(order.getId(), result);
+        return result;
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
     private void validateOrderParameters(BigDecimal quantity, BigDecimal price) {
         if (quantity == null || quantity.compareTo(BigDecimal.ZERO) <= 0) {
             throw new IllegalArgumentException("Quantity must be positive");
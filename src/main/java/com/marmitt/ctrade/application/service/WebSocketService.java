@@ -35,4 +35,9 @@ public class WebSocketService {
         log.info("Subscribing to price updates for: {}", tradingPair);
         webSocketPort.subscribeToPrice(tradingPair);
     }
+    
+    public void unsubscribeFromTradingPair(String tradingPair) {
+        log.info("Unsubscribing from price updates for: {}", tradingPair);
+        webSocketPort.unsubscribeFromPrice(tradingPair);
+    }
 }
\ No newline at end of file
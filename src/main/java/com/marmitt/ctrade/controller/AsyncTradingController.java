@@ -0,0 +1,59 @@
+package com.marmitt.ctrade.controller;
+
+import com.marmitt.ctrade.application.service.TradingService;
+import com.marmitt.ctrade.controller.dto.OrderRequest;
+import com.marmitt.ctrade.controller.dto.OrderResponse;
+import com.marmitt.ctrade.controller.dto.PriceResponse;
+import com.marmitt.ctrade.domain.entity.TradingPair;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import jakarta.validation.Valid;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Endpoints de trading assíncronos. A thread do Tomcat é liberada assim que o
+ * {@link CompletableFuture} é retornado; a chamada à exchange segue em uma virtual thread.
+ */
+@RestController
+@RequestMapping("/api/trading/async")
+@RequiredArgsConstructor
+public class AsyncTradingController {
+
+    private final TradingService tradingService;
+
+    @PostMapping("/orders/buy")
+    public CompletableFuture<ResponseEntity<OrderResponse>> placeBuyOrder(@Valid @RequestBody OrderRequest request) {
+        TradingPair tradingPair = new TradingPair(request.getTradingPair());
+        return tradingService.placeBuyOrderAsync(tradingPair, request.getQuantity(), request.getPrice())
+            .thenApply(order -> ResponseEntity.status(HttpStatus.CREATED).body(OrderResponse.fromOrder(order)));
+    }
+
+    @PostMapping("/orders/sell")
+    public CompletableFuture<ResponseEntity<OrderResponse>> placeSellOrder(@Valid @RequestBody OrderRequest request) {
+        TradingPair tradingPair = new TradingPair(request.getTradingPair());
+        return tradingService.placeSellOrderAsync(tradingPair, request.getQuantity(), request.getPrice())
+            .thenApply(order -> ResponseEntity.status(HttpStatus.CREATED).body(OrderResponse.fromOrder(order)));
+    }
+
+    @DeleteMapping("/orders/{orderId}")
+    public CompletableFuture<ResponseEntity<OrderResponse>> cancelOrder(@PathVariable String orderId) {
+        return tradingService.cancelOrderAsync(orderId)
+            .thenApply(order -> ResponseEntity.ok(OrderResponse.fromOrder(order)));
+    }
+
+    @GetMapping("/orders/{orderId}")
+    public CompletableFuture<ResponseEntity<OrderResponse>> getOrderStatus(@PathVariable String orderId) {
+        return tradingService.getOrderStatusAsync(orderId)
+            .thenApply(order -> ResponseEntity.ok(OrderResponse.fromOrder(order)));
+    }
+
+    @GetMapping("/price/{baseCurrency}/{quoteCurrency}")
+    public CompletableFuture<ResponseEntity<PriceResponse>> getCurrentPrice(@PathVariable String baseCurrency, @PathVariable String quoteCurrency) {
+        TradingPair pair = new TradingPair(baseCurrency, quoteCurrency);
+        return tradingService.getCurrentPriceAsync(pair)
+            .thenApply(price -> ResponseEntity.ok(new PriceResponse(pair.getSymbol(), price.getValue())));
+    }
+}
@@ -0,0 +1,101 @@
+package com.marmitt.ctrade.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marmitt.ctrade.application.service.AuditCounterService;
+import com.marmitt.ctrade.application.service.AuditQueryService;
+import com.marmitt.ctrade.application.service.AuditRetentionService;
+import com.marmitt.ctrade.domain.dto.AuditLogFilter;
+import com.marmitt.ctrade.domain.dto.AuditLogPage;
+import com.marmitt.ctrade.domain.entity.TradingAuditLog;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping("/api/audit")
+@RequiredArgsConstructor
+public class AuditController {
+
+    private static final int EXPORT_FLUSH_EVERY = 1_000;
+
+    private final AuditQueryService auditQueryService;
+    private final AuditCounterService auditCounterService;
+    private final AuditRetentionService auditRetentionService;
+    private final ObjectMapper objectMapper;
+
+    @GetMapping("/logs")
+    public ResponseEntity<AuditLogPage> getLogs(@RequestParam(required = false) String tradingPair,
+                                                @RequestParam(required = false) String orderId,
+                                                @RequestParam(required = false) TradingAuditLog.ActionType actionType,
+                                                @RequestParam(required = false) TradingAuditLog.Status status,
+                                                @RequestParam(required = false) String cursor,
+                                                @RequestParam(required = false) Integer limit) {
+        AuditLogFilter filter = new AuditLogFilter(tradingPair, orderId, actionType, status);
+        return ResponseEntity.ok(auditQueryService.findPage(filter, cursor, limit));
+    }
+
+    /**
+     * Contadores por tipo de ação e status, servidos da memória. Com {@code bucketMinutes}
+     * inclui a série temporal a partir de {@code since}.
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<AuditCounterService.AuditCounterSnapshot> getStats(
+            @RequestParam(required = false) Integer bucketMinutes,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since) {
+        return ResponseEntity.ok(auditCounterService.getSnapshot(bucketMinutes, since));
+    }
+
+    @GetMapping("/retention")
+    public ResponseEntity<AuditRetentionService.RetentionStatus> getRetentionStatus() {
+        return ResponseEntity.ok(auditRetentionService.getStatus());
+    }
+
+    /**
+     * Executa a retenção e a compactação imediatamente, sem esperar o agendamento.
+     */
+    @PostMapping("/retention/run")
+    public ResponseEntity<AuditRetentionService.RetentionResult> runRetention() {
+        return ResponseEntity.ok(auditRetentionService.runRetention());
+    }
+
+    /**
+     * Exporta os registros como NDJSON (um objeto JSON por linha), escrevendo à medida que lê.
+     * Inclui os dias que já estão no arquivo morto.
+     */
+    @GetMapping("/logs/export")
+    public ResponseEntity<StreamingResponseBody> exportLogs(
+            @RequestParam(required = false) String tradingPair,
+            @RequestParam(required = false) String orderId,
+            @RequestParam(required = false) TradingAuditLog.ActionType actionType,
+            @RequestParam(required = false) TradingAuditLog.Status status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        AuditLogFilter filter = new AuditLogFilter(tradingPair, orderId, actionType, status);
+        AuditQueryService.ExportCursor logs = auditQueryService.export(filter, from, to);
+
+        // O cliente pode desconectar no meio; fechar libera os arquivos do arquivo morto
+        StreamingResponseBody body = outputStream -> {
+            try (logs) {
+                int written = 0;
+                while (logs.hasNext()) {
+                    outputStream.write(objectMapper.writeValueAsBytes(logs.next()));
+                    outputStream.write('\n');
+                    if (++written % EXPORT_FLUSH_EVERY == 0) {
+                        outputStream.flush();
+                    }
+                }
+                outputStream.flush();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+}
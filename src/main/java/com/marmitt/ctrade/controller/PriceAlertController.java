@@ -1,5 +1,6 @@
 package com.marmitt.ctrade.controller;
 
+import com.marmitt.ctrade.application.service.AlertNotificationDispatcher;
 import com.marmitt.ctrade.application.service.PriceAlertService;
 import com.marmitt.ctrade.controller.dto.ActivePriceAlertRequest;
 import com.marmitt.ctrade.controller.dto.CreatePriceAlertRequest;
@@ -20,14 +21,11 @@ import java.util.List;
 public class PriceAlertController {
     
     private final PriceAlertService priceAlertService;
+    private final AlertNotificationDispatcher notificationDispatcher;
     
     @PostMapping
     public ResponseEntity<PriceAlert> createAlert(@Valid @RequestBody CreatePriceAlertRequest request) {
-        PriceAlert alert = new PriceAlert(
-            request.getTradingPair(),
-            request.getThreshold(), 
-            request.getAlertType()
-        );
+        PriceAlert alert = createAlertFromRequest(request);
         
         priceAlertService.addAlert(alert);
         log.info("Price alert created via API: {}", alert.getId());
@@ -65,4 +63,31 @@ public class PriceAlertController {
         log.info("Inactive alerts cleared via API");
         return ResponseEntity.noContent().build();
     }
+    
+    @GetMapping("/notifications/stats")
+    public ResponseEntity<AlertNotificationDispatcher.NotificationStats> getNotificationStats() {
+        return ResponseEntity.ok(notificationDispatcher.getStats());
+    }
+    
+    @GetMapping("/notifications/dead-letters")
+    public ResponseEntity<List<AlertNotificationDispatcher.DeadLetter>> getNotificationDeadLetters() {
+        return ResponseEntity.ok(notificationDispatcher.getDeadLetters());
+    }
+    
+    private PriceAlert createAlertFromRequest(CreatePriceAlertRequest request) {
+        return switch (request.getAlertType()) {
+            case ABOVE, BELOW -> {
+                if (request.getThreshold() == null) {
+                    throw new IllegalArgumentException("Threshold is required");
+                }
+                yield new PriceAlert(request.getTradingPair(), request.getThreshold(), request.getAlertType());
+            }
+            case PERCENT_MOVE -> PriceAlert.percentMove(
+                request.getTradingPair(), request.getThreshold(), request.getWindowSeconds());
+            case EMA_CROSS_ABOVE, EMA_CROSS_BELOW -> PriceAlert.emaCross(
+                request.getTradingPair(), request.getEmaPeriod(), request.getAlertType());
+            case TRAILING_STOP -> PriceAlert.trailingStop(
+                request.getTradingPair(), request.getThreshold());
+        };
+    }
 }
\ No newline at end of file
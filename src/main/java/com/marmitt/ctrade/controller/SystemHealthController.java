@@ -2,15 +2,22 @@ package com.marmitt.ctrade.controller;
 
 import com.marmitt.ctrade.application.service.HealthCheckService;
 import com.marmitt.ctrade.controller.dto.HealthCheckResponse;
+import com.marmitt.ctrade.infrastructure.exchange.binance.BinanceWebSocketAdapter;
+import com.marmitt.ctrade.infrastructure.websocket.AbstractWebSocketAdapter;
+import com.marmitt.ctrade.infrastructure.websocket.ConnectionManager;
+import com.marmitt.ctrade.infrastructure.websocket.StreamStalenessTracker;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/system")
 @RequiredArgsConstructor
@@ -18,6 +25,8 @@ import org.springframework.web.bind.annotation.RestController;
 public class SystemHealthController {
     
     private final HealthCheckService healthCheckService;
+    private final ObjectProvider<AbstractWebSocketAdapter> webSocketAdapter;
+    private final ObjectProvider<BinanceWebSocketAdapter> binanceAdapter;
     
     @GetMapping("/health")
     @Operation(
@@ -37,4 +46,38 @@ public class SystemHealthController {
             default -> ResponseEntity.ok(health);
         };
     }
-}
\ No newline at end of file
+
+    @GetMapping("/websocket/state")
+    @Operation(
+        summary = "Máquina de estados da conexão WebSocket",
+        description = "Status atual, transições rejeitadas, conexões concorrentes descartadas e latência por transição"
+    )
+    @ApiResponse(responseCode = "200", description = "Estado da conexão")
+    @ApiResponse(responseCode = "404", description = "Nenhum adapter WebSocket ativo")
+    public ResponseEntity<ConnectionManager.ConnectionStateStats> getWebSocketState() {
+        AbstractWebSocketAdapter adapter = webSocketAdapter.getIfAvailable();
+        return adapter == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(adapter.getConnectionStateStats());
+    }
+
+    @GetMapping("/websocket/shards")
+    @Operation(
+        summary = "Conexões WebSocket da Binance",
+        description = "Estado, streams, estatísticas e, com réplicas, taxa de vitória e atraso de cada conexão; vazio quando a Binance não é a exchange ativa"
+    )
+    @ApiResponse(responseCode = "200", description = "Estado das conexões")
+    public ResponseEntity<List<BinanceWebSocketAdapter.StreamConnectionStats>> getWebSocketShards() {
+        BinanceWebSocketAdapter adapter = binanceAdapter.getIfAvailable();
+        return ResponseEntity.ok(adapter == null ? List.of() : adapter.getStreamConnectionStats());
+    }
+
+    @GetMapping("/websocket/staleness")
+    @Operation(
+        summary = "Staleness por símbolo do feed da Binance",
+        description = "Tempo desde o último evento e intervalo esperado de cada símbolo; vazio quando a Binance não é a exchange ativa"
+    )
+    @ApiResponse(responseCode = "200", description = "Staleness dos símbolos")
+    public ResponseEntity<List<StreamStalenessTracker.SymbolStaleness>> getSymbolStaleness() {
+        BinanceWebSocketAdapter adapter = binanceAdapter.getIfAvailable();
+        return ResponseEntity.ok(adapter == null ? List.of() : adapter.getSymbolStaleness());
+    }
+}
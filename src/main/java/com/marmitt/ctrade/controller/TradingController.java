@@ -1,13 +1,24 @@
 package com.marmitt.ctrade.controller;
 
+import com.marmitt.ctrade.application.service.BatchTradingService;
+import com.marmitt.ctrade.application.service.ExchangeQueryCache;
+import com.marmitt.ctrade.application.service.MarketPriceResolver;
+import com.marmitt.ctrade.application.service.PreTradeRiskService;
 import com.marmitt.ctrade.application.service.PriceCacheService;
 import com.marmitt.ctrade.application.service.TradingService;
+import com.marmitt.ctrade.controller.dto.BatchCancelRequest;
+import com.marmitt.ctrade.controller.dto.BatchOperationResponse;
+import com.marmitt.ctrade.controller.dto.BatchOrderRequest;
 import com.marmitt.ctrade.controller.dto.OrderRequest;
 import com.marmitt.ctrade.controller.dto.OrderResponse;
 import com.marmitt.ctrade.controller.dto.PriceResponse;
+import com.marmitt.ctrade.domain.dto.BatchItemResult;
+import com.marmitt.ctrade.domain.dto.BatchOrderCommand;
 import com.marmitt.ctrade.domain.entity.Order;
 import com.marmitt.ctrade.domain.entity.TradingPair;
+import com.marmitt.ctrade.domain.port.AuditLogSink;
 import com.marmitt.ctrade.domain.valueobject.Price;
+import com.marmitt.ctrade.infrastructure.exchange.ratelimit.RateLimitedExchangePort;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -15,6 +26,7 @@ import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/trading")
@@ -22,7 +34,13 @@ import java.util.List;
 public class TradingController {
 
     private final TradingService tradingService;
+    private final BatchTradingService batchTradingService;
     private final PriceCacheService priceCacheService;
+    private final MarketPriceResolver marketPriceResolver;
+    private final PreTradeRiskService riskService;
+    private final RateLimitedExchangePort rateLimitedExchangePort;
+    private final ExchangeQueryCache exchangeQueryCache;
+    private final AuditLogSink auditLogSink;
 
     @PostMapping("/orders/buy")
     public ResponseEntity<OrderResponse> placeBuyOrder(@Valid @RequestBody OrderRequest request) {
@@ -45,6 +63,47 @@ public class TradingController {
         return ResponseEntity.status(HttpStatus.CREATED).body(OrderResponse.fromOrder(order));
     }
 
+    @PostMapping("/orders/batch")
+    public ResponseEntity<BatchOperationResponse> placeBatchOrders(@Valid @RequestBody BatchOrderRequest request) {
+        List<BatchOrderCommand> commands = request.getOrders().stream()
+            .map(item -> new BatchOrderCommand(
+                new TradingPair(item.getTradingPair()), item.getSide(), item.getQuantity(), item.getPrice()))
+            .toList();
+        List<BatchItemResult> results = batchTradingService.placeOrders(commands);
+        return ResponseEntity.ok(BatchOperationResponse.fromResults(results));
+    }
+
+    @PostMapping("/orders/cancel-batch")
+    public ResponseEntity<BatchOperationResponse> cancelBatchOrders(@Valid @RequestBody BatchCancelRequest request) {
+        List<BatchItemResult> results = batchTradingService.cancelOrders(request.getOrderIds());
+        return ResponseEntity.ok(BatchOperationResponse.fromResults(results));
+    }
+
+    @GetMapping("/orders/market/latency")
+    public ResponseEntity<Map<MarketPriceResolver.PriceSource, MarketPriceResolver.LatencyStats>> getMarketOrderLatency() {
+        return ResponseEntity.ok(marketPriceResolver.getPlacementLatencyStats());
+    }
+
+    @GetMapping("/risk")
+    public ResponseEntity<PreTradeRiskService.RiskSnapshot> getRiskExposure() {
+        return ResponseEntity.ok(riskService.getSnapshot());
+    }
+
+    @GetMapping("/exchange/rate-limit")
+    public ResponseEntity<RateLimitedExchangePort.RateLimitStats> getExchangeRateLimitStats() {
+        return ResponseEntity.ok(rateLimitedExchangePort.getStats());
+    }
+
+    @GetMapping("/cache/stats")
+    public ResponseEntity<ExchangeQueryCache.QueryCacheStats> getQueryCacheStats() {
+        return ResponseEntity.ok(exchangeQueryCache.getStats());
+    }
+
+    @GetMapping("/audit/sink/stats")
+    public ResponseEntity<Object> getAuditSinkStats() {
+        return ResponseEntity.ok(auditLogSink.getStats());
+    }
+
     @DeleteMapping("/orders/{orderId}")
     public ResponseEntity<OrderResponse> cancelOrder(@PathVariable String orderId) {
         Order order = tradingService.cancelOrder(orderId);
@@ -0,0 +1,59 @@
+package com.marmitt.ctrade.controller;
+
+import com.marmitt.ctrade.controller.dto.TradingPairsResponse;
+import com.marmitt.ctrade.infrastructure.config.ConfigurationBasedTradingPairProvider;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/trading-pairs")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Trading Pairs", description = "Administração dos trading pairs monitorados em tempo de execução")
+public class TradingPairController {
+    
+    private static final String ORIGIN = "api";
+    
+    private final ConfigurationBasedTradingPairProvider tradingPairProvider;
+    
+    @GetMapping
+    @Operation(summary = "Listar trading pairs ativos")
+    public ResponseEntity<List<String>> getActiveTradingPairs() {
+        return ResponseEntity.ok(tradingPairProvider.getActiveTradingPairs());
+    }
+    
+    @PutMapping
+    @Operation(
+        summary = "Substituir trading pairs ativos",
+        description = "Assina só os pares novos e cancela os removidos, sem reconectar o WebSocket"
+    )
+    @ApiResponse(responseCode = "200", description = "Lista aplicada e diferença em relação à anterior")
+    public ResponseEntity<TradingPairsResponse> replaceTradingPairs(@RequestBody List<String> tradingPairs) {
+        var change = tradingPairProvider.updateActiveTradingPairs(tradingPairs, ORIGIN);
+        return ResponseEntity.ok(TradingPairsResponse.of(tradingPairProvider.getActiveTradingPairs(), change));
+    }
+    
+    @PostMapping("/{tradingPair}")
+    @Operation(summary = "Ativar um trading pair")
+    public ResponseEntity<TradingPairsResponse> addTradingPair(@PathVariable String tradingPair) {
+        var change = tradingPairProvider.addTradingPair(tradingPair, ORIGIN);
+        return ResponseEntity.ok(TradingPairsResponse.of(tradingPairProvider.getActiveTradingPairs(), change));
+    }
+    
+    @DeleteMapping("/{tradingPair}")
+    @Operation(summary = "Desativar um trading pair", description = "Libera cache, métricas e estado de alertas do par")
+    public ResponseEntity<TradingPairsResponse> removeTradingPair(@PathVariable String tradingPair) {
+        var change = tradingPairProvider.removeTradingPair(tradingPair, ORIGIN);
+        if (change.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(TradingPairsResponse.of(tradingPairProvider.getActiveTradingPairs(), change));
+    }
+}
@@ -0,0 +1,17 @@
+package com.marmitt.ctrade.controller.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.validation.constraints.NotEmpty;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchCancelRequest {
+
+    @NotEmpty(message = "Order IDs are required")
+    private List<String> orderIds;
+}
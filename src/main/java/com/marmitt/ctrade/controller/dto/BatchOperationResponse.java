@@ -0,0 +1,47 @@
+package com.marmitt.ctrade.controller.dto;
+
+import com.marmitt.ctrade.domain.dto.BatchItemResult;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchOperationResponse {
+    private int total;
+    private int succeeded;
+    private int failed;
+    private List<ItemResult> results;
+
+    public static BatchOperationResponse fromResults(List<BatchItemResult> results) {
+        List<ItemResult> items = results.stream()
+            .map(ItemResult::fromResult)
+            .toList();
+        int succeeded = (int) results.stream().filter(BatchItemResult::isSuccess).count();
+        return new BatchOperationResponse(results.size(), succeeded, results.size() - succeeded, items);
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ItemResult {
+        private int index;
+        private String reference;
+        private String status;
+        private OrderResponse order;
+        private String error;
+
+        static ItemResult fromResult(BatchItemResult result) {
+            return new ItemResult(
+                result.index(),
+                result.reference(),
+                result.status().toString(),
+                result.order() != null ? OrderResponse.fromOrder(result.order()) : null,
+                result.error()
+            );
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.marmitt.ctrade.controller.dto;
+
+import com.marmitt.ctrade.domain.entity.Order;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchOrderRequest {
+
+    @NotEmpty(message = "Orders are required")
+    private List<@Valid Item> orders;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+
+        @NotBlank(message = "Trading pair is required")
+        @Pattern(regexp = "^[A-Za-z0-9]+/[A-Za-z0-9]+$", message = "Trading pair must use the BASE/QUOTE format")
+        private String tradingPair;
+
+        @NotNull(message = "Side is required")
+        private Order.OrderSide side;
+
+        @NotNull(message = "Quantity is required")
+        @Positive(message = "Quantity must be positive")
+        private BigDecimal quantity;
+
+        @NotNull(message = "Price is required")
+        @Positive(message = "Price must be positive")
+        private BigDecimal price;
+    }
+}
@@ -16,10 +16,19 @@ public class CreatePriceAlertRequest {
     @NotBlank(message = "Trading pair is required")
     private String tradingPair;
     
-    @NotNull(message = "Threshold is required")
+    /**
+     * Preço para ABOVE/BELOW ou percentual para PERCENT_MOVE/TRAILING_STOP.
+     * Não utilizado pelos alertas EMA_CROSS_*.
+     */
     @Positive(message = "Threshold must be positive")
     private BigDecimal threshold;
     
     @NotNull(message = "Alert type is required")
     private PriceAlert.AlertType alertType;
+    
+    @Positive(message = "Window seconds must be positive")
+    private Integer windowSeconds;
+    
+    @Positive(message = "EMA period must be positive")
+    private Integer emaPeriod;
 }
\ No newline at end of file
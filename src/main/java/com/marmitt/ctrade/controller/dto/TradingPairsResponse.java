@@ -0,0 +1,19 @@
+package com.marmitt.ctrade.controller.dto;
+
+import com.marmitt.ctrade.domain.event.TradingPairsChangedEvent;
+
+import java.util.List;
+
+/**
+ * Trading pairs ativos e a diferença aplicada pela última alteração.
+ */
+public record TradingPairsResponse(
+    List<String> active,
+    List<String> added,
+    List<String> removed
+) {
+    
+    public static TradingPairsResponse of(List<String> active, TradingPairsChangedEvent change) {
+        return new TradingPairsResponse(active, change.getAdded(), change.getRemoved());
+    }
+}
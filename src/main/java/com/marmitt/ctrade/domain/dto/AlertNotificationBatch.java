@@ -0,0 +1,12 @@
+package com.marmitt.ctrade.domain.dto;
+
+import com.marmitt.ctrade.domain.entity.PriceAlert;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Lote de alertas disparados para um mesmo alvo (trading pair) dentro da janela de coalescência.
+ */
+public record AlertNotificationBatch(String target, List<PriceAlert> alerts, LocalDateTime createdAt) {
+}
@@ -0,0 +1,14 @@
+package com.marmitt.ctrade.domain.dto;
+
+import com.marmitt.ctrade.domain.entity.TradingAuditLog;
+
+/**
+ * Filtro das consultas de auditoria. Campos nulos não filtram.
+ */
+public record AuditLogFilter(String tradingPair, String orderId, TradingAuditLog.ActionType actionType,
+                             TradingAuditLog.Status status) {
+
+    public static AuditLogFilter none() {
+        return new AuditLogFilter(null, null, null, null);
+    }
+}
@@ -0,0 +1,13 @@
+package com.marmitt.ctrade.domain.dto;
+
+import com.marmitt.ctrade.domain.entity.TradingAuditLog;
+
+import java.util.List;
+
+/**
+ * Página de registros de auditoria, do mais recente para o mais antigo.
+ *
+ * @param nextCursor cursor para a página seguinte, ou null se esta é a última
+ */
+public record AuditLogPage(List<TradingAuditLog> items, String nextCursor) {
+}
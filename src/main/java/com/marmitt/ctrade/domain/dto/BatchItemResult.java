@@ -0,0 +1,33 @@
+package com.marmitt.ctrade.domain.dto;
+
+import com.marmitt.ctrade.domain.entity.Order;
+
+/**
+ * Resultado individual de um item de lote, na mesma posição do item na requisição.
+ */
+public record BatchItemResult(int index, String reference, Order order, Status status, String error) {
+
+    public static BatchItemResult success(int index, String reference, Order order) {
+        return new BatchItemResult(index, reference, order, Status.SUCCESS, null);
+    }
+
+    public static BatchItemResult rejected(int index, String reference, String error) {
+        return new BatchItemResult(index, reference, null, Status.REJECTED, error);
+    }
+
+    public static BatchItemResult failed(int index, String reference, String error) {
+        return new BatchItemResult(index, reference, null, Status.FAILED, error);
+    }
+
+    public boolean isSuccess() {
+        return status == Status.SUCCESS;
+    }
+
+    /**
+     * REJECTED: falhou na validação e não foi enviado à exchange.
+     * FAILED: foi enviado, mas a exchange recusou ou ocorreu erro.
+     */
+    public enum Status {
+        SUCCESS, REJECTED, FAILED
+    }
+}
@@ -0,0 +1,12 @@
+package com.marmitt.ctrade.domain.dto;
+
+import com.marmitt.ctrade.domain.entity.Order;
+import com.marmitt.ctrade.domain.entity.TradingPair;
+
+import java.math.BigDecimal;
+
+/**
+ * Item de um lote de ordens limitadas a serem enviadas em conjunto.
+ */
+public record BatchOrderCommand(TradingPair tradingPair, Order.OrderSide side, BigDecimal quantity, BigDecimal price) {
+}
@@ -13,4 +13,22 @@ public class PriceUpdateMessage {
     private String tradingPair;
     private BigDecimal price;
     private LocalDateTime timestamp;
+    
+    /**
+     * Horário do evento na exchange (epoch millis); 0 quando a fonte não informa.
+     */
+    private long eventTime;
+    
+    /**
+     * ID de atualização da exchange, crescente por símbolo; 0 quando a fonte não informa.
+     */
+    private long updateId;
+    
+    /**
+     * Sequência usada para identificar o mesmo evento vindo de conexões diferentes:
+     * o updateId quando existe, senão o horário do evento. 0 quando nenhum é conhecido.
+     */
+    public long sequence() {
+        return updateId > 0 ? updateId : eventTime;
+    }
 }
\ No newline at end of file
@@ -4,12 +4,15 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.math.MathContext;
 import java.time.LocalDateTime;
 
 @Data
 @NoArgsConstructor
 public class PriceAlert {
     
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+    
     private String id;
     private String tradingPair;
     private BigDecimal threshold;
@@ -18,6 +21,16 @@ public class PriceAlert {
     private LocalDateTime createdAt;
     private LocalDateTime triggeredAt;
     
+    // Parâmetros das condições com janela (PERCENT_MOVE, EMA_CROSS_*)
+    private Integer windowSeconds;
+    private Integer emaPeriod;
+    
+    // Maior preço observado desde a criação (TRAILING_STOP)
+    private BigDecimal highWaterMark;
+    
+    // Disparado na reposição de um intervalo sem feed; triggeredAt é o horário do preço reposto
+    private boolean backfill;
+    
     public PriceAlert(String tradingPair, BigDecimal threshold, AlertType alertType) {
         this.tradingPair = tradingPair;
         this.threshold = threshold;
@@ -27,16 +40,101 @@ public class PriceAlert {
         this.id = generateId();
     }
     
+    /**
+     * Alerta disparado quando o preço se move mais de {@code percent}% dentro de {@code windowSeconds}.
+     */
+    public static PriceAlert percentMove(String tradingPair, BigDecimal percent, Integer windowSeconds) {
+        requirePositive(percent, "Percent");
+        requirePositive(windowSeconds, "Window seconds");
+        
+        PriceAlert alert = new PriceAlert(tradingPair, percent, AlertType.PERCENT_MOVE);
+        alert.setWindowSeconds(windowSeconds);
+        return alert;
+    }
+    
+    /**
+     * Alerta disparado quando o preço cruza a EMA de {@code period} períodos na direção indicada.
+     */
+    public static PriceAlert emaCross(String tradingPair, Integer period, AlertType direction) {
+        if (direction != AlertType.EMA_CROSS_ABOVE && direction != AlertType.EMA_CROSS_BELOW) {
+            throw new IllegalArgumentException("EMA cross direction must be EMA_CROSS_ABOVE or EMA_CROSS_BELOW");
+        }
+        requirePositive(period, "EMA period");
+        
+        PriceAlert alert = new PriceAlert(tradingPair, null, direction);
+        alert.setEmaPeriod(period);
+        return alert;
+    }
+    
+    /**
+     * Alerta disparado quando o preço recua {@code percent}% a partir da máxima desde a criação.
+     */
+    public static PriceAlert trailingStop(String tradingPair, BigDecimal percent) {
+        requirePositive(percent, "Trailing percent");
+        if (percent.compareTo(HUNDRED) >= 0) {
+            throw new IllegalArgumentException("Trailing percent must be lower than 100");
+        }
+        
+        return new PriceAlert(tradingPair, percent, AlertType.TRAILING_STOP);
+    }
+    
     private String generateId() {
         return "ALERT_" + tradingPair + "_" + alertType + "_" + System.currentTimeMillis();
     }
     
+    /**
+     * Indica se a condição depende do estado de janela compartilhado do par.
+     */
+    public boolean requiresWindowState() {
+        return alertType == AlertType.PERCENT_MOVE
+                || alertType == AlertType.EMA_CROSS_ABOVE
+                || alertType == AlertType.EMA_CROSS_BELOW;
+    }
+    
     public boolean shouldTrigger(BigDecimal currentPrice) {
+        return shouldTrigger(currentPrice, null);
+    }
+    
+    /**
+     * Avalia a condição em O(1) usando o estado de janela já atualizado com o tick atual.
+     */
+    public boolean shouldTrigger(BigDecimal currentPrice, PriceWindowState windowState) {
         if (!active) return false;
         
         return switch (alertType) {
             case ABOVE -> currentPrice.compareTo(threshold) > 0;
             case BELOW -> currentPrice.compareTo(threshold) < 0;
+            case PERCENT_MOVE -> windowState != null && windowSeconds != null
+                    && windowState.getPercentMove(windowSeconds).compareTo(threshold) > 0;
+            case EMA_CROSS_ABOVE -> windowState != null && emaPeriod != null
+                    && windowState.crossedAboveEma(emaPeriod);
+            case EMA_CROSS_BELOW -> windowState != null && emaPeriod != null
+                    && windowState.crossedBelowEma(emaPeriod);
+            case TRAILING_STOP -> updateTrailingStop(currentPrice);
+        };
+    }
+    
+    private boolean updateTrailingStop(BigDecimal currentPrice) {
+        if (highWaterMark == null || currentPrice.compareTo(highWaterMark) > 0) {
+            highWaterMark = currentPrice;
+            return false;
+        }
+        
+        BigDecimal stopFactor = BigDecimal.ONE.subtract(threshold.divide(HUNDRED, MathContext.DECIMAL64));
+        return currentPrice.compareTo(highWaterMark.multiply(stopFactor)) <= 0;
+    }
+    
+    /**
+     * Descrição legível da condição, usada nas notificações.
+     */
+    public String describeCondition() {
+        return switch (alertType) {
+            case ABOVE -> "exceeded " + threshold;
+            case BELOW -> "fallen below " + threshold;
+            case PERCENT_MOVE -> "moved more than " + threshold + "% within " + windowSeconds + "s";
+            case EMA_CROSS_ABOVE -> "crossed above its " + emaPeriod + "-period EMA";
+            case EMA_CROSS_BELOW -> "crossed below its " + emaPeriod + "-period EMA";
+            case TRAILING_STOP -> "retraced " + threshold + "% from its high of " + highWaterMark;
         };
     }
     
@@ -45,7 +143,29 @@ public class PriceAlert {
         this.active = false;
     }
     
+    /**
+     * Dispara o alerta a partir de um preço reposto, com o horário em que a condição foi
+     * atingida na exchange.
+     */
+    public void triggerFromBackfill(LocalDateTime priceTime) {
+        this.triggeredAt = priceTime;
+        this.active = false;
+        this.backfill = true;
+    }
+    
+    private static void requirePositive(BigDecimal value, String name) {
+        if (value == null || value.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException(name + " must be positive");
+        }
+    }
+    
+    private static void requirePositive(Integer value, String name) {
+        if (value == null || value <= 0) {
+            throw new IllegalArgumentException(name + " must be positive");
+        }
+    }
+    
     public enum AlertType {
-        ABOVE, BELOW
+        ABOVE, BELOW, PERCENT_MOVE, EMA_CROSS_ABOVE, EMA_CROSS_BELOW, TRAILING_STOP
     }
 }
\ No newline at end of file
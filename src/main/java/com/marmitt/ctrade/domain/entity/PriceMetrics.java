@@ -54,6 +54,36 @@ public class PriceMetrics {
         }
     }
     
+    /**
+     * Contabiliza um preço reposto de um intervalo sem feed. Entra na contagem, média e
+     * extremos como um tick normal, mas só substitui o preço atual se for mais recente que
+     * a última atualização (a reposição costuma chegar depois dos ticks pós-reconexão).
+     */
+    public synchronized void backfillPrice(BigDecimal price, LocalDateTime timestamp) {
+        if (firstUpdateTime == null) {
+            updatePrice(price, timestamp);
+            return;
+        }
+        
+        updateCount.incrementAndGet();
+        priceSum = priceSum.add(price);
+        if (timestamp.isBefore(firstUpdateTime)) {
+            firstUpdateTime = timestamp;
+        }
+        if (!timestamp.isBefore(lastUpdateTime)) {
+            currentPrice = price;
+            lastUpdateTime = timestamp;
+        }
+        if (price.compareTo(highestPrice) > 0) {
+            highestPrice = price;
+            highestPriceTime = timestamp;
+        }
+        if (price.compareTo(lowestPrice) < 0) {
+            lowestPrice = price;
+            lowestPriceTime = timestamp;
+        }
+    }
+    
     public BigDecimal getAveragePrice() {
         int count = updateCount.get();
         if (count == 0) return BigDecimal.ZERO;
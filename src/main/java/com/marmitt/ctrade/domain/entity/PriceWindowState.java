@@ -0,0 +1,195 @@
+package com.marmitt.ctrade.domain.entity;
+
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Estado incremental de preços de um trading pair, compartilhado entre todos os alertas do par.
+ *
+ * Cada tick atualiza as janelas deslizantes (min/max por deques monotônicas) e as EMAs
+ * registradas em O(1) amortizado, evitando reprocessar o histórico a cada avaliação.
+ */
+public class PriceWindowState {
+
+    private static final MathContext MATH_CONTEXT = MathContext.DECIMAL64;
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    @Getter
+    private final String tradingPair;
+    private final Map<Integer, RollingWindow> windows = new HashMap<>();
+    private final Map<Integer, EmaTracker> emas = new HashMap<>();
+
+    @Getter
+    private BigDecimal lastPrice;
+    private BigDecimal previousPrice;
+    private long lastTimestampMillis;
+
+    public PriceWindowState(String tradingPair) {
+        this.tradingPair = tradingPair;
+    }
+
+    public synchronized void registerWindow(int windowSeconds) {
+        if (windowSeconds <= 0) {
+            throw new IllegalArgumentException("Window seconds must be positive");
+        }
+        windows.computeIfAbsent(windowSeconds, RollingWindow::new);
+    }
+
+    public synchronized void registerEma(int period) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("EMA period must be positive");
+        }
+        emas.computeIfAbsent(period, EmaTracker::new);
+    }
+
+    public synchronized void update(BigDecimal price, LocalDateTime timestamp) {
+        // Ticks fora de ordem não podem voltar o relógio da janela
+        long timestampMillis = Math.max(toEpochMillis(timestamp), lastTimestampMillis);
+
+        previousPrice = lastPrice;
+        lastPrice = price;
+        lastTimestampMillis = timestampMillis;
+
+        for (RollingWindow window : windows.values()) {
+            window.add(price, timestampMillis);
+        }
+        for (EmaTracker ema : emas.values()) {
+            ema.add(price);
+        }
+    }
+
+    /**
+     * Maior variação percentual do último preço em relação ao mínimo ou máximo da janela.
+     */
+    public synchronized BigDecimal getPercentMove(int windowSeconds) {
+        RollingWindow window = windows.get(windowSeconds);
+        if (window == null || lastPrice == null || window.isEmpty()) {
+            return BigDecimal.ZERO;
+        }
+
+        BigDecimal min = window.min();
+        BigDecimal max = window.max();
+
+        BigDecimal up = min.signum() == 0 ? BigDecimal.ZERO
+                : lastPrice.subtract(min).divide(min, MATH_CONTEXT).multiply(HUNDRED);
+        BigDecimal down = max.signum() == 0 ? BigDecimal.ZERO
+                : max.subtract(lastPrice).divide(max, MATH_CONTEXT).multiply(HUNDRED);
+
+        return up.max(down);
+    }
+
+    public synchronized BigDecimal getEma(int period) {
+        EmaTracker ema = emas.get(period);
+        return ema != null ? ema.current : null;
+    }
+
+    public synchronized boolean crossedAboveEma(int period) {
+        EmaTracker ema = emas.get(period);
+        if (ema == null || !ema.hasCrossReference() || previousPrice == null) {
+            return false;
+        }
+        return previousPrice.compareTo(ema.previous) <= 0 && lastPrice.compareTo(ema.current) > 0;
+    }
+
+    public synchronized boolean crossedBelowEma(int period) {
+        EmaTracker ema = emas.get(period);
+        if (ema == null || !ema.hasCrossReference() || previousPrice == null) {
+            return false;
+        }
+        return previousPrice.compareTo(ema.previous) >= 0 && lastPrice.compareTo(ema.current) < 0;
+    }
+
+    private static long toEpochMillis(LocalDateTime timestamp) {
+        return timestamp.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private record Sample(BigDecimal price, long timestampMillis) {
+    }
+
+    /**
+     * Janela deslizante por tempo com deques monotônicas para min/max em O(1) amortizado.
+     */
+    private static final class RollingWindow {
+
+        private final long windowMillis;
+        private final Deque<Sample> maxDeque = new ArrayDeque<>();
+        private final Deque<Sample> minDeque = new ArrayDeque<>();
+
+        private RollingWindow(int windowSeconds) {
+            this.windowMillis = windowSeconds * 1000L;
+        }
+
+        private void add(BigDecimal price, long timestampMillis) {
+            Sample sample = new Sample(price, timestampMillis);
+
+            while (!maxDeque.isEmpty() && maxDeque.peekLast().price().compareTo(price) <= 0) {
+                maxDeque.pollLast();
+            }
+            maxDeque.addLast(sample);
+
+            while (!minDeque.isEmpty() && minDeque.peekLast().price().compareTo(price) >= 0) {
+                minDeque.pollLast();
+            }
+            minDeque.addLast(sample);
+
+            long cutoff = timestampMillis - windowMillis;
+            while (maxDeque.peekFirst().timestampMillis() < cutoff) {
+                maxDeque.pollFirst();
+            }
+            while (minDeque.peekFirst().timestampMillis() < cutoff) {
+                minDeque.pollFirst();
+            }
+        }
+
+        private boolean isEmpty() {
+            return maxDeque.isEmpty();
+        }
+
+        private BigDecimal max() {
+            return maxDeque.peekFirst().price();
+        }
+
+        private BigDecimal min() {
+            return minDeque.peekFirst().price();
+        }
+    }
+
+    /**
+     * EMA incremental. Só participa de cruzamentos depois de acumular {@code period} amostras.
+     */
+    private static final class EmaTracker {
+
+        private final int period;
+        private final BigDecimal alpha;
+        private final BigDecimal oneMinusAlpha;
+        private BigDecimal current;
+        private BigDecimal previous;
+        private long samples;
+
+        private EmaTracker(int period) {
+            this.period = period;
+            this.alpha = BigDecimal.valueOf(2).divide(BigDecimal.valueOf(period + 1L), MATH_CONTEXT);
+            this.oneMinusAlpha = BigDecimal.ONE.subtract(alpha);
+        }
+
+        private void add(BigDecimal price) {
+            previous = current;
+            current = current == null
+                    ? price
+                    : price.multiply(alpha, MATH_CONTEXT).add(current.multiply(oneMinusAlpha, MATH_CONTEXT), MATH_CONTEXT);
+            samples++;
+        }
+
+        private boolean hasCrossReference() {
+            return samples > period && previous != null;
+        }
+    }
+}
@@ -8,13 +8,31 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "trading_audit_log")
+// Índices dos filtros de consulta terminam em (created_at, id), a ordem das páginas por cursor
+@Table(name = "trading_audit_log", indexes = {
+    @Index(name = "idx_audit_log_pair_created", columnList = "trading_pair, created_at, id"),
+    @Index(name = "idx_audit_log_order_id", columnList = "order_id"),
+    @Index(name = "idx_audit_log_action_created", columnList = "action_type, created_at, id"),
+    @Index(name = "idx_audit_log_action_status", columnList = "action_type, status, created_at, id"),
+    @Index(name = "idx_audit_log_status_created", columnList = "status, created_at, id"),
+    @Index(name = "idx_audit_log_created", columnList = "created_at, id")
+})
 @Data
 @NoArgsConstructor
 public class TradingAuditLog {
     
+    public static final String ID_SEQUENCE = "trading_audit_log_seq";
+    
+    /**
+     * IDs reservados por ida à sequence. Com IDENTITY o Hibernate precisa executar cada insert
+     * na hora para obter a chave, o que desliga o JDBC batch; com a sequence em blocos os
+     * inserts são agrupados e enviados juntos.
+     */
+    public static final int ID_ALLOCATION_SIZE = 500;
+    
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "trading_audit_log_id")
+    @SequenceGenerator(name = "trading_audit_log_id", sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
     
     @Column(name = "action_type", nullable = false)
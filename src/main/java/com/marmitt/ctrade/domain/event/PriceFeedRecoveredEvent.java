@@ -0,0 +1,27 @@
+package com.marmitt.ctrade.domain.event;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Evento publicado quando pares que ficaram sem nenhuma conexão ativa voltam a receber o feed.
+ * Os ticks do intervalo não foram entregues; os ouvintes podem repô-los a partir do histórico
+ * da exchange.
+ */
+@Getter
+public class PriceFeedRecoveredEvent extends ApplicationEvent {
+
+    private final List<String> tradingPairs;
+    private final Instant disconnectedAt; // Quando a última conexão dos pares caiu
+    private final String exchangeSource; // Nome da exchange ou adapter (ex: "BINANCE")
+
+    public PriceFeedRecoveredEvent(Object source, List<String> tradingPairs, Instant disconnectedAt, String exchangeSource) {
+        super(source);
+        this.tradingPairs = List.copyOf(tradingPairs);
+        this.disconnectedAt = disconnectedAt;
+        this.exchangeSource = exchangeSource;
+    }
+}
@@ -0,0 +1,30 @@
+package com.marmitt.ctrade.domain.event;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+import java.util.List;
+
+/**
+ * Evento publicado quando a lista de trading pairs ativos muda em tempo de execução.
+ * Carrega só a diferença, para que os adapters assinem e cancelem apenas os pares afetados
+ * e o estado dos pares que continuam ativos seja preservado.
+ */
+@Getter
+public class TradingPairsChangedEvent extends ApplicationEvent {
+    
+    private final List<String> added;
+    private final List<String> removed;
+    private final String origin; // Origem da mudança (ex: "api", "file:/etc/ctrade/pairs.txt")
+    
+    public TradingPairsChangedEvent(Object source, List<String> added, List<String> removed, String origin) {
+        super(source);
+        this.added = List.copyOf(added);
+        this.removed = List.copyOf(removed);
+        this.origin = origin;
+    }
+    
+    public boolean isEmpty() {
+        return added.isEmpty() && removed.isEmpty();
+    }
+}
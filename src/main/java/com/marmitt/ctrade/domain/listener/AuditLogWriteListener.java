@@ -0,0 +1,14 @@
+package com.marmitt.ctrade.domain.listener;
+
+import com.marmitt.ctrade.domain.entity.TradingAuditLog;
+
+import java.util.List;
+
+/**
+ * Notificado quando registros de auditoria são efetivamente gravados no banco
+ * (após o commit da transação de inserção).
+ */
+public interface AuditLogWriteListener {
+    
+    void onAuditLogsPersisted(List<TradingAuditLog> auditLogs);
+}
@@ -0,0 +1,22 @@
+package com.marmitt.ctrade.domain.port;
+
+import com.marmitt.ctrade.domain.entity.Order;
+import com.marmitt.ctrade.domain.entity.TradingPair;
+import com.marmitt.ctrade.domain.valueobject.Price;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Variante assíncrona do {@link ExchangePort}.
+ *
+ * As operações retornam imediatamente; falhas são propagadas como conclusão excepcional
+ * do {@link CompletableFuture} com a mesma exceção que a versão síncrona lançaria.
+ */
+public interface AsyncExchangePort {
+    CompletableFuture<Order> placeOrder(Order order);
+    CompletableFuture<Order> cancelOrder(String orderId);
+    CompletableFuture<Order> getOrderStatus(String orderId);
+    CompletableFuture<List<Order>> getActiveOrders();
+    CompletableFuture<Price> getCurrentPrice(TradingPair tradingPair);
+}
@@ -0,0 +1,37 @@
+package com.marmitt.ctrade.domain.port;
+
+import com.marmitt.ctrade.domain.entity.TradingAuditLog;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Port para o destino dos registros de auditoria de trading.
+ *
+ * A entrega nunca espera a persistência no banco; implementações garantem que o registro
+ * fica durável (em disco ou fila) e o tornam consultável de forma assíncrona.
+ */
+public interface AuditLogSink {
+
+    /**
+     * Entrega um registro de auditoria.
+     */
+    void submit(TradingAuditLog auditLog);
+
+    default void submitAll(List<TradingAuditLog> auditLogs) {
+        auditLogs.forEach(this::submit);
+    }
+
+    /**
+     * Aguarda até que todos os registros entregues antes da chamada estejam no repositório
+     * de consulta.
+     *
+     * @return false se o tempo limite expirou antes disso
+     */
+    boolean flush(Duration timeout);
+
+    /**
+     * Métricas da implementação, expostas como estão no endpoint de auditoria.
+     */
+    Object getStats();
+}
@@ -0,0 +1,25 @@
+package com.marmitt.ctrade.domain.port;
+
+import com.marmitt.ctrade.domain.dto.AlertNotificationBatch;
+
+/**
+ * Port para destinos de notificação de alertas de preço.
+ * 
+ * Implementações podem entregar via webhook HTTP, arquivo, log, etc.
+ * As entregas sempre acontecem fora da thread de processamento de ticks.
+ */
+public interface NotificationSink {
+    
+    /**
+     * Nome do destino, usado em logs, métricas e dead-letters.
+     */
+    String getName();
+    
+    /**
+     * Entrega um lote de alertas coalescidos para o mesmo alvo.
+     * 
+     * @param batch Lote de alertas disparados
+     * @throws Exception se a entrega falhar e deve ser tentada novamente
+     */
+    void send(AlertNotificationBatch batch) throws Exception;
+}
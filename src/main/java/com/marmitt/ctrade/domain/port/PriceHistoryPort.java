@@ -0,0 +1,23 @@
+package com.marmitt.ctrade.domain.port;
+
+import com.marmitt.ctrade.domain.dto.PriceUpdateMessage;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Port para consulta do histórico recente de preços de uma exchange, usado para repor
+ * intervalos em que o feed em tempo real ficou fora.
+ */
+public interface PriceHistoryPort {
+
+    /**
+     * Preços do par no intervalo informado, em ordem cronológica.
+     *
+     * @param tradingPair Símbolo do par, como nos eventos do feed (ex: BTCUSDT)
+     * @param from Início do intervalo (inclusivo)
+     * @param to Fim do intervalo (inclusivo)
+     * @throws IllegalStateException se a exchange não puder ser consultada
+     */
+    List<PriceUpdateMessage> getPriceHistory(String tradingPair, Instant from, Instant to);
+}
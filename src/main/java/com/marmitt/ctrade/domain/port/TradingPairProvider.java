@@ -34,4 +34,12 @@ public interface TradingPairProvider {
      * @return String formatada como "btcusdt@ticker/ethusdt@ticker/adausdt@ticker"
      */
     String getFormattedStreamList();
-}
\ No newline at end of file
+    
+    /**
+     * Retorna o nome do stream de um trading pair, no mesmo formato de {@link #getFormattedStreamList()}.
+     * 
+     * @param tradingPair O símbolo do trading pair (ex: "BTCUSDT")
+     * @return Nome do stream (ex: "btcusdt@ticker")
+     */
+    String formatStreamName(String tradingPair);
+}
@@ -10,5 +10,7 @@ public interface WebSocketPort {
     
     void subscribeToPrice(String tradingPair);
     
+    void unsubscribeFromPrice(String tradingPair);
+    
     void subscribeToOrderUpdates();
 }
\ No newline at end of file
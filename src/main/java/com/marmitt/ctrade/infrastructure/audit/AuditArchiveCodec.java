@@ -0,0 +1,510 @@
+package com.marmitt.ctrade.infrastructure.audit;
+
+import com.marmitt.ctrade.domain.entity.Order;
+import com.marmitt.ctrade.domain.entity.TradingAuditLog;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Formato colunar dos arquivos de arquivo morto da auditoria.
+ *
+ * <pre>
+ * cabeçalho (sem compressão)
+ *   int    magic "CTAR"
+ *   short  versão
+ *   int    tamanho do cabeçalho em bytes
+ *   long   total de registros
+ *   4 tabelas de nomes dos enums (ActionType, Status, OrderType, OrderSide), cada uma como
+ *     short com a quantidade seguido dos nomes (short com o tamanho + UTF-8)
+ *   long[A][S + 1] contagem por action type e status, na ordem das tabelas
+ *     (última coluna = sem status)
+ * corpo (GZIP): sequência de row groups, terminada por um int 0; os registros são gravados
+ *   do mais recente para o mais antigo, por (createdAt, id)
+ *   int    registros no row group
+ *   14 colunas, cada uma como int com o tamanho em bytes seguido dos dados:
+ *     id (delta, varint), createdAt (segundos em delta + nanos, varint),
+ *     actionType, status, orderType, orderSide (um byte, posição na tabela + 1; 0 = nulo),
+ *     tradingPair, orderId, errorMessage, userContext, requestId (dicionário UTF-8 + índices),
+ *     quantity, price, totalValue (escala + valor sem escala)
+ * </pre>
+ *
+ * Valores repetidos ficam próximos em cada coluna, o que comprime bem; e a coluna de ids
+ * pode ser lida sem decodificar as demais. Como os enums são gravados por nome no cabeçalho,
+ * arquivos antigos continuam legíveis depois que um valor novo é acrescentado a um enum;
+ * só um valor removido ou renomeado torna o arquivo ilegível.
+ *
+ * A versão 1 tinha cabeçalho sem tabelas de nomes e usava os ordinais dos enums; ela ainda
+ * é lida, assumindo que os valores novos foram acrescentados no fim de cada enum.
+ */
+final class AuditArchiveCodec {
+
+    static final int MAGIC = 0x43544152;
+    static final short VERSION = 2;
+    private static final short VERSION_ORDINALS = 1;
+
+    private static final TradingAuditLog.ActionType[] ACTION_TYPES = TradingAuditLog.ActionType.values();
+    private static final TradingAuditLog.Status[] STATUSES = TradingAuditLog.Status.values();
+    private static final Order.OrderType[] ORDER_TYPES = Order.OrderType.values();
+    private static final Order.OrderSide[] ORDER_SIDES = Order.OrderSide.values();
+
+    static final int STATUS_SLOTS = STATUSES.length + 1;
+
+    /**
+     * Bytes iniciais, comuns a todas as versões, que bastam para saber o tamanho do cabeçalho.
+     */
+    static final int PREFIX_LENGTH = 4 + 2 + 4;
+
+    static final Layout CURRENT = new Layout(ACTION_TYPES, STATUSES, ORDER_TYPES, ORDER_SIDES);
+    static final int HEADER_LENGTH = headerLength(CURRENT);
+
+    private static final int COLUMNS = 14;
+
+    private AuditArchiveCodec() {
+    }
+
+    /**
+     * Valores dos enums na ordem em que um arquivo os codifica.
+     */
+    record Layout(TradingAuditLog.ActionType[] actionTypes, TradingAuditLog.Status[] statuses,
+                  Order.OrderType[] orderTypes, Order.OrderSide[] orderSides) {
+    }
+
+    /**
+     * Cabeçalho lido de um arquivo.
+     *
+     * @param length tamanho do cabeçalho em bytes; o corpo começa logo depois
+     * @param counts contagem por [actionType][status] nos ordinais atuais; status nulo na última coluna
+     */
+    record Header(int length, long rows, long[][] counts, Layout layout) {
+    }
+
+    static int headerLength(Layout layout) {
+        return 4 + 2 + 4 + 8
+                + namesLength(layout.actionTypes()) + namesLength(layout.statuses())
+                + namesLength(layout.orderTypes()) + namesLength(layout.orderSides())
+                + layout.actionTypes().length * (layout.statuses().length + 1) * 8;
+    }
+
+    /**
+     * @param prefix os primeiros {@link #PREFIX_LENGTH} bytes do arquivo
+     * @return tamanho total do cabeçalho
+     */
+    static int headerLength(ByteBuffer prefix) throws IOException {
+        if (prefix.getInt() != MAGIC) {
+            throw new IOException("Not an audit archive file");
+        }
+        short version = prefix.getShort();
+        if (version == VERSION_ORDINALS) {
+            return 4 + 2 + 2 + 2 + 8 + prefix.getShort() * prefix.getShort() * 8;
+        }
+        if (version != VERSION) {
+            throw new IOException("Unsupported audit archive version " + version);
+        }
+        return prefix.getInt();
+    }
+
+    static void writeHeader(ByteBuffer target, long rows, long[][] counts) {
+        writeHeader(target, rows, counts, CURRENT);
+    }
+
+    /**
+     * @param counts contagem por [actionType][status] na ordem de {@code layout}
+     */
+    static void writeHeader(ByteBuffer target, long rows, long[][] counts, Layout layout) {
+        target.putInt(MAGIC);
+        target.putShort(VERSION);
+        target.putInt(headerLength(layout));
+        target.putLong(rows);
+        writeNames(target, layout.actionTypes());
+        writeNames(target, layout.statuses());
+        writeNames(target, layout.orderTypes());
+        writeNames(target, layout.orderSides());
+        for (long[] row : counts) {
+            for (long count : row) {
+                target.putLong(count);
+            }
+        }
+    }
+
+    static Header readHeader(ByteBuffer source) throws IOException {
+        int length = headerLength(source.duplicate());
+        source.getInt();
+        short version = source.getShort();
+        Layout layout;
+        if (version == VERSION_ORDINALS) {
+            int actionTypes = source.getShort();
+            int statusSlots = source.getShort();
+            if (actionTypes > ACTION_TYPES.length || statusSlots > STATUS_SLOTS || statusSlots < 1) {
+                throw new IOException("Unsupported audit archive layout: version " + version
+                        + ", " + actionTypes + " action types, " + statusSlots + " status slots");
+            }
+            layout = new Layout(Arrays.copyOf(ACTION_TYPES, actionTypes), Arrays.copyOf(STATUSES, statusSlots - 1),
+                    ORDER_TYPES, ORDER_SIDES);
+        } else {
+            source.getInt();
+            layout = null;
+        }
+        long rows = source.getLong();
+        if (layout == null) {
+            layout = new Layout(
+                    readNames(source, TradingAuditLog.ActionType.class, new TradingAuditLog.ActionType[0]),
+                    readNames(source, TradingAuditLog.Status.class, new TradingAuditLog.Status[0]),
+                    readNames(source, Order.OrderType.class, new Order.OrderType[0]),
+                    readNames(source, Order.OrderSide.class, new Order.OrderSide[0]));
+        }
+
+        long[][] counts = new long[ACTION_TYPES.length][STATUS_SLOTS];
+        for (TradingAuditLog.ActionType actionType : layout.actionTypes()) {
+            for (TradingAuditLog.Status status : layout.statuses()) {
+                counts[actionType.ordinal()][status.ordinal()] = source.getLong();
+            }
+            counts[actionType.ordinal()][STATUSES.length] = source.getLong();
+        }
+        return new Header(length, rows, counts, layout);
+    }
+
+    private static int namesLength(Enum<?>[] values) {
+        int length = 2;
+        for (Enum<?> value : values) {
+            length += 2 + value.name().getBytes(StandardCharsets.UTF_8).length;
+        }
+        return length;
+    }
+
+    private static void writeNames(ByteBuffer target, Enum<?>[] values) {
+        target.putShort((short) values.length);
+        for (Enum<?> value : values) {
+            byte[] name = value.name().getBytes(StandardCharsets.UTF_8);
+            target.putShort((short) name.length);
+            target.put(name);
+        }
+    }
+
+    private static <E extends Enum<E>> E[] readNames(ByteBuffer source, Class<E> type, E[] empty) throws IOException {
+        int size = source.getShort();
+        E[] values = Arrays.copyOf(empty, size);
+        Set<E> seen = EnumSet.noneOf(type);
+        for (int i = 0; i < size; i++) {
+            byte[] name = new byte[source.getShort()];
+            source.get(name);
+            String value = new String(name, StandardCharsets.UTF_8);
+            try {
+                values[i] = Enum.valueOf(type, value);
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Unknown " + type.getSimpleName() + " in audit archive: " + value, e);
+            }
+            if (!seen.add(values[i])) {
+                throw new IOException("Duplicate " + type.getSimpleName() + " in audit archive: " + value);
+            }
+        }
+        return values;
+    }
+
+    static int statusSlot(TradingAuditLog.Status status) {
+        return status != null ? status.ordinal() : STATUSES.length;
+    }
+
+    static void writeRowGroup(List<TradingAuditLog> rows, DataOutputStream out) throws IOException {
+        writeRowGroup(rows, out, CURRENT);
+    }
+
+    static void writeRowGroup(List<TradingAuditLog> rows, DataOutputStream out, Layout layout) throws IOException {
+        out.writeInt(rows.size());
+
+        ColumnWriter ids = new ColumnWriter();
+        ColumnWriter createdAt = new ColumnWriter();
+        long previousId = 0;
+        long previousSecond = 0;
+        for (TradingAuditLog row : rows) {
+            ids.writeSignedVarLong(row.getId() - previousId);
+            previousId = row.getId();
+            long second = row.getCreatedAt().toEpochSecond(ZoneOffset.UTC);
+            createdAt.writeSignedVarLong(second - previousSecond);
+            createdAt.writeVarLong(row.getCreatedAt().getNano());
+            previousSecond = second;
+        }
+        ids.writeTo(out);
+        createdAt.writeTo(out);
+
+        writeEnumColumn(rows, TradingAuditLog::getActionType, layout.actionTypes(), out);
+        writeEnumColumn(rows, TradingAuditLog::getStatus, layout.statuses(), out);
+        writeEnumColumn(rows, TradingAuditLog::getOrderType, layout.orderTypes(), out);
+        writeEnumColumn(rows, TradingAuditLog::getOrderSide, layout.orderSides(), out);
+
+        writeStringColumn(rows, TradingAuditLog::getTradingPair, out);
+        writeStringColumn(rows, TradingAuditLog::getOrderId, out);
+        writeStringColumn(rows, TradingAuditLog::getErrorMessage, out);
+        writeStringColumn(rows, TradingAuditLog::getUserContext, out);
+        writeStringColumn(rows, TradingAuditLog::getRequestId, out);
+
+        writeDecimalColumn(rows, TradingAuditLog::getQuantity, out);
+        writeDecimalColumn(rows, TradingAuditLog::getPrice, out);
+        writeDecimalColumn(rows, TradingAuditLog::getTotalValue, out);
+    }
+
+    static List<TradingAuditLog> readRowGroup(DataInputStream in, int rowCount, Layout layout) throws IOException {
+        List<TradingAuditLog> rows = new ArrayList<>(rowCount);
+        for (int i = 0; i < rowCount; i++) {
+            rows.add(new TradingAuditLog());
+        }
+
+        ColumnReader ids = ColumnReader.read(in);
+        ColumnReader createdAt = ColumnReader.read(in);
+        long id = 0;
+        long second = 0;
+        for (TradingAuditLog row : rows) {
+            id += ids.readSignedVarLong();
+            row.setId(id);
+            second += createdAt.readSignedVarLong();
+            row.setCreatedAt(LocalDateTime.ofEpochSecond(second, (int) createdAt.readVarLong(), ZoneOffset.UTC));
+        }
+
+        ColumnReader actionTypes = ColumnReader.read(in);
+        ColumnReader statuses = ColumnReader.read(in);
+        ColumnReader orderTypes = ColumnReader.read(in);
+        ColumnReader orderSides = ColumnReader.read(in);
+        for (TradingAuditLog row : rows) {
+            row.setActionType(valueAt(layout.actionTypes(), actionTypes.readByte()));
+            row.setStatus(valueAt(layout.statuses(), statuses.readByte()));
+            row.setOrderType(valueAt(layout.orderTypes(), orderTypes.readByte()));
+            row.setOrderSide(valueAt(layout.orderSides(), orderSides.readByte()));
+        }
+
+        List<String> tradingPairs = readStringColumn(in, rowCount);
+        List<String> orderIds = readStringColumn(in, rowCount);
+        List<String> errorMessages = readStringColumn(in, rowCount);
+        List<String> userContexts = readStringColumn(in, rowCount);
+        List<String> requestIds = readStringColumn(in, rowCount);
+        List<BigDecimal> quantities = readDecimalColumn(in, rowCount);
+        List<BigDecimal> prices = readDecimalColumn(in, rowCount);
+        List<BigDecimal> totalValues = readDecimalColumn(in, rowCount);
+        for (int i = 0; i < rowCount; i++) {
+            TradingAuditLog row = rows.get(i);
+            row.setTradingPair(tradingPairs.get(i));
+            row.setOrderId(orderIds.get(i));
+            row.setErrorMessage(errorMessages.get(i));
+            row.setUserContext(userContexts.get(i));
+            row.setRequestId(requestIds.get(i));
+            row.setQuantity(quantities.get(i));
+            row.setPrice(prices.get(i));
+            row.setTotalValue(totalValues.get(i));
+        }
+        return rows;
+    }
+
+    /**
+     * Lê só a coluna de ids do row group e pula as demais.
+     */
+    static long[] readRowGroupIds(DataInputStream in, int rowCount) throws IOException {
+        ColumnReader column = ColumnReader.read(in);
+        long[] ids = new long[rowCount];
+        long id = 0;
+        for (int i = 0; i < rowCount; i++) {
+            id += column.readSignedVarLong();
+            ids[i] = id;
+        }
+        for (int i = 1; i < COLUMNS; i++) {
+            in.skipNBytes(in.readInt());
+        }
+        return ids;
+    }
+
+    private static void writeEnumColumn(List<TradingAuditLog> rows, Function<TradingAuditLog, Enum<?>> getter,
+                                        Enum<?>[] values, DataOutputStream out) throws IOException {
+        ColumnWriter column = new ColumnWriter();
+        for (TradingAuditLog row : rows) {
+            column.write(positionOf(values, getter.apply(row)));
+        }
+        column.writeTo(out);
+    }
+
+    private static int positionOf(Enum<?>[] values, Enum<?> value) throws IOException {
+        if (value == null) {
+            return 0;
+        }
+        if (values.length > value.ordinal() && values[value.ordinal()] == value) {
+            return value.ordinal() + 1;
+        }
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == value) {
+                return i + 1;
+            }
+        }
+        throw new IOException("Enum value missing from audit archive layout: " + value);
+    }
+
+    private static void writeStringColumn(List<TradingAuditLog> rows, Function<TradingAuditLog, String> getter,
+                                          DataOutputStream out) throws IOException {
+        Map<String, Integer> dictionary = new HashMap<>();
+        List<String> entries = new ArrayList<>();
+        ColumnWriter indexes = new ColumnWriter();
+        for (TradingAuditLog row : rows) {
+            String value = getter.apply(row);
+            if (value == null) {
+                indexes.writeVarLong(0);
+                continue;
+            }
+            Integer index = dictionary.get(value);
+            if (index == null) {
+                index = entries.size();
+                dictionary.put(value, index);
+                entries.add(value);
+            }
+            indexes.writeVarLong(index + 1);
+        }
+
+        ColumnWriter column = new ColumnWriter();
+        column.writeVarLong(entries.size());
+        for (String entry : entries) {
+            byte[] bytes = entry.getBytes(StandardCharsets.UTF_8);
+            column.writeVarLong(bytes.length);
+            column.write(bytes);
+        }
+        indexes.flush();
+        column.write(indexes.toByteArray());
+        column.writeTo(out);
+    }
+
+    private static List<String> readStringColumn(DataInputStream in, int rowCount) throws IOException {
+        ColumnReader column = ColumnReader.read(in);
+        int size = (int) column.readVarLong();
+        String[] entries = new String[size];
+        for (int i = 0; i < size; i++) {
+            entries[i] = new String(column.readBytes((int) column.readVarLong()), StandardCharsets.UTF_8);
+        }
+        List<String> values = new ArrayList<>(rowCount);
+        for (int i = 0; i < rowCount; i++) {
+            int index = (int) column.readVarLong();
+            values.add(index == 0 ? null : entries[index - 1]);
+        }
+        return values;
+    }
+
+    private static void writeDecimalColumn(List<TradingAuditLog> rows, Function<TradingAuditLog, BigDecimal> getter,
+                                           DataOutputStream out) throws IOException {
+        ColumnWriter column = new ColumnWriter();
+        for (TradingAuditLog row : rows) {
+            BigDecimal value = getter.apply(row);
+            if (value == null) {
+                column.writeVarLong(0);
+                continue;
+            }
+            byte[] unscaled = value.unscaledValue().toByteArray();
+            column.writeVarLong(unscaled.length);
+            column.writeSignedVarLong(value.scale());
+            column.write(unscaled);
+        }
+        column.writeTo(out);
+    }
+
+    private static List<BigDecimal> readDecimalColumn(DataInputStream in, int rowCount) throws IOException {
+        ColumnReader column = ColumnReader.read(in);
+        List<BigDecimal> values = new ArrayList<>(rowCount);
+        for (int i = 0; i < rowCount; i++) {
+            int length = (int) column.readVarLong();
+            if (length == 0) {
+                values.add(null);
+                continue;
+            }
+            int scale = (int) column.readSignedVarLong();
+            values.add(new BigDecimal(new BigInteger(column.readBytes(length)), scale));
+        }
+        return values;
+    }
+
+    private static <E extends Enum<E>> E valueAt(E[] values, int encoded) throws IOException {
+        if (encoded == 0) {
+            return null;
+        }
+        if (encoded > values.length) {
+            throw new IOException("Unknown enum position in audit archive: " + (encoded - 1));
+        }
+        return values[encoded - 1];
+    }
+
+    private static final class ColumnWriter extends DataOutputStream {
+
+        private ColumnWriter() {
+            super(new ByteArrayOutputStream());
+        }
+
+        private void writeVarLong(long value) throws IOException {
+            while ((value & ~0x7FL) != 0) {
+                write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            write((int) value);
+        }
+
+        private void writeSignedVarLong(long value) throws IOException {
+            writeVarLong((value << 1) ^ (value >> 63));
+        }
+
+        private byte[] toByteArray() {
+            return ((ByteArrayOutputStream) out).toByteArray();
+        }
+
+        private void writeTo(DataOutputStream target) throws IOException {
+            byte[] bytes = toByteArray();
+            target.writeInt(bytes.length);
+            target.write(bytes);
+        }
+    }
+
+    private static final class ColumnReader {
+
+        private final ByteBuffer buffer;
+
+        private ColumnReader(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        private static ColumnReader read(DataInputStream in) throws IOException {
+            return new ColumnReader(ByteBuffer.wrap(in.readNBytes(in.readInt())));
+        }
+
+        private int readByte() {
+            return buffer.get() & 0xFF;
+        }
+
+        private long readVarLong() {
+            long value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = buffer.get();
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+
+        private long readSignedVarLong() {
+            long raw = readVarLong();
+            return (raw >>> 1) ^ -(raw & 1);
+        }
+
+        private byte[] readBytes(int length) {
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            return bytes;
+        }
+    }
+}
@@ -0,0 +1,433 @@
+package com.marmitt.ctrade.infrastructure.audit;
+
+import com.marmitt.ctrade.domain.entity.TradingAuditLog;
+import com.marmitt.ctrade.infrastructure.config.AuditRetentionProperties;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Arquivo morto da auditoria: registros de dias que saíram da tabela, em arquivos
+ * colunares comprimidos ({@link AuditArchiveCodec}), um ou mais por dia.
+ *
+ * Cada compactação gera um arquivo novo, escrito em um temporário e renomeado só depois
+ * de completo; arquivos existentes nunca são alterados, apenas substituídos ou apagados.
+ * O cabeçalho de cada arquivo traz as contagens por tipo de ação e status, o que permite
+ * decidir a retenção sem descomprimir o conteúdo.
+ */
+@Component
+@Slf4j
+public class AuditArchiveStore {
+
+    private static final String PREFIX = "audit-";
+    private static final String SUFFIX = ".archive";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final DateTimeFormatter DAY_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final int STREAM_BUFFER_SIZE = 64 * 1024;
+
+    private final Path directory;
+    private final AtomicLong fileSequence = new AtomicLong();
+
+    @Autowired
+    public AuditArchiveStore(AuditRetentionProperties properties) {
+        this(Path.of(properties.getArchiveDirectory()));
+    }
+
+    public AuditArchiveStore(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Remove temporários de compactações interrompidas; os registros continuam na tabela.
+     */
+    @PostConstruct
+    public void removeIncompleteFiles() {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, PREFIX + "*" + SUFFIX + TEMP_SUFFIX)) {
+            for (Path file : stream) {
+                Files.deleteIfExists(file);
+                log.warn("Removed incomplete audit archive file {}", file.getFileName());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to clean audit archive directory " + directory, e);
+        }
+    }
+
+    public ArchiveWriter openWriter(LocalDate day) {
+        String name = PREFIX + DAY_FORMAT.format(day) + "-" + System.currentTimeMillis()
+                + "-" + fileSequence.incrementAndGet() + SUFFIX;
+        try {
+            Files.createDirectories(directory);
+            return new ArchiveWriter(day, directory.resolve(name));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create audit archive file " + name, e);
+        }
+    }
+
+    /**
+     * Arquivos completos, ordenados por dia e, dentro do dia, por ordem de criação.
+     */
+    public List<ArchiveFile> listFiles() {
+        return readSummaries(PREFIX + "*" + SUFFIX);
+    }
+
+    public Set<LocalDate> archivedDays() {
+        Set<LocalDate> days = new TreeSet<>();
+        for (ArchiveFile file : listFiles()) {
+            days.add(file.day());
+        }
+        return days;
+    }
+
+    /**
+     * IDs já arquivados no dia, lidos apenas da coluna de ids.
+     */
+    public Set<Long> readIds(LocalDate day) {
+        return readIds(day, null);
+    }
+
+    /**
+     * Quais dos IDs informados já estão nos arquivos do dia; a memória usada fica limitada
+     * ao tamanho de {@code candidates}.
+     */
+    public Set<Long> readIds(LocalDate day, Set<Long> candidates) {
+        Set<Long> ids = new HashSet<>();
+        for (ArchiveFile file : filesOf(day)) {
+            readBody(file.path(), (in, rows, layout) -> {
+                for (long id : AuditArchiveCodec.readRowGroupIds(in, rows)) {
+                    if (candidates == null || candidates.contains(id)) {
+                        ids.add(id);
+                    }
+                }
+            });
+        }
+        return ids;
+    }
+
+    /**
+     * Registros do dia que atendem ao filtro, na ordem em que foram arquivados.
+     */
+    public List<TradingAuditLog> read(LocalDate day, Predicate<TradingAuditLog> filter) {
+        List<TradingAuditLog> result = new ArrayList<>();
+        for (ArchiveFile file : filesOf(day)) {
+            forEachRowGroup(file, rows -> {
+                for (TradingAuditLog row : rows) {
+                    if (filter.test(row)) {
+                        result.add(row);
+                    }
+                }
+            });
+        }
+        return result;
+    }
+
+    public void forEachRowGroup(ArchiveFile file, Consumer<List<TradingAuditLog>> consumer) {
+        readBody(file.path(), (in, rows, layout) -> consumer.accept(AuditArchiveCodec.readRowGroup(in, rows, layout)));
+    }
+
+    /**
+     * Abre o arquivo para leitura sob demanda, um row group por vez. Quem abre deve fechar,
+     * a menos que leia até o fim.
+     */
+    public ArchiveReader openReader(ArchiveFile file) {
+        try {
+            return new ArchiveReader(file.path());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read audit archive file " + file.path(), e);
+        }
+    }
+
+    public void delete(ArchiveFile file) {
+        try {
+            Files.deleteIfExists(file.path());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to delete audit archive file " + file.path(), e);
+        }
+    }
+
+    public ArchiveStats getStats() {
+        List<ArchiveFile> files = listFiles();
+        long rows = 0;
+        long bytes = 0;
+        TreeSet<LocalDate> days = new TreeSet<>();
+        for (ArchiveFile file : files) {
+            rows += file.rows();
+            bytes += file.sizeBytes();
+            days.add(file.day());
+        }
+        return new ArchiveStats(files.size(), days.size(), rows, bytes,
+                days.isEmpty() ? null : days.first(), days.isEmpty() ? null : days.last());
+    }
+
+    /**
+     * Arquivos completos do dia, em ordem de criação.
+     */
+    public List<ArchiveFile> filesOf(LocalDate day) {
+        // O dia está no nome do arquivo: só os cabeçalhos do próprio dia são lidos
+        return readSummaries(PREFIX + DAY_FORMAT.format(day) + "-*" + SUFFIX);
+    }
+
+    private List<ArchiveFile> readSummaries(String glob) {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        List<Path> paths = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, glob)) {
+            stream.forEach(paths::add);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list audit archive files in " + directory, e);
+        }
+        paths.sort(null);
+
+        List<ArchiveFile> files = new ArrayList<>(paths.size());
+        for (Path path : paths) {
+            files.add(readSummary(path));
+        }
+        return files;
+    }
+
+    private ArchiveFile readSummary(Path path) {
+        String name = path.getFileName().toString();
+        LocalDate day = LocalDate.parse(name.substring(PREFIX.length(), PREFIX.length() + 8), DAY_FORMAT);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            AuditArchiveCodec.Header header = readHeader(channel);
+            return new ArchiveFile(path, day, header.rows(), channel.size(), header.counts());
+        } catch (IOException | RuntimeException e) {
+            throw new IllegalStateException("Corrupt audit archive file " + path + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Lê o cabeçalho e deixa o canal posicionado no início do corpo.
+     */
+    private static AuditArchiveCodec.Header readHeader(FileChannel channel) throws IOException {
+        ByteBuffer prefix = ByteBuffer.allocate(AuditArchiveCodec.PREFIX_LENGTH);
+        readFully(channel, prefix, 0);
+        int length = AuditArchiveCodec.headerLength(prefix.flip());
+        if (length < AuditArchiveCodec.PREFIX_LENGTH || length > channel.size()) {
+            throw new IOException("Invalid header length " + length);
+        }
+        ByteBuffer header = ByteBuffer.allocate(length);
+        readFully(channel, header, 0);
+        channel.position(length);
+        return AuditArchiveCodec.readHeader(header.flip());
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer target, long position) throws IOException {
+        while (target.hasRemaining()) {
+            int read = channel.read(target, position + target.position());
+            if (read < 0) {
+                throw new IOException("Truncated header");
+            }
+        }
+    }
+
+    private void readBody(Path path, RowGroupReader reader) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            AuditArchiveCodec.Layout layout = readHeader(channel).layout();
+            DataInputStream in = new DataInputStream(new BufferedInputStream(
+                    new GZIPInputStream(Channels.newInputStream(channel), STREAM_BUFFER_SIZE), STREAM_BUFFER_SIZE));
+            int rows;
+            while ((rows = in.readInt()) > 0) {
+                reader.read(in, rows, layout);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read audit archive file " + path, e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowGroupReader {
+        void read(DataInputStream in, int rows, AuditArchiveCodec.Layout layout) throws IOException;
+    }
+
+    /**
+     * Lê os row groups de um arquivo na ordem em que foram gravados, mantendo só o atual
+     * em memória. Fecha sozinho ao chegar ao fim ou em caso de erro.
+     */
+    public static final class ArchiveReader implements AutoCloseable {
+
+        private final Path path;
+        private final AuditArchiveCodec.Layout layout;
+        private final DataInputStream in;
+        private boolean finished;
+
+        private ArchiveReader(Path path) throws IOException {
+            this.path = path;
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+            try {
+                this.layout = readHeader(channel).layout();
+                this.in = new DataInputStream(new BufferedInputStream(
+                        new GZIPInputStream(Channels.newInputStream(channel), STREAM_BUFFER_SIZE), STREAM_BUFFER_SIZE));
+            } catch (IOException | RuntimeException e) {
+                channel.close();
+                throw e;
+            }
+        }
+
+        /**
+         * @return o próximo row group, ou null no fim do arquivo
+         */
+        public List<TradingAuditLog> nextRowGroup() {
+            if (finished) {
+                return null;
+            }
+            try {
+                int rows = in.readInt();
+                if (rows <= 0) {
+                    close();
+                    return null;
+                }
+                return AuditArchiveCodec.readRowGroup(in, rows, layout);
+            } catch (IOException e) {
+                close();
+                throw new UncheckedIOException("Failed to read audit archive file " + path, e);
+            }
+        }
+
+        @Override
+        public void close() {
+            if (finished) {
+                return;
+            }
+            finished = true;
+            try {
+                in.close();
+            } catch (IOException e) {
+                log.warn("Failed to close audit archive file {}: {}", path, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Escreve um arquivo novo. Nada fica visível até {@link #commit()}; fechar sem commit
+     * descarta o temporário.
+     */
+    public final class ArchiveWriter implements AutoCloseable {
+
+        private final LocalDate day;
+        private final Path target;
+        private final Path temp;
+        private final FileChannel channel;
+        private final GZIPOutputStream gzip;
+        private final DataOutputStream out;
+        private final long[][] counts = new long[TradingAuditLog.ActionType.values().length][AuditArchiveCodec.STATUS_SLOTS];
+        private long rows;
+        private boolean finished;
+
+        private ArchiveWriter(LocalDate day, Path target) throws IOException {
+            this.day = day;
+            this.target = target;
+            this.temp = target.resolveSibling(target.getFileName() + TEMP_SUFFIX);
+            this.channel = FileChannel.open(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+            channel.position(AuditArchiveCodec.HEADER_LENGTH);
+            this.gzip = new GZIPOutputStream(Channels.newOutputStream(channel), STREAM_BUFFER_SIZE);
+            this.out = new DataOutputStream(new BufferedOutputStream(gzip, STREAM_BUFFER_SIZE));
+        }
+
+        public void writeRowGroup(List<TradingAuditLog> rowGroup) {
+            if (rowGroup.isEmpty()) {
+                return;
+            }
+            try {
+                AuditArchiveCodec.writeRowGroup(rowGroup, out);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to write audit archive file " + temp, e);
+            }
+            for (TradingAuditLog row : rowGroup) {
+                counts[row.getActionType().ordinal()][AuditArchiveCodec.statusSlot(row.getStatus())]++;
+            }
+            rows += rowGroup.size();
+        }
+
+        public long rows() {
+            return rows;
+        }
+
+        /**
+         * Finaliza, grava em disco e publica o arquivo.
+         */
+        public ArchiveFile commit() {
+            try {
+                out.writeInt(0);
+                out.flush();
+                gzip.finish();
+
+                ByteBuffer header = ByteBuffer.allocate(AuditArchiveCodec.HEADER_LENGTH);
+                AuditArchiveCodec.writeHeader(header, rows, counts);
+                header.flip();
+                long position = 0;
+                while (header.hasRemaining()) {
+                    position += channel.write(header, position);
+                }
+                channel.force(true);
+                long size = channel.size();
+                channel.close();
+                finished = true;
+
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+                return new ArchiveFile(target, day, rows, size, counts);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to commit audit archive file " + target, e);
+            }
+        }
+
+        @Override
+        public void close() {
+            if (finished) {
+                return;
+            }
+            finished = true;
+            try {
+                channel.close();
+                Files.deleteIfExists(temp);
+            } catch (IOException e) {
+                log.warn("Failed to discard audit archive file {}: {}", temp, e.getMessage());
+            }
+        }
+    }
+
+    public record ArchiveFile(Path path, LocalDate day, long rows, long sizeBytes, long[][] counts) {
+
+        public long count(TradingAuditLog.ActionType actionType) {
+            long total = 0;
+            for (long count : counts[actionType.ordinal()]) {
+                total += count;
+            }
+            return total;
+        }
+    }
+
+    public record ArchiveStats(int files, int days, long rows, long sizeBytes, LocalDate oldestDay, LocalDate newestDay) {
+    }
+}
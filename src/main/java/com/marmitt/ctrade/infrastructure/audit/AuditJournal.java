@@ -0,0 +1,381 @@
+package com.marmitt.ctrade.infrastructure.audit;
+
+import com.marmitt.ctrade.domain.entity.TradingAuditLog;
+import com.marmitt.ctrade.infrastructure.config.AuditJournalProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.CRC32C;
+
+/**
+ * Journal de auditoria append-only em segmentos de arquivo mapeados em memória.
+ *
+ * Cada registro é codificado pelo {@link AuditJournalCodec} fora da trava e copiado para o
+ * segmento ativo dentro dela, então gravar um evento custa uma cópia de memória e um CRC,
+ * sem chamada de sistema nem banco. Os dados ficam no page cache do sistema operacional e
+ * sobrevivem à queda do processo; o segmento é sincronizado com o disco na virada e no
+ * desligamento. Um novo segmento é aberto a cada dia, quando o atual enche e a cada
+ * inicialização. O {@link AuditJournalIndexer} lê os segmentos e carrega os registros no banco;
+ * os segmentos que ficam inteiros antes do checkpoint do indexador são apagados. A maior
+ * sequência apagada fica registrada em um arquivo próprio, para que a numeração continue
+ * crescente mesmo quando nenhum segmento com registros sobra no diretório.
+ */
+@Component
+@ConditionalOnProperty(name = "trading.audit.sink", havingValue = "JOURNAL", matchIfMissing = true)
+@Slf4j
+public class AuditJournal {
+
+    private static final String SEGMENT_PREFIX = "audit-";
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final String LOCK_FILE = "journal.lock";
+    private static final String DELETED_SEQUENCE_FILE = "deleted.sequence";
+    private static final DateTimeFormatter SEGMENT_DATE = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final ThreadLocal<ByteBuffer> SCRATCH =
+            ThreadLocal.withInitial(() -> ByteBuffer.allocate(AuditJournalCodec.MAX_RECORD_SIZE));
+
+    private final Path directory;
+    private final int segmentSize;
+    private final Clock clock;
+    private final CRC32C crc = new CRC32C();
+
+    private final LongAdder appended = new LongAdder();
+    private final LongAdder appendNanos = new LongAdder();
+    private long segmentsCreated;
+    private long segmentsDeleted;
+
+    private FileChannel lockChannel;
+    private FileLock lock;
+    private Segment active;
+    private long nextSegmentIndex;
+    private long nextRolloverMillis;
+    private volatile long committedPosition;
+    private volatile long lastSequence;
+
+    @Autowired
+    public AuditJournal(AuditJournalProperties properties) {
+        this(Path.of(properties.getDirectory()), properties.getSegmentSize().toBytes(), Clock.systemDefaultZone());
+    }
+
+    AuditJournal(Path directory, long segmentSize, Clock clock) {
+        if (segmentSize < 2L * AuditJournalCodec.MAX_RECORD_SIZE || segmentSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Audit journal segment size must be between "
+                    + 2 * AuditJournalCodec.MAX_RECORD_SIZE + " and " + Integer.MAX_VALUE + " bytes");
+        }
+        this.directory = directory;
+        this.segmentSize = (int) segmentSize;
+        this.clock = clock;
+    }
+
+    @PostConstruct
+    public synchronized void open() {
+        try {
+            Files.createDirectories(directory);
+            lockChannel = FileChannel.open(directory.resolve(LOCK_FILE),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            lock = tryLock(lockChannel);
+            if (lock == null) {
+                lockChannel.close();
+                throw new IllegalStateException("Audit journal directory " + directory + " is in use by another process");
+            }
+
+            List<Long> segments = segmentIndexes();
+            nextSegmentIndex = segments.isEmpty() ? 1 : segments.get(segments.size() - 1) + 1;
+            lastSequence = Math.max(recoverLastSequence(segments), readDeletedSequence());
+            roll();
+            log.info("Audit journal opened at {} (last sequence {}, segment size {} bytes)",
+                    directory, lastSequence, segmentSize);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open audit journal at " + directory, e);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (active != null) {
+            active.buffer().force();
+            active = null;
+        }
+        try {
+            if (lock != null) {
+                lock.release();
+                lockChannel.close();
+                lock = null;
+            }
+        } catch (IOException e) {
+            log.warn("Failed to release audit journal lock: {}", e.getMessage());
+        }
+        log.info("Audit journal closed at sequence {}", lastSequence);
+    }
+
+    /**
+     * Grava o registro no segmento ativo.
+     *
+     * @return sequência atribuída ao registro
+     */
+    public long append(TradingAuditLog auditLog) {
+        long start = System.nanoTime();
+        ByteBuffer record = SCRATCH.get();
+        int length = AuditJournalCodec.encodeBody(auditLog, record);
+
+        long sequence;
+        synchronized (this) {
+            if (active == null) {
+                throw new IllegalStateException("Audit journal is closed");
+            }
+            if (clock.millis() >= nextRolloverMillis || committedPosition + length > segmentSize) {
+                roll();
+            }
+
+            sequence = lastSequence + 1;
+            AuditJournalCodec.seal(record, length, sequence, crc);
+            int position = (int) committedPosition;
+            // O tamanho vai por último: um registro incompleto nunca parece válido
+            active.buffer().put(position + 4, record, 4, length - 4);
+            active.buffer().putInt(position, length);
+            lastSequence = sequence;
+            committedPosition = position + length;
+        }
+
+        appended.increment();
+        appendNanos.add(System.nanoTime() - start);
+        return sequence;
+    }
+
+    public long getLastSequence() {
+        return lastSequence;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Visão de leitura de um segmento. No segmento ativo o limite é a posição já gravada;
+     * nos demais, o arquivo inteiro.
+     *
+     * @return null se o segmento não existe mais
+     */
+    public synchronized ReadView readView(long segmentIndex) {
+        if (active != null && active.index() == segmentIndex) {
+            return new ReadView(active.buffer().duplicate(), committedPosition, false);
+        }
+
+        Path path = findSegment(segmentIndex);
+        if (path == null) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new ReadView(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), channel.size(), true);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read audit journal segment " + path, e);
+        }
+    }
+
+    /**
+     * Menor segmento existente com índice maior que o informado.
+     */
+    public OptionalLong nextSegment(long afterIndex) {
+        return segmentIndexes().stream()
+                .mapToLong(Long::longValue)
+                .filter(index -> index > afterIndex)
+                .findFirst();
+    }
+
+    /**
+     * Apaga os segmentos com índice menor que o informado, que o indexador já carregou por
+     * inteiro no banco. O segmento ativo nunca é apagado.
+     *
+     * @param indexedSequence última sequência carregada, maior ou igual às dos segmentos apagados
+     * @return quantidade de segmentos apagados
+     */
+    public synchronized int deleteSegmentsBefore(long segmentIndex, long indexedSequence) {
+        List<Long> obsolete = segmentIndexes().stream()
+                .filter(index -> index < segmentIndex && (active == null || index != active.index()))
+                .toList();
+        if (obsolete.isEmpty()) {
+            return 0;
+        }
+        try {
+            writeDeletedSequence(indexedSequence);
+        } catch (IOException e) {
+            log.warn("Failed to record deleted audit journal sequence, keeping segments: {}", e.getMessage());
+            return 0;
+        }
+
+        int deleted = 0;
+        for (long index : obsolete) {
+            Path path = findSegment(index);
+            try {
+                if (path != null && Files.deleteIfExists(path)) {
+                    deleted++;
+                }
+            } catch (IOException e) {
+                log.warn("Failed to delete audit journal segment {}: {}", path, e.getMessage());
+            }
+        }
+        segmentsDeleted += deleted;
+        log.debug("Deleted {} audit journal segments before {}", deleted, segmentIndex);
+        return deleted;
+    }
+
+    public JournalStats getStats() {
+        long count = appended.sum();
+        Segment current = active;
+        return new JournalStats(
+            lastSequence,
+            count,
+            count == 0 ? 0.0 : appendNanos.sum() / (double) count,
+            current != null ? current.index() : -1,
+            committedPosition,
+            segmentsCreated,
+            segmentsDeleted
+        );
+    }
+
+    private void roll() {
+        if (active != null) {
+            active.buffer().force();
+        }
+
+        long index = nextSegmentIndex++;
+        LocalDate today = LocalDate.now(clock);
+        Path path = directory.resolve(SEGMENT_PREFIX + SEGMENT_DATE.format(today) + "-" + String.format("%06d", index) + SEGMENT_SUFFIX);
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            active = new Segment(index, channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create audit journal segment " + path, e);
+        }
+
+        committedPosition = 0;
+        nextRolloverMillis = today.plusDays(1).atStartOfDay(clock.getZone()).toInstant().toEpochMilli();
+        segmentsCreated++;
+        log.info("Audit journal rolled over to segment {}", path.getFileName());
+    }
+
+    private long recoverLastSequence(List<Long> segments) {
+        CRC32C recoveryCrc = new CRC32C();
+        for (int i = segments.size() - 1; i >= 0; i--) {
+            ReadView view = readView(segments.get(i));
+            if (view == null) {
+                continue;
+            }
+
+            long sequence = 0;
+            int offset = 0;
+            int length;
+            while ((length = AuditJournalCodec.check(view.buffer(), offset, view.limit(), recoveryCrc)) > 0) {
+                sequence = AuditJournalCodec.sequence(view.buffer(), offset);
+                offset += length;
+            }
+            if (length < 0) {
+                log.warn("Audit journal segment {} ends with an incomplete record at offset {}", segments.get(i), offset);
+            }
+            if (sequence > 0) {
+                return sequence;
+            }
+        }
+        return 0;
+    }
+
+    private long readDeletedSequence() throws IOException {
+        Path file = directory.resolve(DELETED_SEQUENCE_FILE);
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(Files.readString(file, StandardCharsets.UTF_8).trim());
+        } catch (NumberFormatException e) {
+            throw new IOException("Invalid audit journal deleted sequence file " + file, e);
+        }
+    }
+
+    private void writeDeletedSequence(long sequence) throws IOException {
+        if (sequence <= readDeletedSequence()) {
+            return;
+        }
+        Path file = directory.resolve(DELETED_SEQUENCE_FILE);
+        Path temporary = file.resolveSibling(DELETED_SEQUENCE_FILE + ".tmp");
+        Files.writeString(temporary, Long.toString(sequence), StandardCharsets.UTF_8);
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private List<Long> segmentIndexes() {
+        List<Long> indexes = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path path : stream) {
+                indexes.add(parseIndex(path));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list audit journal segments in " + directory, e);
+        }
+        indexes.sort(null);
+        return indexes;
+    }
+
+    private Path findSegment(long segmentIndex) {
+        String suffix = "-" + String.format("%06d", segmentIndex) + SEGMENT_SUFFIX;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + suffix)) {
+            for (Path path : stream) {
+                return path;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list audit journal segments in " + directory, e);
+        }
+        return null;
+    }
+
+    private static FileLock tryLock(FileChannel channel) throws IOException {
+        try {
+            return channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            // Outro contexto da mesma JVM já usa o diretório
+            return null;
+        }
+    }
+
+    private static long parseIndex(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(name.lastIndexOf('-') + 1, name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private record Segment(long index, MappedByteBuffer buffer) {
+    }
+
+    public record ReadView(ByteBuffer buffer, long limit, boolean sealed) {
+    }
+
+    public record JournalStats(
+        long lastSequence,
+        long appended,
+        double averageAppendNanos,
+        long activeSegment,
+        long activeSegmentBytes,
+        long segmentsCreated,
+        long segmentsDeleted
+    ) {}
+}
@@ -0,0 +1,212 @@
+package com.marmitt.ctrade.infrastructure.audit;
+
+import com.marmitt.ctrade.domain.entity.Order;
+import com.marmitt.ctrade.domain.entity.TradingAuditLog;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.zip.CRC32C;
+
+/**
+ * Formato binário dos registros do journal de auditoria.
+ *
+ * <pre>
+ *  0  int   tamanho total do registro, múltiplo de 8 (escrito por último; 0 = fim dos dados)
+ *  4  int   CRC32C dos bytes [8, tamanho)
+ *  8  long  sequência do registro no journal
+ * 16  long  createdAt em segundos (LocalDateTime lido como UTC)
+ * 24  int   createdAt, nanos
+ * 28  byte  actionType, status, orderType, orderSide (ordinal + 1; 0 = nulo)
+ * 32  campos variáveis: tradingPair, orderId, quantity, price, totalValue, errorMessage,
+ *     userContext, requestId; cada um como short com o tamanho em bytes UTF-8 (-1 = nulo)
+ * </pre>
+ *
+ * Os ordinais dos enums fazem parte do formato: novos valores só podem ser adicionados no fim.
+ *
+ * Os campos são ajustados ao tamanho das colunas de {@code trading_audit_log} na escrita e
+ * na leitura (registros gravados antes do ajuste): textos de até 255 caracteres, 1000 na
+ * mensagem de erro, e decimais com escala 8.
+ */
+final class AuditJournalCodec {
+
+    static final int ALIGNMENT = 8;
+    static final int MAX_FIELD_CHARS = 1000;
+    static final int MAX_SHORT_FIELD_CHARS = 255;
+    static final int DECIMAL_SCALE = 8;
+    static final int MAX_RECORD_SIZE = 32 + 8 * (2 + MAX_FIELD_CHARS * 3) + ALIGNMENT;
+
+    private static final int LENGTH_OFFSET = 0;
+    private static final int CRC_OFFSET = 4;
+    private static final int SEQUENCE_OFFSET = 8;
+    private static final int CREATED_AT_SECONDS_OFFSET = 16;
+    private static final int CREATED_AT_NANOS_OFFSET = 24;
+    private static final int ENUMS_OFFSET = 28;
+    private static final int VARIABLE_OFFSET = 32;
+
+    private static final TradingAuditLog.ActionType[] ACTION_TYPES = TradingAuditLog.ActionType.values();
+    private static final TradingAuditLog.Status[] STATUSES = TradingAuditLog.Status.values();
+    private static final Order.OrderType[] ORDER_TYPES = Order.OrderType.values();
+    private static final Order.OrderSide[] ORDER_SIDES = Order.OrderSide.values();
+
+    private AuditJournalCodec() {
+    }
+
+    /**
+     * Codifica o registro em {@code target} a partir da posição 0, sem sequência nem CRC.
+     *
+     * @return tamanho alinhado do registro
+     */
+    static int encodeBody(TradingAuditLog auditLog, ByteBuffer target) {
+        target.clear();
+        LocalDateTime createdAt = auditLog.getCreatedAt() != null ? auditLog.getCreatedAt() : LocalDateTime.now();
+        target.putLong(CREATED_AT_SECONDS_OFFSET, createdAt.toEpochSecond(ZoneOffset.UTC));
+        target.putInt(CREATED_AT_NANOS_OFFSET, createdAt.getNano());
+        target.put(ENUMS_OFFSET, ordinalOf(auditLog.getActionType()));
+        target.put(ENUMS_OFFSET + 1, ordinalOf(auditLog.getStatus()));
+        target.put(ENUMS_OFFSET + 2, ordinalOf(auditLog.getOrderType()));
+        target.put(ENUMS_OFFSET + 3, ordinalOf(auditLog.getOrderSide()));
+
+        target.position(VARIABLE_OFFSET);
+        putString(target, fit(auditLog.getTradingPair(), MAX_SHORT_FIELD_CHARS));
+        putString(target, fit(auditLog.getOrderId(), MAX_SHORT_FIELD_CHARS));
+        putString(target, toString(auditLog.getQuantity()));
+        putString(target, toString(auditLog.getPrice()));
+        putString(target, toString(auditLog.getTotalValue()));
+        putString(target, fit(auditLog.getErrorMessage(), MAX_FIELD_CHARS));
+        putString(target, fit(auditLog.getUserContext(), MAX_SHORT_FIELD_CHARS));
+        putString(target, fit(auditLog.getRequestId(), MAX_SHORT_FIELD_CHARS));
+
+        int length = align(target.position());
+        while (target.position() < length) {
+            target.put((byte) 0);
+        }
+        return length;
+    }
+
+    /**
+     * Completa um registro codificado por {@link #encodeBody} com a sequência, o CRC e o tamanho.
+     */
+    static void seal(ByteBuffer record, int length, long sequence, CRC32C crc) {
+        record.putLong(SEQUENCE_OFFSET, sequence);
+        record.putInt(CRC_OFFSET, checksum(record, 0, length, crc));
+        record.putInt(LENGTH_OFFSET, length);
+    }
+
+    /**
+     * Valida o registro na posição indicada.
+     *
+     * @return tamanho do registro; 0 se não há registro (fim dos dados); -1 se o registro
+     *         está truncado ou corrompido
+     */
+    static int check(ByteBuffer buffer, int offset, long limit, CRC32C crc) {
+        if (offset + VARIABLE_OFFSET > limit) {
+            return offset + 4 <= limit && buffer.getInt(offset + LENGTH_OFFSET) != 0 ? -1 : 0;
+        }
+        int length = buffer.getInt(offset + LENGTH_OFFSET);
+        if (length == 0) {
+            return 0;
+        }
+        if (length < VARIABLE_OFFSET || length % ALIGNMENT != 0 || offset + (long) length > limit) {
+            return -1;
+        }
+        return buffer.getInt(offset + CRC_OFFSET) == checksum(buffer, offset, length, crc) ? length : -1;
+    }
+
+    static long sequence(ByteBuffer buffer, int offset) {
+        return buffer.getLong(offset + SEQUENCE_OFFSET);
+    }
+
+    /**
+     * Decodifica um registro já validado por {@link #check}.
+     */
+    static TradingAuditLog decode(ByteBuffer buffer, int offset) {
+        TradingAuditLog auditLog = new TradingAuditLog();
+        auditLog.setCreatedAt(LocalDateTime.ofEpochSecond(
+                buffer.getLong(offset + CREATED_AT_SECONDS_OFFSET),
+                buffer.getInt(offset + CREATED_AT_NANOS_OFFSET),
+                ZoneOffset.UTC));
+        auditLog.setActionType(valueOf(ACTION_TYPES, buffer.get(offset + ENUMS_OFFSET)));
+        auditLog.setStatus(valueOf(STATUSES, buffer.get(offset + ENUMS_OFFSET + 1)));
+        auditLog.setOrderType(valueOf(ORDER_TYPES, buffer.get(offset + ENUMS_OFFSET + 2)));
+        auditLog.setOrderSide(valueOf(ORDER_SIDES, buffer.get(offset + ENUMS_OFFSET + 3)));
+
+        ByteBuffer reader = buffer.duplicate().position(offset + VARIABLE_OFFSET);
+        auditLog.setTradingPair(fit(getString(reader), MAX_SHORT_FIELD_CHARS));
+        auditLog.setOrderId(fit(getString(reader), MAX_SHORT_FIELD_CHARS));
+        auditLog.setQuantity(fit(toDecimal(getString(reader))));
+        auditLog.setPrice(fit(toDecimal(getString(reader))));
+        auditLog.setTotalValue(fit(toDecimal(getString(reader))));
+        auditLog.setErrorMessage(fit(getString(reader), MAX_FIELD_CHARS));
+        auditLog.setUserContext(fit(getString(reader), MAX_SHORT_FIELD_CHARS));
+        auditLog.setRequestId(fit(getString(reader), MAX_SHORT_FIELD_CHARS));
+        return auditLog;
+    }
+
+    private static int checksum(ByteBuffer buffer, int offset, int length, CRC32C crc) {
+        crc.reset();
+        crc.update(buffer.slice(offset + SEQUENCE_OFFSET, length - SEQUENCE_OFFSET));
+        return (int) crc.getValue();
+    }
+
+    private static void putString(ByteBuffer target, String value) {
+        if (value == null) {
+            target.putShort((short) -1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        target.putShort((short) bytes.length);
+        target.put(bytes);
+    }
+
+    private static String getString(ByteBuffer reader) {
+        short length = reader.getShort();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        reader.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static byte ordinalOf(Enum<?> value) {
+        return value == null ? 0 : (byte) (value.ordinal() + 1);
+    }
+
+    private static <E extends Enum<E>> E valueOf(E[] values, byte encoded) {
+        if (encoded == 0) {
+            return null;
+        }
+        if (encoded < 0 || encoded > values.length) {
+            throw new IllegalStateException("Unknown enum ordinal in audit journal record: " + encoded);
+        }
+        return values[encoded - 1];
+    }
+
+    private static String fit(String value, int maxChars) {
+        return value != null && value.length() > maxChars ? value.substring(0, maxChars) : value;
+    }
+
+    /**
+     * Arredonda para a escala da coluna; a parte inteira não é alterada, e um valor grande
+     * demais para ela é recusado pelo banco.
+     */
+    private static BigDecimal fit(BigDecimal value) {
+        return value != null && value.scale() > DECIMAL_SCALE ? value.setScale(DECIMAL_SCALE, RoundingMode.HALF_UP) : value;
+    }
+
+    private static String toString(BigDecimal value) {
+        return value != null ? fit(value).toPlainString() : null;
+    }
+
+    private static BigDecimal toDecimal(String value) {
+        return value != null ? new BigDecimal(value) : null;
+    }
+
+    private static int align(int length) {
+        return (length + ALIGNMENT - 1) & -ALIGNMENT;
+    }
+}
@@ -0,0 +1,406 @@
+package com.marmitt.ctrade.infrastructure.audit;
+
+import com.marmitt.ctrade.domain.entity.TradingAuditLog;
+import com.marmitt.ctrade.infrastructure.config.AuditJournalProperties;
+import com.marmitt.ctrade.infrastructure.repository.JdbcAuditLogBatchInserter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.TypeMismatchDataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.zip.CRC32C;
+
+/**
+ * Carrega os registros do {@link AuditJournal} no banco, em lotes, para consulta via
+ * {@code TradingAuditLogRepository}.
+ *
+ * A posição lida (segmento, offset e última sequência) é gravada em um arquivo de checkpoint
+ * depois de cada lote inserido. Se o banco estiver lento ou fora, o indexador apenas fica
+ * para trás e tenta de novo; os registros continuam no journal. Uma queda entre o insert e o
+ * checkpoint faz o último lote ser reinserido na próxima inicialização. Quando o checkpoint
+ * passa para um segmento novo, os anteriores são apagados do journal.
+ *
+ * O checkpoint só vale enquanto o banco guarda o que foi carregado: se a tabela de auditoria
+ * estiver vazia na primeira leitura (banco em memória recriado na inicialização), o checkpoint
+ * é descartado e os segmentos que restam no journal são carregados de novo.
+ *
+ * Um lote recusado pelo conteúdo (valor que não cabe na coluna, registro ilegível) não é
+ * repetido: ele é dividido ao meio até isolar os registros recusados, que ficam em
+ * quarentena (log e métrica) enquanto o checkpoint avança. Só falhas de acesso ao banco
+ * seguram o indexador no lugar.
+ */
+@Component
+@ConditionalOnProperty(name = "trading.audit.sink", havingValue = "JOURNAL", matchIfMissing = true)
+@Slf4j
+public class AuditJournalIndexer {
+
+    private static final String CHECKPOINT_FILE = "indexer.checkpoint";
+    private static final long STOP_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(10);
+
+    private final AuditJournal journal;
+    private final JdbcAuditLogBatchInserter inserter;
+    private final int batchSize;
+    private final long intervalNanos;
+    private final long retryNanos;
+    private final Path checkpointFile;
+    private final CRC32C crc = new CRC32C();
+    private final Object indexedMonitor = new Object();
+
+    private final LongAdder indexed = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder failedBatches = new LongAdder();
+    private final LongAdder corruptSegments = new LongAdder();
+    private final LongAdder quarantined = new LongAdder();
+
+    private long segmentIndex;
+    private int offset;
+    private long cachedSegmentIndex = -1;
+    private AuditJournal.ReadView cachedView;
+    private volatile long indexedSequence;
+    private boolean checkpointVerified;
+
+    private volatile boolean running;
+    private Thread indexerThread;
+
+    public AuditJournalIndexer(AuditJournal journal, JdbcAuditLogBatchInserter inserter, AuditJournalProperties properties) {
+        this.journal = journal;
+        this.inserter = inserter;
+        this.batchSize = properties.getIndexBatchSize();
+        this.intervalNanos = properties.getIndexInterval().toNanos();
+        this.retryNanos = properties.getIndexRetryInterval().toNanos();
+        this.checkpointFile = journal.getDirectory().resolve(CHECKPOINT_FILE);
+        loadCheckpoint();
+    }
+
+    @PostConstruct
+    public void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        indexerThread = new Thread(this::runIndexLoop, "audit-journal-indexer");
+        indexerThread.setDaemon(true);
+        indexerThread.start();
+        log.info("Audit journal indexer started at segment {} offset {} (indexed sequence {})",
+                segmentIndex, offset, indexedSequence);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (indexerThread == null) {
+            return;
+        }
+        LockSupport.unpark(indexerThread);
+        try {
+            indexerThread.join(STOP_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("Audit journal indexer stopped at sequence {} ({} behind journal)",
+                indexedSequence, journal.getLastSequence() - indexedSequence);
+    }
+
+    /**
+     * Aguarda até que a sequência informada esteja no banco.
+     *
+     * @return false se o tempo limite expirou antes disso
+     */
+    public boolean awaitIndexed(long sequence, Duration timeout) {
+        if (indexedSequence >= sequence) {
+            return true;
+        }
+        if (indexerThread != null) {
+            LockSupport.unpark(indexerThread);
+        }
+
+        long deadline = System.nanoTime() + timeout.toNanos();
+        synchronized (indexedMonitor) {
+            while (indexedSequence < sequence) {
+                long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remainingMillis <= 0) {
+                    return false;
+                }
+                try {
+                    indexedMonitor.wait(remainingMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    public IndexerStats getStats() {
+        long sequence = indexedSequence;
+        return new IndexerStats(
+            sequence,
+            Math.max(0, journal.getLastSequence() - sequence),
+            indexed.sum(),
+            batches.sum(),
+            failedBatches.sum(),
+            corruptSegments.sum(),
+            quarantined.sum()
+        );
+    }
+
+    private void runIndexLoop() {
+        while (running) {
+            try {
+                if (indexNextBatch() == 0) {
+                    LockSupport.parkNanos(intervalNanos);
+                }
+            } catch (Exception e) {
+                failedBatches.increment();
+                log.warn("Failed to index audit journal, retrying: {}", e.getMessage());
+                LockSupport.parkNanos(retryNanos);
+            }
+        }
+
+        // Leva ao banco o que foi gravado até o desligamento
+        try {
+            while (indexNextBatch() > 0) {
+                // continua até esvaziar
+            }
+        } catch (Exception e) {
+            log.warn("Audit journal indexer stopped with records pending, they will be indexed on next start: {}",
+                    e.getMessage());
+        }
+    }
+
+    /**
+     * Lê até {@code batchSize} registros a partir do checkpoint e os insere no banco.
+     *
+     * @return quantidade de registros lidos do journal, inseridos ou em quarentena
+     */
+    int indexNextBatch() {
+        if (!checkpointVerified) {
+            verifyCheckpoint();
+            checkpointVerified = true;
+        }
+
+        List<JournalEntry> batch = new ArrayList<>(batchSize);
+        int read = 0;
+        long lastSequence = indexedSequence;
+        long segment = segmentIndex;
+        int position = offset;
+
+        while (read < batchSize) {
+            AuditJournal.ReadView view = viewOf(segment);
+            int length = view != null ? AuditJournalCodec.check(view.buffer(), position, view.limit(), crc) : 0;
+            if (length > 0) {
+                long sequence = AuditJournalCodec.sequence(view.buffer(), position);
+                try {
+                    TradingAuditLog auditLog = AuditJournalCodec.decode(view.buffer(), position);
+                    batch.add(new JournalEntry(auditLog, sequence, segment, position + length));
+                } catch (RuntimeException e) {
+                    quarantine(sequence, null, e);
+                }
+                read++;
+                lastSequence = sequence;
+                position += length;
+                continue;
+            }
+
+            // Segmento ativo sem registros novos: espera mais dados
+            if (view != null && !view.sealed()) {
+                break;
+            }
+            if (length < 0) {
+                corruptSegments.increment();
+                log.error("Corrupt record in audit journal segment {} at offset {}, skipping rest of segment",
+                        segment, position);
+            }
+
+            OptionalLong next = journal.nextSegment(segment);
+            if (next.isEmpty()) {
+                break;
+            }
+            segment = next.getAsLong();
+            position = 0;
+        }
+
+        if (!batch.isEmpty()) {
+            insert(batch);
+        }
+
+        if (segment != segmentIndex || position != offset) {
+            boolean segmentChanged = segment != segmentIndex;
+            segmentIndex = segment;
+            offset = position;
+            writeCheckpoint(lastSequence);
+            if (segmentChanged) {
+                releaseSegmentsBefore(segment, lastSequence);
+            }
+        }
+        publishIndexed(lastSequence);
+        return read;
+    }
+
+    /**
+     * Insere os registros; se o banco recusar o conteúdo, divide o lote ao meio e avança o
+     * checkpoint a cada metade inserida, até isolar os registros recusados.
+     */
+    private void insert(List<JournalEntry> entries) {
+        try {
+            inserter.insertAll(entries.stream().map(JournalEntry::auditLog).toList());
+            indexed.add(entries.size());
+            batches.increment();
+        } catch (RuntimeException e) {
+            if (!isRejectedData(e)) {
+                throw e;
+            }
+            if (entries.size() == 1) {
+                JournalEntry entry = entries.get(0);
+                quarantine(entry.sequence(), entry.auditLog(), e);
+                return;
+            }
+            int middle = entries.size() / 2;
+            insert(entries.subList(0, middle));
+            // Uma falha de acesso na segunda metade não reinsere a primeira
+            advanceTo(entries.get(middle - 1));
+            insert(entries.subList(middle, entries.size()));
+        }
+    }
+
+    /**
+     * Falhas causadas pelo próprio registro, que se repetiriam em toda nova tentativa.
+     */
+    static boolean isRejectedData(Throwable error) {
+        return error instanceof DataIntegrityViolationException
+                || error instanceof TypeMismatchDataAccessException
+                || error instanceof IllegalArgumentException
+                || error instanceof ArithmeticException;
+    }
+
+    private void quarantine(long sequence, TradingAuditLog auditLog, Throwable error) {
+        quarantined.increment();
+        if (auditLog == null) {
+            log.error("Quarantined unreadable audit journal record {}: {}", sequence, error.getMessage());
+        } else {
+            log.error("Quarantined audit journal record {} ({} {} order {}) rejected by database: {}",
+                    sequence, auditLog.getActionType(), auditLog.getStatus(), auditLog.getOrderId(), error.getMessage());
+        }
+    }
+
+    private void advanceTo(JournalEntry entry) {
+        if (entry.segment() == segmentIndex && entry.endOffset() <= offset) {
+            return;
+        }
+        segmentIndex = entry.segment();
+        offset = entry.endOffset();
+        writeCheckpoint(entry.sequence());
+        publishIndexed(entry.sequence());
+    }
+
+    /**
+     * Apaga do journal os segmentos já carregados por inteiro, depois do checkpoint gravado.
+     */
+    private void releaseSegmentsBefore(long segment, long sequence) {
+        if (cachedSegmentIndex < segment) {
+            cachedSegmentIndex = -1;
+            cachedView = null;
+        }
+        journal.deleteSegmentsBefore(segment, sequence);
+    }
+
+    private AuditJournal.ReadView viewOf(long segment) {
+        // Segmentos fechados não mudam mais: o mapeamento é reaproveitado entre lotes
+        if (segment == cachedSegmentIndex) {
+            return cachedView;
+        }
+        AuditJournal.ReadView view = journal.readView(segment);
+        if (view != null && view.sealed()) {
+            cachedSegmentIndex = segment;
+            cachedView = view;
+        }
+        return view;
+    }
+
+    private void publishIndexed(long sequence) {
+        if (sequence == indexedSequence) {
+            return;
+        }
+        indexedSequence = sequence;
+        synchronized (indexedMonitor) {
+            indexedMonitor.notifyAll();
+        }
+    }
+
+    /**
+     * Confere o checkpoint contra o banco antes da primeira leitura e apaga os segmentos que
+     * ele já deixou para trás.
+     */
+    private void verifyCheckpoint() {
+        if (indexedSequence > 0 && !inserter.hasRows()) {
+            long firstSegment = journal.nextSegment(0).orElse(0);
+            log.warn("Audit table is empty but journal checkpoint is at sequence {}, re-indexing journal from segment {}",
+                    indexedSequence, firstSegment);
+            segmentIndex = firstSegment;
+            offset = 0;
+            indexedSequence = 0;
+            writeCheckpoint(0);
+        }
+        journal.deleteSegmentsBefore(segmentIndex, indexedSequence);
+    }
+
+    private void loadCheckpoint() {
+        if (!Files.exists(checkpointFile)) {
+            segmentIndex = journal.nextSegment(0).orElse(0);
+            offset = 0;
+            indexedSequence = 0;
+            return;
+        }
+        try {
+            String[] fields = Files.readString(checkpointFile, StandardCharsets.UTF_8).trim().split(" ");
+            segmentIndex = Long.parseLong(fields[0]);
+            offset = Integer.parseInt(fields[1]);
+            indexedSequence = Long.parseLong(fields[2]);
+        } catch (IOException | RuntimeException e) {
+            throw new IllegalStateException("Invalid audit journal checkpoint " + checkpointFile, e);
+        }
+    }
+
+    private void writeCheckpoint(long sequence) {
+        Path temporary = checkpointFile.resolveSibling(CHECKPOINT_FILE + ".tmp");
+        try {
+            Files.writeString(temporary, segmentIndex + " " + offset + " " + sequence, StandardCharsets.UTF_8);
+            Files.move(temporary, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write audit journal checkpoint " + checkpointFile, e);
+        }
+    }
+
+    public record IndexerStats(
+        long indexedSequence,
+        long lag,
+        long indexed,
+        long batches,
+        long failedBatches,
+        long corruptSegments,
+        long quarantined
+    ) {}
+
+    /**
+     * Registro lido do journal e a posição logo depois dele.
+     */
+    private record JournalEntry(TradingAuditLog auditLog, long sequence, long segment, int endOffset) {
+    }
+}
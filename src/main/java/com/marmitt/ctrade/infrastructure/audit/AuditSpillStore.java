@@ -0,0 +1,146 @@
+package com.marmitt.ctrade.infrastructure.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marmitt.ctrade.domain.entity.TradingAuditLog;
+import com.marmitt.ctrade.infrastructure.config.AuditWriterProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Armazena em disco (NDJSON) registros de auditoria que não couberam na fila ou cuja
+ * escrita no banco falhou, para inserção posterior.
+ *
+ * As escritas vão para um arquivo corrente; na reinserção o arquivo é renomeado para um
+ * arquivo pendente, que só é apagado depois de inserido com sucesso. Arquivos pendentes
+ * de execuções anteriores são reinseridos na próxima inicialização.
+ */
+@Component
+@ConditionalOnProperty(name = "trading.audit.sink", havingValue = "QUEUE")
+@Slf4j
+public class AuditSpillStore {
+
+    private static final String CURRENT_FILE = "audit-spill.ndjson";
+    private static final String PENDING_PREFIX = "audit-spill-pending-";
+
+    private final Path directory;
+    private final Path currentFile;
+    private final ObjectMapper objectMapper;
+    private final AtomicLong pendingSequence = new AtomicLong();
+
+    @Autowired
+    public AuditSpillStore(AuditWriterProperties properties, ObjectMapper objectMapper) {
+        this(Path.of(properties.getSpillDirectory()), objectMapper);
+    }
+
+    public AuditSpillStore(Path directory, ObjectMapper objectMapper) {
+        this.directory = directory;
+        this.currentFile = directory.resolve(CURRENT_FILE);
+        this.objectMapper = objectMapper;
+    }
+
+    public synchronized void append(List<TradingAuditLog> auditLogs) {
+        try {
+            Files.createDirectories(directory);
+            try (BufferedWriter writer = Files.newBufferedWriter(currentFile, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (TradingAuditLog auditLog : auditLogs) {
+                    writer.write(objectMapper.writeValueAsString(auditLog));
+                    writer.newLine();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to spill audit logs to " + currentFile, e);
+        }
+    }
+
+    public boolean hasPending() {
+        if (Files.exists(currentFile)) {
+            return true;
+        }
+        return !listPendingFiles().isEmpty();
+    }
+
+    /**
+     * Reinsere os registros em disco, um arquivo por chamada ao inserter. Se o inserter
+     * falhar, o arquivo é mantido e a reinserção é interrompida.
+     *
+     * @return quantidade de registros reinseridos
+     */
+    public int replay(Consumer<List<TradingAuditLog>> inserter) {
+        rotateCurrentFile();
+
+        int replayed = 0;
+        for (Path file : listPendingFiles()) {
+            List<TradingAuditLog> auditLogs = read(file);
+            inserter.accept(auditLogs);
+            try {
+                Files.delete(file);
+            } catch (IOException e) {
+                // Apagar falhou depois da inserção: interrompe para não reinserir o mesmo arquivo em loop
+                throw new UncheckedIOException("Replayed audit spill file could not be deleted: " + file, e);
+            }
+            replayed += auditLogs.size();
+            log.info("Replayed {} spilled audit logs from {}", auditLogs.size(), file.getFileName());
+        }
+        return replayed;
+    }
+
+    private synchronized void rotateCurrentFile() {
+        if (!Files.exists(currentFile)) {
+            return;
+        }
+        Path pending = directory.resolve(PENDING_PREFIX + System.currentTimeMillis() + "-"
+                + pendingSequence.incrementAndGet() + ".ndjson");
+        try {
+            Files.move(currentFile, pending, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to rotate audit spill file " + currentFile, e);
+        }
+    }
+
+    private List<Path> listPendingFiles() {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, PENDING_PREFIX + "*.ndjson")) {
+            stream.forEach(files::add);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list audit spill files in " + directory, e);
+        }
+        files.sort(null);
+        return files;
+    }
+
+    private List<TradingAuditLog> read(Path file) {
+        List<TradingAuditLog> auditLogs = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    auditLogs.add(objectMapper.readValue(line, TradingAuditLog.class));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read audit spill file " + file, e);
+        }
+        return auditLogs;
+    }
+}
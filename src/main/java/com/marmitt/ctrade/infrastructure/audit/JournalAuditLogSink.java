@@ -0,0 +1,40 @@
+package com.marmitt.ctrade.infrastructure.audit;
+
+import com.marmitt.ctrade.domain.entity.TradingAuditLog;
+import com.marmitt.ctrade.domain.port.AuditLogSink;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Destino de auditoria padrão: grava no {@link AuditJournal} e deixa a carga no banco
+ * para o {@link AuditJournalIndexer}.
+ */
+@Component
+@ConditionalOnProperty(name = "trading.audit.sink", havingValue = "JOURNAL", matchIfMissing = true)
+@RequiredArgsConstructor
+public class JournalAuditLogSink implements AuditLogSink {
+
+    private final AuditJournal journal;
+    private final AuditJournalIndexer indexer;
+
+    @Override
+    public void submit(TradingAuditLog auditLog) {
+        journal.append(auditLog);
+    }
+
+    @Override
+    public boolean flush(Duration timeout) {
+        return indexer.awaitIndexed(journal.getLastSequence(), timeout);
+    }
+
+    @Override
+    public JournalSinkStats getStats() {
+        return new JournalSinkStats(journal.getStats(), indexer.getStats());
+    }
+
+    public record JournalSinkStats(AuditJournal.JournalStats journal, AuditJournalIndexer.IndexerStats indexer) {
+    }
+}
@@ -0,0 +1,21 @@
+package com.marmitt.ctrade.infrastructure.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuração dos contadores de auditoria em memória.
+ */
+@Setter
+@Getter
+@Configuration
+@ConfigurationProperties(prefix = "trading.audit.counters")
+public class AuditCounterProperties {
+
+    /**
+     * Minutos cobertos pelas contagens por minuto; os totais não expiram.
+     */
+    private int bucketRetentionMinutes = 1440;
+}
@@ -0,0 +1,26 @@
+package com.marmitt.ctrade.infrastructure.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Configuração do journal de auditoria em arquivos mapeados em memória e do indexador
+ * que carrega os registros no banco.
+ */
+@Setter
+@Getter
+@Configuration
+@ConfigurationProperties(prefix = "trading.audit.journal")
+public class AuditJournalProperties {
+    
+    private String directory = "data/audit-journal";
+    private DataSize segmentSize = DataSize.ofMegabytes(64);
+    private int indexBatchSize = 500;
+    private Duration indexInterval = Duration.ofMillis(200);
+    private Duration indexRetryInterval = Duration.ofSeconds(5);
+}
@@ -0,0 +1,50 @@
+package com.marmitt.ctrade.infrastructure.config;
+
+import com.marmitt.ctrade.domain.entity.TradingAuditLog;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Configuração da retenção da auditoria: por quanto tempo cada tipo de ação é mantido e
+ * quantos dias ficam na tabela antes de irem para o arquivo morto compactado.
+ */
+@Setter
+@Getter
+@Configuration
+@ConfigurationProperties(prefix = "trading.audit.retention")
+public class AuditRetentionProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Dias (incluindo hoje) mantidos na tabela; dias anteriores são compactados no arquivo.
+     */
+    private int hotDays = 7;
+
+    private String archiveDirectory = "data/audit-archive";
+
+    /**
+     * Registros por row group nos arquivos e por leitura do banco durante a compactação.
+     */
+    private int rowGroupSize = 10_000;
+
+    /**
+     * Registros por arquivo na compactação; cada bloco é publicado e apagado da tabela antes
+     * do próximo, o que limita a memória usada por dia compactado.
+     */
+    private int compactionChunkSize = 200_000;
+
+    private Duration defaultRetention = Duration.ofDays(7 * 365 + 2);
+
+    private Map<TradingAuditLog.ActionType, Duration> byActionType = new EnumMap<>(TradingAuditLog.ActionType.class);
+
+    public Duration retentionFor(TradingAuditLog.ActionType actionType) {
+        return byActionType.getOrDefault(actionType, defaultRetention);
+    }
+}
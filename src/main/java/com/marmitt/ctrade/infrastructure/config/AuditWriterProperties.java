@@ -0,0 +1,37 @@
+package com.marmitt.ctrade.infrastructure.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuração da escrita assíncrona em lote dos registros de auditoria.
+ */
+@Setter
+@Getter
+@Configuration
+@ConfigurationProperties(prefix = "trading.audit.writer")
+public class AuditWriterProperties {
+    
+    private int queueCapacity = 10_000;
+    private int flushSize = 500;
+    private Duration flushInterval = Duration.ofMillis(200);
+    private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+    private String spillDirectory = "data/audit-spill";
+    private Duration shutdownTimeout = Duration.ofSeconds(10);
+    
+    public enum OverflowPolicy {
+        /**
+         * A thread chamadora espera até haver espaço na fila.
+         */
+        BLOCK,
+        
+        /**
+         * O registro é gravado no diretório de spill e inserido no banco quando a fila esvaziar.
+         */
+        SPILL
+    }
+}
@@ -0,0 +1,19 @@
+package com.marmitt.ctrade.infrastructure.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuração das operações de ordens em lote.
+ */
+@Setter
+@Getter
+@Configuration
+@ConfigurationProperties(prefix = "trading.batch")
+public class BatchTradingProperties {
+    
+    private int maxSize = 500;
+    private int maxConcurrency = 16;
+}
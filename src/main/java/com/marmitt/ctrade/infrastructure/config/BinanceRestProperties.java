@@ -0,0 +1,28 @@
+package com.marmitt.ctrade.infrastructure.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuração do adapter REST da Binance (ativado com {@code trading.exchange.adapter=BINANCE}).
+ */
+@Setter
+@Getter
+@Configuration
+@ConfigurationProperties(prefix = "trading.exchange.binance")
+public class BinanceRestProperties {
+    
+    private String baseUrl = "https://api.binance.com";
+    private String apiKey;
+    private String secretKey;
+    private Duration recvWindow = Duration.ofSeconds(5);
+    private Duration connectTimeout = Duration.ofSeconds(5);
+    private Duration readTimeout = Duration.ofSeconds(10);
+    private int maxIdleConnections = 8;
+    private Duration keepAlive = Duration.ofMinutes(5);
+    private int maxInFlightRequests = 32;
+}
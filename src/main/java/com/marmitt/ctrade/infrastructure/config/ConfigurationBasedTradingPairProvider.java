@@ -1,14 +1,22 @@
 package com.marmitt.ctrade.infrastructure.config;
 
+import com.marmitt.ctrade.domain.event.TradingPairsChangedEvent;
 import com.marmitt.ctrade.domain.port.TradingPairProvider;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationEventPublisherAware;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 /**
@@ -16,19 +24,30 @@ import java.util.stream.Collectors;
  * 
  * Permite configurar os trading pairs via application.yml e facilita
  * migração futura para implementação baseada em banco de dados.
+ *
+ * A lista pode ser trocada em tempo de execução ({@link #updateActiveTradingPairs}), pelo
+ * endpoint administrativo ou pelo arquivo observado; só a diferença é publicada como
+ * {@link TradingPairsChangedEvent}. Os pares padrão só valem enquanto nada foi configurado:
+ * depois de uma troca em tempo de execução a lista vale como está, mesmo vazia.
+ *
+ * Símbolos vão direto para a URL do stream combinado e para as mensagens de assinatura, então
+ * são normalizados para maiúsculas e precisam casar com {@link #SYMBOL_PATTERN}; um símbolo
+ * inválido recusa a lista inteira com {@link IllegalArgumentException}.
  */
 @Getter
 @Component
 @ConfigurationProperties(prefix = "trading.pairs")
 @RequiredArgsConstructor
 @Slf4j
-public class ConfigurationBasedTradingPairProvider implements TradingPairProvider {
+public class ConfigurationBasedTradingPairProvider implements TradingPairProvider, ApplicationEventPublisherAware {
+    
+    public static final Pattern SYMBOL_PATTERN = Pattern.compile("^[A-Z0-9]{2,20}$");
     
     /**
      * Lista de trading pairs configurados via application.yml
      * Exemplo: ["BTCUSDT", "ETHUSDT", "ADAUSDT"]
      */
-    private List<String> active = new ArrayList<>();
+    private volatile List<String> active = new ArrayList<>();
     
     /**
      * Formato do stream para cada trading pair
@@ -36,11 +55,20 @@ public class ConfigurationBasedTradingPairProvider implements TradingPairProvide
      */
     private String streamFormat = "ticker";
     
+    @Getter(AccessLevel.NONE)
+    private ApplicationEventPublisher eventPublisher;
+    
+    /**
+     * A lista foi definida em tempo de execução e não cai mais nos pares padrão.
+     */
+    @Getter(AccessLevel.NONE)
+    private volatile boolean updatedAtRuntime;
+    
     @Override
     public List<String> getActiveTradingPairs() {
-        if (active.isEmpty()) {
+        if (active.isEmpty() && !updatedAtRuntime) {
             log.warn("No active trading pairs configured, using defaults");
-            return getDefaultTradingPairs();
+            return new ArrayList<>(getDefaultTradingPairs());
         }
         
         log.debug("Active trading pairs: {}", active);
@@ -62,13 +90,86 @@ public class ConfigurationBasedTradingPairProvider implements TradingPairProvide
         List<String> pairs = getActiveTradingPairs();
         
         String formatted = pairs.stream()
-                .map(pair -> pair.toLowerCase() + "@" + streamFormat)
+                .map(this::formatStreamName)
                 .collect(Collectors.joining("/"));
         
         log.debug("Formatted stream list: {}", formatted);
         return formatted;
     }
     
+    @Override
+    public String formatStreamName(String tradingPair) {
+        return tradingPair.toLowerCase() + "@" + streamFormat;
+    }
+    
+    /**
+     * Substitui os trading pairs ativos e publica a diferença em relação à lista anterior.
+     * Símbolos são normalizados para maiúsculas e repetições descartadas.
+     *
+     * @param origin origem da mudança, para os logs (ex: "api")
+     * @return a diferença aplicada; vazia se nada mudou
+     */
+    public synchronized TradingPairsChangedEvent updateActiveTradingPairs(Collection<String> pairs, String origin) {
+        List<String> normalized = normalize(pairs);
+        List<String> previous = getActiveTradingPairs();
+        this.updatedAtRuntime = true;
+        this.active = normalized;
+        List<String> current = getActiveTradingPairs();
+        
+        TradingPairsChangedEvent event = new TradingPairsChangedEvent(this,
+                current.stream().filter(pair -> !previous.contains(pair)).toList(),
+                previous.stream().filter(pair -> !current.contains(pair)).toList(),
+                origin);
+        if (event.isEmpty()) {
+            log.debug("Trading pairs from {} unchanged", origin);
+            return event;
+        }
+        
+        log.info("Trading pairs updated from {}: added {}, removed {}", origin, event.getAdded(), event.getRemoved());
+        // Publicado sob o lock para que os adapters recebam as mudanças na ordem em que foram feitas
+        if (eventPublisher != null) {
+            eventPublisher.publishEvent(event);
+        }
+        return event;
+    }
+    
+    public synchronized TradingPairsChangedEvent addTradingPair(String symbol, String origin) {
+        List<String> pairs = new ArrayList<>(getActiveTradingPairs());
+        pairs.add(symbol);
+        return updateActiveTradingPairs(pairs, origin);
+    }
+    
+    public synchronized TradingPairsChangedEvent removeTradingPair(String symbol, String origin) {
+        List<String> pairs = new ArrayList<>(getActiveTradingPairs());
+        pairs.removeIf(pair -> pair.equalsIgnoreCase(symbol));
+        return updateActiveTradingPairs(pairs, origin);
+    }
+    
+    @Override
+    public void setApplicationEventPublisher(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+    
+    /**
+     * Maiúsculas, sem brancos nem repetições; falha no primeiro símbolo fora do padrão.
+     */
+    private static List<String> normalize(Collection<String> pairs) {
+        List<String> normalized = pairs.stream()
+                .filter(Objects::nonNull)
+                .map(String::trim)
+                .filter(pair -> !pair.isEmpty())
+                .map(pair -> pair.toUpperCase(Locale.ROOT))
+                .distinct()
+                .collect(Collectors.toCollection(ArrayList::new));
+        for (String pair : normalized) {
+            if (!SYMBOL_PATTERN.matcher(pair).matches()) {
+                throw new IllegalArgumentException("Invalid trading pair symbol: '" + pair
+                        + "' (expected 2-20 letters or digits)");
+            }
+        }
+        return normalized;
+    }
+    
     /**
      * Configuração padrão caso nenhuma seja especificada
      */
@@ -79,8 +180,8 @@ public class ConfigurationBasedTradingPairProvider implements TradingPairProvide
     // Getters e Setters para @ConfigurationProperties
 
     public void setActive(List<String> active) {
-        this.active = active;
-        log.info("Updated active trading pairs: {}", active);
+        this.active = normalize(active);
+        log.info("Updated active trading pairs: {}", this.active);
     }
 
     public void setStreamFormat(String streamFormat) {
@@ -0,0 +1,35 @@
+package com.marmitt.ctrade.infrastructure.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Limites de peso de requisições para a exchange (modelo de request weight da Binance).
+ */
+@Setter
+@Getter
+@Configuration
+@ConfigurationProperties(prefix = "trading.exchange.rate-limit")
+public class ExchangeRateLimitProperties {
+    
+    private boolean enabled = true;
+    private int weightPerSecond = 50;
+    private int weightPerMinute = 1200;
+    private Duration maxQueueWait = Duration.ofSeconds(10);
+    private Weights weights = new Weights();
+    
+    @Setter
+    @Getter
+    public static class Weights {
+        private int placeOrder = 1;
+        private int cancelOrder = 1;
+        private int orderStatus = 4;
+        private int activeOrders = 40;
+        private int currentPrice = 2;
+        private int klines = 2;
+    }
+}
@@ -0,0 +1,43 @@
+package com.marmitt.ctrade.infrastructure.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuração do despacho assíncrono de notificações de alertas.
+ */
+@Setter
+@Getter
+@Configuration
+@ConfigurationProperties(prefix = "trading.notifications")
+public class NotificationProperties {
+    
+    private int queueCapacity = 10_000;
+    private Duration coalesceWindow = Duration.ofMillis(500);
+    private int maxBatchSize = 100;
+    private int deliveryThreads = 2;
+    private int maxAttempts = 4;
+    private Duration initialBackoff = Duration.ofMillis(500);
+    private Duration maxBackoff = Duration.ofSeconds(30);
+    private int maxPendingRetries = 1_000;
+    private int deadLetterCapacity = 1_000;
+    private Webhook webhook = new Webhook();
+    private FileOutput file = new FileOutput();
+    
+    @Setter
+    @Getter
+    public static class Webhook {
+        private String url;
+        private Duration timeout = Duration.ofSeconds(5);
+    }
+    
+    @Setter
+    @Getter
+    public static class FileOutput {
+        private String path;
+    }
+}
@@ -0,0 +1,25 @@
+package com.marmitt.ctrade.infrastructure.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuração da reposição de preços perdidos enquanto o feed esteve fora.
+ */
+@Setter
+@Getter
+@Configuration
+@ConfigurationProperties(prefix = "trading.backfill")
+public class PriceBackfillProperties {
+
+    private boolean enabled = true;
+    private int maxConcurrency = 4;
+    private Duration minGap = Duration.ofSeconds(2);
+    private Duration maxGap = Duration.ofHours(1);
+    private String klineInterval = "1s";
+    private int pageSize = 1000;
+}
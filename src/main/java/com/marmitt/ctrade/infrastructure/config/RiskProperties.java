@@ -0,0 +1,28 @@
+package com.marmitt.ctrade.infrastructure.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.math.BigDecimal;
+
+/**
+ * Limites do controle de risco pré-trade. Valores nocionais em moeda de cotação;
+ * um limite nulo desativa a verificação correspondente.
+ */
+@Setter
+@Getter
+@Configuration
+@ConfigurationProperties(prefix = "trading.risk")
+public class RiskProperties {
+    
+    private boolean enabled = true;
+    private BigDecimal maxOrderNotional = new BigDecimal("1000000");
+    private BigDecimal maxPairOpenNotional = new BigDecimal("5000000");
+    private BigDecimal maxGlobalOpenNotional = new BigDecimal("20000000");
+    private BigDecimal maxPairPositionNotional = new BigDecimal("5000000");
+    private BigDecimal maxGlobalPositionNotional = new BigDecimal("20000000");
+    private Integer maxPairOpenOrders = 200;
+    private Integer maxGlobalOpenOrders = 1000;
+}
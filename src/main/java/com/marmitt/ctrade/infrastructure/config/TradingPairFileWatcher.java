@@ -0,0 +1,77 @@
+package com.marmitt.ctrade.infrastructure.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Observa um arquivo com os trading pairs ativos e aplica as alterações no
+ * {@link ConfigurationBasedTradingPairProvider} sem reiniciar a aplicação.
+ *
+ * Formato: um par por linha ou separados por vírgula; linhas em branco e comentários
+ * iniciados por {@code #} são ignorados. Se o arquivo sumir ou não puder ser lido, a
+ * lista atual é mantida.
+ */
+@Component
+@ConditionalOnProperty(name = "trading.pairs.watch-file")
+@Slf4j
+public class TradingPairFileWatcher {
+    
+    private final Path path;
+    private final ConfigurationBasedTradingPairProvider tradingPairProvider;
+    
+    private long lastModified = Long.MIN_VALUE;
+    private List<String> lastPairs;
+    
+    public TradingPairFileWatcher(@Value("${trading.pairs.watch-file}") String watchFile,
+                                  ConfigurationBasedTradingPairProvider tradingPairProvider) {
+        this.path = Path.of(watchFile);
+        this.tradingPairProvider = tradingPairProvider;
+        log.info("Watching trading pairs file {}", path.toAbsolutePath());
+    }
+    
+    @Scheduled(fixedDelayString = "${trading.pairs.watch-interval-seconds:5}", timeUnit = TimeUnit.SECONDS)
+    public synchronized void checkForChanges() {
+        if (!Files.isRegularFile(path)) {
+            log.debug("Trading pairs file {} not found, keeping current pairs", path);
+            return;
+        }
+        try {
+            long modified = Files.getLastModifiedTime(path).toMillis();
+            if (modified == lastModified) {
+                return;
+            }
+            List<String> pairs = parse(Files.readString(path, StandardCharsets.UTF_8));
+            lastModified = modified;
+            if (pairs.equals(lastPairs)) {
+                return;
+            }
+            lastPairs = pairs;
+            tradingPairProvider.updateActiveTradingPairs(pairs, "file:" + path.getFileName());
+        } catch (IOException e) {
+            log.error("Error reading trading pairs file {}: {}", path, e.getMessage());
+        } catch (IllegalArgumentException e) {
+            // Mantém os pares atuais até o arquivo ser corrigido
+            log.error("Rejected trading pairs file {}: {}", path, e.getMessage());
+        }
+    }
+    
+    static List<String> parse(String content) {
+        return content.lines()
+                .map(line -> line.contains("#") ? line.substring(0, line.indexOf('#')) : line)
+                .flatMap(line -> Arrays.stream(line.split(",")))
+                .map(String::trim)
+                .filter(pair -> !pair.isEmpty())
+                .toList();
+    }
+}
@@ -21,8 +21,145 @@ public class WebSocketProperties {
     private String url;
     private Duration connectionTimeout;
     private Duration readTimeout;
-    private int maxRetries;
-    private Duration retryInterval;
+    
+    /**
+     * Tentativas de reconexão seguidas antes de a conexão ficar FAILED.
+     */
+    private int maxRetries = 10;
+    
+    /**
+     * Menor espera entre tentativas de reconexão; as seguintes são sorteadas até o triplo
+     * da anterior (jitter descorrelacionado), limitadas a {@code maxRetryInterval}.
+     */
+    private Duration retryInterval = Duration.ofSeconds(1);
+    private Duration maxRetryInterval = Duration.ofMinutes(5);
     private boolean autoReconnect = true;
-
-}
\ No newline at end of file
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+    private Sharding sharding = new Sharding();
+    private Rotation rotation = new Rotation();
+    private Control control = new Control();
+    private Staleness staleness = new Staleness();
+    
+    /**
+     * Circuit breaker de cada conexão.
+     */
+    @Setter
+    @Getter
+    public static class CircuitBreaker {
+        /**
+         * Falhas seguidas que abrem o circuito.
+         */
+        private int failureThreshold = 5;
+        
+        /**
+         * Tempo com o circuito aberto antes da tentativa de teste (HALF_OPEN).
+         */
+        private Duration openTimeout = Duration.ofMinutes(2);
+    }
+    
+    /**
+     * Distribuição dos streams em várias conexões, cada uma com sua thread de leitura.
+     */
+    @Setter
+    @Getter
+    public static class Sharding {
+        /**
+         * Número de shards (conjuntos de streams); 0 usa o número de processadores (limitado ao número de streams).
+         */
+        private int connections = 0;
+        
+        /**
+         * Limite de streams por conexão imposto pela exchange.
+         */
+        private int maxStreamsPerConnection = 1024;
+        
+        /**
+         * Conexões idênticas por shard (hot standby); acima de 1, cada tick é publicado a
+         * partir da conexão que o entregar primeiro.
+         */
+        private int replicas = 1;
+    }
+    
+    /**
+     * Rotação proativa das conexões (make-before-break): uma conexão nova é aberta antes de a
+     * antiga expirar ou quando a latência degrada, e a antiga só é fechada quando a nova
+     * já está recebendo eventos.
+     */
+    @Setter
+    @Getter
+    public static class Rotation {
+        private boolean enabled = true;
+        
+        /**
+         * Idade máxima da conexão; a Binance derruba conexões após 24h.
+         */
+        private Duration maxConnectionAge = Duration.ofHours(23);
+        
+        /**
+         * Atraso médio entre o horário do evento e a recepção acima do qual a conexão é
+         * substituída; zero desativa.
+         */
+        private Duration maxLatency = Duration.ZERO;
+        
+        /**
+         * Tempo mínimo de vida antes de uma conexão ser substituída por latência.
+         */
+        private Duration minLatencyRotationAge = Duration.ofMinutes(5);
+        
+        /**
+         * Prazo para a conexão nova entregar o primeiro evento; depois disso a rotação é
+         * abandonada e a antiga continua.
+         */
+        private Duration standbyTimeout = Duration.ofSeconds(30);
+        
+        private Duration checkInterval = Duration.ofSeconds(30);
+    }
+    
+    /**
+     * Mensagens de controle (SUBSCRIBE/UNSUBSCRIBE) enviadas pelo socket aberto.
+     */
+    @Setter
+    @Getter
+    public static class Control {
+        /**
+         * Janela em que mudanças de assinatura são agrupadas em uma única mensagem.
+         */
+        private Duration batchWindow = Duration.ofMillis(250);
+        
+        /**
+         * Limite de mensagens recebidas por segundo por conexão imposto pela exchange.
+         */
+        private int maxMessagesPerSecond = 5;
+        
+        private int maxStreamsPerMessage = 200;
+        
+        private Duration ackTimeout = Duration.ofSeconds(10);
+    }
+    
+    /**
+     * Heartbeat por conexão e detecção de streams parados. Um stream é considerado parado
+     * quando fica sem eventos por mais que o maior entre {@code minStaleAfter} e
+     * {@code cadenceMultiplier} vezes o intervalo médio observado dele.
+     */
+    @Setter
+    @Getter
+    public static class Staleness {
+        private boolean enabled = true;
+        
+        private Duration checkInterval = Duration.ofSeconds(5);
+        
+        private Duration minStaleAfter = Duration.ofSeconds(10);
+        
+        private int cadenceMultiplier = 5;
+        
+        /**
+         * Intervalo dos pings do socket e das requisições de heartbeat que medem o tempo de ida e volta.
+         */
+        private Duration heartbeatInterval = Duration.ofSeconds(15);
+        
+        /**
+         * Prazo da resposta ao heartbeat; depois disso a conexão é rotacionada.
+         */
+        private Duration heartbeatTimeout = Duration.ofSeconds(5);
+    }
+}
@@ -0,0 +1,77 @@
+package com.marmitt.ctrade.infrastructure.exchange.async;
+
+import com.marmitt.ctrade.domain.entity.Order;
+import com.marmitt.ctrade.domain.entity.TradingPair;
+import com.marmitt.ctrade.domain.port.AsyncExchangePort;
+import com.marmitt.ctrade.domain.port.ExchangePort;
+import com.marmitt.ctrade.domain.valueobject.Price;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Expõe um {@link ExchangePort} síncrono como {@link AsyncExchangePort}.
+ *
+ * Cada chamada roda em sua própria virtual thread: o bloqueio de I/O do adapter
+ * síncrono não ocupa threads de plataforma, então centenas de operações em voo
+ * custam apenas algumas threads carrier.
+ */
+@Slf4j
+@Component
+public class VirtualThreadExchangeAdapter implements AsyncExchangePort {
+
+    private final ExchangePort delegate;
+    private final ExecutorService executor;
+
+    @Autowired
+    public VirtualThreadExchangeAdapter(ExchangePort delegate) {
+        this(delegate, Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("exchange-call-", 0).factory()));
+    }
+
+    VirtualThreadExchangeAdapter(ExchangePort delegate, ExecutorService executor) {
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.close();
+        log.info("Virtual thread exchange adapter stopped");
+    }
+
+    @Override
+    public CompletableFuture<Order> placeOrder(Order order) {
+        return submit(() -> delegate.placeOrder(order));
+    }
+
+    @Override
+    public CompletableFuture<Order> cancelOrder(String orderId) {
+        return submit(() -> delegate.cancelOrder(orderId));
+    }
+
+    @Override
+    public CompletableFuture<Order> getOrderStatus(String orderId) {
+        return submit(() -> delegate.getOrderStatus(orderId));
+    }
+
+    @Override
+    public CompletableFuture<List<Order>> getActiveOrders() {
+        return submit(delegate::getActiveOrders);
+    }
+
+    @Override
+    public CompletableFuture<Price> getCurrentPrice(TradingPair tradingPair) {
+        return submit(() -> delegate.getCurrentPrice(tradingPair));
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> call) {
+        return CompletableFuture.supplyAsync(call, executor);
+    }
+}
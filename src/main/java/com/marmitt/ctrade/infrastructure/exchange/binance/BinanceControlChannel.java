@@ -0,0 +1,394 @@
+package com.marmitt.ctrade.infrastructure.exchange.binance;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.WebSocket;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Mensagens de controle (SUBSCRIBE/UNSUBSCRIBE) de uma {@link BinanceStreamConnection}.
+ *
+ * O canal reconcilia os streams desejados do shard com os streams que o socket atual já
+ * tem: mudanças que chegam dentro da janela de batch viram uma única mensagem por método,
+ * os envios respeitam o limite de mensagens por segundo da exchange e cada requisição fica
+ * pendente até a resposta com o mesmo id. Um stream assinado e removido dentro da mesma
+ * janela não gera mensagem nenhuma. Uma requisição sem resposta dentro de
+ * {@code ack-timeout} é descartada por uma tarefa agendada no envio, e os streams dela
+ * voltam à diferença do próximo flush; sem isso, uma resposta perdida os travaria.
+ *
+ * A cada socket novo (reconexão ou rotação) o canal parte dos streams com que ele foi
+ * aberto e envia só a diferença, então as assinaturas feitas em tempo real sobrevivem à
+ * reconexão.
+ *
+ * O canal também mede o tempo de ida e volta do socket: a cada intervalo de heartbeat envia
+ * um {@code LIST_SUBSCRIPTIONS} e cronometra a resposta. O OkHttp não expõe o RTT dos frames
+ * de ping, e a requisição passa pelo mesmo caminho dos eventos no servidor.
+ */
+@Slf4j
+class BinanceControlChannel {
+
+    static final String SUBSCRIBE = "SUBSCRIBE";
+    static final String UNSUBSCRIBE = "UNSUBSCRIBE";
+    static final String LIST_SUBSCRIPTIONS = "LIST_SUBSCRIPTIONS";
+
+    private final String name;
+    private final ObjectMapper objectMapper;
+    private final TaskScheduler taskScheduler;
+    private final Supplier<List<String>> desiredStreams;
+    private final Duration batchWindow;
+    private final long minSendIntervalNanos;
+    private final int maxStreamsPerMessage;
+    private final long ackTimeoutNanos;
+
+    private final AtomicLong requestIds = new AtomicLong();
+
+    // Estado do socket atual; guardado pelo lock do canal
+    private WebSocket socket;
+    private final Set<String> subscribed = new HashSet<>();
+    private final Set<String> rejected = new HashSet<>();
+    private final Map<Long, PendingRequest> inFlight = new HashMap<>();
+    private final Set<String> resubscribing = new HashSet<>();
+    private ScheduledFuture<?> flushTask;
+    private ScheduledFuture<?> ackTimeoutTask;
+    private long nextSendNanos;
+    
+    // Heartbeat do socket atual: id pendente (0 = nenhum) e instantes em nanos
+    private long heartbeatId;
+    private long heartbeatSentNanos;
+    private long lastHeartbeatNanos;
+    private long lastRttNanos = -1;
+
+    // Métricas
+    private long sentMessages;
+    private long acknowledged;
+    private long failed;
+    private long timedOut;
+    private long totalAckNanos;
+    private long resubscriptions;
+
+    BinanceControlChannel(String name,
+                          ObjectMapper objectMapper,
+                          TaskScheduler taskScheduler,
+                          Supplier<List<String>> desiredStreams,
+                          Duration batchWindow,
+                          int maxMessagesPerSecond,
+                          int maxStreamsPerMessage,
+                          Duration ackTimeout) {
+        this.name = name;
+        this.objectMapper = objectMapper;
+        this.taskScheduler = taskScheduler;
+        this.desiredStreams = desiredStreams;
+        this.batchWindow = batchWindow;
+        this.minSendIntervalNanos = Duration.ofSeconds(1).toNanos() / Math.max(maxMessagesPerSecond, 1);
+        this.maxStreamsPerMessage = Math.max(maxStreamsPerMessage, 1);
+        this.ackTimeoutNanos = ackTimeout.toNanos();
+    }
+
+    /**
+     * Passa a usar um socket novo, aberto com os streams informados na URL.
+     */
+    synchronized void attach(WebSocket newSocket, List<String> openedWith) {
+        socket = newSocket;
+        subscribed.clear();
+        subscribed.addAll(openedWith);
+        rejected.clear();
+        inFlight.clear();
+        cancelAckTimeout();
+        resubscribing.clear();
+        heartbeatId = 0;
+        lastHeartbeatNanos = System.nanoTime();
+        lastRttNanos = -1;
+        if (!diff(SUBSCRIBE).isEmpty() || !diff(UNSUBSCRIBE).isEmpty()) {
+            requestFlush();
+        }
+    }
+
+    synchronized void detach() {
+        socket = null;
+        inFlight.clear();
+        cancelAckTimeout();
+        heartbeatId = 0;
+        if (flushTask != null) {
+            flushTask.cancel(false);
+            flushTask = null;
+        }
+    }
+
+    /**
+     * Os streams desejados mudaram; a diferença segue no fim da janela de batch.
+     */
+    synchronized void requestFlush() {
+        if (socket == null || flushTask != null) {
+            return;
+        }
+        flushTask = taskScheduler.schedule(this::flush, Instant.now().plus(batchWindow));
+    }
+
+    /**
+     * Envia a diferença entre os streams desejados e os do socket, uma mensagem por vez
+     * dentro do limite de taxa; o que não couber é reagendado.
+     */
+    synchronized void flush() {
+        flushTask = null;
+        if (socket == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        expireRequests(now);
+        for (String method : List.of(UNSUBSCRIBE, SUBSCRIBE)) {
+            List<String> streams = diff(method);
+            while (!streams.isEmpty()) {
+                if (now < nextSendNanos) {
+                    flushTask = taskScheduler.schedule(this::flush,
+                            Instant.now().plusNanos(nextSendNanos - now));
+                    return;
+                }
+                List<String> batch = List.copyOf(streams.subList(0, Math.min(maxStreamsPerMessage, streams.size())));
+                streams = streams.subList(batch.size(), streams.size());
+                if (!send(method, batch, now)) {
+                    return;
+                }
+                nextSendNanos = now + minSendIntervalNanos;
+            }
+        }
+    }
+
+    /**
+     * Cancela e assina de novo um stream que parou de entregar eventos, sem mexer nos outros
+     * streams do socket.
+     *
+     * @return false se o stream não está assinado no socket atual
+     */
+    synchronized boolean resubscribe(String stream) {
+        if (socket == null || !subscribed.contains(stream) || !resubscribing.add(stream)) {
+            return false;
+        }
+        resubscriptions++;
+        requestFlush();
+        return true;
+    }
+    
+    /**
+     * Envia um heartbeat se o intervalo passou e não há outro aguardando resposta.
+     */
+    synchronized void heartbeat(long nowNanos, long intervalNanos) {
+        if (socket == null || heartbeatId != 0 || nowNanos - lastHeartbeatNanos < intervalNanos || nowNanos < nextSendNanos) {
+            return;
+        }
+        long id = requestIds.incrementAndGet();
+        ObjectNode message = objectMapper.createObjectNode();
+        message.put("method", LIST_SUBSCRIPTIONS);
+        message.put("id", id);
+        if (socket.send(message.toString())) {
+            heartbeatId = id;
+            heartbeatSentNanos = nowNanos;
+            lastHeartbeatNanos = nowNanos;
+            nextSendNanos = nowNanos + minSendIntervalNanos;
+        }
+    }
+    
+    /**
+     * @return true se o heartbeat pendente passou do prazo sem resposta
+     */
+    synchronized boolean isHeartbeatOverdue(long nowNanos, long timeoutNanos) {
+        return heartbeatId != 0 && nowNanos - heartbeatSentNanos > timeoutNanos;
+    }
+    
+    /**
+     * Tempo de ida e volta do último heartbeat; -1 sem amostras no socket atual.
+     */
+    synchronized long getRttMillis() {
+        return lastRttNanos < 0 ? -1 : Duration.ofNanos(lastRttNanos).toMillis();
+    }
+    
+    /**
+     * Trata respostas de controle ({@code {"result":null,"id":1}}); mensagens de stream
+     * seguem para o processamento normal.
+     *
+     * @return true se a mensagem era uma resposta de controle
+     */
+    boolean handleMessage(String text) {
+        if (text.startsWith("{\"stream\"")) {
+            return false;
+        }
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(text);
+        } catch (Exception e) {
+            return false;
+        }
+        if (node == null || !node.hasNonNull("id") || node.has("stream")) {
+            return false;
+        }
+        onResponse(node.get("id").asLong(), node);
+        return true;
+    }
+
+    synchronized ControlStats getStats() {
+        return new ControlStats(
+                subscribed.size(),
+                inFlight.size(),
+                sentMessages,
+                acknowledged,
+                failed,
+                timedOut,
+                acknowledged == 0 ? 0.0 : totalAckNanos / acknowledged / 1_000_000.0,
+                resubscriptions,
+                getRttMillis());
+    }
+
+    private synchronized void onResponse(long id, JsonNode response) {
+        if (id == heartbeatId) {
+            heartbeatId = 0;
+            lastRttNanos = System.nanoTime() - heartbeatSentNanos;
+            log.trace("Heartbeat on {} answered in {} ms", name, getRttMillis());
+            return;
+        }
+        PendingRequest request = inFlight.remove(id);
+        if (request == null) {
+            log.debug("Ignoring control response {} on {}: no pending request", id, name);
+            return;
+        }
+        JsonNode error = response.has("error") ? response.get("error") : response.has("code") ? response : null;
+        if (error != null) {
+            failed++;
+            if (SUBSCRIBE.equals(request.method())) {
+                rejected.addAll(request.streams());
+            } else {
+                resubscribing.removeAll(request.streams());
+            }
+            log.warn("{} {} rejected on {}: {}", request.method(), request.streams(), name, error.path("msg").asText());
+            return;
+        }
+        acknowledged++;
+        totalAckNanos += System.nanoTime() - request.sentAtNanos();
+        if (SUBSCRIBE.equals(request.method())) {
+            subscribed.addAll(request.streams());
+        } else {
+            subscribed.removeAll(request.streams());
+            // Streams em reassinatura continuam desejados e voltam no próximo SUBSCRIBE
+            resubscribing.removeAll(request.streams());
+        }
+        log.debug("{} {} acknowledged on {}", request.method(), request.streams(), name);
+        requestFlush();
+    }
+
+    private boolean send(String method, List<String> streams, long now) {
+        long id = requestIds.incrementAndGet();
+        ObjectNode message = objectMapper.createObjectNode();
+        message.put("method", method);
+        ArrayNode params = message.putArray("params");
+        streams.forEach(params::add);
+        message.put("id", id);
+        if (!socket.send(message.toString())) {
+            log.warn("Could not send {} on {}: socket closing", method, name);
+            return false;
+        }
+        inFlight.put(id, new PendingRequest(method, streams, now));
+        scheduleAckTimeout();
+        sentMessages++;
+        log.info("Sent {} for {} streams on {} (id {})", method, streams.size(), name, id);
+        return true;
+    }
+
+    /**
+     * Streams que ainda precisam do método, sem os que já estão em uma requisição pendente.
+     */
+    private List<String> diff(String method) {
+        Set<String> desired = new LinkedHashSet<>(desiredStreams.get());
+        Set<String> pending = new HashSet<>();
+        inFlight.values().forEach(request -> pending.addAll(request.streams()));
+        List<String> result = new ArrayList<>();
+        if (SUBSCRIBE.equals(method)) {
+            desired.stream()
+                    .filter(stream -> !subscribed.contains(stream) && !pending.contains(stream) && !rejected.contains(stream))
+                    .forEach(result::add);
+        } else {
+            subscribed.stream()
+                    .filter(stream -> (!desired.contains(stream) || resubscribing.contains(stream)) && !pending.contains(stream))
+                    .forEach(result::add);
+        }
+        return result;
+    }
+
+    /**
+     * Agenda a verificação para quando a requisição pendente mais antiga vencer; uma tarefa
+     * por vez, que se reagenda para as seguintes.
+     */
+    private void scheduleAckTimeout() {
+        if (ackTimeoutTask != null || inFlight.isEmpty()) {
+            return;
+        }
+        long oldest = inFlight.values().stream().mapToLong(PendingRequest::sentAtNanos).min().getAsLong();
+        long delayNanos = Math.max(oldest + ackTimeoutNanos - System.nanoTime(), 0);
+        ackTimeoutTask = taskScheduler.schedule(this::onAckTimeout, Instant.now().plusNanos(delayNanos));
+    }
+
+    private synchronized void onAckTimeout() {
+        ackTimeoutTask = null;
+        if (socket == null) {
+            return;
+        }
+        if (expireRequests(System.nanoTime())) {
+            requestFlush();
+        }
+        scheduleAckTimeout();
+    }
+
+    private void cancelAckTimeout() {
+        if (ackTimeoutTask != null) {
+            ackTimeoutTask.cancel(false);
+            ackTimeoutTask = null;
+        }
+    }
+
+    /**
+     * @return true se alguma requisição venceu
+     */
+    private boolean expireRequests(long now) {
+        return inFlight.entrySet().removeIf(entry -> {
+            if (now - entry.getValue().sentAtNanos() < ackTimeoutNanos) {
+                return false;
+            }
+            timedOut++;
+            log.warn("{} {} on {} not acknowledged in time (id {})",
+                    entry.getValue().method(), entry.getValue().streams(), name, entry.getKey());
+            return true;
+        });
+    }
+
+    private record PendingRequest(String method, List<String> streams, long sentAtNanos) {}
+
+    /**
+     * @param activeStreams streams confirmados no socket atual
+     * @param pendingRequests requisições aguardando resposta
+     * @param heartbeatRttMillis tempo de ida e volta do último heartbeat; -1 sem amostras
+     */
+    public record ControlStats(
+        int activeStreams,
+        int pendingRequests,
+        long sentMessages,
+        long acknowledged,
+        long failed,
+        long timedOut,
+        double avgAckMillis,
+        long resubscriptions,
+        long heartbeatRttMillis
+    ) {}
+}
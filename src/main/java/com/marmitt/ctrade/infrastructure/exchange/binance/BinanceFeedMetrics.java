@@ -0,0 +1,79 @@
+package com.marmitt.ctrade.infrastructure.exchange.binance;
+
+import com.marmitt.ctrade.infrastructure.websocket.StreamStalenessTracker.SymbolStaleness;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gauges de saúde do feed da Binance no registry do Micrometer (expostos em
+ * {@code /actuator/metrics}).
+ *
+ * Os agregados são lidos do adapter a cada coleta; a staleness por símbolo vira um
+ * {@link MultiGauge} com tag {@code symbol}, atualizado periodicamente porque o conjunto de
+ * pares muda em tempo de execução.
+ */
+@Component
+@ConditionalOnProperty(name = "websocket.exchange", havingValue = "BINANCE")
+@RequiredArgsConstructor
+public class BinanceFeedMetrics implements MeterBinder {
+
+    private final BinanceWebSocketAdapter adapter;
+
+    private MultiGauge symbolStaleness;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("websocket.feed.stale.symbols", adapter,
+                        feed -> feed.getSymbolStaleness().stream().filter(SymbolStaleness::stale).count())
+                .description("Símbolos sem eventos além da cadência esperada em todas as conexões")
+                .register(registry);
+        Gauge.builder("websocket.feed.staleness.max", adapter,
+                        feed -> feed.getSymbolStaleness().stream().mapToLong(SymbolStaleness::ageMillis).max().orElse(0))
+                .description("Maior tempo sem eventos entre os símbolos do feed")
+                .baseUnit("milliseconds")
+                .register(registry);
+        Gauge.builder("websocket.heartbeat.rtt.max", adapter,
+                        feed -> feed.getStreamConnectionStats().stream()
+                                .mapToLong(connection -> connection.control().heartbeatRttMillis())
+                                .max().orElse(-1))
+                .description("Maior tempo de ida e volta do heartbeat entre as conexões; -1 sem amostras")
+                .baseUnit("milliseconds")
+                .register(registry);
+        FunctionCounter.builder("websocket.feed.recoveries", adapter,
+                        feed -> feed.getStreamConnectionStats().stream()
+                                .mapToLong(connection -> connection.control().resubscriptions()).sum())
+                .description("Streams parados reassinados")
+                .tags("action", "resubscribe")
+                .register(registry);
+        FunctionCounter.builder("websocket.feed.recoveries", adapter,
+                        feed -> feed.getStreamConnectionStats().stream()
+                                .mapToLong(BinanceWebSocketAdapter.StreamConnectionStats::staleRotations).sum())
+                .description("Conexões rotacionadas por heartbeat sem resposta ou todos os streams parados")
+                .tags("action", "rotate")
+                .register(registry);
+        symbolStaleness = MultiGauge.builder("websocket.symbol.staleness")
+                .description("Tempo desde o último evento do símbolo")
+                .baseUnit("milliseconds")
+                .register(registry);
+    }
+
+    @Scheduled(fixedRateString = "${websocket.staleness.gauge-refresh-seconds:10}", timeUnit = TimeUnit.SECONDS)
+    public void refreshSymbolGauges() {
+        if (symbolStaleness == null) {
+            return;
+        }
+        symbolStaleness.register(adapter.getSymbolStaleness().stream()
+                .map(symbol -> MultiGauge.Row.of(Tags.of("symbol", symbol.symbol()), symbol.ageMillis()))
+                .toList(), true);
+    }
+}
@@ -0,0 +1,448 @@
+package com.marmitt.ctrade.infrastructure.exchange.binance;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marmitt.ctrade.domain.dto.OrderUpdateMessage;
+import com.marmitt.ctrade.domain.dto.PriceUpdateMessage;
+import com.marmitt.ctrade.domain.port.ExchangeWebSocketAdapter.ConnectionStatus;
+import com.marmitt.ctrade.infrastructure.config.WebSocketProperties;
+import com.marmitt.ctrade.infrastructure.websocket.ConnectionManager;
+import com.marmitt.ctrade.infrastructure.websocket.ConnectionStatsTracker;
+import com.marmitt.ctrade.infrastructure.websocket.FirstArrivalDeduplicator;
+import com.marmitt.ctrade.infrastructure.websocket.StreamStalenessTracker;
+import com.marmitt.ctrade.infrastructure.websocket.WebSocketConnectionHandler;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.WebSocket;
+import okhttp3.WebSocketListener;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Uma conexão de um {@link BinanceStreamShard}: um socket OkHttp, com sua própria thread de
+ * leitura, para os streams do shard.
+ *
+ * Cada conexão tem máquina de estados, circuit breaker, backoff e estatísticas próprios, então
+ * a queda de uma não derruba nem atrasa as outras. Cada abertura cria um listener novo
+ * amarrado a uma geração; eventos de sockets de gerações anteriores são descartados.
+ *
+ * {@link #rotate(String)} troca o socket sem intervalo (make-before-break): um socket reserva
+ * é aberto ao lado do atual e, no primeiro evento que entregar, passa a ser o atual e o
+ * antigo é fechado normalmente. Até lá, falhas do reserva não afetam a conexão; os eventos
+ * repetidos durante a sobreposição são descartados pelo adapter.
+ *
+ * Mudanças nos streams do shard seguem pelo socket aberto como SUBSCRIBE/UNSUBSCRIBE
+ * ({@link BinanceControlChannel}), sem reabrir a conexão.
+ *
+ * {@link #checkHealth()} aplica a recuperação mais localizada possível: um símbolo parado
+ * enquanto os outros seguem chegando é reassinado sozinho; heartbeat sem resposta ou todos
+ * os símbolos parados indicam socket meio morto, e só esta conexão é rotacionada.
+ */
+@Slf4j
+class BinanceStreamConnection {
+
+    private final int shardIndex;
+    private final int replica;
+    private final String name;
+    private final String baseUrl;
+    private final OkHttpClient okHttpClient;
+    private final ObjectMapper objectMapper;
+    private final TaskScheduler taskScheduler;
+    private final Supplier<List<String>> streams;
+    private final ConnectionStatsTracker statsTracker;
+    private final ConnectionManager connectionManager;
+    private final WebSocketConnectionHandler connectionHandler;
+    private final BinanceControlChannel controlChannel;
+    private final StreamStalenessTracker staleness;
+    private final WebSocketProperties.Staleness stalenessSettings;
+    private final Duration standbyTimeout;
+    private final BiConsumer<BinanceStreamConnection, PriceUpdateMessage> onPriceUpdate;
+    private final Consumer<OrderUpdateMessage> onOrderUpdate;
+    private final Runnable onConnectionStateChanged;
+
+    // Gerações: a última alocada e a do socket atual (0 = nenhum)
+    private final AtomicLong generations = new AtomicLong();
+    private volatile long currentGeneration;
+    private volatile WebSocket webSocket;
+    private volatile long openedAtNanos;
+    
+    // Rotação em andamento (alterada sob o lock da conexão) e métricas
+    private volatile Standby standby;
+    private final LongAdder rotations = new LongAdder();
+    private final AtomicLong latencyMillis = new AtomicLong(-1);
+    private final LongAdder staleRotations = new LongAdder();
+
+    BinanceStreamConnection(int shardIndex,
+                            int replica,
+                            WebSocketProperties properties,
+                            OkHttpClient okHttpClient,
+                            ObjectMapper objectMapper,
+                            TaskScheduler taskScheduler,
+                            Supplier<List<String>> streams,
+                            BiConsumer<BinanceStreamConnection, PriceUpdateMessage> onPriceUpdate,
+                            Consumer<OrderUpdateMessage> onOrderUpdate,
+                            Runnable onConnectionStateChanged) {
+        this.shardIndex = shardIndex;
+        this.replica = replica;
+        this.name = "BINANCE-" + shardIndex + "-" + replica;
+        this.baseUrl = properties.getUrl();
+        this.okHttpClient = okHttpClient;
+        this.objectMapper = objectMapper;
+        this.taskScheduler = taskScheduler;
+        this.streams = streams;
+        this.statsTracker = new ConnectionStatsTracker();
+        this.connectionManager = ConnectionManager.create(taskScheduler, statsTracker, properties);
+        this.connectionHandler = new WebSocketConnectionHandler(connectionManager, statsTracker);
+        WebSocketProperties.Control control = properties.getControl();
+        this.controlChannel = new BinanceControlChannel(name, objectMapper, taskScheduler, streams,
+                control.getBatchWindow(), control.getMaxMessagesPerSecond(),
+                control.getMaxStreamsPerMessage(), control.getAckTimeout());
+        this.stalenessSettings = properties.getStaleness();
+        this.staleness = new StreamStalenessTracker(stalenessSettings.getMinStaleAfter(),
+                stalenessSettings.getCadenceMultiplier());
+        this.standbyTimeout = properties.getRotation().getStandbyTimeout();
+        this.onPriceUpdate = onPriceUpdate;
+        this.onOrderUpdate = onOrderUpdate;
+        this.onConnectionStateChanged = onConnectionStateChanged;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    ConnectionStatus getStatus() {
+        return connectionManager.getStatus();
+    }
+
+    /**
+     * Inicia a conexão, se nenhuma tentativa estiver em andamento.
+     */
+    void connect() {
+        if (streams.get().isEmpty() || !connectionManager.tryBeginConnect()) {
+            return;
+        }
+        statsTracker.recordConnection();
+        open();
+    }
+
+    void disconnect() {
+        connectionManager.updateStatus(ConnectionStatus.DISCONNECTED);
+        connectionManager.cancelReconnectionTask();
+        closeSocket("Manual disconnect");
+    }
+    
+    /**
+     * Os streams do shard mudaram: a diferença segue pelo socket aberto no fim da janela
+     * de batch. Sem socket, a próxima abertura já usa a lista nova.
+     */
+    void streamsChanged() {
+        controlChannel.requestFlush();
+    }
+    
+    /**
+     * Há quanto tempo o socket atual foi aberto.
+     */
+    Duration getConnectionAge() {
+        return webSocket == null ? Duration.ZERO : Duration.ofNanos(System.nanoTime() - openedAtNanos);
+    }
+    
+    /**
+     * Média móvel do atraso entre o horário do evento na exchange e a recepção; -1 sem amostras.
+     */
+    long getLatencyMillis() {
+        return latencyMillis.get();
+    }
+    
+    /**
+     * Abre um socket reserva com os streams atuais; ele substitui o atual quando entregar o
+     * primeiro evento, ou é descartado se não entregar dentro de {@code standbyTimeout}.
+     *
+     * @return false se a conexão não está conectada ou já há uma rotação em andamento
+     */
+    synchronized boolean rotate(String reason) {
+        if (standby != null || getStatus() != ConnectionStatus.CONNECTED || streams.get().isEmpty()) {
+            return false;
+        }
+        List<String> current = streams.get();
+        Standby next = new Standby(generations.incrementAndGet(), System.nanoTime(), current);
+        standby = next;
+        log.info("Rotating {} ({}), opening replacement with {} streams", name, reason, current.size());
+
+        BinanceWebSocketListener listener = newListener(next.generation);
+        Request request = new Request.Builder()
+                .url(BinanceWebSocketAdapter.buildStreamUrl(baseUrl, String.join("/", current)))
+                .build();
+        next.socket = okHttpClient.newWebSocket(request, new StandbyListener(next, listener));
+        next.timeout = taskScheduler.schedule(
+                () -> abandonRotation(next, "no events within " + standbyTimeout),
+                Instant.now().plus(standbyTimeout));
+        return true;
+    }
+    
+    boolean isRotating() {
+        return standby != null;
+    }
+    
+    /**
+     * Envia o heartbeat se estiver na hora e recupera o que estiver parado: reassina os
+     * símbolos sem eventos ou, se o heartbeat ficou sem resposta ou nenhum símbolo está
+     * chegando, rotaciona a conexão.
+     */
+    void checkHealth() {
+        if (getStatus() != ConnectionStatus.CONNECTED || isRotating()) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (controlChannel.isHeartbeatOverdue(now, stalenessSettings.getHeartbeatTimeout().toNanos())) {
+            log.warn("Heartbeat of {} not answered within {}", name, stalenessSettings.getHeartbeatTimeout());
+            if (rotate("heartbeat timeout")) {
+                staleRotations.increment();
+            }
+            return;
+        }
+        controlChannel.heartbeat(now, stalenessSettings.getHeartbeatInterval().toNanos());
+        
+        Map<String, String> streamBySymbol = streamsBySymbol(streams.get());
+        staleness.expect(streamBySymbol.keySet(), now);
+        List<String> stale = staleness.staleSymbols(now);
+        if (stale.isEmpty()) {
+            return;
+        }
+        if (stale.size() == streamBySymbol.size()) {
+            log.warn("All {} streams of {} are stale", stale.size(), name);
+            if (rotate("all streams stale")) {
+                staleRotations.increment();
+            }
+            return;
+        }
+        for (String symbol : stale) {
+            if (controlChannel.resubscribe(streamBySymbol.get(symbol))) {
+                log.warn("Stream {} of {} is stale, resubscribing", streamBySymbol.get(symbol), name);
+            }
+            staleness.restart(symbol, now);
+        }
+    }
+    
+    Map<String, StreamStalenessTracker.SymbolStaleness> getSymbolStaleness() {
+        return staleness.snapshot(System.nanoTime());
+    }
+
+    BinanceWebSocketAdapter.StreamConnectionStats getStats(FirstArrivalDeduplicator.SourceStats feed) {
+        return new BinanceWebSocketAdapter.StreamConnectionStats(shardIndex, replica, getStatus(),
+                streams.get().size(), getConnectionAge().toSeconds(), getLatencyMillis(), rotations.sum(),
+                staleness.staleSymbols(System.nanoTime()).size(), staleRotations.sum(),
+                statsTracker.getStats(), connectionManager.getStateStats(), controlChannel.getStats(), feed);
+    }
+
+    /**
+     * Abre o socket; chamado com a máquina de estados em CONNECTING, tanto pela conexão
+     * inicial quanto pela task de reconexão.
+     */
+    private synchronized void open() {
+        discardStandby("connection reopened");
+        long openGeneration = generations.incrementAndGet();
+        currentGeneration = openGeneration;
+        List<String> current = streams.get();
+        String streamUrl = BinanceWebSocketAdapter.buildStreamUrl(baseUrl, String.join("/", current));
+        log.info("Connecting {} with {} streams", name, current.size());
+
+        Request request = new Request.Builder()
+                .url(streamUrl)
+                .build();
+        openedAtNanos = System.nanoTime();
+        latencyMillis.set(-1);
+        restartStaleness(current, openedAtNanos);
+        controlChannel.detach();
+        webSocket = okHttpClient.newWebSocket(request, newListener(openGeneration));
+        controlChannel.attach(webSocket, current);
+    }
+    
+    private BinanceWebSocketListener newListener(long listenerGeneration) {
+        return new BinanceWebSocketListener(
+                connectionHandler,
+                objectMapper,
+                () -> connectionManager.scheduleReconnectionBasedOnStrategy(this::open, name),
+                priceUpdate -> onSocketPriceUpdate(listenerGeneration, priceUpdate),
+                onOrderUpdate,
+                socket -> currentGeneration == listenerGeneration,
+                onConnectionStateChanged,
+                controlChannel::handleMessage);
+    }
+    
+    private void onSocketPriceUpdate(long socketGeneration, PriceUpdateMessage priceUpdate) {
+        staleness.record(priceUpdate.getTradingPair(), System.nanoTime());
+        Standby pending = standby;
+        if (pending != null && pending.generation == socketGeneration) {
+            promote(pending);
+        }
+        if (priceUpdate.getEventTime() > 0 && currentGeneration == socketGeneration) {
+            long sample = Math.max(System.currentTimeMillis() - priceUpdate.getEventTime(), 0);
+            latencyMillis.updateAndGet(previous -> previous < 0 ? sample : (previous * 7 + sample) / 8);
+        }
+        onPriceUpdate.accept(this, priceUpdate);
+    }
+    
+    /**
+     * O reserva entregou o primeiro evento: passa a ser o socket atual e o antigo é fechado.
+     */
+    private synchronized void promote(Standby pending) {
+        if (standby != pending) {
+            return;
+        }
+        standby = null;
+        cancel(pending.timeout);
+        WebSocket previous = webSocket;
+        webSocket = pending.socket;
+        currentGeneration = pending.generation;
+        openedAtNanos = pending.requestedAtNanos;
+        latencyMillis.set(-1);
+        restartStaleness(pending.openedWith, System.nanoTime());
+        rotations.increment();
+        controlChannel.attach(pending.socket, pending.openedWith);
+        log.info("{} rotated to new socket after {} ms of overlap", name,
+                Duration.ofNanos(System.nanoTime() - pending.requestedAtNanos).toMillis());
+        if (previous != null) {
+            previous.close(1000, "Rotated");
+        }
+    }
+    
+    private synchronized void abandonRotation(Standby pending, String reason) {
+        if (standby != pending) {
+            return;
+        }
+        log.warn("Rotation of {} abandoned: {}; keeping current socket", name, reason);
+        discardStandby(reason);
+    }
+    
+    private void discardStandby(String reason) {
+        Standby pending = standby;
+        standby = null;
+        if (pending != null) {
+            cancel(pending.timeout);
+            if (pending.socket != null) {
+                pending.socket.close(1000, "Rotation abandoned");
+            }
+            log.debug("Discarded standby socket of {}: {}", name, reason);
+        }
+    }
+
+    private synchronized void closeSocket(String reason) {
+        discardStandby(reason);
+        controlChannel.detach();
+        currentGeneration = 0;
+        WebSocket current = webSocket;
+        webSocket = null;
+        if (current != null) {
+            current.close(1000, reason);
+        }
+    }
+    
+    /**
+     * Socket novo: todos os símbolos ganham um prazo inteiro a partir de agora.
+     */
+    private void restartStaleness(List<String> current, long nowNanos) {
+        staleness.clear();
+        staleness.expect(streamsBySymbol(current).keySet(), nowNanos);
+    }
+    
+    /**
+     * Símbolo de cada stream ({@code btcusdt@ticker} -> {@code BTCUSDT}), como vem nos eventos.
+     */
+    private static Map<String, String> streamsBySymbol(List<String> streams) {
+        Map<String, String> bySymbol = new LinkedHashMap<>();
+        for (String stream : streams) {
+            bySymbol.put(BinanceWebSocketAdapter.symbolOf(stream), stream);
+        }
+        return bySymbol;
+    }
+    
+    private static void cancel(ScheduledFuture<?> task) {
+        if (task != null) {
+            task.cancel(false);
+        }
+    }
+    
+    /**
+     * Socket reserva de uma rotação.
+     */
+    private static final class Standby {
+        private final long generation;
+        private final long requestedAtNanos;
+        private final List<String> openedWith;
+        private volatile WebSocket socket;
+        private volatile ScheduledFuture<?> timeout;
+        
+        private Standby(long generation, long requestedAtNanos, List<String> openedWith) {
+            this.generation = generation;
+            this.requestedAtNanos = requestedAtNanos;
+            this.openedWith = openedWith;
+        }
+    }
+    
+    /**
+     * Listener do socket reserva. Mensagens seguem para o listener da geração (e a primeira
+     * promove o socket); abertura, fechamento e falha só chegam à máquina de estados depois
+     * da promoção. Antes dela, o fechamento ou a falha do reserva apenas abandonam a rotação.
+     */
+    private final class StandbyListener extends WebSocketListener {
+        
+        private final Standby pending;
+        private final BinanceWebSocketListener delegate;
+        
+        private StandbyListener(Standby pending, BinanceWebSocketListener delegate) {
+            this.pending = pending;
+            this.delegate = delegate;
+        }
+        
+        private boolean promoted() {
+            return currentGeneration == pending.generation;
+        }
+        
+        @Override
+        public void onOpen(@NotNull WebSocket socket, @NotNull Response response) {
+            log.debug("Standby socket of {} opened, waiting for first event", name);
+        }
+        
+        @Override
+        public void onMessage(@NotNull WebSocket socket, @NotNull String text) {
+            delegate.onMessage(socket, text);
+        }
+        
+        @Override
+        public void onClosing(@NotNull WebSocket socket, int code, @NotNull String reason) {
+            delegate.onClosing(socket, code, reason);
+        }
+        
+        @Override
+        public void onClosed(@NotNull WebSocket socket, int code, @NotNull String reason) {
+            if (promoted()) {
+                delegate.onClosed(socket, code, reason);
+            } else {
+                abandonRotation(pending, "standby closed: " + code + " - " + reason);
+            }
+        }
+        
+        @Override
+        public void onFailure(@NotNull WebSocket socket, @NotNull Throwable t, Response response) {
+            if (promoted()) {
+                delegate.onFailure(socket, t, response);
+            } else {
+                statsTracker.recordError();
+                abandonRotation(pending, "standby failed: " + t.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.marmitt.ctrade.infrastructure.exchange.binance;
+
+import com.marmitt.ctrade.domain.port.ExchangeWebSocketAdapter.ConnectionStatus;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * Um subconjunto dos streams do {@link BinanceWebSocketAdapter}, atendido por uma ou mais
+ * conexões idênticas ({@link BinanceStreamConnection}).
+ *
+ * Com mais de uma conexão (hot standby), todas recebem os mesmos eventos e o adapter
+ * publica a primeira chegada de cada um; a queda ou lentidão de uma conexão fica coberta
+ * pelas outras.
+ *
+ * O shard só perde eventos quando todas as conexões estão fora ao mesmo tempo; esse
+ * intervalo é acompanhado aqui para que o adapter anuncie a recuperação ao final dele.
+ */
+class BinanceStreamShard {
+
+    private final int index;
+    private final List<BinanceStreamConnection> connections;
+    private volatile List<String> streams = List.of();
+    
+    // Intervalo sem conexões, alterado sob o lock do shard
+    private boolean live;
+    private Instant outageStartedAt;
+
+    BinanceStreamShard(int index, int replicas, ConnectionFactory connectionFactory) {
+        this.index = index;
+        this.connections = IntStream.range(0, Math.max(replicas, 1))
+                .mapToObj(replica -> connectionFactory.create(replica, this::getStreams))
+                .toList();
+    }
+
+    int getIndex() {
+        return index;
+    }
+
+    List<String> getStreams() {
+        return streams;
+    }
+
+    void setStreams(List<String> streams) {
+        this.streams = List.copyOf(streams);
+    }
+
+    List<BinanceStreamConnection> getConnections() {
+        return connections;
+    }
+
+    void connect() {
+        connections.forEach(BinanceStreamConnection::connect);
+    }
+
+    void disconnect() {
+        synchronized (this) {
+            live = false;
+            outageStartedAt = null;
+        }
+        connections.forEach(BinanceStreamConnection::disconnect);
+    }
+    
+    /**
+     * Atualiza o estado do shard após uma mudança em alguma conexão.
+     *
+     * @return o início do intervalo sem nenhuma conexão, se esta mudança o encerrou; null
+     *         caso contrário (inclusive na primeira conexão, que não tem intervalo a repor)
+     */
+    synchronized Instant refreshLiveness(Instant now) {
+        boolean anyConnected = connections.stream()
+                .anyMatch(connection -> connection.getStatus() == ConnectionStatus.CONNECTED);
+        if (anyConnected) {
+            Instant recoveredFrom = live ? null : outageStartedAt;
+            live = true;
+            outageStartedAt = null;
+            return recoveredFrom;
+        }
+        if (live) {
+            live = false;
+            outageStartedAt = now;
+        }
+        return null;
+    }
+
+    /**
+     * Propaga uma mudança na lista de streams para os sockets abertos.
+     */
+    void streamsChanged() {
+        connections.forEach(BinanceStreamConnection::streamsChanged);
+    }
+
+    /**
+     * Cria a conexão de uma réplica, que lê a lista de streams do shard a cada abertura.
+     */
+    @FunctionalInterface
+    interface ConnectionFactory {
+        BinanceStreamConnection create(int replica, Supplier<List<String>> streams);
+    }
+}
@@ -1,19 +1,61 @@
 package com.marmitt.ctrade.infrastructure.exchange.binance;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marmitt.ctrade.domain.dto.PriceUpdateMessage;
 import com.marmitt.ctrade.domain.port.TradingPairProvider;
 import com.marmitt.ctrade.infrastructure.config.WebSocketProperties;
 import com.marmitt.ctrade.infrastructure.websocket.*;
 import lombok.extern.slf4j.Slf4j;
 import okhttp3.OkHttpClient;
-import okhttp3.Request;
-import okhttp3.WebSocket;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.stereotype.Component;
 
 import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledFuture;
+import java.util.stream.Stream;
 
+/**
+ * Adapter da Binance com os streams distribuídos em várias conexões ({@link BinanceStreamShard}).
+ *
+ * Com um único socket combinado, toda a ingestão passa por uma thread de leitura e a
+ * exchange limita os streams por conexão. Aqui os pares são repartidos em N conexões,
+ * cada uma com listener, thread de leitura, reconexão e estatísticas próprias. Novos pares
+ * vão para um shard novo enquanto houver conexões disponíveis e, depois disso, para o shard
+ * com menos streams. Assinaturas e cancelamentos seguem como mensagens de controle pelos
+ * sockets abertos do shard afetado, agrupadas e dentro do limite de taxa da exchange. Um
+ * shard que perde o último par tem as conexões fechadas e deixa de existir.
+ *
+ * Com {@code replicas} maior que 1, cada shard abre conexões idênticas (hot standby) e cada
+ * tick é publicado a partir da conexão que o entregar primeiro, deduplicado por símbolo e
+ * horário do evento na exchange ({@link FirstArrivalDeduplicator}). Picos de latência e
+ * reconexões de uma conexão ficam escondidos pelas outras.
+ *
+ * Conexões perto da expiração de 24h da Binance, ou com latência degradada, são rotacionadas
+ * sem intervalo ({@link BinanceStreamConnection#rotate}); a mesma deduplicação cobre a
+ * sobreposição entre o socket antigo e o novo.
+ *
+ * Cada conexão acompanha o último evento de cada símbolo e o tempo de ida e volta do seu
+ * heartbeat; a verificação periódica reassina só o stream parado ou rotaciona só a conexão
+ * meio morta ({@link BinanceStreamConnection#checkHealth}).
+ *
+ * O {@link ConnectionManager} do adapter representa o feed como um todo: fica CONNECTED
+ * enquanto alguma conexão estiver conectada. Quando todas as conexões de um shard caem e
+ * uma volta, o adapter publica a recuperação dos pares do shard com o início do intervalo,
+ * para que os ticks perdidos sejam repostos.
+ */
 @Component
 @ConditionalOnProperty(name = "websocket.exchange", havingValue = "BINANCE", matchIfMissing = false)
 @Slf4j
@@ -22,40 +64,62 @@ public class BinanceWebSocketAdapter extends AbstractWebSocketAdapter {
     // Binance-specific dependencies
     private final OkHttpClient okHttpClient;
     private final TradingPairProvider tradingPairProvider;
-    private final BinanceWebSocketListener binanceWebSocketListener;
+    private final TaskScheduler taskScheduler;
+    private final ObjectMapper objectMapper;
     
-    // Binance-specific connection
-    private WebSocket webSocket;
+    // Shards e o shard de cada stream; alterações sob o lock do adapter
+    private final List<BinanceStreamShard> shards = new CopyOnWriteArrayList<>();
+    private final Map<String, BinanceStreamShard> shardByStream = new HashMap<>();
+    // Índices não são reaproveitados: o nome das conexões identifica a origem dos eventos
+    private int nextShardIndex;
+    private final FirstArrivalDeduplicator deduplicator = new FirstArrivalDeduplicator();
+    private ScheduledFuture<?> rotationCheck;
+    private ScheduledFuture<?> healthCheck;
 
     /**
      * Construtor principal para uso em produção.
-     * Cria automaticamente a BinanceStreamProcessingStrategy.
+     * Cria o ConnectionManager e as estatísticas do adapter, com circuit breaker e backoff
+     * próprios configurados em {@code websocket.*}.
      */
     @Autowired
     public BinanceWebSocketAdapter(WebSocketProperties properties,
-                                   WebSocketConnectionHandler connectionHandler,
-                                   ConnectionManager connectionManager,
-                                   ConnectionStatsTracker statsTracker,
                                    WebSocketEventPublisher eventPublisher,
                                    TradingPairProvider tradingPairProvider,
+                                   TaskScheduler taskScheduler,
                                    ObjectMapper objectMapper) {
 
-        super(eventPublisher,
-                connectionManager,
-                statsTracker,
-                properties);
+        this(properties,
+                new ConnectionStatsTracker(),
+                eventPublisher,
+                tradingPairProvider,
+                taskScheduler,
+                objectMapper);
+    }
 
-        this.tradingPairProvider = tradingPairProvider;
-        this.binanceWebSocketListener = createWebSocketListener(connectionHandler, objectMapper);
+    private BinanceWebSocketAdapter(WebSocketProperties properties,
+                                    ConnectionStatsTracker statsTracker,
+                                    WebSocketEventPublisher eventPublisher,
+                                    TradingPairProvider tradingPairProvider,
+                                    TaskScheduler taskScheduler,
+                                    ObjectMapper objectMapper) {
 
-        this.okHttpClient = new OkHttpClient.Builder()
-                .readTimeout(Duration.ZERO) // No read timeout for WebSocket
-                .build();
+        this(properties,
+                ConnectionManager.create(taskScheduler, statsTracker, properties),
+                statsTracker,
+                eventPublisher,
+                tradingPairProvider,
+                new OkHttpClient.Builder()
+                        .readTimeout(Duration.ZERO) // No read timeout for WebSocket
+                        // Pong ausente no intervalo seguinte derruba o socket e dispara a reconexão
+                        .pingInterval(properties.getStaleness().getHeartbeatInterval())
+                        .build(),
+                taskScheduler,
+                objectMapper);
     }
 
     /**
      * Construtor para testes unitários.
-     * Permite injetar uma StreamProcessingStrategy mockada.
+     * Permite injetar o OkHttpClient e o scheduler mockados.
      */
     BinanceWebSocketAdapter(WebSocketProperties properties,
                             ConnectionManager connectionManager,
@@ -63,15 +127,17 @@ public class BinanceWebSocketAdapter extends AbstractWebSocketAdapter {
                             WebSocketEventPublisher eventPublisher,
                             TradingPairProvider tradingPairProvider,
                             OkHttpClient okHttpClient,
-                            BinanceWebSocketListener binanceWebSocketListener) {
+                            TaskScheduler taskScheduler,
+                            ObjectMapper objectMapper) {
         super(eventPublisher,
                 connectionManager,
                 statsTracker,
                 properties);
 
         this.tradingPairProvider = tradingPairProvider;
-        this.binanceWebSocketListener = binanceWebSocketListener;
         this.okHttpClient = okHttpClient;
+        this.taskScheduler = taskScheduler;
+        this.objectMapper = objectMapper;
     }
 
     @Override
@@ -81,24 +147,36 @@ public class BinanceWebSocketAdapter extends AbstractWebSocketAdapter {
 
     @Override
     protected void doConnect() {
-        String streamUrl = buildStreamUrl();
-        log.info("Connecting to Binance WebSocket with URL: {}", streamUrl);
-        
-        Request request = new Request.Builder()
-                .url(streamUrl)
-                .build();
-
-        webSocket = okHttpClient.newWebSocket(request, binanceWebSocketListener);
+        List<BinanceStreamShard> current;
+        List<BinanceStreamShard> emptied = List.of();
+        synchronized (this) {
+            List<String> streams = tradingPairProvider.getActiveTradingPairs().stream()
+                    .map(tradingPairProvider::formatStreamName)
+                    .distinct()
+                    .toList();
+            if (shards.isEmpty()) {
+                assignStreams(streams);
+            } else {
+                emptied = reconcileStreams(streams);
+            }
+            current = List.copyOf(shards);
+        }
+        emptied.forEach(this::retireShard);
+        log.info("Connecting to Binance WebSocket with {} shards of {} connections", current.size(), replicas());
+        current.forEach(BinanceStreamShard::connect);
+        if (current.isEmpty()) {
+            // Nenhum socket vai abrir e avisar: o feed ocioso já é dado como conectado
+            onConnectionStateChanged();
+        }
+        scheduleRotationCheck();
+        scheduleHealthCheck();
     }
     
     /**
-     * Constrói a URL do stream com base nos trading pairs configurados.
-     * Usa base URL das propriedades e adiciona os streams dos trading pairs ativos.
+     * Constrói a URL do stream com base nos streams informados.
+     * Usa base URL das propriedades e adiciona os streams do shard.
      */
-    private String buildStreamUrl() {
-        String baseUrl = properties.getUrl();
-        String streamList = tradingPairProvider.getFormattedStreamList();
-        
+    static String buildStreamUrl(String baseUrl, String streamList) {
         if (streamList.isEmpty()) {
             log.warn("No trading pairs configured, using base URL: {}", baseUrl);
             return baseUrl;
@@ -120,21 +198,136 @@ public class BinanceWebSocketAdapter extends AbstractWebSocketAdapter {
         }
     }
 
+    /**
+     * Símbolo de um stream ({@code btcusdt@ticker} -> {@code BTCUSDT}), como vem nos eventos.
+     */
+    static String symbolOf(String stream) {
+        int separator = stream.indexOf('@');
+        return (separator < 0 ? stream : stream.substring(0, separator)).toUpperCase(Locale.ROOT);
+    }
+
     @Override
     protected void doDisconnect() {
-        if (webSocket != null) {
-            webSocket.close(1000, "Manual disconnect");
-            webSocket = null;
+        synchronized (this) {
+            if (rotationCheck != null) {
+                rotationCheck.cancel(false);
+                rotationCheck = null;
+            }
+            if (healthCheck != null) {
+                healthCheck.cancel(false);
+                healthCheck = null;
+            }
         }
+        shards.forEach(BinanceStreamShard::disconnect);
+    }
+    
+    /**
+     * Rotaciona as conexões que estão perto da idade máxima ou com latência acima do limite.
+     */
+    void rotateDueConnections() {
+        WebSocketProperties.Rotation rotation = properties.getRotation();
+        long maxLatency = rotation.getMaxLatency().toMillis();
+        allConnections()
+                .filter(connection -> connection.getStatus() == ConnectionStatus.CONNECTED && !connection.isRotating())
+                .forEach(connection -> {
+                    Duration age = connection.getConnectionAge();
+                    if (age.compareTo(rotation.getMaxConnectionAge()) >= 0) {
+                        connection.rotate("age " + age.toMinutes() + " min");
+                    } else if (maxLatency > 0
+                            && connection.getLatencyMillis() > maxLatency
+                            && age.compareTo(rotation.getMinLatencyRotationAge()) >= 0) {
+                        connection.rotate("latency " + connection.getLatencyMillis() + " ms");
+                    }
+                });
     }
 
+    
+    /**
+     * Heartbeat e streams parados de cada conexão, com recuperação localizada.
+     */
+    void checkConnectionHealth() {
+        allConnections().forEach(connection -> {
+            try {
+                connection.checkHealth();
+            } catch (Exception e) {
+                log.error("Error checking health of {}: {}", connection.getName(), e.getMessage(), e);
+            }
+        });
+    }
+    
+    /**
+     * Staleness de cada símbolo no feed: o evento mais recente entre as conexões que o
+     * entregam, parado só se estiver parado em todas elas.
+     */
+    public List<StreamStalenessTracker.SymbolStaleness> getSymbolStaleness() {
+        Map<String, StreamStalenessTracker.SymbolStaleness> bySymbol = new TreeMap<>();
+        allConnections()
+                .filter(connection -> connection.getStatus() == ConnectionStatus.CONNECTED)
+                .flatMap(connection -> connection.getSymbolStaleness().values().stream())
+                .forEach(current -> bySymbol.merge(current.symbol(), current, BinanceWebSocketAdapter::freshest));
+        return List.copyOf(bySymbol.values());
+    }
+    
+    private static StreamStalenessTracker.SymbolStaleness freshest(StreamStalenessTracker.SymbolStaleness a,
+                                                                   StreamStalenessTracker.SymbolStaleness b) {
+        StreamStalenessTracker.SymbolStaleness fresher = a.ageMillis() <= b.ageMillis() ? a : b;
+        return new StreamStalenessTracker.SymbolStaleness(fresher.symbol(), fresher.ageMillis(),
+                fresher.expectedIntervalMillis(), a.stale() && b.stale());
+    }
 
     @Override
     protected void doSubscribeToPrice(String tradingPair) {
-        // TODO: Implementar subscrição dinâmica para pares específicos
-        // Enviar mensagem WebSocket: {"method": "SUBSCRIBE", "params": ["btcusdt@ticker"], "id": 1}
-        // For Binance, we're using a general ticker stream
-        // In a real implementation, you'd send subscription messages here
+        String stream = tradingPairProvider.formatStreamName(tradingPair);
+        BinanceStreamShard target;
+        boolean created;
+        synchronized (this) {
+            if (shardByStream.containsKey(stream)) {
+                return;
+            }
+            int shardCount = shards.size();
+            target = placeStream(stream);
+            created = shards.size() > shardCount;
+        }
+        if (created) {
+            // Com o adapter desconectado, o shard novo só abre no próximo connect()
+            if (connectionManager.getStatus() != ConnectionStatus.DISCONNECTED) {
+                log.info("Stream {} assigned to new shard {}, connecting it", stream, target.getIndex());
+                target.connect();
+            } else {
+                log.info("Stream {} assigned to new shard {}, opened on next connect", stream, target.getIndex());
+            }
+        } else {
+            log.info("Stream {} assigned to shard {}", stream, target.getIndex());
+            target.streamsChanged();
+        }
+    }
+    
+    @Override
+    protected void doUnsubscribeFromPrice(String tradingPair) {
+        String stream = tradingPairProvider.formatStreamName(tradingPair);
+        BinanceStreamShard target;
+        boolean emptied;
+        synchronized (this) {
+            target = shardByStream.remove(stream);
+            if (target == null) {
+                return;
+            }
+            List<String> streams = new ArrayList<>(target.getStreams());
+            streams.remove(stream);
+            target.setStreams(streams);
+            emptied = streams.isEmpty();
+            if (emptied) {
+                shards.remove(target);
+            }
+        }
+        deduplicator.forget(tradingPair);
+        if (emptied) {
+            log.info("Stream {} was the last of shard {}, closing its connections", stream, target.getIndex());
+            retireShard(target);
+            return;
+        }
+        log.info("Stream {} removed from shard {}", stream, target.getIndex());
+        target.streamsChanged();
     }
 
     @Override
@@ -144,18 +337,265 @@ public class BinanceWebSocketAdapter extends AbstractWebSocketAdapter {
         // Enviar mensagem WebSocket para user data stream endpoint
         // In a real implementation, you'd send subscription messages here
     }
+    
+    /**
+     * Estatísticas agregadas de todas as conexões.
+     */
+    @Override
+    public ConnectionStats getConnectionStats() {
+        if (shards.isEmpty()) {
+            return super.getConnectionStats();
+        }
+        long connections = 0;
+        long reconnections = 0;
+        long messages = 0;
+        long errors = 0;
+        LocalDateTime lastConnectedAt = null;
+        LocalDateTime lastMessageAt = null;
+        for (StreamConnectionStats connection : getStreamConnectionStats()) {
+            ConnectionStats stats = connection.connection();
+            connections += stats.totalConnections();
+            reconnections += stats.totalReconnections();
+            messages += stats.totalMessagesReceived();
+            errors += stats.totalErrors();
+            lastConnectedAt = latest(lastConnectedAt, stats.lastConnectedAt());
+            lastMessageAt = latest(lastMessageAt, stats.lastMessageAt());
+        }
+        return new ConnectionStats(connections, reconnections, messages, errors, lastConnectedAt, lastMessageAt);
+    }
+    
+    /**
+     * Estado e estatísticas de cada conexão; com réplicas, inclui a taxa de vitória e o
+     * atraso de cada uma em relação à primeira chegada.
+     */
+    public List<StreamConnectionStats> getStreamConnectionStats() {
+        return allConnections()
+                .map(connection -> connection.getStats(deduplicator.getSourceStats(connection.getName())))
+                .toList();
+    }
+    
+    /**
+     * Distribui os streams iniciais em round-robin entre os shards necessários.
+     */
+    private void assignStreams(List<String> streams) {
+        int shardCount = shardCountFor(streams.size());
+        for (int i = 0; i < shardCount; i++) {
+            shards.add(createShard());
+        }
+        List<List<String>> assignment = new ArrayList<>();
+        for (int i = 0; i < shardCount; i++) {
+            assignment.add(new ArrayList<>());
+        }
+        for (int i = 0; i < streams.size(); i++) {
+            assignment.get(i % shardCount).add(streams.get(i));
+            shardByStream.put(streams.get(i), shards.get(i % shardCount));
+        }
+        for (int i = 0; i < shardCount; i++) {
+            shards.get(i).setStreams(assignment.get(i));
+        }
+        log.info("Distributed {} streams across {} connections", streams.size(), shardCount);
+    }
+    
+    /**
+     * Alinha os shards existentes com os streams ativos antes de reconectar: pares trocados
+     * enquanto o adapter estava desconectado entram ou saem dos shards e a URL de cada socket
+     * já sai com a lista certa.
+     *
+     * @return os shards que ficaram sem streams, já fora da lista, para fechar fora do lock
+     */
+    private List<BinanceStreamShard> reconcileStreams(List<String> streams) {
+        for (String stream : List.copyOf(shardByStream.keySet())) {
+            if (!streams.contains(stream)) {
+                BinanceStreamShard shard = shardByStream.remove(stream);
+                List<String> remaining = new ArrayList<>(shard.getStreams());
+                remaining.remove(stream);
+                shard.setStreams(remaining);
+            }
+        }
+        List<BinanceStreamShard> emptied = shards.stream()
+                .filter(shard -> shard.getStreams().isEmpty())
+                .toList();
+        shards.removeAll(emptied);
+        streams.stream()
+                .filter(stream -> !shardByStream.containsKey(stream))
+                .forEach(this::placeStream);
+        return emptied;
+    }
 
-
-    private BinanceWebSocketListener createWebSocketListener(WebSocketConnectionHandler connectionHandler, ObjectMapper objectMapper) {
-        return new BinanceWebSocketListener(
-                connectionHandler,
+    /**
+     * Fecha as conexões de um shard que ficou sem streams e já saiu da lista.
+     */
+    private void retireShard(BinanceStreamShard shard) {
+        shard.disconnect();
+        shard.getConnections().forEach(connection -> deduplicator.removeSource(connection.getName()));
+    }
+    
+    /**
+     * Escolhe o shard de um stream novo: um shard novo enquanto o total pedir mais conexões,
+     * senão o shard com menos streams.
+     */
+    private BinanceStreamShard placeStream(String stream) {
+        int maxStreams = Math.max(properties.getSharding().getMaxStreamsPerConnection(), 1);
+        BinanceStreamShard target = shards.stream()
+                .filter(shard -> shard.getStreams().size() < maxStreams)
+                .min(Comparator.comparingInt(shard -> shard.getStreams().size()))
+                .orElse(null);
+        if (target == null || shards.size() < shardCountFor(shardByStream.size() + 1)) {
+            target = createShard();
+            shards.add(target);
+        }
+        List<String> streams = new ArrayList<>(target.getStreams());
+        streams.add(stream);
+        target.setStreams(streams);
+        shardByStream.put(stream, target);
+        return target;
+    }
+    
+    private int shardCountFor(int streams) {
+        WebSocketProperties.Sharding sharding = properties.getSharding();
+        int connections = sharding.getConnections() > 0
+                ? sharding.getConnections()
+                : Runtime.getRuntime().availableProcessors();
+        int maxStreams = Math.max(sharding.getMaxStreamsPerConnection(), 1);
+        int byCapacity = (streams + maxStreams - 1) / maxStreams;
+        return Math.max(1, Math.max(byCapacity, Math.min(connections, streams)));
+    }
+    
+    private BinanceStreamShard createShard() {
+        int index = nextShardIndex++;
+        return new BinanceStreamShard(index, replicas(), (replica, streams) -> new BinanceStreamConnection(
+                index,
+                replica,
+                properties,
+                okHttpClient,
                 objectMapper,
-                // Schedule reconnection callback
-                this::scheduleReconnection,
-                // Price update callback - publica evento
-                this::onPriceUpdate,
+                taskScheduler,
+                streams,
+                // Price update callback - deduplica e publica evento
+                this::onConnectionPriceUpdate,
                 // Order update callback - publica evento
-                this::onOrderUpdate
-        );
+                this::onOrderUpdate,
+                this::onConnectionStateChanged));
+    }
+    
+    /**
+     * Só a primeira chegada de cada evento segue para o publisher, seja entre réplicas ou
+     * entre o socket antigo e o novo de uma rotação.
+     */
+    private void onConnectionPriceUpdate(BinanceStreamConnection connection, PriceUpdateMessage priceUpdate) {
+        if (deduplicator.accept(connection.getName(), priceUpdate.getTradingPair(), priceUpdate.sequence())) {
+            onPriceUpdate(priceUpdate);
+        }
     }
-}
\ No newline at end of file
+    
+    private synchronized void scheduleRotationCheck() {
+        WebSocketProperties.Rotation rotation = properties.getRotation();
+        if (!rotation.isEnabled() || rotationCheck != null) {
+            return;
+        }
+        rotationCheck = taskScheduler.scheduleAtFixedRate(this::rotateDueConnections, rotation.getCheckInterval());
+    }
+    
+    private synchronized void scheduleHealthCheck() {
+        WebSocketProperties.Staleness staleness = properties.getStaleness();
+        if (!staleness.isEnabled() || healthCheck != null) {
+            return;
+        }
+        healthCheck = taskScheduler.scheduleAtFixedRate(this::checkConnectionHealth, staleness.getCheckInterval());
+    }
+    
+    private int replicas() {
+        return Math.max(properties.getSharding().getReplicas(), 1);
+    }
+    
+    private Stream<BinanceStreamConnection> allConnections() {
+        return shards.stream().flatMap(shard -> shard.getConnections().stream());
+    }
+    
+    /**
+     * Atualiza o estado do feed e anuncia, fora do lock do adapter, os shards que voltaram
+     * depois de ficar sem nenhuma conexão.
+     */
+    private void onConnectionStateChanged() {
+        refreshConnectionStatus().forEach((shard, disconnectedAt) -> {
+            List<String> tradingPairs = shard.getStreams().stream()
+                    .map(BinanceWebSocketAdapter::symbolOf)
+                    .toList();
+            log.info("Shard {} recovered from outage started at {}, {} pairs missed events",
+                    shard.getIndex(), disconnectedAt, tradingPairs.size());
+            onFeedRecovered(tradingPairs, disconnectedAt);
+        });
+    }
+    
+    /**
+     * Deriva o estado do feed a partir das conexões: conectado enquanto alguma estiver,
+     * reconectando quando todos caíram e FAILED quando todos desistiram. Sem nenhum shard
+     * (nenhum par ativo) não há conexão que possa falhar: o feed fica conectado, ocioso.
+     *
+     * @return os shards que acabaram de sair de um intervalo sem conexões, com o início dele
+     */
+    private synchronized Map<BinanceStreamShard, Instant> refreshConnectionStatus() {
+        ConnectionStatus status = connectionManager.getStatus();
+        if (status == ConnectionStatus.DISCONNECTED) {
+            return Map.of();
+        }
+        if (shards.isEmpty()) {
+            markFeedConnected(status);
+            return Map.of();
+        }
+        Map<BinanceStreamShard, Instant> recovered = new LinkedHashMap<>();
+        Instant now = Instant.now();
+        for (BinanceStreamShard shard : shards) {
+            Instant outageStartedAt = shard.refreshLiveness(now);
+            if (outageStartedAt != null) {
+                recovered.put(shard, outageStartedAt);
+            }
+        }
+        boolean anyConnected = allConnections().anyMatch(connection -> connection.getStatus() == ConnectionStatus.CONNECTED);
+        boolean allFailed = allConnections().allMatch(connection -> connection.getStatus() == ConnectionStatus.FAILED);
+        if (anyConnected) {
+            markFeedConnected(status);
+        } else if (allFailed) {
+            connectionManager.updateStatus(ConnectionStatus.FAILED);
+        } else if (status == ConnectionStatus.CONNECTED) {
+            connectionManager.updateStatus(ConnectionStatus.RECONNECTING);
+        }
+        return recovered;
+    }
+    
+    private void markFeedConnected(ConnectionStatus status) {
+        if (status == ConnectionStatus.RECONNECTING || status == ConnectionStatus.FAILED) {
+            connectionManager.updateStatus(ConnectionStatus.CONNECTING);
+        }
+        connectionManager.markConnected();
+    }
+    
+    private static LocalDateTime latest(LocalDateTime a, LocalDateTime b) {
+        if (a == null) {
+            return b;
+        }
+        return b == null || a.isAfter(b) ? a : b;
+    }
+    
+    /**
+     * @param latencyMillis média móvel do atraso entre o evento na exchange e a recepção; -1 sem amostras
+     * @param staleStreams streams sem eventos além da cadência esperada
+     * @param staleRotations rotações causadas por heartbeat sem resposta ou todos os streams parados
+     * @param feed vitórias e atraso na deduplicação
+     */
+    public record StreamConnectionStats(
+        int shard,
+        int replica,
+        ConnectionStatus status,
+        int streams,
+        long ageSeconds,
+        long latencyMillis,
+        long rotations,
+        int staleStreams,
+        long staleRotations,
+        ConnectionStats connection,
+        ConnectionManager.ConnectionStateStats state,
+        BinanceControlChannel.ControlStats control,
+        FirstArrivalDeduplicator.SourceStats feed
+    ) {}
+}
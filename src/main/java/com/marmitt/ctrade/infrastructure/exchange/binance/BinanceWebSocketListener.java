@@ -8,10 +8,13 @@ import com.marmitt.ctrade.infrastructure.exchange.binance.strategy.BinanceStream
 import com.marmitt.ctrade.infrastructure.websocket.AbstractWebSocketListener;
 import com.marmitt.ctrade.infrastructure.websocket.WebSocketConnectionHandler;
 import lombok.extern.slf4j.Slf4j;
+import okhttp3.Response;
+import okhttp3.WebSocket;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Optional;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 @Slf4j
 public class BinanceWebSocketListener extends AbstractWebSocketListener {
@@ -23,6 +26,11 @@ public class BinanceWebSocketListener extends AbstractWebSocketListener {
     private final Consumer<PriceUpdateMessage> onPriceUpdate;
     private final Consumer<OrderUpdateMessage> onOrderUpdate;
     
+    // Conexão atual, notificação de mudança de estado e respostas de controle (usados pelos shards)
+    private final Predicate<WebSocket> currentConnection;
+    private final Runnable onConnectionStateChanged;
+    private final Predicate<String> controlMessageHandler;
+    
     /**
      * Construtor para produção - cria strategy real internamente.
      */
@@ -31,12 +39,32 @@ public class BinanceWebSocketListener extends AbstractWebSocketListener {
                                     Runnable scheduleReconnectionCallback,
                                     Consumer<PriceUpdateMessage> onPriceUpdate,
                                     Consumer<OrderUpdateMessage> onOrderUpdate) {
+        this(connectionHandler, objectMapper, scheduleReconnectionCallback, onPriceUpdate, onOrderUpdate,
+                webSocket -> true, () -> { }, messageText -> false);
+    }
+    
+    /**
+     * Construtor para um shard: descarta eventos de sockets substituídos, avisa o adapter
+     * a cada abertura, fechamento ou falha e entrega as respostas de SUBSCRIBE/UNSUBSCRIBE
+     * ao handler de controle antes do processamento dos streams.
+     */
+    BinanceWebSocketListener(WebSocketConnectionHandler connectionHandler,
+                             ObjectMapper objectMapper,
+                             Runnable scheduleReconnectionCallback,
+                             Consumer<PriceUpdateMessage> onPriceUpdate,
+                             Consumer<OrderUpdateMessage> onOrderUpdate,
+                             Predicate<WebSocket> currentConnection,
+                             Runnable onConnectionStateChanged,
+                             Predicate<String> controlMessageHandler) {
         super(connectionHandler, scheduleReconnectionCallback);
 
         // Cria a strategy específica do Binance internamente
         this.streamProcessingStrategy = new BinanceStreamProcessingStrategy(objectMapper);
         this.onPriceUpdate = onPriceUpdate;
         this.onOrderUpdate = onOrderUpdate;
+        this.currentConnection = currentConnection;
+        this.onConnectionStateChanged = onConnectionStateChanged;
+        this.controlMessageHandler = controlMessageHandler;
     }
     
     /**
@@ -52,6 +80,9 @@ public class BinanceWebSocketListener extends AbstractWebSocketListener {
         this.streamProcessingStrategy = streamProcessingStrategy;
         this.onPriceUpdate = onPriceUpdate;
         this.onOrderUpdate = onOrderUpdate;
+        this.currentConnection = webSocket -> true;
+        this.onConnectionStateChanged = () -> { };
+        this.controlMessageHandler = messageText -> false;
     }
     
     @Override
@@ -61,6 +92,10 @@ public class BinanceWebSocketListener extends AbstractWebSocketListener {
     
     @Override
     protected void processMessage(@NotNull String messageText) {
+        if (controlMessageHandler.test(messageText)) {
+            return;
+        }
+        
         // Processa price updates usando a estratégia específica do Binance
         Optional<PriceUpdateMessage> priceUpdateMessage = streamProcessingStrategy.processPriceUpdate(messageText);
         priceUpdateMessage.ifPresent(onPriceUpdate);
@@ -69,4 +104,24 @@ public class BinanceWebSocketListener extends AbstractWebSocketListener {
         Optional<OrderUpdateMessage> orderUpdateMessage = streamProcessingStrategy.processOrderUpdate(messageText);
         orderUpdateMessage.ifPresent(onOrderUpdate);
     }
-}
\ No newline at end of file
+    
+    @Override
+    protected boolean isCurrentConnection(@NotNull WebSocket webSocket) {
+        return currentConnection.test(webSocket);
+    }
+    
+    @Override
+    protected void onConnectionEstablished(@NotNull WebSocket webSocket, @NotNull Response response) {
+        onConnectionStateChanged.run();
+    }
+    
+    @Override
+    protected void onConnectionClosed(@NotNull WebSocket webSocket, int code, @NotNull String reason, boolean willReconnect) {
+        onConnectionStateChanged.run();
+    }
+    
+    @Override
+    protected void onConnectionFailed(@NotNull WebSocket webSocket, @NotNull Throwable t, Response response) {
+        onConnectionStateChanged.run();
+    }
+}
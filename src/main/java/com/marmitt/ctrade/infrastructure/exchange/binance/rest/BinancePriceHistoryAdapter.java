@@ -0,0 +1,138 @@
+package com.marmitt.ctrade.infrastructure.exchange.binance.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marmitt.ctrade.domain.dto.PriceUpdateMessage;
+import com.marmitt.ctrade.domain.port.PriceHistoryPort;
+import com.marmitt.ctrade.infrastructure.config.BinanceRestProperties;
+import com.marmitt.ctrade.infrastructure.config.PriceBackfillProperties;
+import com.marmitt.ctrade.infrastructure.exchange.ratelimit.RateLimitedExchangePort;
+import com.marmitt.ctrade.infrastructure.exchange.ratelimit.RequestPriority;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Histórico de preços da Binance a partir das klines públicas ({@code /api/v3/klines}),
+ * usado para repor os intervalos em que o feed WebSocket ficou fora.
+ *
+ * Cada kline vira um ponto com o preço de fechamento no horário de fechamento dela; com o
+ * intervalo padrão de 1s, a resolução fica próxima à do stream de ticker. O endpoint não é
+ * assinado, então funciona sem API key. Intervalos maiores que uma página são lidos em
+ * páginas sequenciais a partir da abertura da última kline recebida.
+ *
+ * Cada página pede permissão ao {@link RateLimitedExchangePort} antes de sair, com prioridade
+ * {@link RequestPriority#BACKFILL}: o peso conta no mesmo limite das ordens e, quando o limite
+ * é atingido, a reposição espera atrás de cancelamentos, ordens e consultas.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "websocket.exchange", havingValue = "BINANCE")
+public class BinancePriceHistoryAdapter implements PriceHistoryPort {
+
+    private static final String KLINES_PATH = "api/v3/klines";
+
+    private final OkHttpClient httpClient;
+    private final BinanceResponseDecoder decoder;
+    private final RateLimitedExchangePort rateLimiter;
+    private final HttpUrl baseUrl;
+    private final String interval;
+    private final int pageSize;
+
+    @Autowired
+    public BinancePriceHistoryAdapter(BinanceRestProperties restProperties,
+                                      PriceBackfillProperties backfillProperties,
+                                      RateLimitedExchangePort rateLimiter,
+                                      ObjectMapper objectMapper) {
+        this(restProperties, backfillProperties, BinanceRestExchangeAdapter.createHttpClient(restProperties),
+                new BinanceResponseDecoder(objectMapper.getFactory()), rateLimiter);
+    }
+
+    BinancePriceHistoryAdapter(BinanceRestProperties restProperties,
+                               PriceBackfillProperties backfillProperties,
+                               OkHttpClient httpClient,
+                               BinanceResponseDecoder decoder,
+                               RateLimitedExchangePort rateLimiter) {
+        this.httpClient = httpClient;
+        this.decoder = decoder;
+        this.rateLimiter = rateLimiter;
+        this.baseUrl = HttpUrl.get(restProperties.getBaseUrl());
+        this.interval = backfillProperties.getKlineInterval();
+        this.pageSize = Math.min(Math.max(backfillProperties.getPageSize(), 1), 1000);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        httpClient.dispatcher().executorService().shutdown();
+        httpClient.connectionPool().evictAll();
+    }
+
+    @Override
+    public List<PriceUpdateMessage> getPriceHistory(String tradingPair, Instant from, Instant to) {
+        long endMillis = to.toEpochMilli();
+        long startMillis = from.toEpochMilli();
+        List<PriceUpdateMessage> history = new ArrayList<>();
+
+        while (startMillis <= endMillis) {
+            List<BinanceResponseDecoder.DecodedKline> page = fetchPage(tradingPair, startMillis, endMillis);
+            for (BinanceResponseDecoder.DecodedKline kline : page) {
+                // A kline em andamento fecha no futuro; o preço dela é o último negociado
+                long pointMillis = Math.min(kline.closeTimeMillis(), endMillis);
+                history.add(toPriceUpdate(tradingPair, kline.closePrice(), pointMillis));
+            }
+            if (page.size() < pageSize) {
+                break;
+            }
+            startMillis = page.get(page.size() - 1).openTimeMillis() + 1;
+        }
+
+        log.debug("Fetched {} historical prices for {} between {} and {}", history.size(), tradingPair, from, to);
+        return history;
+    }
+
+    private List<BinanceResponseDecoder.DecodedKline> fetchPage(String tradingPair, long startMillis, long endMillis) {
+        HttpUrl url = baseUrl.newBuilder()
+                .addPathSegments(KLINES_PATH)
+                .addQueryParameter("symbol", tradingPair)
+                .addQueryParameter("interval", interval)
+                .addQueryParameter("startTime", Long.toString(startMillis))
+                .addQueryParameter("endTime", Long.toString(endMillis))
+                .addQueryParameter("limit", Integer.toString(pageSize))
+                .build();
+        Request request = new Request.Builder().url(url).get().build();
+
+        rateLimiter.acquire(RequestPriority.BACKFILL, rateLimiter.getWeights().getKlines());
+        try (Response response = httpClient.newCall(request).execute()) {
+            if (!response.isSuccessful()) {
+                BinanceResponseDecoder.ApiError error = decoder.decodeError(response.body().byteStream());
+                throw new IllegalStateException("Binance klines request for " + tradingPair + " failed (HTTP "
+                        + response.code() + ", code " + error.code() + "): " + error.message());
+            }
+            return decoder.decodeKlines(response.body().byteStream());
+        } catch (IOException e) {
+            throw new IllegalStateException("Binance klines request for " + tradingPair + " failed: " + e.getMessage(), e);
+        }
+    }
+
+    private static PriceUpdateMessage toPriceUpdate(String tradingPair, BigDecimal price, long epochMillis) {
+        PriceUpdateMessage message = new PriceUpdateMessage();
+        message.setTradingPair(tradingPair);
+        message.setPrice(price);
+        message.setTimestamp(LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault()));
+        message.setEventTime(epochMillis);
+        return message;
+    }
+}
@@ -0,0 +1,57 @@
+package com.marmitt.ctrade.infrastructure.exchange.binance.rest;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+
+/**
+ * Assinatura HMAC-SHA256 dos endpoints SIGNED da Binance.
+ *
+ * A chave é convertida em {@link SecretKeySpec} e um {@link Mac} é inicializado uma única vez;
+ * cada thread recebe um clone já inicializado, evitando recriar a chave e o Mac por requisição.
+ */
+public class BinanceRequestSigner {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final ThreadLocal<Mac> macPerThread;
+
+    public BinanceRequestSigner(String secretKey) {
+        if (secretKey == null || secretKey.isBlank()) {
+            throw new IllegalArgumentException("Binance secret key cannot be null or empty");
+        }
+
+        Mac prototype;
+        try {
+            prototype = Mac.getInstance(ALGORITHM);
+            prototype.init(new SecretKeySpec(secretKey.getBytes(StandardCharsets.UTF_8), ALGORITHM));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", e);
+        }
+
+        this.macPerThread = ThreadLocal.withInitial(() -> {
+            try {
+                return (Mac) prototype.clone();
+            } catch (CloneNotSupportedException e) {
+                throw new IllegalStateException("HMAC provider does not support cloning", e);
+            }
+        });
+    }
+
+    /**
+     * @return assinatura em hexadecimal minúsculo do payload (query string ou corpo do formulário)
+     */
+    public String sign(String payload) {
+        Mac mac = macPerThread.get();
+        byte[] digest = mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
+
+        char[] hex = new char[digest.length * 2];
+        for (int i = 0; i < digest.length; i++) {
+            hex[i * 2] = HEX[(digest[i] >> 4) & 0x0F];
+            hex[i * 2 + 1] = HEX[digest[i] & 0x0F];
+        }
+        return new String(hex);
+    }
+}
@@ -0,0 +1,199 @@
+package com.marmitt.ctrade.infrastructure.exchange.binance.rest;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Decodificador das respostas REST da Binance baseado no parser de streaming do Jackson.
+ *
+ * Lê apenas os campos usados pelo adapter e pula o restante (inclusive arrays como
+ * {@code fills}) sem materializar árvores nem objetos intermediários.
+ */
+public class BinanceResponseDecoder {
+
+    private final JsonFactory jsonFactory;
+
+    public BinanceResponseDecoder(JsonFactory jsonFactory) {
+        this.jsonFactory = jsonFactory;
+    }
+
+    public DecodedOrder decodeOrder(InputStream body) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            expect(parser, JsonToken.START_OBJECT);
+            return readOrder(parser);
+        }
+    }
+
+    public List<DecodedOrder> decodeOrders(InputStream body) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            expect(parser, JsonToken.START_ARRAY);
+            List<DecodedOrder> orders = new ArrayList<>();
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                orders.add(readOrder(parser));
+            }
+            return orders;
+        }
+    }
+
+    public BigDecimal decodePrice(InputStream body) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            expect(parser, JsonToken.START_OBJECT);
+            BigDecimal price = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                if ("price".equals(field)) {
+                    price = new BigDecimal(parser.getText());
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            if (price == null) {
+                throw new IOException("Binance price response without price field");
+            }
+            return price;
+        }
+    }
+
+    /**
+     * Decodifica a resposta de {@code /api/v3/klines}: um array de arrays posicionais
+     * ({@code [openTime, open, high, low, close, volume, closeTime, ...]}), dos quais só o
+     * preço de fechamento e os horários são lidos.
+     */
+    public List<DecodedKline> decodeKlines(InputStream body) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            expect(parser, JsonToken.START_ARRAY);
+            List<DecodedKline> klines = new ArrayList<>();
+            while (parser.nextToken() == JsonToken.START_ARRAY) {
+                klines.add(readKline(parser));
+            }
+            return klines;
+        }
+    }
+
+    /**
+     * Decodifica o corpo de erro {@code {"code":-2013,"msg":"..."}}. Corpos fora desse formato
+     * resultam em código 0 para que o status HTTP ainda possa ser reportado.
+     */
+    public ApiError decodeError(InputStream body) {
+        int code = 0;
+        String message = "no error details";
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return new ApiError(code, message);
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "code" -> code = parser.getIntValue();
+                    case "msg" -> message = parser.getText();
+                    default -> parser.skipChildren();
+                }
+            }
+        } catch (IOException e) {
+            return new ApiError(0, "unparseable error body");
+        }
+        return new ApiError(code, message);
+    }
+
+    private DecodedOrder readOrder(JsonParser parser) throws IOException {
+        String symbol = null;
+        String clientOrderId = null;
+        String origClientOrderId = null;
+        String side = null;
+        String type = null;
+        String status = null;
+        long orderId = -1;
+        long time = 0;
+        long transactTime = 0;
+        long updateTime = 0;
+        BigDecimal price = null;
+        BigDecimal origQty = null;
+        BigDecimal executedQty = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "symbol" -> symbol = parser.getText();
+                case "orderId" -> orderId = parser.getLongValue();
+                case "clientOrderId" -> clientOrderId = parser.getText();
+                case "origClientOrderId" -> origClientOrderId = parser.getText();
+                case "side" -> side = parser.getText();
+                case "type" -> type = parser.getText();
+                case "status" -> status = parser.getText();
+                case "price" -> price = new BigDecimal(parser.getText());
+                case "origQty" -> origQty = new BigDecimal(parser.getText());
+                case "executedQty" -> executedQty = new BigDecimal(parser.getText());
+                case "time" -> time = parser.getLongValue();
+                case "transactTime" -> transactTime = parser.getLongValue();
+                case "updateTime" -> updateTime = parser.getLongValue();
+                default -> parser.skipChildren();
+            }
+        }
+
+        if (status == null || (clientOrderId == null && origClientOrderId == null)) {
+            throw new IOException("Binance order response without status or client order id");
+        }
+
+        // Na resposta de cancelamento, clientOrderId é o ID do pedido de cancelamento
+        String id = origClientOrderId != null ? origClientOrderId : clientOrderId;
+        long created = time != 0 ? time : transactTime;
+        long updated = updateTime != 0 ? updateTime : (transactTime != 0 ? transactTime : time);
+
+        return new DecodedOrder(symbol, orderId, id, side, type, status, price, origQty, executedQty, created, updated);
+    }
+
+    private DecodedKline readKline(JsonParser parser) throws IOException {
+        long openTime = 0;
+        long closeTime = 0;
+        BigDecimal close = null;
+        int position = 0;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            switch (position++) {
+                case 0 -> openTime = parser.getLongValue();
+                case 4 -> close = new BigDecimal(parser.getText());
+                case 6 -> closeTime = parser.getLongValue();
+                default -> parser.skipChildren();
+            }
+        }
+        if (close == null || closeTime == 0) {
+            throw new IOException("Binance kline without close price or close time");
+        }
+        return new DecodedKline(openTime, closeTime, close);
+    }
+
+    private static void expect(JsonParser parser, JsonToken token) throws IOException {
+        if (parser.nextToken() != token) {
+            throw new IOException("Unexpected Binance response, expected " + token);
+        }
+    }
+
+    public record DecodedOrder(
+        String symbol,
+        long exchangeOrderId,
+        String clientOrderId,
+        String side,
+        String type,
+        String status,
+        BigDecimal price,
+        BigDecimal originalQuantity,
+        BigDecimal executedQuantity,
+        long createdAtMillis,
+        long updatedAtMillis
+    ) {}
+
+    public record DecodedKline(long openTimeMillis, long closeTimeMillis, BigDecimal closePrice) {
+    }
+
+    public record ApiError(int code, String message) {
+    }
+}
@@ -0,0 +1,383 @@
+package com.marmitt.ctrade.infrastructure.exchange.binance.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marmitt.ctrade.domain.entity.Order;
+import com.marmitt.ctrade.domain.entity.TradingPair;
+import com.marmitt.ctrade.domain.port.ExchangePort;
+import com.marmitt.ctrade.domain.valueobject.Price;
+import com.marmitt.ctrade.infrastructure.config.BinanceRestProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.HttpUrl;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Implementação do {@link ExchangePort} sobre a API REST spot da Binance.
+ *
+ * Todas as chamadas compartilham um único {@link OkHttpClient}, com pool de conexões
+ * keep-alive e limite de requisições simultâneas configuráveis. As ordens são enviadas
+ * com {@code newClientOrderId} igual ao ID local, então o ID do domínio é preservado;
+ * como o {@link ExchangePort} identifica ordens só pelo ID, o adapter guarda o par de cada
+ * ordem que ele conhece para montar as consultas e cancelamentos. O par de uma ordem
+ * desconhecida (enviada antes de um restart, por exemplo) é procurado nas ordens abertas.
+ *
+ * Só os códigos -2011/-2013 viram {@link IllegalArgumentException} (ordem inexistente);
+ * qualquer outra recusa é {@link IllegalStateException}, para que quem trata "ordem
+ * inexistente" não descarte uma ordem viva por causa de um erro qualquer.
+ */
+@Slf4j
+@Component
+@Qualifier("exchangeAdapter")
+@ConditionalOnProperty(name = "trading.exchange.adapter", havingValue = "BINANCE")
+public class BinanceRestExchangeAdapter implements ExchangePort {
+
+    private static final String ORDER_PATH = "api/v3/order";
+    private static final String OPEN_ORDERS_PATH = "api/v3/openOrders";
+    private static final String TICKER_PRICE_PATH = "api/v3/ticker/price";
+    private static final String API_KEY_HEADER = "X-MBX-APIKEY";
+    private static final MediaType FORM = MediaType.get("application/x-www-form-urlencoded");
+
+    private static final Set<Integer> UNKNOWN_ORDER_CODES = Set.of(-2011, -2013);
+    private static final List<String> QUOTE_ASSETS =
+            List.of("FDUSD", "USDT", "USDC", "BUSD", "TUSD", "BTC", "ETH", "BNB", "EUR", "BRL", "TRY");
+
+    private final BinanceRestProperties properties;
+    private final OkHttpClient httpClient;
+    private final BinanceRequestSigner signer;
+    private final BinanceResponseDecoder decoder;
+    private final LongSupplier clock;
+    private final HttpUrl baseUrl;
+    private final Map<String, TradingPair> tradingPairByOrderId = new ConcurrentHashMap<>();
+
+    @Autowired
+    public BinanceRestExchangeAdapter(BinanceRestProperties properties, ObjectMapper objectMapper) {
+        this(properties, createHttpClient(properties), new BinanceResponseDecoder(objectMapper.getFactory()),
+                System::currentTimeMillis);
+    }
+
+    BinanceRestExchangeAdapter(BinanceRestProperties properties,
+                               OkHttpClient httpClient,
+                               BinanceResponseDecoder decoder,
+                               LongSupplier clock) {
+        if (properties.getApiKey() == null || properties.getApiKey().isBlank()) {
+            throw new IllegalStateException("Binance API key is required (trading.exchange.binance.api-key)");
+        }
+        this.properties = properties;
+        this.httpClient = httpClient;
+        this.signer = new BinanceRequestSigner(properties.getSecretKey());
+        this.decoder = decoder;
+        this.clock = clock;
+        this.baseUrl = HttpUrl.get(properties.getBaseUrl());
+        log.info("Binance REST adapter using {}", baseUrl);
+    }
+
+    static OkHttpClient createHttpClient(BinanceRestProperties properties) {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(properties.getMaxInFlightRequests());
+        dispatcher.setMaxRequestsPerHost(properties.getMaxInFlightRequests());
+
+        return new OkHttpClient.Builder()
+                .connectionPool(new ConnectionPool(properties.getMaxIdleConnections(),
+                        properties.getKeepAlive().toMillis(), TimeUnit.MILLISECONDS))
+                .dispatcher(dispatcher)
+                .connectTimeout(properties.getConnectTimeout())
+                .readTimeout(properties.getReadTimeout())
+                // Envio de ordem não é idempotente: nenhuma retentativa implícita
+                .retryOnConnectionFailure(false)
+                .build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        httpClient.dispatcher().executorService().shutdown();
+        httpClient.connectionPool().evictAll();
+    }
+
+    @Override
+    public Order placeOrder(Order order) {
+        tradingPairByOrderId.put(order.getId(), order.getTradingPair());
+        try (Response response = httpClient.newCall(newOrderRequest(order)).execute()) {
+            return acceptedOrder(order, read(response, decoder::decodeOrder));
+        } catch (IOException e) {
+            throw new IllegalStateException("Binance order placement failed, order status unknown: " + e.getMessage(), e);
+        } catch (RejectedRequestException e) {
+            tradingPairByOrderId.remove(order.getId());
+            throw e;
+        }
+    }
+
+    /**
+     * Envia a ordem sem bloquear a thread chamadora. Várias ordens podem ficar em voo ao mesmo
+     * tempo sobre as conexões do pool (até {@code max-in-flight-requests}).
+     */
+    public CompletableFuture<Order> placeOrderAsync(Order order) {
+        CompletableFuture<Order> future = new CompletableFuture<>();
+        tradingPairByOrderId.put(order.getId(), order.getTradingPair());
+
+        httpClient.newCall(newOrderRequest(order)).enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                future.completeExceptionally(new IllegalStateException(
+                        "Binance order placement failed, order status unknown: " + e.getMessage(), e));
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                try (response) {
+                    future.complete(acceptedOrder(order, read(response, decoder::decodeOrder)));
+                } catch (RejectedRequestException e) {
+                    tradingPairByOrderId.remove(order.getId());
+                    future.completeExceptionally(e);
+                } catch (Exception e) {
+                    future.completeExceptionally(e instanceof RuntimeException
+                            ? e
+                            : new IllegalStateException("Invalid Binance order response: " + e.getMessage(), e));
+                }
+            }
+        });
+        return future;
+    }
+
+    @Override
+    public Order cancelOrder(String orderId) {
+        TradingPair tradingPair = resolveTradingPair(orderId);
+        StringBuilder params = new StringBuilder();
+        param(params, "symbol", tradingPair.getSymbol());
+        param(params, "origClientOrderId", orderId);
+
+        Request request = signedRequest(ORDER_PATH, params).delete().build();
+        return toOrder(execute(request, decoder::decodeOrder));
+    }
+
+    @Override
+    public Order getOrderStatus(String orderId) {
+        TradingPair tradingPair = resolveTradingPair(orderId);
+        StringBuilder params = new StringBuilder();
+        param(params, "symbol", tradingPair.getSymbol());
+        param(params, "origClientOrderId", orderId);
+
+        Request request = signedRequest(ORDER_PATH, params).get().build();
+        return toOrder(execute(request, decoder::decodeOrder));
+    }
+
+    @Override
+    public List<Order> getActiveOrders() {
+        Request request = signedRequest(OPEN_ORDERS_PATH, new StringBuilder()).get().build();
+        return execute(request, decoder::decodeOrders).stream()
+                .map(this::toOrder)
+                .toList();
+    }
+
+    @Override
+    public Price getCurrentPrice(TradingPair tradingPair) {
+        HttpUrl url = baseUrl.newBuilder()
+                .addPathSegments(TICKER_PRICE_PATH)
+                .addQueryParameter("symbol", tradingPair.getSymbol())
+                .build();
+        Request request = new Request.Builder().url(url).get().build();
+        return new Price(execute(request, decoder::decodePrice));
+    }
+
+    private Request newOrderRequest(Order order) {
+        StringBuilder params = new StringBuilder();
+        param(params, "symbol", order.getTradingPair().getSymbol());
+        param(params, "side", order.getSide().name());
+        param(params, "type", order.getType().name());
+        if (order.getType() == Order.OrderType.LIMIT) {
+            param(params, "timeInForce", "GTC");
+            param(params, "price", order.getPrice().stripTrailingZeros().toPlainString());
+        }
+        param(params, "quantity", order.getQuantity().stripTrailingZeros().toPlainString());
+        param(params, "newClientOrderId", order.getId());
+        // RESULT traz status e horários sem a lista de fills
+        param(params, "newOrderRespType", "RESULT");
+
+        return new Request.Builder()
+                .url(baseUrl.newBuilder().addPathSegments(ORDER_PATH).build())
+                .header(API_KEY_HEADER, properties.getApiKey())
+                .post(RequestBody.create(sign(params), FORM))
+                .build();
+    }
+
+    private Request.Builder signedRequest(String path, StringBuilder params) {
+        HttpUrl url = baseUrl.newBuilder()
+                .addPathSegments(path)
+                .encodedQuery(sign(params))
+                .build();
+        return new Request.Builder().url(url).header(API_KEY_HEADER, properties.getApiKey());
+    }
+
+    private String sign(StringBuilder params) {
+        params.append("recvWindow=").append(properties.getRecvWindow().toMillis())
+                .append("&timestamp=").append(clock.getAsLong());
+        String payload = params.toString();
+        return payload + "&signature=" + signer.sign(payload);
+    }
+
+    private static void param(StringBuilder params, String name, String value) {
+        params.append(name).append('=').append(URLEncoder.encode(value, StandardCharsets.UTF_8)).append('&');
+    }
+
+    private <T> T execute(Request request, ResponseReader<T> reader) {
+        try (Response response = httpClient.newCall(request).execute()) {
+            return read(response, reader);
+        } catch (IOException e) {
+            throw new IllegalStateException("Binance request failed: " + e.getMessage(), e);
+        }
+    }
+
+    private <T> T read(Response response, ResponseReader<T> reader) throws IOException {
+        if (response.isSuccessful()) {
+            return reader.read(response.body().byteStream());
+        }
+
+        BinanceResponseDecoder.ApiError error = decoder.decodeError(response.body().byteStream());
+        int status = response.code();
+        if (status == 429 || status == 418) {
+            throw new IllegalStateException("Binance rate limit exceeded (HTTP " + status + "): " + error.message());
+        }
+        if (UNKNOWN_ORDER_CODES.contains(error.code())) {
+            throw new IllegalArgumentException("Order not found on Binance: " + error.message());
+        }
+        if (status >= 400 && status < 500) {
+            throw new RejectedRequestException("Binance rejected request (HTTP " + status + ", code " + error.code()
+                    + "): " + error.message());
+        }
+        throw new IllegalStateException("Binance request failed (HTTP " + status + "): " + error.message());
+    }
+
+    /**
+     * Par da ordem; para uma ordem que este processo não enviou, consulta as ordens abertas
+     * na exchange, que também registram o par de cada uma.
+     *
+     * @throws IllegalStateException se a ordem não estiver aberta; sem o par não há como
+     *         consultá-la, mas isso não prova que ela não existe
+     */
+    private TradingPair resolveTradingPair(String orderId) {
+        TradingPair tradingPair = tradingPairByOrderId.get(orderId);
+        if (tradingPair != null) {
+            return tradingPair;
+        }
+
+        getActiveOrders();
+        tradingPair = tradingPairByOrderId.get(orderId);
+        if (tradingPair == null) {
+            throw new IllegalStateException("Cannot resolve trading pair of order " + orderId
+                    + ": not placed by this process and not open on Binance");
+        }
+        return tradingPair;
+    }
+
+    /**
+     * Combina a ordem enviada com o resultado da exchange; o preço de referência das ordens
+     * a mercado é mantido, já que a Binance devolve preço zero para elas.
+     */
+    private Order acceptedOrder(Order submitted, BinanceResponseDecoder.DecodedOrder decoded) {
+        Order.OrderStatus status = toOrderStatus(decoded.status());
+        forgetIfFinal(submitted.getId(), status);
+        return new Order(
+            submitted.getId(),
+            submitted.getTradingPair(),
+            submitted.getType(),
+            submitted.getSide(),
+            submitted.getQuantity(),
+            submitted.getPrice(),
+            status,
+            submitted.getCreatedAt(),
+            toDateTime(decoded.updatedAtMillis())
+        );
+    }
+
+    private Order toOrder(BinanceResponseDecoder.DecodedOrder decoded) {
+        TradingPair tradingPair = tradingPairByOrderId.computeIfAbsent(decoded.clientOrderId(),
+                id -> toTradingPair(decoded.symbol()));
+        Order.OrderStatus status = toOrderStatus(decoded.status());
+        forgetIfFinal(decoded.clientOrderId(), status);
+
+        return new Order(
+            decoded.clientOrderId(),
+            tradingPair,
+            "MARKET".equals(decoded.type()) ? Order.OrderType.MARKET : Order.OrderType.LIMIT,
+            Order.OrderSide.valueOf(decoded.side()),
+            decoded.originalQuantity(),
+            decoded.price(),
+            status,
+            toDateTime(decoded.createdAtMillis()),
+            toDateTime(decoded.updatedAtMillis())
+        );
+    }
+
+    private void forgetIfFinal(String orderId, Order.OrderStatus status) {
+        if (status == Order.OrderStatus.FILLED || status == Order.OrderStatus.CANCELLED) {
+            tradingPairByOrderId.remove(orderId);
+        }
+    }
+
+    static Order.OrderStatus toOrderStatus(String binanceStatus) {
+        return switch (binanceStatus) {
+            case "NEW", "PENDING_NEW" -> Order.OrderStatus.PENDING;
+            case "PARTIALLY_FILLED" -> Order.OrderStatus.PARTIALLY_FILLED;
+            case "FILLED" -> Order.OrderStatus.FILLED;
+            case "CANCELED", "PENDING_CANCEL", "REJECTED", "EXPIRED", "EXPIRED_IN_MATCH" -> Order.OrderStatus.CANCELLED;
+            default -> throw new IllegalStateException("Unknown Binance order status: " + binanceStatus);
+        };
+    }
+
+    static TradingPair toTradingPair(String symbol) {
+        for (String quote : QUOTE_ASSETS) {
+            if (symbol.length() > quote.length() && symbol.endsWith(quote)) {
+                return new TradingPair(symbol.substring(0, symbol.length() - quote.length()), quote);
+            }
+        }
+        throw new IllegalStateException("Cannot infer quote asset of Binance symbol: " + symbol);
+    }
+
+    private static LocalDateTime toDateTime(long epochMillis) {
+        return epochMillis == 0
+                ? LocalDateTime.now()
+                : LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    /**
+     * Requisição recusada pela exchange (4xx fora de limite de taxa e ordem inexistente):
+     * nada foi executado.
+     */
+    static final class RejectedRequestException extends IllegalStateException {
+        RejectedRequestException(String message) {
+            super(message);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ResponseReader<T> {
+        T read(InputStream body) throws IOException;
+    }
+}
@@ -76,6 +76,7 @@ public class TickerStreamProcessor implements StreamProcessor<PriceUpdateMessage
         priceUpdate.setTradingPair(binanceMessage.getSymbol());
         priceUpdate.setPrice(binanceMessage.getCurrentPrice());
         priceUpdate.setTimestamp(LocalDateTime.now());
+        priceUpdate.setEventTime(binanceMessage.getEventTime());
         return priceUpdate;
     }
 }
\ No newline at end of file
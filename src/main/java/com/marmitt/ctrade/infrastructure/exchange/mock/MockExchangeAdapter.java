@@ -5,19 +5,25 @@ import com.marmitt.ctrade.domain.entity.TradingPair;
 import com.marmitt.ctrade.domain.port.ExchangePort;
 import com.marmitt.ctrade.domain.valueobject.Price;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ThreadLocalRandom;
 
 @Slf4j
 @Component
+@Qualifier("exchangeAdapter")
+@ConditionalOnProperty(name = "trading.exchange.adapter", havingValue = "MOCK", matchIfMissing = true)
 public class MockExchangeAdapter implements ExchangePort {
 
     private final Map<String, Order> orders = new ConcurrentHashMap<>();
+    private final Set<String> activeOrderIds = ConcurrentHashMap.newKeySet();
     private final Map<TradingPair, Price> prices = new ConcurrentHashMap<>();
 
     public MockExchangeAdapter() {
@@ -43,6 +49,9 @@ public class MockExchangeAdapter implements ExchangePort {
         }
         
         orders.put(order.getId(), order);
+        if (isActive(order)) {
+            activeOrderIds.add(order.getId());
+        }
         return order;
     }
 
@@ -60,6 +69,7 @@ public class MockExchangeAdapter implements ExchangePort {
         }
         
         order.updateStatus(Order.OrderStatus.CANCELLED);
+        activeOrderIds.remove(orderId);
         return order;
     }
 
@@ -79,12 +89,18 @@ public class MockExchangeAdapter implements ExchangePort {
     public List<Order> getActiveOrders() {
         log.debug("Getting active orders");
         
-        return orders.values().stream()
-            .filter(order -> order.getStatus() == Order.OrderStatus.PENDING || 
-                           order.getStatus() == Order.OrderStatus.PARTIALLY_FILLED)
+        // Percorre apenas o índice de ordens ativas, não o histórico completo
+        return activeOrderIds.stream()
+            .map(orders::get)
+            .filter(order -> order != null && isActive(order))
             .toList();
     }
 
+    private boolean isActive(Order order) {
+        return order.getStatus() == Order.OrderStatus.PENDING || 
+               order.getStatus() == Order.OrderStatus.PARTIALLY_FILLED;
+    }
+
     @Override
     public Price getCurrentPrice(TradingPair tradingPair) {
         log.debug("Getting current price for: {}", tradingPair.getSymbol());
@@ -119,5 +135,6 @@ public class MockExchangeAdapter implements ExchangePort {
     // Method for testing purposes to clear orders
     public void clearOrders() {
         orders.clear();
+        activeOrderIds.clear();
     }
 }
\ No newline at end of file
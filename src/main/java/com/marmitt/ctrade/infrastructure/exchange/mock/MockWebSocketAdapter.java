@@ -7,7 +7,9 @@ import com.marmitt.ctrade.domain.port.ExchangeWebSocketAdapter.ConnectionStatus;
 import com.marmitt.ctrade.infrastructure.config.WebSocketProperties;
 import com.marmitt.ctrade.infrastructure.websocket.*;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
@@ -30,10 +32,27 @@ public class MockWebSocketAdapter extends AbstractWebSocketAdapter {
     private ScheduledFuture<?> priceUpdateTask;
     private ScheduledFuture<?> orderUpdateTask;
     
+    @Autowired
     public MockWebSocketAdapter(WebSocketProperties properties,
                                WebSocketEventPublisher eventPublisher,
-                               ConnectionManager connectionManager,
-                               ConnectionStatsTracker statsTracker) {
+                               TaskScheduler taskScheduler) {
+        this(properties, eventPublisher, taskScheduler, new ConnectionStatsTracker());
+    }
+    
+    private MockWebSocketAdapter(WebSocketProperties properties,
+                                WebSocketEventPublisher eventPublisher,
+                                TaskScheduler taskScheduler,
+                                ConnectionStatsTracker statsTracker) {
+        this(properties, eventPublisher, ConnectionManager.create(taskScheduler, statsTracker, properties), statsTracker);
+    }
+    
+    /**
+     * Construtor para testes unitários.
+     */
+    MockWebSocketAdapter(WebSocketProperties properties,
+                         WebSocketEventPublisher eventPublisher,
+                         ConnectionManager connectionManager,
+                         ConnectionStatsTracker statsTracker) {
         super(eventPublisher, connectionManager, statsTracker, properties);
     }
 
@@ -44,7 +63,7 @@ public class MockWebSocketAdapter extends AbstractWebSocketAdapter {
                 properties.getConnectionTimeout(), 
                 properties.getMaxRetries());
         
-        connectionManager.updateStatus(ConnectionStatus.CONNECTED);
+        connectionManager.markConnected();
         statsTracker.updateLastConnectedAt(LocalDateTime.now());
         startSimulators();
     }
@@ -66,6 +85,11 @@ public class MockWebSocketAdapter extends AbstractWebSocketAdapter {
         // No additional logic needed for mock - subscription is handled by parent
     }
     
+    @Override
+    protected void doUnsubscribeFromPrice(String tradingPair) {
+        // No additional logic needed for mock - subscription is handled by parent
+    }
+    
     @Override
     protected void doSubscribeToOrderUpdates() {
         // No additional logic needed for mock - subscription is handled by parent
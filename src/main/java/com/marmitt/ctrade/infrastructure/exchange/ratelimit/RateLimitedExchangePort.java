@@ -0,0 +1,282 @@
+package com.marmitt.ctrade.infrastructure.exchange.ratelimit;
+
+import com.marmitt.ctrade.domain.entity.Order;
+import com.marmitt.ctrade.domain.entity.TradingPair;
+import com.marmitt.ctrade.domain.port.ExchangePort;
+import com.marmitt.ctrade.domain.valueobject.Price;
+import com.marmitt.ctrade.infrastructure.config.ExchangeRateLimitProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Decorator do {@link ExchangePort} que respeita os limites de peso de requisição da exchange.
+ *
+ * Abaixo do limite (e sem fila) a chamada segue direto na thread chamadora. Quando o limite é
+ * atingido, a chamada entra em uma fila de prioridade (cancelamentos antes de novas ordens,
+ * novas ordens antes de consultas) e uma thread dedicada libera as permissões conforme os
+ * tokens são repostos. A chamada à exchange continua sendo feita pela thread chamadora.
+ *
+ * O caminho rápido só é usado sem nenhuma requisição aguardando, contando a que o dispatcher
+ * já retirou da fila e espera tokens para ela; do contrário quem chega consumiria os tokens
+ * repostos antes de um cancelamento que estava esperando.
+ *
+ * Requisições à mesma exchange feitas fora deste port (como as klines da reposição de preços)
+ * pedem permissão por {@link #acquire}, para que o peso delas conte no mesmo limite.
+ */
+@Slf4j
+@Primary
+@Component
+public class RateLimitedExchangePort implements ExchangePort {
+
+    private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    private static final long POLL_TIMEOUT_MILLIS = 200;
+
+    private final ExchangePort delegate;
+    private final ExchangeRateLimitProperties properties;
+    private final RequestWeightLimiter limiter;
+    private final PriorityBlockingQueue<PendingRequest> queue = new PriorityBlockingQueue<>(64,
+            Comparator.comparing(PendingRequest::priority).thenComparingLong(PendingRequest::sequence));
+    private final AtomicLong sequence = new AtomicLong();
+    // Requisições esperando permissão, na fila ou retidas pelo dispatcher
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    private final LongAdder immediate = new LongAdder();
+    private final LongAdder throttled = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+    private final Map<RequestPriority, WaitRecorder> waitByPriority = new EnumMap<>(RequestPriority.class);
+
+    private volatile boolean running;
+    private Thread dispatcherThread;
+
+    public RateLimitedExchangePort(@Qualifier("exchangeAdapter") ExchangePort delegate,
+                                   ExchangeRateLimitProperties properties) {
+        this(delegate, properties, new RequestWeightLimiter(properties.getWeightPerSecond(), properties.getWeightPerMinute()));
+    }
+
+    RateLimitedExchangePort(ExchangePort delegate, ExchangeRateLimitProperties properties, RequestWeightLimiter limiter) {
+        this.delegate = delegate;
+        this.properties = properties;
+        this.limiter = limiter;
+        for (RequestPriority priority : RequestPriority.values()) {
+            waitByPriority.put(priority, new WaitRecorder());
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        dispatcherThread = new Thread(this::runDispatchLoop, "exchange-rate-limit-dispatcher");
+        dispatcherThread.setDaemon(true);
+        dispatcherThread.start();
+        log.info("Exchange rate limiter started: {} weight/s, {} weight/min (enabled: {})",
+                properties.getWeightPerSecond(), properties.getWeightPerMinute(), properties.isEnabled());
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (dispatcherThread != null) {
+            dispatcherThread.interrupt();
+        }
+        // Libera quem ainda está na fila para não deixar threads presas no desligamento
+        PendingRequest pending;
+        while ((pending = queue.poll()) != null) {
+            pending.permit().completeExceptionally(new IllegalStateException("Exchange rate limiter is shutting down"));
+        }
+    }
+
+    @Override
+    public Order placeOrder(Order order) {
+        return execute(RequestPriority.NEW_ORDER, properties.getWeights().getPlaceOrder(), () -> delegate.placeOrder(order));
+    }
+
+    @Override
+    public Order cancelOrder(String orderId) {
+        return execute(RequestPriority.CANCEL, properties.getWeights().getCancelOrder(), () -> delegate.cancelOrder(orderId));
+    }
+
+    @Override
+    public Order getOrderStatus(String orderId) {
+        return execute(RequestPriority.QUERY, properties.getWeights().getOrderStatus(), () -> delegate.getOrderStatus(orderId));
+    }
+
+    @Override
+    public List<Order> getActiveOrders() {
+        return execute(RequestPriority.QUERY, properties.getWeights().getActiveOrders(), delegate::getActiveOrders);
+    }
+
+    @Override
+    public Price getCurrentPrice(TradingPair tradingPair) {
+        return execute(RequestPriority.QUERY, properties.getWeights().getCurrentPrice(), () -> delegate.getCurrentPrice(tradingPair));
+    }
+
+    public RateLimitStats getStats() {
+        Map<RequestPriority, WaitStats> waits = new EnumMap<>(RequestPriority.class);
+        waitByPriority.forEach((priority, recorder) -> waits.put(priority, recorder.snapshot()));
+        return new RateLimitStats(
+            immediate.sum(),
+            throttled.sum(),
+            timedOut.sum(),
+            queue.size(),
+            limiter.availablePerSecond(),
+            limiter.availablePerMinute(),
+            waits
+        );
+    }
+
+    /**
+     * Aguarda permissão para uma requisição de peso {@code weight}, na fila da prioridade
+     * informada quando o limite foi atingido.
+     *
+     * @throws IllegalStateException se a espera passar de {@code max-queue-wait}
+     */
+    public void acquire(RequestPriority priority, int weight) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        // Caminho rápido: ninguém esperando e com saldo, nenhuma espera é adicionada
+        if (waiting.get() == 0 && limiter.tryAcquire(weight) == 0) {
+            immediate.increment();
+            return;
+        }
+
+        awaitPermit(priority, weight);
+    }
+
+    public ExchangeRateLimitProperties.Weights getWeights() {
+        return properties.getWeights();
+    }
+
+    private <T> T execute(RequestPriority priority, int weight, Supplier<T> call) {
+        acquire(priority, weight);
+        return call.get();
+    }
+
+    private void awaitPermit(RequestPriority priority, int weight) {
+        throttled.increment();
+        PendingRequest request = new PendingRequest(priority, sequence.incrementAndGet(), weight,
+                System.nanoTime(), new CompletableFuture<>());
+        waiting.incrementAndGet();
+        queue.add(request);
+
+        try {
+            request.permit().get(properties.getMaxQueueWait().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Se o dispatcher concedeu a permissão ao mesmo tempo, segue com ela
+            if (request.permit().completeExceptionally(e)) {
+                queue.remove(request);
+                timedOut.increment();
+                throw new IllegalStateException("Exchange rate limit: request waited more than "
+                        + properties.getMaxQueueWait().toMillis() + " ms in queue");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (request.permit().completeExceptionally(e)) {
+                queue.remove(request);
+                throw new IllegalStateException("Interrupted while waiting for exchange rate limit permit");
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause().getMessage(), e.getCause());
+        } finally {
+            waiting.decrementAndGet();
+        }
+
+        waitByPriority.get(priority).record(System.nanoTime() - request.enqueuedNanos());
+    }
+
+    private void runDispatchLoop() {
+        while (running) {
+            try {
+                PendingRequest head = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (head == null || head.permit().isDone()) {
+                    continue;
+                }
+
+                long waitNanos;
+                while ((waitNanos = limiter.tryAcquire(head.weight())) > 0) {
+                    LockSupport.parkNanos(Math.min(waitNanos, MAX_PARK_NANOS));
+
+                    // Uma requisição mais prioritária pode ter chegado enquanto esperávamos
+                    PendingRequest top = queue.peek();
+                    if (top != null && top.priority().compareTo(head.priority()) < 0) {
+                        queue.add(head);
+                        head = queue.poll();
+                    }
+                    if (!running) {
+                        return;
+                    }
+                }
+
+                if (!head.permit().complete(null)) {
+                    // Quem pediu desistiu por timeout; os tokens voltam para o bucket
+                    limiter.refund(head.weight());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                log.error("Unexpected error in exchange rate limit dispatcher: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    private record PendingRequest(RequestPriority priority, long sequence, int weight, long enqueuedNanos,
+                                  CompletableFuture<Void> permit) {
+    }
+
+    private static final class WaitRecorder {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        private void record(long waitNanos) {
+            count.increment();
+            totalNanos.add(waitNanos);
+            maxNanos.accumulate(waitNanos);
+        }
+
+        private WaitStats snapshot() {
+            long samples = count.sum();
+            double average = samples == 0 ? 0.0 : totalNanos.sum() / (double) samples / 1_000_000;
+            return new WaitStats(samples, average, TimeUnit.NANOSECONDS.toMillis(maxNanos.get()));
+        }
+    }
+
+    public record WaitStats(long queued, double averageWaitMillis, long maxWaitMillis) {
+    }
+
+    public record RateLimitStats(
+        long immediate,
+        long throttled,
+        long timedOut,
+        int queueSize,
+        double availableWeightPerSecond,
+        double availableWeightPerMinute,
+        Map<RequestPriority, WaitStats> waitByPriority
+    ) {}
+}
@@ -0,0 +1,12 @@
+package com.marmitt.ctrade.infrastructure.exchange.ratelimit;
+
+/**
+ * Prioridade de uma chamada à exchange quando há fila por limite de taxa.
+ * A ordem de declaração define a precedência.
+ */
+public enum RequestPriority {
+    CANCEL,
+    NEW_ORDER,
+    QUERY,
+    BACKFILL
+}
@@ -0,0 +1,104 @@
+package com.marmitt.ctrade.infrastructure.exchange.ratelimit;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket duplo (por segundo e por minuto) para pesos de requisição.
+ *
+ * Uma requisição só consome tokens se ambos os buckets tiverem saldo para o seu peso;
+ * caso contrário nada é consumido e é retornado o tempo até haver saldo. A seção crítica
+ * é apenas aritmética, então o custo sem disputa é de poucas dezenas de nanossegundos.
+ */
+public class RequestWeightLimiter {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final long NANOS_PER_MINUTE = 60 * NANOS_PER_SECOND;
+
+    private final Bucket perSecond;
+    private final Bucket perMinute;
+    private final LongSupplier nanoClock;
+
+    public RequestWeightLimiter(int weightPerSecond, int weightPerMinute) {
+        this(weightPerSecond, weightPerMinute, System::nanoTime);
+    }
+
+    RequestWeightLimiter(int weightPerSecond, int weightPerMinute, LongSupplier nanoClock) {
+        if (weightPerSecond <= 0 || weightPerMinute <= 0) {
+            throw new IllegalArgumentException("Rate limit weights must be positive");
+        }
+        this.nanoClock = nanoClock;
+        long now = nanoClock.getAsLong();
+        this.perSecond = new Bucket(weightPerSecond, NANOS_PER_SECOND, now);
+        this.perMinute = new Bucket(weightPerMinute, NANOS_PER_MINUTE, now);
+    }
+
+    /**
+     * Tenta consumir {@code weight} tokens.
+     *
+     * @return 0 se os tokens foram consumidos, ou os nanossegundos estimados até haver saldo
+     */
+    public synchronized long tryAcquire(int weight) {
+        if (weight > perSecond.capacity || weight > perMinute.capacity) {
+            throw new IllegalArgumentException("Request weight " + weight + " exceeds bucket capacity");
+        }
+
+        long now = nanoClock.getAsLong();
+        perSecond.refill(now);
+        perMinute.refill(now);
+
+        long wait = Math.max(perSecond.nanosUntil(weight), perMinute.nanosUntil(weight));
+        if (wait > 0) {
+            return wait;
+        }
+
+        perSecond.tokens -= weight;
+        perMinute.tokens -= weight;
+        return 0;
+    }
+
+    /**
+     * Devolve tokens de uma permissão concedida mas não utilizada.
+     */
+    public synchronized void refund(int weight) {
+        perSecond.tokens = Math.min(perSecond.capacity, perSecond.tokens + weight);
+        perMinute.tokens = Math.min(perMinute.capacity, perMinute.tokens + weight);
+    }
+
+    public synchronized double availablePerSecond() {
+        perSecond.refill(nanoClock.getAsLong());
+        return perSecond.tokens;
+    }
+
+    public synchronized double availablePerMinute() {
+        perMinute.refill(nanoClock.getAsLong());
+        return perMinute.tokens;
+    }
+
+    private static final class Bucket {
+
+        private final int capacity;
+        private final double tokensPerNano;
+        private double tokens;
+        private long lastRefillNanos;
+
+        private Bucket(int capacity, long periodNanos, long now) {
+            this.capacity = capacity;
+            this.tokensPerNano = (double) capacity / periodNanos;
+            this.tokens = capacity;
+            this.lastRefillNanos = now;
+        }
+
+        private void refill(long now) {
+            long elapsed = now - lastRefillNanos;
+            if (elapsed > 0) {
+                tokens = Math.min(capacity, tokens + elapsed * tokensPerNano);
+                lastRefillNanos = now;
+            }
+        }
+
+        private long nanosUntil(int weight) {
+            double missing = weight - tokens;
+            return missing <= 0 ? 0 : (long) Math.ceil(missing / tokensPerNano);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.marmitt.ctrade.infrastructure.notification;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marmitt.ctrade.domain.dto.AlertNotificationBatch;
+import com.marmitt.ctrade.domain.port.NotificationSink;
+import com.marmitt.ctrade.infrastructure.config.NotificationProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Destino de notificação que grava cada lote como uma linha JSON (NDJSON) em arquivo.
+ */
+@Component
+@ConditionalOnProperty(name = "trading.notifications.file.path")
+@Slf4j
+public class FileNotificationSink implements NotificationSink {
+    
+    private final Path path;
+    private final ObjectMapper objectMapper;
+    
+    public FileNotificationSink(NotificationProperties properties, ObjectMapper objectMapper) {
+        this.path = Path.of(properties.getFile().getPath());
+        this.objectMapper = objectMapper;
+        log.info("File notification sink writing to {}", path.toAbsolutePath());
+    }
+    
+    @Override
+    public String getName() {
+        return "file";
+    }
+    
+    @Override
+    public synchronized void send(AlertNotificationBatch batch) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        
+        String line = objectMapper.writeValueAsString(batch) + System.lineSeparator();
+        Files.writeString(path, line, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+}
@@ -0,0 +1,31 @@
+package com.marmitt.ctrade.infrastructure.notification;
+
+import com.marmitt.ctrade.domain.dto.AlertNotificationBatch;
+import com.marmitt.ctrade.domain.entity.PriceAlert;
+import com.marmitt.ctrade.domain.port.NotificationSink;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Destino de notificação que apenas registra os alertas no log.
+ */
+@Component
+@Slf4j
+public class LogNotificationSink implements NotificationSink {
+    
+    @Override
+    public String getName() {
+        return "log";
+    }
+    
+    @Override
+    public void send(AlertNotificationBatch batch) {
+        for (PriceAlert alert : batch.alerts()) {
+            log.warn("🚨 PRICE ALERT: {} has {} (triggered at {}{})", 
+                    alert.getTradingPair(),
+                    alert.describeCondition(),
+                    alert.getTriggeredAt(),
+                    alert.isBackfill() ? ", from backfill" : "");
+        }
+    }
+}
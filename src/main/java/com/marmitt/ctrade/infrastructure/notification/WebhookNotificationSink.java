@@ -0,0 +1,68 @@
+package com.marmitt.ctrade.infrastructure.notification;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marmitt.ctrade.domain.dto.AlertNotificationBatch;
+import com.marmitt.ctrade.domain.port.NotificationSink;
+import com.marmitt.ctrade.infrastructure.config.NotificationProperties;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Destino de notificação que envia cada lote como JSON via HTTP POST para um webhook.
+ * Respostas fora da faixa 2xx são tratadas como falha para acionar retentativas.
+ */
+@Component
+@ConditionalOnProperty(name = "trading.notifications.webhook.url")
+@Slf4j
+public class WebhookNotificationSink implements NotificationSink {
+    
+    private static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
+    
+    private final String url;
+    private final OkHttpClient okHttpClient;
+    private final ObjectMapper objectMapper;
+    
+    @Autowired
+    public WebhookNotificationSink(NotificationProperties properties, ObjectMapper objectMapper) {
+        this(properties.getWebhook().getUrl(),
+                new OkHttpClient.Builder()
+                        .callTimeout(properties.getWebhook().getTimeout())
+                        .build(),
+                objectMapper);
+    }
+    
+    WebhookNotificationSink(String url, OkHttpClient okHttpClient, ObjectMapper objectMapper) {
+        this.url = url;
+        this.okHttpClient = okHttpClient;
+        this.objectMapper = objectMapper;
+        log.info("Webhook notification sink posting to {}", url);
+    }
+    
+    @Override
+    public String getName() {
+        return "webhook";
+    }
+    
+    @Override
+    public void send(AlertNotificationBatch batch) throws IOException {
+        Request request = new Request.Builder()
+                .url(url)
+                .post(RequestBody.create(objectMapper.writeValueAsString(batch), JSON))
+                .build();
+        
+        try (Response response = okHttpClient.newCall(request).execute()) {
+            if (!response.isSuccessful()) {
+                throw new IOException("Webhook responded with HTTP " + response.code());
+            }
+        }
+    }
+}
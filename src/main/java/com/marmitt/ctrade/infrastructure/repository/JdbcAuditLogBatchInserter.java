@@ -0,0 +1,124 @@
+package com.marmitt.ctrade.infrastructure.repository;
+
+import com.marmitt.ctrade.domain.entity.TradingAuditLog;
+import com.marmitt.ctrade.domain.listener.AuditLogWriteListener;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.incrementer.H2SequenceMaxValueIncrementer;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Inserção dos registros de auditoria via JDBC batch, sem passar pelo contexto de persistência.
+ *
+ * Os IDs vêm da mesma sequence usada pelo Hibernate, reservados em blocos de
+ * {@link TradingAuditLog#ID_ALLOCATION_SIZE}, então um lote inteiro custa uma ou duas idas
+ * à sequence além do próprio batch. Os {@link AuditLogWriteListener}s são avisados depois
+ * do commit.
+ */
+@Repository
+@Slf4j
+public class JdbcAuditLogBatchInserter {
+    
+    private static final String INSERT_SQL = """
+            INSERT INTO trading_audit_log (id, action_type, trading_pair, order_id, order_type, order_side,
+                quantity, price, total_value, status, error_message, created_at, user_context, request_id)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+    
+    private static final String HAS_ROWS_SQL = "SELECT EXISTS (SELECT 1 FROM trading_audit_log)";
+    
+    private static final int JDBC_BATCH_SIZE = 500;
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final PooledSequenceIdAllocator idAllocator;
+    private final List<AuditLogWriteListener> writeListeners;
+    
+    @Autowired
+    public JdbcAuditLogBatchInserter(JdbcTemplate jdbcTemplate, List<AuditLogWriteListener> writeListeners) {
+        this(jdbcTemplate, new PooledSequenceIdAllocator(
+                new H2SequenceMaxValueIncrementer(jdbcTemplate.getDataSource(), TradingAuditLog.ID_SEQUENCE),
+                TradingAuditLog.ID_ALLOCATION_SIZE), writeListeners);
+    }
+    
+    public JdbcAuditLogBatchInserter(JdbcTemplate jdbcTemplate, PooledSequenceIdAllocator idAllocator,
+                                     List<AuditLogWriteListener> writeListeners) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.idAllocator = idAllocator;
+        this.writeListeners = writeListeners;
+    }
+    
+    /**
+     * Insere todos os registros em uma única transação.
+     */
+    @Transactional
+    public void insertAll(List<TradingAuditLog> auditLogs) {
+        if (auditLogs.isEmpty()) {
+            return;
+        }
+        // Registros reprocessados do spill já podem ter ID de uma tentativa revertida
+        for (TradingAuditLog auditLog : auditLogs) {
+            if (auditLog.getId() == null) {
+                auditLog.setId(idAllocator.nextId());
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, auditLogs, JDBC_BATCH_SIZE, JdbcAuditLogBatchInserter::bind);
+        
+        if (writeListeners.isEmpty()) {
+            return;
+        }
+        List<TradingAuditLog> persisted = List.copyOf(auditLogs);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    notifyListeners(persisted);
+                }
+            });
+        } else {
+            notifyListeners(persisted);
+        }
+    }
+    
+    /**
+     * @return true se a tabela de auditoria tem ao menos um registro
+     */
+    public boolean hasRows() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(HAS_ROWS_SQL, Boolean.class));
+    }
+    
+    private void notifyListeners(List<TradingAuditLog> persisted) {
+        writeListeners.forEach(listener -> {
+            try {
+                listener.onAuditLogsPersisted(persisted);
+            } catch (Exception e) {
+                log.error("Error processing persisted audit logs in listener {}: {}",
+                        listener.getClass().getSimpleName(), e.getMessage(), e);
+            }
+        });
+    }
+    
+    private static void bind(PreparedStatement ps, TradingAuditLog auditLog) throws SQLException {
+        ps.setLong(1, auditLog.getId());
+        ps.setString(2, auditLog.getActionType().name());
+        ps.setString(3, auditLog.getTradingPair());
+        ps.setString(4, auditLog.getOrderId());
+        ps.setString(5, auditLog.getOrderType() != null ? auditLog.getOrderType().name() : null);
+        ps.setString(6, auditLog.getOrderSide() != null ? auditLog.getOrderSide().name() : null);
+        ps.setBigDecimal(7, auditLog.getQuantity());
+        ps.setBigDecimal(8, auditLog.getPrice());
+        ps.setBigDecimal(9, auditLog.getTotalValue());
+        ps.setString(10, auditLog.getStatus() != null ? auditLog.getStatus().name() : null);
+        ps.setString(11, auditLog.getErrorMessage());
+        ps.setObject(12, auditLog.getCreatedAt());
+        ps.setString(13, auditLog.getUserContext());
+        ps.setString(14, auditLog.getRequestId());
+    }
+}
@@ -1,36 +1,97 @@
 package com.marmitt.ctrade.infrastructure.repository;
 
 import com.marmitt.ctrade.domain.entity.TradingAuditLog;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
+/**
+ * Consultas de auditoria paginadas por keyset: cada página começa logo após o último
+ * registro da anterior, identificado por (createdAt, id), em vez de pular um offset.
+ * O custo de uma página não cresce com a profundidade da paginação. O {@link Pageable}
+ * só limita o tamanho da página; nenhuma contagem é executada.
+ */
 @Repository
 public interface TradingAuditLogRepository extends JpaRepository<TradingAuditLog, Long> {
     
-    List<TradingAuditLog> findByOrderIdOrderByCreatedAtDesc(String orderId);
+    /**
+     * O primeiro termo permite varredura por faixa no índice; o segundo desempata pelo id.
+     */
+    String BEFORE_CURSOR = " AND t.createdAt <= :createdAt AND (t.createdAt < :createdAt OR t.id < :id)"
+            + " ORDER BY t.createdAt DESC, t.id DESC";
     
-    List<TradingAuditLog> findByTradingPairOrderByCreatedAtDesc(String tradingPair);
+    @Query("SELECT t FROM TradingAuditLog t WHERE 1 = 1" + BEFORE_CURSOR)
+    List<TradingAuditLog> findPage(
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") long id, Pageable pageable);
     
-    List<TradingAuditLog> findByActionTypeOrderByCreatedAtDesc(TradingAuditLog.ActionType actionType);
+    @Query("SELECT t FROM TradingAuditLog t WHERE t.tradingPair = :tradingPair" + BEFORE_CURSOR)
+    List<TradingAuditLog> findPageByTradingPair(@Param("tradingPair") String tradingPair,
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") long id, Pageable pageable);
     
-    List<TradingAuditLog> findByStatusOrderByCreatedAtDesc(TradingAuditLog.Status status);
+    @Query("SELECT t FROM TradingAuditLog t WHERE t.orderId = :orderId" + BEFORE_CURSOR)
+    List<TradingAuditLog> findPageByOrderId(@Param("orderId") String orderId,
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") long id, Pageable pageable);
     
-    @Query("SELECT t FROM TradingAuditLog t WHERE t.createdAt BETWEEN :startDate AND :endDate ORDER BY t.createdAt DESC")
-    List<TradingAuditLog> findByCreatedAtBetweenOrderByCreatedAtDesc(
-            @Param("startDate") LocalDateTime startDate, 
-            @Param("endDate") LocalDateTime endDate);
+    @Query("SELECT t FROM TradingAuditLog t WHERE t.actionType = :actionType" + BEFORE_CURSOR)
+    List<TradingAuditLog> findPageByActionType(@Param("actionType") TradingAuditLog.ActionType actionType,
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") long id, Pageable pageable);
     
-    @Query("SELECT t FROM TradingAuditLog t WHERE t.status = 'ERROR' ORDER BY t.createdAt DESC")
-    List<TradingAuditLog> findAllErrors();
+    @Query("SELECT t FROM TradingAuditLog t WHERE t.actionType = :actionType AND t.status = :status" + BEFORE_CURSOR)
+    List<TradingAuditLog> findPageByActionTypeAndStatus(@Param("actionType") TradingAuditLog.ActionType actionType,
+            @Param("status") TradingAuditLog.Status status,
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") long id, Pageable pageable);
     
-    @Query("SELECT COUNT(t) FROM TradingAuditLog t WHERE t.actionType = :actionType AND t.status = 'SUCCESS'")
-    Long countSuccessfulActionsByType(@Param("actionType") TradingAuditLog.ActionType actionType);
+    @Query("SELECT t FROM TradingAuditLog t WHERE t.status = :status" + BEFORE_CURSOR)
+    List<TradingAuditLog> findPageByStatus(@Param("status") TradingAuditLog.Status status,
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") long id, Pageable pageable);
     
-    @Query("SELECT COUNT(t) FROM TradingAuditLog t WHERE t.actionType = :actionType AND t.status = 'ERROR'")
-    Long countErrorsByActionType(@Param("actionType") TradingAuditLog.ActionType actionType);
-}
\ No newline at end of file
+    /**
+     * Contagem por (actionType, status), usada apenas para reconstruir os contadores em memória.
+     * Cada linha: [ActionType, Status, Long].
+     */
+    @Query("SELECT t.actionType, t.status, COUNT(t) FROM TradingAuditLog t GROUP BY t.actionType, t.status")
+    List<Object[]> countByActionTypeAndStatus();
+    
+    /**
+     * Contagem por (action_type, status, minuto) a partir de {@code since}.
+     * Cada linha: [String, String, Timestamp/LocalDateTime, Number].
+     */
+    @Query(value = "SELECT action_type, status, DATE_TRUNC('MINUTE', created_at) AS bucket, COUNT(*)"
+            + " FROM trading_audit_log WHERE created_at >= :since"
+            + " GROUP BY action_type, status, DATE_TRUNC('MINUTE', created_at)", nativeQuery = true)
+    List<Object[]> countByActionTypeAndStatusPerMinute(@Param("since") LocalDateTime since);
+    
+    @Query("SELECT MIN(t.createdAt) FROM TradingAuditLog t")
+    LocalDateTime findOldestCreatedAt();
+    
+    /**
+     * Registros a partir de {@code from}, do mais recente para o mais antigo, paginados pelo
+     * mesmo keyset das consultas; usado para compactar um dia inteiro em partes, já na ordem
+     * em que o arquivo morto é lido.
+     */
+    @Query("SELECT t FROM TradingAuditLog t WHERE t.createdAt >= :from" + BEFORE_CURSOR)
+    List<TradingAuditLog> findSlice(@Param("from") LocalDateTime from,
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") long id, Pageable pageable);
+    
+    /**
+     * Contagem por status dos registros que {@link #deleteByActionTypeCreatedBefore} apagaria.
+     * Cada linha: [Status, Long].
+     */
+    @Query("SELECT t.status, COUNT(t) FROM TradingAuditLog t WHERE t.actionType = :actionType"
+            + " AND t.createdAt < :before GROUP BY t.status")
+    List<Object[]> countByStatusForActionTypeCreatedBefore(@Param("actionType") TradingAuditLog.ActionType actionType,
+            @Param("before") LocalDateTime before);
+    
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM TradingAuditLog t WHERE t.actionType = :actionType AND t.createdAt < :before")
+    int deleteByActionTypeCreatedBefore(@Param("actionType") TradingAuditLog.ActionType actionType,
+            @Param("before") LocalDateTime before);
+}
@@ -9,6 +9,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -60,6 +62,16 @@ public abstract class AbstractWebSocketAdapter implements ExchangeWebSocketAdapt
         eventPublisher.publishOrderUpdate(this, orderUpdate, getExchangeName());
     }
     
+    /**
+     * Informa que os pares voltaram a receber o feed depois de ficarem sem conexão desde
+     * {@code disconnectedAt}, para que os ticks perdidos possam ser repostos.
+     */
+    protected void onFeedRecovered(List<String> tradingPairs, Instant disconnectedAt) {
+        if (!tradingPairs.isEmpty()) {
+            eventPublisher.publishFeedRecovered(this, tradingPairs, disconnectedAt, getExchangeName());
+        }
+    }
+    
     /**
      * Retorna o nome da exchange para identificação nos eventos.
      * Deve ser implementado pelas classes filhas.
@@ -88,6 +100,13 @@ public abstract class AbstractWebSocketAdapter implements ExchangeWebSocketAdapt
         return statsTracker.getStats();
     }
     
+    /**
+     * Máquina de estados da conexão deste adapter.
+     */
+    public ConnectionManager.ConnectionStateStats getConnectionStateStats() {
+        return connectionManager.getStateStats();
+    }
+    
     @Override
     public void forceReconnect() {
         connectionManager.forceReconnect(
@@ -149,6 +168,11 @@ public abstract class AbstractWebSocketAdapter implements ExchangeWebSocketAdapt
      */
     protected abstract void doSubscribeToPrice(String tradingPair);
     
+    /**
+     * Template method para cancelar a subscrição de preço específica da exchange.
+     */
+    protected abstract void doUnsubscribeFromPrice(String tradingPair);
+    
     /**
      * Template method para implementar subscrição de ordens específica da exchange.
      */
@@ -158,17 +182,12 @@ public abstract class AbstractWebSocketAdapter implements ExchangeWebSocketAdapt
     
     @Override
     public final void connect() {
-        if (!connectionManager.canConnect()) {
-            log.warn("Circuit breaker is OPEN, cannot connect to {} WebSocket", getExchangeName());
+        // Verifica o circuit breaker e disputa a transição para CONNECTING em uma única operação
+        if (!connectionManager.tryBeginConnect()) {
+            log.debug("Not connecting to {} WebSocket, status is {}", getExchangeName(), connectionManager.getStatus());
             return;
         }
         
-        if (connectionManager.isConnectingOrConnected()) {
-            log.debug("Already connecting or connected to {} WebSocket", getExchangeName());
-            return;
-        }
-        
-        connectionManager.updateStatus(ConnectionStatus.CONNECTING);
         log.info("Connecting to {} WebSocket: {}", getExchangeName(), properties.getUrl());
         
         recordConnection();
@@ -188,17 +207,26 @@ public abstract class AbstractWebSocketAdapter implements ExchangeWebSocketAdapt
     
     @Override
     public final void subscribeToPrice(String tradingPair) {
-        if (!connectionManager.isConnected()) {
-            log.warn("Cannot subscribe to {}: {} WebSocket not connected", tradingPair, getExchangeName());
-            return;
-        }
-        
+        // Registrado mesmo sem conexão: o adapter inclui o par quando o socket abrir de novo
         connectionManager.addSubscription(tradingPair);
-        log.info("Subscribed to price updates for {} on {}", tradingPair, getExchangeName());
+        if (connectionManager.isConnected()) {
+            log.info("Subscribed to price updates for {} on {}", tradingPair, getExchangeName());
+        } else {
+            log.info("Recorded subscription to {} on {}, applied once the WebSocket reconnects",
+                    tradingPair, getExchangeName());
+        }
         
         doSubscribeToPrice(tradingPair);
     }
     
+    @Override
+    public final void unsubscribeFromPrice(String tradingPair) {
+        connectionManager.removeSubscription(tradingPair);
+        log.info("Unsubscribed from price updates for {} on {}", tradingPair, getExchangeName());
+        
+        doUnsubscribeFromPrice(tradingPair);
+    }
+    
     @Override
     public final void subscribeToOrderUpdates() {
         if (!connectionManager.isConnected()) {
@@ -40,8 +40,21 @@ public abstract class AbstractWebSocketListener extends WebSocketListener {
      */
     protected abstract void processMessage(@NotNull String messageText);
     
+    /**
+     * Indica se o socket ainda é a conexão atual deste listener. Eventos de conexão de um
+     * socket já substituído são descartados para não afetar o estado da conexão nova.
+     */
+    protected boolean isCurrentConnection(@NotNull WebSocket webSocket) {
+        return true;
+    }
+    
     @Override
     public final void onOpen(@NotNull WebSocket webSocket, @NotNull Response response) {
+        if (!isCurrentConnection(webSocket)) {
+            log.debug("Closing replaced {} WebSocket opened late", getExchangeName());
+            webSocket.close(1000, "Replaced");
+            return;
+        }
         connectionHandler.handleConnectionOpened(getExchangeName());
         onConnectionEstablished(webSocket, response);
     }
@@ -69,6 +82,10 @@ public abstract class AbstractWebSocketListener extends WebSocketListener {
     
     @Override
     public final void onClosed(@NotNull WebSocket webSocket, int code, @NotNull String reason) {
+        if (!isCurrentConnection(webSocket)) {
+            log.debug("Ignoring close of replaced {} WebSocket: {} - {}", getExchangeName(), code, reason);
+            return;
+        }
         boolean reconnected = connectionHandler.handleConnectionClosed(
             getExchangeName(), 
             code, 
@@ -81,6 +98,10 @@ public abstract class AbstractWebSocketListener extends WebSocketListener {
     
     @Override
     public final void onFailure(@NotNull WebSocket webSocket, @NotNull Throwable t, Response response) {
+        if (!isCurrentConnection(webSocket)) {
+            log.debug("Ignoring failure of replaced {} WebSocket: {}", getExchangeName(), t.getMessage());
+            return;
+        }
         connectionHandler.handleConnectionFailure(
             getExchangeName(),
             t,
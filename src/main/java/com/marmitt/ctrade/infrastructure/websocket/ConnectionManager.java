@@ -1,40 +1,51 @@
 package com.marmitt.ctrade.infrastructure.websocket;
 
 import com.marmitt.ctrade.domain.port.ExchangeWebSocketAdapter.ConnectionStatus;
+import com.marmitt.ctrade.infrastructure.config.WebSocketProperties;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.TaskScheduler;
-import org.springframework.stereotype.Service;
 
 import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Serviço responsável pelo gerenciamento de conexões WebSocket.
- * 
+ *
  * Centraliza o controle de estado de conexão, reconexão automática,
  * circuit breaker e gerenciamento de subscrições.
+ *
+ * O status é uma máquina de estados com transições definidas ({@link #isAllowed}) e
+ * atualizadas por CAS: callbacks atrasados de um socket antigo são rejeitados em vez de
+ * sobrescrever o estado atual, só uma tentativa de conexão fica em andamento por vez
+ * (a que vence a transição para CONNECTING) e no máximo uma reconexão fica agendada.
+ * O tempo passado em cada estado é medido por transição.
+ *
+ * Cada conexão tem o seu, com circuit breaker e backoff próprios ({@link #create}).
  */
-@Service
 @RequiredArgsConstructor
 @Slf4j
 public class ConnectionManager {
-    
+
+    private static final int STATUS_COUNT = ConnectionStatus.values().length;
+
     private final TaskScheduler taskScheduler;
     private final ConnectionStatsTracker statsTracker;
     private final WebSocketCircuitBreaker circuitBreaker;
     private final ReconnectionStrategy reconnectionStrategy;
 
-    /**
-     * -- GETTER --
-     *  Retorna o status atual da conexão.
-     */
     // Connection state
-    @Getter
-    private volatile ConnectionStatus status = ConnectionStatus.DISCONNECTED;
+    private final AtomicReference<State> state = new AtomicReference<>(new State(ConnectionStatus.DISCONNECTED, System.nanoTime()));
     private final Set<String> subscribedPairs = ConcurrentHashMap.newKeySet();
     /**
      * -- GETTER --
@@ -42,8 +53,35 @@ public class ConnectionManager {
      */
     @Getter
     private volatile boolean orderUpdatesSubscribed = false;
-    private volatile ScheduledFuture<?> reconnectionTask;
-    
+    private final AtomicReference<ScheduledFuture<?>> reconnectionTask = new AtomicReference<>();
+
+    // Transition metrics
+    private final TransitionRecorder[][] transitions = createRecorders();
+    private final LongAdder rejectedTransitions = new LongAdder();
+    private final LongAdder suppressedConnects = new LongAdder();
+    private final LongAdder coalescedReconnects = new LongAdder();
+
+    /**
+     * Cria o gerenciador de uma conexão com circuit breaker e backoff configurados em
+     * {@code websocket.*}.
+     */
+    public static ConnectionManager create(TaskScheduler taskScheduler,
+                                           ConnectionStatsTracker statsTracker,
+                                           WebSocketProperties properties) {
+        WebSocketProperties.CircuitBreaker breaker = properties.getCircuitBreaker();
+        return new ConnectionManager(taskScheduler, statsTracker,
+                new WebSocketCircuitBreaker(breaker.getFailureThreshold(), breaker.getOpenTimeout()),
+                new ReconnectionStrategy(properties.getMaxRetries(), properties.getRetryInterval(),
+                        properties.getMaxRetryInterval()));
+    }
+
+    /**
+     * Retorna o status atual da conexão.
+     */
+    public ConnectionStatus getStatus() {
+        return state.get().status();
+    }
+
     /**
      * Verifica se pode conectar baseado no circuit breaker.
      */
@@ -54,32 +92,86 @@ public class ConnectionManager {
         }
         return canConnect;
     }
-    
+
     /**
      * Verifica se a conexão está em estado de conectado ou conectando.
      */
     public boolean isConnectingOrConnected() {
+        ConnectionStatus status = getStatus();
         return status == ConnectionStatus.CONNECTING || status == ConnectionStatus.CONNECTED;
     }
-    
+
+    /**
+     * Atualiza o status da conexão, se a transição a partir do status atual for permitida.
+     *
+     * @return false quando a transição foi rejeitada e o status não mudou
+     */
+    public boolean updateStatus(ConnectionStatus newStatus) {
+        return transition(EnumSet.allOf(ConnectionStatus.class), newStatus);
+    }
+
+    /**
+     * Inicia uma tentativa de conexão. Só uma chamada vence a transição para CONNECTING;
+     * as demais (e as feitas com o circuit breaker aberto) retornam false.
+     */
+    public boolean tryBeginConnect() {
+        if (isConnectingOrConnected()) {
+            suppressedConnects.increment();
+            log.debug("Connection attempt suppressed, status is already {}", getStatus());
+            return false;
+        }
+        if (!canConnect()) {
+            return false;
+        }
+        if (!transition(EnumSet.of(ConnectionStatus.DISCONNECTED, ConnectionStatus.RECONNECTING, ConnectionStatus.FAILED),
+                ConnectionStatus.CONNECTING)) {
+            suppressedConnects.increment();
+            log.debug("Connection attempt suppressed, another attempt is already in flight");
+            return false;
+        }
+        // Uma conexão manual substitui a reconexão agendada
+        cancelReconnectionTask();
+        return true;
+    }
+
+    /**
+     * Conexão aberta: conclui a tentativa em andamento, zera o backoff e fecha o circuit breaker.
+     *
+     * @return false para um callback que não corresponde à tentativa atual
+     */
+    public boolean markConnected() {
+        if (!transition(EnumSet.of(ConnectionStatus.CONNECTING), ConnectionStatus.CONNECTED)) {
+            return false;
+        }
+        reconnectionStrategy.reset();
+        circuitBreaker.recordSuccess();
+        return true;
+    }
+
     /**
-     * Atualiza o status da conexão.
+     * Conexão perdida (fechada ou com falha). Só vale para uma conexão aberta ou em
+     * andamento; eventos atrasados de um socket já descartado são ignorados.
+     *
+     * @param failure se a perda deve contar como falha no circuit breaker
+     * @return true se o status mudou, ou seja, se cabe agendar reconexão
      */
-    public void updateStatus(ConnectionStatus newStatus) {
-        ConnectionStatus oldStatus = this.status;
-        this.status = newStatus;
-        if (oldStatus != newStatus) {
-            log.debug("Connection status changed from {} to {}", oldStatus, newStatus);
+    public boolean markConnectionLost(ConnectionStatus newStatus, boolean failure) {
+        if (!transition(EnumSet.of(ConnectionStatus.CONNECTING, ConnectionStatus.CONNECTED), newStatus)) {
+            return false;
+        }
+        if (failure) {
+            circuitBreaker.recordFailure();
         }
+        return true;
     }
 
     /**
      * Verifica se está conectado.
      */
     public boolean isConnected() {
-        return status == ConnectionStatus.CONNECTED;
+        return getStatus() == ConnectionStatus.CONNECTED;
     }
-    
+
     /**
      * Adiciona trading pair às subscrições.
      */
@@ -87,7 +179,15 @@ public class ConnectionManager {
         subscribedPairs.add(tradingPair);
         log.debug("Added subscription for trading pair: {}", tradingPair);
     }
-    
+
+    /**
+     * Remove trading pair das subscrições.
+     */
+    public void removeSubscription(String tradingPair) {
+        subscribedPairs.remove(tradingPair);
+        log.debug("Removed subscription for trading pair: {}", tradingPair);
+    }
+
     /**
      * Marca order updates como subscrito.
      */
@@ -95,7 +195,7 @@ public class ConnectionManager {
         this.orderUpdatesSubscribed = true;
         log.debug("Subscribed to order updates");
     }
-    
+
     /**
      * Retorna cópia das trading pairs subscritas.
      */
@@ -111,7 +211,7 @@ public class ConnectionManager {
         orderUpdatesSubscribed = false;
         log.debug("All subscriptions reset");
     }
-    
+
     /**
      * Agenda reconexão automática.
      */
@@ -123,13 +223,13 @@ public class ConnectionManager {
      * Cancela task de reconexão pendente.
      */
     public void cancelReconnectionTask() {
-        if (reconnectionTask != null && !reconnectionTask.isCancelled()) {
-            reconnectionTask.cancel(false);
-            reconnectionTask = null;
+        ScheduledFuture<?> task = reconnectionTask.getAndSet(null);
+        if (task != null && !task.isCancelled()) {
+            task.cancel(false);
             log.debug("Reconnection task cancelled");
         }
     }
-    
+
     /**
      * Força uma reconexão imediata.
      */
@@ -137,33 +237,168 @@ public class ConnectionManager {
                               Runnable disconnectAction,
                               Runnable connectAction,
                               String exchangeName) {
-        
+
         log.info("Force reconnection requested for {}", exchangeName);
         disconnectAction.run();
         scheduleReconnection(delay, connectAction, exchangeName);
     }
 
-    private void scheduleReconnection(Duration delay, Runnable connectAction, String exchangeName) {
-
-        if (reconnectionStrategy.shouldReconnect()) {
-            updateStatus(ConnectionStatus.RECONNECTING);
-
-            reconnectionTask = taskScheduler.schedule(() -> {
-                try {
-                    reconnectionStrategy.recordAttempt();
-                    statsTracker.recordReconnection();
-                    connectAction.run();
-                } catch (Exception e) {
-                    log.error("Error during reconnection for {}: {}", exchangeName, e.getMessage(), e);
-                    updateStatus(ConnectionStatus.FAILED);
+    /**
+     * Tempo em cada transição, rejeições e tentativas de conexão descartadas.
+     */
+    public ConnectionStateStats getStateStats() {
+        State current = state.get();
+        Map<String, TransitionStats> byTransition = new LinkedHashMap<>();
+        for (ConnectionStatus from : ConnectionStatus.values()) {
+            for (ConnectionStatus to : ConnectionStatus.values()) {
+                TransitionRecorder recorder = transitions[from.ordinal()][to.ordinal()];
+                if (recorder != null && recorder.count.sum() > 0) {
+                    byTransition.put(from + "->" + to, recorder.snapshot());
                 }
-            }, java.time.Instant.now().plus(delay));
+            }
+        }
+        return new ConnectionStateStats(
+                current.status(),
+                Duration.ofNanos(System.nanoTime() - current.enteredNanos()).toMillis(),
+                rejectedTransitions.sum(),
+                suppressedConnects.sum(),
+                coalescedReconnects.sum(),
+                byTransition);
+    }
+
+    private void scheduleReconnection(Duration delay, Runnable connectAction, String exchangeName) {
 
-            log.info("Reconnection scheduled in {} for {}", delay, exchangeName);
-        } else {
+        if (!reconnectionStrategy.shouldReconnect()) {
             updateStatus(ConnectionStatus.FAILED);
             log.error("Max reconnection attempts reached for {}, marking as FAILED", exchangeName);
+            return;
+        }
+
+        // RECONNECTING não é origem válida: a reconexão já agendada (fechamento e falha do
+        // mesmo socket chegam juntos) absorve esta
+        if (!transition(EnumSet.complementOf(EnumSet.of(ConnectionStatus.RECONNECTING)), ConnectionStatus.RECONNECTING)) {
+            coalescedReconnects.increment();
+            log.debug("Reconnection for {} already scheduled", exchangeName);
+            return;
+        }
+
+        // Com o circuit breaker aberto, a tentativa espera o fim do timeout e serve de teste do HALF_OPEN
+        Duration breakerWait = circuitBreaker.getRemainingOpenTime();
+        Duration effectiveDelay = breakerWait != null && breakerWait.compareTo(delay) > 0 ? breakerWait : delay;
+
+        ScheduledFuture<?> task = taskScheduler.schedule(() -> {
+            if (!transition(EnumSet.of(ConnectionStatus.RECONNECTING), ConnectionStatus.CONNECTING)) {
+                log.debug("Scheduled reconnection for {} skipped, status is {}", exchangeName, getStatus());
+                return;
+            }
+            try {
+                reconnectionStrategy.recordAttempt();
+                statsTracker.recordReconnection();
+                connectAction.run();
+            } catch (Exception e) {
+                // Falha da própria tentativa: conta como qualquer outra e segue o backoff
+                statsTracker.recordError();
+                log.error("Error during reconnection for {}: {}", exchangeName, e.getMessage(), e);
+                if (markConnectionLost(ConnectionStatus.FAILED, true)) {
+                    scheduleReconnectionBasedOnStrategy(connectAction, exchangeName);
+                }
+            }
+        }, Instant.now().plus(effectiveDelay));
+        ScheduledFuture<?> previous = reconnectionTask.getAndSet(task);
+        if (previous != null && previous != task && !previous.isDone()) {
+            previous.cancel(false);
+        }
+
+        log.info("Reconnection scheduled in {} for {}", effectiveDelay, exchangeName);
+    }
+
+    /**
+     * Aplica a transição por CAS se o status atual estiver em {@code from} e a transição
+     * for permitida; em disputa, relê o estado e reavalia.
+     */
+    private boolean transition(Set<ConnectionStatus> from, ConnectionStatus to) {
+        while (true) {
+            State current = state.get();
+            if (!from.contains(current.status()) || !isAllowed(current.status(), to)) {
+                if (current.status() != to) {
+                    rejectedTransitions.increment();
+                    log.debug("Connection status transition from {} to {} rejected", current.status(), to);
+                }
+                return false;
+            }
+            long now = System.nanoTime();
+            if (state.compareAndSet(current, new State(to, now))) {
+                transitions[current.status().ordinal()][to.ordinal()].record(now - current.enteredNanos());
+                log.debug("Connection status changed from {} to {}", current.status(), to);
+                return true;
+            }
         }
     }
 
-}
\ No newline at end of file
+    /**
+     * Transições válidas. CONNECTED só é alcançado a partir de CONNECTING, então toda
+     * conexão passa pela disputa por CONNECTING; DISCONNECTED é alcançável de qualquer estado.
+     */
+    static boolean isAllowed(ConnectionStatus from, ConnectionStatus to) {
+        if (from == to) {
+            return false;
+        }
+        return switch (to) {
+            case CONNECTING -> from == ConnectionStatus.DISCONNECTED
+                    || from == ConnectionStatus.RECONNECTING
+                    || from == ConnectionStatus.FAILED;
+            case CONNECTED -> from == ConnectionStatus.CONNECTING;
+            case DISCONNECTED, FAILED, RECONNECTING -> true;
+        };
+    }
+
+    private static TransitionRecorder[][] createRecorders() {
+        TransitionRecorder[][] recorders = new TransitionRecorder[STATUS_COUNT][STATUS_COUNT];
+        for (ConnectionStatus from : ConnectionStatus.values()) {
+            for (ConnectionStatus to : ConnectionStatus.values()) {
+                if (isAllowed(from, to)) {
+                    recorders[from.ordinal()][to.ordinal()] = new TransitionRecorder();
+                }
+            }
+        }
+        return recorders;
+    }
+
+    private record State(ConnectionStatus status, long enteredNanos) {
+    }
+
+    private static final class TransitionRecorder {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        void record(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+        }
+
+        TransitionStats snapshot() {
+            long samples = count.sum();
+            return new TransitionStats(
+                    samples,
+                    samples == 0 ? 0 : totalNanos.sum() / samples / 1_000_000.0,
+                    maxNanos.get() / 1_000_000.0);
+        }
+    }
+
+    /**
+     * @param avgMillis tempo médio no estado de origem antes da transição
+     */
+    public record TransitionStats(long count, double avgMillis, double maxMillis) {
+    }
+
+    public record ConnectionStateStats(
+        ConnectionStatus status,
+        long millisInStatus,
+        long rejectedTransitions,
+        long suppressedConnects,
+        long coalescedReconnects,
+        Map<String, TransitionStats> transitions
+    ) {}
+}
@@ -2,7 +2,6 @@ package com.marmitt.ctrade.infrastructure.websocket;
 
 import com.marmitt.ctrade.domain.port.ExchangeWebSocketAdapter.ConnectionStats;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.concurrent.atomic.AtomicLong;
@@ -13,7 +12,6 @@ import java.util.concurrent.atomic.AtomicLong;
  * Mantém contadores e timestamps relacionados à performance e histórico
  * de conexões WebSocket de forma thread-safe.
  */
-@Service
 @Slf4j
 public class ConnectionStatsTracker {
     
@@ -0,0 +1,124 @@
+package com.marmitt.ctrade.infrastructure.websocket;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Deduplicação de feeds redundantes: várias conexões entregam os mesmos eventos e só a
+ * primeira chegada de cada um segue adiante.
+ *
+ * Cada chave (o símbolo) guarda a maior sequência aceita e o instante em que ela chegou.
+ * Um evento com sequência maior vence; com a mesma sequência é duplicata e o atraso em
+ * relação à vencedora é medido para a fonte; com sequência menor chegou depois de um
+ * evento mais novo e é descartado. Eventos sem sequência (0) sempre passam.
+ */
+public class FirstArrivalDeduplicator {
+
+    private final ConcurrentHashMap<String, AtomicReference<Mark>> lastAccepted = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, SourceRecorder> sources = new ConcurrentHashMap<>();
+
+    /**
+     * @return true se o evento é a primeira chegada e deve ser publicado
+     */
+    public boolean accept(String source, String key, long sequence) {
+        SourceRecorder recorder = sources.computeIfAbsent(source, ignored -> new SourceRecorder());
+        recorder.received.increment();
+        if (sequence <= 0 || key == null) {
+            recorder.wins.increment();
+            return true;
+        }
+
+        AtomicReference<Mark> ref = lastAccepted.computeIfAbsent(key, ignored -> new AtomicReference<>(Mark.NONE));
+        while (true) {
+            Mark current = ref.get();
+            long now = System.nanoTime();
+            if (sequence > current.sequence()) {
+                if (ref.compareAndSet(current, new Mark(sequence, now))) {
+                    recorder.wins.increment();
+                    return true;
+                }
+                continue;
+            }
+            if (sequence == current.sequence()) {
+                recorder.recordLag(now - current.arrivedNanos());
+            } else {
+                recorder.stale.increment();
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Esquece a última sequência aceita da chave (par removido do feed).
+     */
+    public void forget(String key) {
+        lastAccepted.remove(key);
+    }
+
+    public void removeSource(String source) {
+        sources.remove(source);
+    }
+
+    public SourceStats getSourceStats(String source) {
+        SourceRecorder recorder = sources.get(source);
+        return recorder == null ? SourceStats.EMPTY : recorder.snapshot();
+    }
+
+    public Map<String, SourceStats> getStats() {
+        Map<String, SourceStats> stats = new LinkedHashMap<>();
+        sources.forEach((source, recorder) -> stats.put(source, recorder.snapshot()));
+        return stats;
+    }
+
+    private record Mark(long sequence, long arrivedNanos) {
+        static final Mark NONE = new Mark(0, 0);
+    }
+
+    private static final class SourceRecorder {
+        private final LongAdder received = new LongAdder();
+        private final LongAdder wins = new LongAdder();
+        private final LongAdder duplicates = new LongAdder();
+        private final LongAdder stale = new LongAdder();
+        private final LongAdder totalLagNanos = new LongAdder();
+        private final LongAccumulator maxLagNanos = new LongAccumulator(Math::max, 0);
+
+        void recordLag(long nanos) {
+            duplicates.increment();
+            totalLagNanos.add(nanos);
+            maxLagNanos.accumulate(nanos);
+        }
+
+        SourceStats snapshot() {
+            long receivedCount = received.sum();
+            long winCount = wins.sum();
+            long duplicateCount = duplicates.sum();
+            return new SourceStats(
+                    receivedCount,
+                    winCount,
+                    duplicateCount,
+                    stale.sum(),
+                    receivedCount == 0 ? 0.0 : (double) winCount / receivedCount,
+                    duplicateCount == 0 ? 0.0 : totalLagNanos.sum() / duplicateCount / 1_000_000.0,
+                    maxLagNanos.get() / 1_000_000.0);
+        }
+    }
+
+    /**
+     * @param avgLagMillis atraso médio das duplicatas desta fonte em relação à conexão vencedora
+     */
+    public record SourceStats(
+        long received,
+        long wins,
+        long duplicates,
+        long stale,
+        double winRate,
+        double avgLagMillis,
+        double maxLagMillis
+    ) {
+        static final SourceStats EMPTY = new SourceStats(0, 0, 0, 0, 0.0, 0.0, 0.0);
+    }
+}
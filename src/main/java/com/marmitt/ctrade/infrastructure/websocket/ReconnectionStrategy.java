@@ -1,65 +1,107 @@
 package com.marmitt.ctrade.infrastructure.websocket;
 
-import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.stereotype.Component;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
-@Getter
-@Component
+/**
+ * Backoff das reconexões com jitter descorrelacionado: cada espera é sorteada entre o
+ * atraso base e o triplo da espera anterior, limitada ao atraso máximo. Conexões que caem
+ * juntas se espalham no tempo em vez de reconectar em sincronia e esbarrar no limite de
+ * conexões da exchange.
+ *
+ * Cada conexão tem a sua instância. Chamado pela task agendada e pelos callbacks do
+ * socket em threads diferentes, por isso o estado é atômico.
+ */
 @Slf4j
 public class ReconnectionStrategy {
     
-    private static final int MAX_ATTEMPTS = 10;
-    private static final Duration MIN_DELAY = Duration.ofSeconds(1);
-    private static final Duration MAX_DELAY = Duration.ofMinutes(5);
+    static final int DEFAULT_MAX_ATTEMPTS = 10;
+    static final Duration DEFAULT_BASE_DELAY = Duration.ofSeconds(1);
+    static final Duration DEFAULT_MAX_DELAY = Duration.ofMinutes(5);
     
-    private int currentAttempt = 0;
-    private LocalDateTime lastAttempt;
+    private final int maxAttempts;
+    private final long baseDelayMillis;
+    private final long maxDelayMillis;
+    
+    private final AtomicInteger currentAttempt = new AtomicInteger();
+    private final AtomicLong previousDelayMillis;
+    private volatile LocalDateTime lastAttempt;
+    
+    public ReconnectionStrategy() {
+        this(DEFAULT_MAX_ATTEMPTS, DEFAULT_BASE_DELAY, DEFAULT_MAX_DELAY);
+    }
+    
+    /**
+     * @param baseDelay menor espera entre tentativas
+     * @param maxDelay maior espera entre tentativas; não fica abaixo de {@code baseDelay}
+     */
+    public ReconnectionStrategy(int maxAttempts, Duration baseDelay, Duration maxDelay) {
+        this.maxAttempts = maxAttempts;
+        this.baseDelayMillis = Math.max(baseDelay.toMillis(), 1);
+        this.maxDelayMillis = Math.max(maxDelay.toMillis(), baseDelayMillis);
+        this.previousDelayMillis = new AtomicLong(baseDelayMillis);
+    }
     
     public boolean shouldReconnect() {
-        return currentAttempt < MAX_ATTEMPTS;
+        return currentAttempt.get() < maxAttempts;
     }
     
     public Duration getNextDelay() {
-        if (currentAttempt == 0) {
-            return MIN_DELAY;
-        }
+        long delayMillis = previousDelayMillis.updateAndGet(previous -> {
+            long upper = Math.min(maxDelayMillis, previous * 3);
+            return upper <= baseDelayMillis
+                    ? baseDelayMillis
+                    : ThreadLocalRandom.current().nextLong(baseDelayMillis, upper + 1);
+        });
         
-        // Exponential backoff: 1s, 2s, 4s, 8s, 16s, 32s, 64s, 128s, 256s, 300s (max)
-        long delaySeconds = Math.min(
-            (long) Math.pow(2, currentAttempt),
-            MAX_DELAY.getSeconds()
-        );
-        
-        Duration delay = Duration.ofSeconds(delaySeconds);
-        log.info("Reconnection attempt {} scheduled in {}", currentAttempt + 1, delay);
+        Duration delay = Duration.ofMillis(delayMillis);
+        log.info("Reconnection attempt {} scheduled in {}", currentAttempt.get() + 1, delay);
         
         return delay;
     }
     
     public void recordAttempt() {
-        currentAttempt++;
+        int attempt = currentAttempt.incrementAndGet();
         lastAttempt = LocalDateTime.now();
-        log.warn("Reconnection attempt {} of {} at {}", currentAttempt, MAX_ATTEMPTS, lastAttempt);
+        log.warn("Reconnection attempt {} of {} at {}", attempt, maxAttempts, lastAttempt);
     }
     
     public void reset() {
-        if (currentAttempt > 0) {
-            log.info("Reconnection successful after {} attempts", currentAttempt);
+        int attempts = currentAttempt.getAndSet(0);
+        if (attempts > 0) {
+            log.info("Reconnection successful after {} attempts", attempts);
         }
-        currentAttempt = 0;
+        previousDelayMillis.set(baseDelayMillis);
         lastAttempt = null;
     }
     
     public boolean isMaxAttemptsReached() {
-        return currentAttempt >= MAX_ATTEMPTS;
+        return currentAttempt.get() >= maxAttempts;
+    }
+
+    public int getCurrentAttempt() {
+        return currentAttempt.get();
+    }
+
+    public LocalDateTime getLastAttempt() {
+        return lastAttempt;
     }
 
     public int getMaxAttempts() {
-        return MAX_ATTEMPTS;
+        return maxAttempts;
+    }
+
+    public Duration getBaseDelay() {
+        return Duration.ofMillis(baseDelayMillis);
+    }
+
+    public Duration getMaxDelay() {
+        return Duration.ofMillis(maxDelayMillis);
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,129 @@
+package com.marmitt.ctrade.infrastructure.websocket;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Último evento de cada símbolo de uma conexão, comparado com a cadência esperada dele.
+ *
+ * Cada símbolo guarda só dois timestamps primitivos (último evento e intervalo médio entre
+ * eventos, em nanos), atualizados sem alocação no caminho de cada tick. Um símbolo é
+ * considerado parado quando está sem eventos há mais que o maior entre o piso configurado e
+ * N vezes o intervalo médio observado, então pares pouco negociados não geram alarme falso.
+ *
+ * Os eventos de uma conexão chegam pela thread de leitura do socket (e, durante uma rotação,
+ * também pela do reserva); gravações concorrentes do mesmo símbolo só disputam qual dos dois
+ * instantes, praticamente iguais, fica registrado.
+ */
+public class StreamStalenessTracker {
+
+    private final ConcurrentHashMap<String, SymbolClock> clocks = new ConcurrentHashMap<>();
+    private final long minStaleAfterNanos;
+    private final int cadenceMultiplier;
+
+    public StreamStalenessTracker(Duration minStaleAfter, int cadenceMultiplier) {
+        this.minStaleAfterNanos = minStaleAfter.toNanos();
+        this.cadenceMultiplier = Math.max(cadenceMultiplier, 1);
+    }
+
+    /**
+     * Registra um evento do símbolo.
+     */
+    public void record(String symbol, long nowNanos) {
+        if (symbol == null) {
+            return;
+        }
+        SymbolClock clock = clocks.get(symbol);
+        if (clock == null) {
+            clock = clocks.computeIfAbsent(symbol, ignored -> new SymbolClock(nowNanos));
+        }
+        clock.tick(nowNanos);
+    }
+
+    /**
+     * Alinha os símbolos acompanhados com os esperados: os novos começam a contar a partir de
+     * agora e os que saíram são esquecidos.
+     */
+    public void expect(Collection<String> symbols, long nowNanos) {
+        clocks.keySet().retainAll(symbols);
+        symbols.forEach(symbol -> clocks.computeIfAbsent(symbol, ignored -> new SymbolClock(nowNanos)));
+    }
+
+    /**
+     * Recomeça a contagem do símbolo, dando a ele um prazo inteiro antes de ser considerado
+     * parado de novo (após uma recuperação).
+     */
+    public void restart(String symbol, long nowNanos) {
+        SymbolClock clock = clocks.get(symbol);
+        if (clock != null) {
+            clock.lastEventNanos = nowNanos;
+        }
+    }
+
+    /**
+     * Esquece todos os símbolos (socket novo).
+     */
+    public void clear() {
+        clocks.clear();
+    }
+
+    public List<String> staleSymbols(long nowNanos) {
+        List<String> stale = new ArrayList<>();
+        clocks.forEach((symbol, clock) -> {
+            if (isStale(clock, nowNanos)) {
+                stale.add(symbol);
+            }
+        });
+        return stale;
+    }
+
+    public int size() {
+        return clocks.size();
+    }
+
+    public Map<String, SymbolStaleness> snapshot(long nowNanos) {
+        Map<String, SymbolStaleness> snapshot = new LinkedHashMap<>();
+        clocks.forEach((symbol, clock) -> snapshot.put(symbol, new SymbolStaleness(
+                symbol,
+                Duration.ofNanos(nowNanos - clock.lastEventNanos).toMillis(),
+                Duration.ofNanos(clock.avgIntervalNanos).toMillis(),
+                isStale(clock, nowNanos))));
+        return snapshot;
+    }
+
+    private boolean isStale(SymbolClock clock, long nowNanos) {
+        long limit = Math.max(minStaleAfterNanos, clock.avgIntervalNanos * cadenceMultiplier);
+        return nowNanos - clock.lastEventNanos > limit;
+    }
+
+    private static final class SymbolClock {
+        private volatile long lastEventNanos;
+        private volatile long avgIntervalNanos; // 0 até o segundo evento
+        private volatile boolean received;
+
+        private SymbolClock(long startNanos) {
+            this.lastEventNanos = startNanos;
+        }
+
+        private void tick(long nowNanos) {
+            if (received) {
+                long interval = Math.max(nowNanos - lastEventNanos, 0);
+                long average = avgIntervalNanos;
+                avgIntervalNanos = average == 0 ? interval : (average * 7 + interval) / 8;
+            }
+            received = true;
+            lastEventNanos = nowNanos;
+        }
+    }
+
+    /**
+     * @param ageMillis tempo desde o último evento (ou desde o início do acompanhamento)
+     * @param expectedIntervalMillis intervalo médio observado entre eventos; 0 sem amostras
+     */
+    public record SymbolStaleness(String symbol, long ageMillis, long expectedIntervalMillis, boolean stale) {}
+}
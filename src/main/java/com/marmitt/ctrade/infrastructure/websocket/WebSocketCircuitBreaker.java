@@ -2,22 +2,29 @@ package com.marmitt.ctrade.infrastructure.websocket;
 
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
 
+/**
+ * Circuit breaker de uma conexão: abre após {@code failureThreshold} falhas seguidas e,
+ * passado {@code openTimeout}, deixa uma tentativa de teste (HALF_OPEN) decidir se fecha.
+ * Cada conexão tem a sua instância, então falhas de uma exchange não bloqueiam outra.
+ */
 @Getter
-@Component
 @Slf4j
 public class WebSocketCircuitBreaker {
     
-    private static final int FAILURE_THRESHOLD = 5;
-    private static final long TIMEOUT_MINUTES = 2;
+    static final int DEFAULT_FAILURE_THRESHOLD = 5;
+    static final Duration DEFAULT_OPEN_TIMEOUT = Duration.ofMinutes(2);
     
-    private State state = State.CLOSED;
-    private int failureCount = 0;
-    private LocalDateTime lastFailureTime;
+    private final int failureThreshold;
+    private final Duration openTimeout;
+    
+    // Escritas sincronizadas; volatile para leituras sem lock (isOpen, getters)
+    private volatile State state = State.CLOSED;
+    private volatile int failureCount = 0;
+    private volatile LocalDateTime lastFailureTime;
     
     public enum State {
         CLOSED,    // Normal operation
@@ -25,6 +32,15 @@ public class WebSocketCircuitBreaker {
         HALF_OPEN  // Testing if service is back
     }
     
+    public WebSocketCircuitBreaker() {
+        this(DEFAULT_FAILURE_THRESHOLD, DEFAULT_OPEN_TIMEOUT);
+    }
+    
+    public WebSocketCircuitBreaker(int failureThreshold, Duration openTimeout) {
+        this.failureThreshold = Math.max(failureThreshold, 1);
+        this.openTimeout = openTimeout;
+    }
+    
     public synchronized boolean canConnect() {
         return switch (state) {
             case CLOSED, HALF_OPEN -> true;
@@ -56,25 +72,36 @@ public class WebSocketCircuitBreaker {
         if (state == State.HALF_OPEN) {
             state = State.OPEN;
             log.warn("Circuit breaker moving back to OPEN state after failure in HALF_OPEN");
-        } else if (failureCount >= FAILURE_THRESHOLD && state == State.CLOSED) {
+        } else if (failureCount >= failureThreshold && state == State.CLOSED) {
             state = State.OPEN;
             log.error("Circuit breaker OPENED after {} failures", failureCount);
         }
         
         log.warn("Circuit breaker recorded failure {}/{} at {}", 
-                failureCount, FAILURE_THRESHOLD, lastFailureTime);
+                failureCount, failureThreshold, lastFailureTime);
     }
     
     private boolean shouldAttemptReset() {
         return lastFailureTime != null && 
-               ChronoUnit.MINUTES.between(lastFailureTime, LocalDateTime.now()) >= TIMEOUT_MINUTES;
+               !LocalDateTime.now().isBefore(lastFailureTime.plus(openTimeout));
     }
 
     public boolean isOpen() {
         return state == State.OPEN;
     }
+
+    /**
+     * Tempo até o circuito aberto aceitar a próxima tentativa (HALF_OPEN); zero se não estiver aberto.
+     */
+    public synchronized Duration getRemainingOpenTime() {
+        if (state != State.OPEN || lastFailureTime == null) {
+            return Duration.ZERO;
+        }
+        Duration remaining = Duration.between(LocalDateTime.now(), lastFailureTime.plus(openTimeout));
+        return remaining.isNegative() ? Duration.ZERO : remaining;
+    }
     
-    public void reset() {
+    public synchronized void reset() {
         state = State.CLOSED;
         failureCount = 0;
         lastFailureTime = null;
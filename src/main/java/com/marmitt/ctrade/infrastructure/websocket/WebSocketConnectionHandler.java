@@ -3,7 +3,6 @@ package com.marmitt.ctrade.infrastructure.websocket;
 import com.marmitt.ctrade.domain.port.ExchangeWebSocketAdapter.ConnectionStatus;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 
@@ -15,26 +14,29 @@ import java.time.LocalDateTime;
  * - Controle de reconexão e circuit breaker
  * - Atualização de estatísticas
  * - Decisões sobre reconexão automática
+ *
+ * As transições passam pelas operações atômicas do {@link ConnectionManager}; eventos de
+ * um socket que não é mais o atual (por exemplo, onFailure seguido de onClosed) não
+ * alteram o estado nem agendam uma segunda reconexão.
  */
-@Service
 @RequiredArgsConstructor
 @Slf4j
 public class WebSocketConnectionHandler {
     
     private final ConnectionManager connectionManager;
     private final ConnectionStatsTracker statsTracker;
-    private final WebSocketCircuitBreaker circuitBreaker;
-    private final ReconnectionStrategy reconnectionStrategy;
     
     /**
      * Manipula evento de conexão bem-sucedida.
      */
     public void handleConnectionOpened(String exchangeName) {
         
-        connectionManager.updateStatus(ConnectionStatus.CONNECTED);
+        if (!connectionManager.markConnected()) {
+            log.warn("Ignoring open event from {} WebSocket, connection status is {}",
+                    exchangeName, connectionManager.getStatus());
+            return;
+        }
         statsTracker.updateLastConnectedAt(LocalDateTime.now());
-        reconnectionStrategy.reset();
-        circuitBreaker.recordSuccess();
         
         log.info("Connected to {} WebSocket successfully", exchangeName);
     }
@@ -70,13 +72,13 @@ public class WebSocketConnectionHandler {
                                         String reason,
                                         Runnable scheduleReconnectionCallback) {
         
-        connectionManager.updateStatus(ConnectionStatus.DISCONNECTED);
+        boolean abnormal = code != 1000; // 1000 = normal closure
+        boolean lost = connectionManager.markConnectionLost(ConnectionStatus.DISCONNECTED, abnormal);
         log.warn("{} WebSocket connection closed: {} - {}", exchangeName, code, reason);
         
         // Schedule reconnection if not manually disconnected
-        boolean shouldReconnect = code != 1000; // 1000 = normal closure
+        boolean shouldReconnect = abnormal && lost;
         if (shouldReconnect) {
-            circuitBreaker.recordFailure();
             scheduleReconnectionCallback.run();
         }
         
@@ -90,12 +92,11 @@ public class WebSocketConnectionHandler {
                                       Throwable error,
                                       Runnable scheduleReconnectionCallback) {
         
-        connectionManager.updateStatus(ConnectionStatus.FAILED);
         statsTracker.recordError();
-        circuitBreaker.recordFailure();
-        
         log.error("{} WebSocket connection failed: {}", exchangeName, error.getMessage(), error);
         
-        scheduleReconnectionCallback.run();
+        if (connectionManager.markConnectionLost(ConnectionStatus.FAILED, true)) {
+            scheduleReconnectionCallback.run();
+        }
     }
 }
\ No newline at end of file
@@ -3,12 +3,16 @@ package com.marmitt.ctrade.infrastructure.websocket;
 import com.marmitt.ctrade.domain.dto.OrderUpdateMessage;
 import com.marmitt.ctrade.domain.dto.PriceUpdateMessage;
 import com.marmitt.ctrade.domain.event.OrderUpdateEvent;
+import com.marmitt.ctrade.domain.event.PriceFeedRecoveredEvent;
 import com.marmitt.ctrade.domain.event.PriceUpdateEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+import java.util.List;
+
 /**
  * Serviço responsável pela publicação de eventos WebSocket.
  * 
@@ -53,4 +57,15 @@ public class WebSocketEventPublisher {
         OrderUpdateEvent event = OrderUpdateEvent.of(eventSource, orderUpdate, exchangeName);
         eventPublisher.publishEvent(event);
     }
-}
\ No newline at end of file
+    
+    /**
+     * Publica o fim de um intervalo sem feed para os pares informados.
+     */
+    public void publishFeedRecovered(Object source, List<String> tradingPairs, Instant disconnectedAt, String exchangeName) {
+        log.info("Publishing feed recovered event for {} pairs on {} (down since {})",
+                tradingPairs.size(), exchangeName, disconnectedAt);
+        
+        Object eventSource = source != null ? source : "UNKNOWN_SOURCE";
+        eventPublisher.publishEvent(new PriceFeedRecoveredEvent(eventSource, tradingPairs, disconnectedAt, exchangeName));
+    }
+}
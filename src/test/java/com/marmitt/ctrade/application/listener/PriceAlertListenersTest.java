@@ -1,5 +1,6 @@
 package com.marmitt.ctrade.application.listener;
 
+import com.marmitt.ctrade.application.service.AlertNotificationDispatcher;
 import com.marmitt.ctrade.application.service.PriceAlertService;
 import com.marmitt.ctrade.application.service.PriceMetricsService;
 import com.marmitt.ctrade.domain.dto.PriceUpdateMessage;
@@ -28,6 +29,9 @@ class PriceAlertListenersTest {
     @Mock
     private PriceMetricsService priceMetricsService;
     
+    @Mock
+    private AlertNotificationDispatcher notificationDispatcher;
+    
     @InjectMocks
     private PriceAlertListener alertPriceListener;
     
@@ -70,14 +74,16 @@ class PriceAlertListenersTest {
         message.setPrice(price);
         message.setTimestamp(LocalDateTime.now());
         
-        when(priceAlertService.checkAndTriggerAlerts(tradingPair, price))
-                .thenReturn(List.of(new PriceAlert(tradingPair, new BigDecimal("3000"), PriceAlert.AlertType.ABOVE)));
+        PriceAlert triggeredAlert = new PriceAlert(tradingPair, new BigDecimal("3000"), PriceAlert.AlertType.ABOVE);
+        when(priceAlertService.checkAndTriggerAlerts(tradingPair, price, message.getTimestamp()))
+                .thenReturn(List.of(triggeredAlert));
         
         // When
         alertPriceListener.onPriceUpdate(message);
         
         // Then
-        verify(priceAlertService).checkAndTriggerAlerts(tradingPair, price);
+        verify(priceAlertService).checkAndTriggerAlerts(tradingPair, price, message.getTimestamp());
+        verify(notificationDispatcher).enqueue(triggeredAlert);
     }
     
     @Test
@@ -109,13 +115,14 @@ class PriceAlertListenersTest {
         message.setPrice(price);
         message.setTimestamp(LocalDateTime.now());
         
-        when(priceAlertService.checkAndTriggerAlerts(tradingPair, price))
+        when(priceAlertService.checkAndTriggerAlerts(tradingPair, price, message.getTimestamp()))
                 .thenReturn(List.of());
         
         // When
         alertPriceListener.onPriceUpdate(message);
         
         // Then - should handle gracefully without exceptions
-        verify(priceAlertService).checkAndTriggerAlerts(tradingPair, price);
+        verify(priceAlertService).checkAndTriggerAlerts(tradingPair, price, message.getTimestamp());
+        verifyNoInteractions(notificationDispatcher);
     }
 }
\ No newline at end of file
@@ -0,0 +1,55 @@
+package com.marmitt.ctrade.application.listener;
+
+import com.marmitt.ctrade.application.service.ExchangeQueryCache;
+import com.marmitt.ctrade.domain.dto.OrderUpdateMessage;
+import com.marmitt.ctrade.domain.dto.PriceUpdateMessage;
+import com.marmitt.ctrade.domain.entity.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class QueryCacheInvalidationListenerTest {
+    
+    @Mock
+    private ExchangeQueryCache exchangeQueryCache;
+    
+    @InjectMocks
+    private QueryCacheInvalidationListener listener;
+    
+    @Test
+    void shouldInvalidateOrderStatusOnOrderUpdate() {
+        OrderUpdateMessage orderUpdate = new OrderUpdateMessage();
+        orderUpdate.setOrderId("ORDER-123");
+        orderUpdate.setStatus(Order.OrderStatus.FILLED);
+        
+        listener.onOrderUpdate(orderUpdate);
+        
+        verify(exchangeQueryCache).invalidateOrderStatus("ORDER-123");
+    }
+    
+    @Test
+    void shouldInvalidatePriceOnPriceUpdate() {
+        PriceUpdateMessage priceUpdate = new PriceUpdateMessage();
+        priceUpdate.setTradingPair("BTCUSDT");
+        priceUpdate.setPrice(new BigDecimal("50000"));
+        
+        listener.onPriceUpdate(priceUpdate);
+        
+        verify(exchangeQueryCache).invalidatePrice("BTCUSDT");
+    }
+    
+    @Test
+    void shouldIgnoreNullMessages() {
+        listener.onOrderUpdate(null);
+        listener.onPriceUpdate(null);
+        
+        verifyNoInteractions(exchangeQueryCache);
+    }
+}
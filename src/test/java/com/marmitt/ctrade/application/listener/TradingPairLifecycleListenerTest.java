@@ -0,0 +1,79 @@
+package com.marmitt.ctrade.application.listener;
+
+import com.marmitt.ctrade.application.service.ExchangeQueryCache;
+import com.marmitt.ctrade.application.service.PriceAlertService;
+import com.marmitt.ctrade.application.service.PriceCacheService;
+import com.marmitt.ctrade.application.service.PriceMetricsService;
+import com.marmitt.ctrade.domain.event.TradingPairsChangedEvent;
+import com.marmitt.ctrade.domain.port.WebSocketPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para TradingPairLifecycleListener.
+ */
+@ExtendWith(MockitoExtension.class)
+class TradingPairLifecycleListenerTest {
+    
+    @Mock
+    private WebSocketPort webSocketPort;
+    @Mock
+    private PriceCacheService priceCacheService;
+    @Mock
+    private PriceMetricsService priceMetricsService;
+    @Mock
+    private PriceAlertService priceAlertService;
+    @Mock
+    private PriceLoggingListener priceLoggingListener;
+    @Mock
+    private ExchangeQueryCache exchangeQueryCache;
+    
+    private TradingPairLifecycleListener listener;
+    
+    @BeforeEach
+    void setUp() {
+        listener = new TradingPairLifecycleListener(List.of(webSocketPort), priceCacheService,
+                priceMetricsService, priceAlertService, priceLoggingListener, exchangeQueryCache);
+    }
+    
+    @Test
+    void shouldSubscribeAddedAndReleaseRemovedPairs() {
+        // Given
+        TradingPairsChangedEvent event = new TradingPairsChangedEvent(this, List.of("SOLUSDT"), List.of("BTCUSDT"), "api");
+        
+        // When
+        listener.onTradingPairsChanged(event);
+        
+        // Then
+        verify(webSocketPort).subscribeToPrice("SOLUSDT");
+        verify(webSocketPort).unsubscribeFromPrice("BTCUSDT");
+        verify(priceCacheService).evict("BTCUSDT");
+        verify(priceMetricsService).resetMetrics("BTCUSDT");
+        verify(priceAlertService).releaseWindowState("BTCUSDT");
+        verify(priceLoggingListener).forget("BTCUSDT");
+        verify(exchangeQueryCache).invalidatePrice("BTCUSDT");
+        verifyNoMoreInteractions(webSocketPort, priceCacheService, priceMetricsService, priceAlertService);
+    }
+    
+    @Test
+    void shouldReleaseStateEvenWhenUnsubscribeFails() {
+        // Given
+        doThrow(new IllegalStateException("socket closed")).when(webSocketPort).unsubscribeFromPrice(anyString());
+        TradingPairsChangedEvent event = new TradingPairsChangedEvent(this, List.of(), List.of("BTCUSDT"), "api");
+        
+        // When
+        listener.onTradingPairsChanged(event);
+        
+        // Then
+        verify(priceCacheService).evict("BTCUSDT");
+        verify(priceAlertService).releaseWindowState("BTCUSDT");
+    }
+}
@@ -0,0 +1,236 @@
+package com.marmitt.ctrade.application.service;
+
+import com.marmitt.ctrade.domain.dto.AlertNotificationBatch;
+import com.marmitt.ctrade.domain.entity.PriceAlert;
+import com.marmitt.ctrade.domain.port.NotificationSink;
+import com.marmitt.ctrade.infrastructure.config.NotificationProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes unitários para AlertNotificationDispatcher.
+ * Testa coalescência por alvo, retentativas com backoff, dead-letter e isolamento da thread de ticks.
+ */
+class AlertNotificationDispatcherTest {
+
+    private NotificationProperties properties;
+    private AlertNotificationDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        properties = new NotificationProperties();
+        properties.setCoalesceWindow(Duration.ofMillis(100));
+        properties.setInitialBackoff(Duration.ofMillis(10));
+        properties.setMaxBackoff(Duration.ofMillis(50));
+        properties.setMaxAttempts(3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (dispatcher != null) {
+            dispatcher.stop();
+        }
+    }
+
+    @Test
+    void shouldCoalesceAlertsPerTargetWithinWindow() throws Exception {
+        // Given
+        RecordingSink sink = new RecordingSink(2);
+        dispatcher = new AlertNotificationDispatcher(properties, List.of(sink));
+        dispatcher.start();
+
+        // When
+        dispatcher.enqueue(alert("BTCUSDT"));
+        dispatcher.enqueue(alert("BTCUSDT"));
+        dispatcher.enqueue(alert("ETHUSDT"));
+
+        // Then
+        assertThat(sink.latch.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(sink.batches).hasSize(2);
+        assertThat(sink.batches).anySatisfy(batch -> {
+            assertThat(batch.target()).isEqualTo("BTCUSDT");
+            assertThat(batch.alerts()).hasSize(2);
+        });
+        assertThat(sink.batches).anySatisfy(batch -> {
+            assertThat(batch.target()).isEqualTo("ETHUSDT");
+            assertThat(batch.alerts()).hasSize(1);
+        });
+    }
+
+    @Test
+    void shouldRetryAndMoveToDeadLetterAfterMaxAttempts() throws Exception {
+        // Given
+        AtomicInteger attempts = new AtomicInteger();
+        NotificationSink failingSink = new NotificationSink() {
+            @Override
+            public String getName() {
+                return "failing";
+            }
+
+            @Override
+            public void send(AlertNotificationBatch batch) throws Exception {
+                attempts.incrementAndGet();
+                throw new IllegalStateException("sink down");
+            }
+        };
+        dispatcher = new AlertNotificationDispatcher(properties, List.of(failingSink));
+        dispatcher.start();
+
+        // When
+        dispatcher.enqueue(alert("BTCUSDT"));
+
+        // Then
+        long deadline = System.currentTimeMillis() + 2000;
+        while (dispatcher.getDeadLetters().isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(attempts.get()).isEqualTo(3);
+        assertThat(dispatcher.getDeadLetters()).hasSize(1);
+        assertThat(dispatcher.getDeadLetters().get(0).sinkName()).isEqualTo("failing");
+        assertThat(dispatcher.getStats().retries()).isEqualTo(2);
+        assertThat(dispatcher.getStats().deadLettered()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNeverBlockCallerWhenSinkIsSlow() {
+        // Given
+        properties.setQueueCapacity(10);
+        NotificationSink slowSink = new NotificationSink() {
+            @Override
+            public String getName() {
+                return "slow";
+            }
+
+            @Override
+            public void send(AlertNotificationBatch batch) throws Exception {
+                Thread.sleep(1000);
+            }
+        };
+        dispatcher = new AlertNotificationDispatcher(properties, List.of(slowSink));
+        dispatcher.start();
+
+        // When
+        long start = System.nanoTime();
+        for (int i = 0; i < 100; i++) {
+            dispatcher.enqueue(alert("BTCUSDT"));
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Then
+        assertThat(elapsedMillis).isLessThan(200);
+        assertThat(dispatcher.getStats().dropped()).isPositive();
+    }
+
+    @Test
+    void shouldDeadLetterImmediatelyWhenRetryQueueIsFull() throws Exception {
+        // Given - a primeira retentativa ocupa a única vaga por bastante tempo
+        properties.setMaxPendingRetries(1);
+        properties.setInitialBackoff(Duration.ofSeconds(30));
+        properties.setMaxBackoff(Duration.ofSeconds(30));
+        FailingSink sink = new FailingSink(2);
+        dispatcher = new AlertNotificationDispatcher(properties, List.of(sink));
+        dispatcher.start();
+
+        // When
+        dispatcher.enqueue(alert("BTCUSDT"));
+        dispatcher.enqueue(alert("ETHUSDT"));
+
+        // Then
+        assertThat(sink.latch.await(2, TimeUnit.SECONDS)).isTrue();
+        long deadline = System.currentTimeMillis() + 2000;
+        while (dispatcher.getDeadLetters().isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(dispatcher.getDeadLetters()).hasSize(1);
+        assertThat(dispatcher.getStats().retries()).isEqualTo(1);
+        assertThat(dispatcher.getStats().retriesRejected()).isEqualTo(1);
+        assertThat(dispatcher.getStats().pendingRetries()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldMovePendingRetriesToDeadLetterOnStop() throws Exception {
+        // Given
+        properties.setInitialBackoff(Duration.ofSeconds(30));
+        properties.setMaxBackoff(Duration.ofSeconds(30));
+        FailingSink sink = new FailingSink(1);
+        dispatcher = new AlertNotificationDispatcher(properties, List.of(sink));
+        dispatcher.start();
+        dispatcher.enqueue(alert("BTCUSDT"));
+        assertThat(sink.latch.await(2, TimeUnit.SECONDS)).isTrue();
+        long deadline = System.currentTimeMillis() + 2000;
+        while (dispatcher.getStats().pendingRetries() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        // When
+        dispatcher.stop();
+
+        // Then
+        assertThat(dispatcher.getDeadLetters()).singleElement().satisfies(deadLetter -> {
+            assertThat(deadLetter.batch().target()).isEqualTo("BTCUSDT");
+            assertThat(deadLetter.error()).isEqualTo("Dispatcher stopped before retry");
+        });
+        assertThat(dispatcher.getStats().pendingRetries()).isZero();
+        assertThat(sink.attempts.get()).isEqualTo(1);
+    }
+
+    private PriceAlert alert(String tradingPair) {
+        PriceAlert alert = new PriceAlert(tradingPair, new BigDecimal("100"), PriceAlert.AlertType.ABOVE);
+        alert.trigger();
+        return alert;
+    }
+
+    private static class RecordingSink implements NotificationSink {
+
+        private final List<AlertNotificationBatch> batches = new CopyOnWriteArrayList<>();
+        private final CountDownLatch latch;
+
+        private RecordingSink(int expectedBatches) {
+            this.latch = new CountDownLatch(expectedBatches);
+        }
+
+        @Override
+        public String getName() {
+            return "recording";
+        }
+
+        @Override
+        public void send(AlertNotificationBatch batch) {
+            batches.add(batch);
+            latch.countDown();
+        }
+    }
+
+    private static class FailingSink implements NotificationSink {
+
+        private final AtomicInteger attempts = new AtomicInteger();
+        private final CountDownLatch latch;
+
+        private FailingSink(int expectedAttempts) {
+            this.latch = new CountDownLatch(expectedAttempts);
+        }
+
+        @Override
+        public String getName() {
+            return "failing";
+        }
+
+        @Override
+        public void send(AlertNotificationBatch batch) throws Exception {
+            attempts.incrementAndGet();
+            latch.countDown();
+            throw new IllegalStateException("sink down");
+        }
+    }
+}
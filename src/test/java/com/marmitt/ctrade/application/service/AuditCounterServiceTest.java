@@ -0,0 +1,144 @@
+package com.marmitt.ctrade.application.service;
+
+import com.marmitt.ctrade.domain.entity.TradingAuditLog;
+import com.marmitt.ctrade.infrastructure.repository.TradingAuditLogRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Testes unitários para AuditCounterService.
+ * Testa a reconstrução a partir do banco, os incrementos após escrita e a agregação em buckets.
+ */
+@ExtendWith(MockitoExtension.class)
+class AuditCounterServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 10, 19, 12, 30, 15);
+
+    @Mock
+    private TradingAuditLogRepository repository;
+
+    private AuditCounterService counterService;
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(NOW.toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        counterService = new AuditCounterService(repository, 60, clock);
+    }
+
+    @Test
+    void shouldRebuildCountersFromDatabase() {
+        // Given
+        List<Object[]> totals = new ArrayList<>();
+        totals.add(new Object[]{TradingAuditLog.ActionType.CANCEL_ORDER, TradingAuditLog.Status.SUCCESS, 8L});
+        totals.add(new Object[]{TradingAuditLog.ActionType.CANCEL_ORDER, TradingAuditLog.Status.ERROR, 2L});
+        when(repository.countByActionTypeAndStatus()).thenReturn(totals);
+
+        List<Object[]> perMinute = new ArrayList<>();
+        perMinute.add(new Object[]{"CANCEL_ORDER", "ERROR", Timestamp.valueOf(NOW.withSecond(0).minusMinutes(1)), 2L});
+        when(repository.countByActionTypeAndStatusPerMinute(NOW.withSecond(0).minusMinutes(59))).thenReturn(perMinute);
+
+        // When
+        counterService.rebuild();
+        AuditCounterService.AuditCounterSnapshot snapshot = counterService.getSnapshot(1, NOW.minusMinutes(2));
+
+        // Then
+        AuditCounterService.ActionCounters cancel = snapshot.byActionType().get(TradingAuditLog.ActionType.CANCEL_ORDER);
+        assertThat(cancel.success()).isEqualTo(8);
+        assertThat(cancel.error()).isEqualTo(2);
+        assertThat(cancel.total()).isEqualTo(10);
+        assertThat(cancel.errorRate()).isCloseTo(0.2, within(1e-9));
+        assertThat(snapshot.overall().total()).isEqualTo(10);
+
+        assertThat(snapshot.buckets()).hasSize(3);
+        assertThat(snapshot.buckets().get(1).start()).isEqualTo(NOW.withSecond(0).minusMinutes(1));
+        assertThat(snapshot.buckets().get(1).overall().error()).isEqualTo(2);
+        assertThat(snapshot.buckets().get(2).overall().total()).isZero();
+        verify(repository).countByActionTypeAndStatusPerMinute(NOW.withSecond(0).minusMinutes(59));
+    }
+
+    @Test
+    void shouldIncrementCountersWhenLogsArePersisted() {
+        // Given
+        TradingAuditLog success = log(TradingAuditLog.Status.SUCCESS, NOW);
+        TradingAuditLog validationError = log(TradingAuditLog.Status.VALIDATION_ERROR, NOW.minusMinutes(5));
+
+        // When
+        counterService.onAuditLogsPersisted(List.of(success, validationError, log(TradingAuditLog.Status.SUCCESS, NOW)));
+        AuditCounterService.AuditCounterSnapshot snapshot = counterService.getSnapshot(null, null);
+
+        // Then
+        AuditCounterService.ActionCounters placements = snapshot.byActionType().get(TradingAuditLog.ActionType.PLACE_BUY_ORDER);
+        assertThat(placements.success()).isEqualTo(2);
+        assertThat(placements.validationError()).isEqualTo(1);
+        assertThat(placements.errorRate()).isZero();
+        assertThat(snapshot.bucketMinutes()).isNull();
+        assertThat(snapshot.buckets()).isEmpty();
+    }
+
+    @Test
+    void shouldAggregateMinutesIntoAlignedBuckets() {
+        // Given - 12:21, 12:24 e 12:30
+        counterService.onAuditLogsPersisted(List.of(
+                log(TradingAuditLog.Status.ERROR, NOW.withMinute(21)),
+                log(TradingAuditLog.Status.SUCCESS, NOW.withMinute(24)),
+                log(TradingAuditLog.Status.SUCCESS, NOW)));
+
+        // When
+        AuditCounterService.AuditCounterSnapshot snapshot = counterService.getSnapshot(5, NOW.withMinute(20));
+
+        // Then - buckets 12:20, 12:25 e 12:30
+        assertThat(snapshot.buckets()).extracting(AuditCounterService.AuditCounterBucket::start)
+                .containsExactly(NOW.withMinute(20).withSecond(0), NOW.withMinute(25).withSecond(0), NOW.withSecond(0));
+        AuditCounterService.AuditCounterBucket first = snapshot.buckets().get(0);
+        assertThat(first.overall().total()).isEqualTo(2);
+        assertThat(first.overall().errorRate()).isCloseTo(0.5, within(1e-9));
+        assertThat(snapshot.buckets().get(1).byActionType()).isEmpty();
+        assertThat(snapshot.buckets().get(2).overall().success()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldCountRecordsOutsideRetentionOnlyInTotals() {
+        // Given
+        counterService.onAuditLogsPersisted(List.of(log(TradingAuditLog.Status.ERROR, NOW.minusHours(3))));
+
+        // When
+        AuditCounterService.AuditCounterSnapshot snapshot = counterService.getSnapshot(60, null);
+
+        // Then
+        assertThat(snapshot.overall().error()).isEqualTo(1);
+        assertThat(snapshot.buckets()).allSatisfy(bucket -> assertThat(bucket.overall().total()).isZero());
+    }
+
+    @Test
+    void shouldRejectInvalidBucketRequests() {
+        assertThatThrownBy(() -> counterService.getSnapshot(0, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> counterService.getSnapshot(61, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> counterService.getSnapshot(5, NOW.minusHours(2)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("last 60 minutes");
+    }
+
+    private static TradingAuditLog log(TradingAuditLog.Status status, LocalDateTime createdAt) {
+        TradingAuditLog auditLog = new TradingAuditLog(TradingAuditLog.ActionType.PLACE_BUY_ORDER, status);
+        auditLog.setCreatedAt(createdAt);
+        return auditLog;
+    }
+}
@@ -0,0 +1,206 @@
+package com.marmitt.ctrade.application.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.marmitt.ctrade.domain.entity.TradingAuditLog;
+import com.marmitt.ctrade.infrastructure.audit.AuditSpillStore;
+import com.marmitt.ctrade.infrastructure.config.AuditWriterProperties;
+import com.marmitt.ctrade.infrastructure.repository.JdbcAuditLogBatchInserter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+
+/**
+ * Testes unitários para AuditLogWriter.
+ * Testa agrupamento em lotes, flush, políticas de overflow, falhas de escrita e desligamento.
+ */
+@ExtendWith(MockitoExtension.class)
+class AuditLogWriterTest {
+
+    @Mock
+    private JdbcAuditLogBatchInserter inserter;
+
+    @TempDir
+    Path spillDirectory;
+
+    private AuditWriterProperties properties;
+    private AuditSpillStore spillStore;
+    private AuditLogWriter writer;
+    private final List<List<TradingAuditLog>> insertedBatches = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        properties = new AuditWriterProperties();
+        properties.setFlushSize(10);
+        properties.setFlushInterval(Duration.ofMillis(50));
+        properties.setShutdownTimeout(Duration.ofSeconds(2));
+        spillStore = new AuditSpillStore(spillDirectory, new ObjectMapper().registerModule(new JavaTimeModule()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (writer != null) {
+            writer.stop();
+        }
+    }
+
+    @Test
+    void shouldWriteSubmittedLogsInBatchesOfFlushSize() {
+        // Given
+        recordInsertedBatches();
+        writer = startWriter();
+
+        // When
+        for (int i = 0; i < 25; i++) {
+            writer.submit(auditLog("order-" + i));
+        }
+        boolean flushed = writer.flush(Duration.ofSeconds(5));
+
+        // Then
+        assertThat(flushed).isTrue();
+        assertThat(insertedBatches).allSatisfy(batch -> assertThat(batch.size()).isLessThanOrEqualTo(10));
+        assertThat(insertedBatches.stream().mapToInt(List::size).sum()).isEqualTo(25);
+        assertThat(writer.getStats().written()).isEqualTo(25);
+        assertThat(writer.getStats().queueSize()).isZero();
+    }
+
+    @Test
+    void shouldWriteWithinFlushIntervalWithoutExplicitFlush() throws InterruptedException {
+        // Given
+        recordInsertedBatches();
+        writer = startWriter();
+
+        // When
+        writer.submit(auditLog("order-1"));
+
+        // Then
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (insertedBatches.isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(insertedBatches).hasSize(1);
+    }
+
+    @Test
+    void shouldSpillToDiskWhenQueueIsFullAndPolicyIsSpill() throws Exception {
+        // Given - o inserter fica preso no primeiro lote, a fila comporta um registro
+        properties.setQueueCapacity(1);
+        properties.setFlushSize(1);
+        properties.setOverflowPolicy(AuditWriterProperties.OverflowPolicy.SPILL);
+        CountDownLatch inserterBlocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            inserterBlocked.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            insertedBatches.add(new ArrayList<>(invocation.getArgument(0)));
+            return null;
+        }).when(inserter).insertAll(anyList());
+        writer = startWriter();
+
+        // When
+        writer.submit(auditLog("in-flight"));
+        assertThat(inserterBlocked.await(2, TimeUnit.SECONDS)).isTrue();
+        writer.submit(auditLog("queued"));
+        writer.submit(auditLog("overflow"));
+
+        // Then
+        assertThat(writer.getStats().spilled()).isEqualTo(1);
+        assertThat(writer.getStats().blocked()).isZero();
+        assertThat(spillStore.hasPending()).isTrue();
+        release.countDown();
+    }
+
+    @Test
+    void shouldSpillFailedBatchAndReplayItWhenIdle() throws InterruptedException {
+        // Given - a primeira escrita falha e as seguintes funcionam
+        doThrow(new IllegalStateException("Database unavailable"))
+                .doAnswer(invocation -> {
+                    insertedBatches.add(new ArrayList<>(invocation.getArgument(0)));
+                    return null;
+                })
+                .when(inserter).insertAll(anyList());
+        writer = startWriter();
+
+        // When
+        writer.submit(auditLog("order-1"));
+        writer.submit(auditLog("order-2"));
+        writer.flush(Duration.ofSeconds(5));
+
+        // Then
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (writer.getStats().replayed() < 2 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        AuditLogWriter.AuditWriterStats stats = writer.getStats();
+        assertThat(stats.failedBatches()).isEqualTo(1);
+        assertThat(stats.spilled()).isEqualTo(2);
+        assertThat(stats.replayed()).isEqualTo(2);
+        assertThat(insertedBatches.get(0)).extracting(TradingAuditLog::getOrderId).containsExactly("order-1", "order-2");
+        assertThat(spillStore.hasPending()).isFalse();
+    }
+
+    @Test
+    void shouldDrainQueueOnStop() {
+        // Given
+        recordInsertedBatches();
+        writer = startWriter();
+        for (int i = 0; i < 5; i++) {
+            writer.submit(auditLog("order-" + i));
+        }
+
+        // When
+        writer.stop();
+
+        // Then
+        assertThat(insertedBatches.stream().mapToInt(List::size).sum()).isEqualTo(5);
+        assertThat(spillStore.hasPending()).isFalse();
+    }
+
+    @Test
+    void shouldSpillLogsSubmittedAfterStop() {
+        // Given
+        writer = startWriter();
+        writer.stop();
+
+        // When
+        writer.submit(auditLog("late"));
+
+        // Then
+        assertThat(writer.getStats().spilled()).isEqualTo(1);
+        assertThat(spillStore.hasPending()).isTrue();
+    }
+
+    private AuditLogWriter startWriter() {
+        AuditLogWriter auditLogWriter = new AuditLogWriter(properties, inserter, spillStore);
+        auditLogWriter.start();
+        return auditLogWriter;
+    }
+
+    private void recordInsertedBatches() {
+        doAnswer(invocation -> {
+            insertedBatches.add(new ArrayList<>(invocation.getArgument(0)));
+            return null;
+        }).when(inserter).insertAll(anyList());
+    }
+
+    private static TradingAuditLog auditLog(String orderId) {
+        return TradingAuditLog.success(TradingAuditLog.ActionType.GET_ORDER_STATUS).withOrderId(orderId);
+    }
+}
@@ -0,0 +1,196 @@
+package com.marmitt.ctrade.application.service;
+
+import com.marmitt.ctrade.domain.dto.AuditLogFilter;
+import com.marmitt.ctrade.domain.dto.AuditLogPage;
+import com.marmitt.ctrade.domain.entity.TradingAuditLog;
+import com.marmitt.ctrade.infrastructure.audit.AuditArchiveStore;
+import com.marmitt.ctrade.infrastructure.repository.TradingAuditLogRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Testes unitários para AuditQueryService.
+ * Testa cursores, escolha da consulta por filtro e a exportação paginada, incluindo o arquivo morto.
+ */
+@ExtendWith(MockitoExtension.class)
+class AuditQueryServiceTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2026, 10, 19, 12, 0);
+
+    @Mock
+    private TradingAuditLogRepository repository;
+
+    @Mock
+    private AuditArchiveStore archiveStore;
+
+    @InjectMocks
+    private AuditQueryService auditQueryService;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldReturnCursorWhenMoreRecordsExist() {
+        // Given - a consulta pede um registro a mais que o tamanho da página
+        when(repository.findPageByTradingPair(eq("BTCUSDT"), any(), eq(Long.MAX_VALUE),
+                argThat((Pageable pageable) -> pageable.getPageSize() == 3)))
+                .thenReturn(List.of(log(10, 0), log(9, 1), log(8, 2)));
+
+        // When
+        AuditLogPage page = auditQueryService.findPage(new AuditLogFilter("BTCUSDT", null, null, null), null, 2);
+
+        // Then
+        assertThat(page.items()).extracting(TradingAuditLog::getId).containsExactly(10L, 9L);
+        assertThat(page.nextCursor()).isNotNull();
+    }
+
+    @Test
+    void shouldContinueFromCursorPosition() {
+        // Given
+        when(repository.findPageByTradingPair(eq("BTCUSDT"), any(), anyLong(), any()))
+                .thenReturn(List.of(log(10, 0), log(9, 1), log(8, 2)));
+        String cursor = auditQueryService.findPage(new AuditLogFilter("BTCUSDT", null, null, null), null, 2).nextCursor();
+
+        // When
+        when(repository.findPageByTradingPair(eq("BTCUSDT"), eq(BASE.minusSeconds(1)), eq(9L), any()))
+                .thenReturn(List.of(log(8, 2)));
+        AuditLogPage next = auditQueryService.findPage(new AuditLogFilter("BTCUSDT", null, null, null), cursor, 2);
+
+        // Then
+        assertThat(next.items()).extracting(TradingAuditLog::getId).containsExactly(8L);
+        assertThat(next.nextCursor()).isNull();
+    }
+
+    @Test
+    void shouldUseCompositeQueryForActionTypeAndStatus() {
+        // Given
+        when(repository.findPageByActionTypeAndStatus(eq(TradingAuditLog.ActionType.CANCEL_ORDER),
+                eq(TradingAuditLog.Status.ERROR), any(), anyLong(), any())).thenReturn(List.of());
+
+        // When
+        AuditLogPage page = auditQueryService.findPage(
+                new AuditLogFilter(null, null, TradingAuditLog.ActionType.CANCEL_ORDER, TradingAuditLog.Status.ERROR), null, null);
+
+        // Then
+        assertThat(page.items()).isEmpty();
+        assertThat(page.nextCursor()).isNull();
+        verify(repository).findPageByActionTypeAndStatus(eq(TradingAuditLog.ActionType.CANCEL_ORDER),
+                eq(TradingAuditLog.Status.ERROR), any(),
+                anyLong(), argThat((Pageable pageable) -> pageable.getPageSize() == AuditQueryService.DEFAULT_PAGE_SIZE + 1));
+    }
+
+    @Test
+    void shouldRejectUnsupportedFilterCombination() {
+        assertThatThrownBy(() -> auditQueryService.findPage(
+                new AuditLogFilter("BTCUSDT", "order-1", null, null), null, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unsupported audit filter combination");
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void shouldRejectInvalidCursorAndPageSize() {
+        assertThatThrownBy(() -> auditQueryService.findPage(AuditLogFilter.none(), "not-a-cursor", null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("Invalid audit cursor");
+        assertThatThrownBy(() -> auditQueryService.findPage(AuditLogFilter.none(), null, AuditQueryService.MAX_PAGE_SIZE + 1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Page size must be between 1 and " + AuditQueryService.MAX_PAGE_SIZE);
+    }
+
+    @Test
+    void shouldExportAcrossPagesUntilStartOfRange() {
+        // Given - primeira página cheia, a segunda cruza o início do intervalo
+        List<TradingAuditLog> firstPage = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            firstPage.add(log(5_000 - i, i));
+        }
+        when(repository.findPageByStatus(eq(TradingAuditLog.Status.ERROR), any(), anyLong(), any()))
+                .thenReturn(firstPage)
+                .thenReturn(List.of(log(3_999, 1_000), log(3_998, 1_001), log(3_997, 5_000)));
+
+        // When
+        Iterator<TradingAuditLog> export = auditQueryService.export(
+                new AuditLogFilter(null, null, null, TradingAuditLog.Status.ERROR), BASE.minusSeconds(1_001), null);
+        List<Long> ids = new ArrayList<>();
+        export.forEachRemaining(auditLog -> ids.add(auditLog.getId()));
+
+        // Then
+        assertThat(ids).hasSize(1_002).endsWith(3_999L, 3_998L);
+        verify(repository, times(2)).findPageByStatus(eq(TradingAuditLog.Status.ERROR), any(), anyLong(), any());
+    }
+
+    @Test
+    void shouldMergeArchivedDaysIntoExport() {
+        // Given - dois registros na tabela e o dia anterior no arquivo, em dois arquivos
+        LocalDate archivedDay = BASE.toLocalDate().minusDays(1);
+        when(repository.findPageByActionType(eq(TradingAuditLog.ActionType.GET_ORDER_STATUS), any(), anyLong(), any()))
+                .thenReturn(List.of(log(10, 0), log(8, 2)));
+        AuditArchiveStore realArchiveStore = new AuditArchiveStore(directory);
+        AuditQueryService service = new AuditQueryService(repository, realArchiveStore);
+
+        TradingAuditLog otherAction = log(7, 86_450);
+        otherAction.setActionType(TradingAuditLog.ActionType.CANCEL_ORDER);
+        try (AuditArchiveStore.ArchiveWriter writer = realArchiveStore.openWriter(archivedDay)) {
+            writer.writeRowGroup(List.of(log(9, 86_400), otherAction));
+            writer.writeRowGroup(List.of(log(5, 86_500)));
+            writer.commit();
+        }
+        try (AuditArchiveStore.ArchiveWriter writer = realArchiveStore.openWriter(archivedDay)) {
+            writer.writeRowGroup(List.of(log(6, 86_420)));
+            writer.commit();
+        }
+        try (AuditArchiveStore.ArchiveWriter writer = realArchiveStore.openWriter(archivedDay.minusDays(30))) {
+            writer.writeRowGroup(List.of(log(1, 86_400 * 30)));
+            writer.commit();
+        }
+
+        // When
+        List<Long> ids = new ArrayList<>();
+        try (AuditQueryService.ExportCursor export = service.export(
+                new AuditLogFilter(null, null, TradingAuditLog.ActionType.GET_ORDER_STATUS, null),
+                BASE.minusDays(2), BASE)) {
+            export.forEachRemaining(auditLog -> ids.add(auditLog.getId()));
+        }
+
+        // Then - ordem decrescente entre as fontes e entre os arquivos do dia; o dia fora do intervalo não entra
+        assertThat(ids).containsExactly(10L, 8L, 9L, 6L, 5L);
+    }
+
+    @Test
+    void shouldRejectInvertedExportRange() {
+        assertThatThrownBy(() -> auditQueryService.export(AuditLogFilter.none(), BASE, BASE.minusDays(1)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Export start must not be after export end");
+    }
+
+    private static TradingAuditLog log(long id, int secondsAgo) {
+        TradingAuditLog auditLog = TradingAuditLog.success(TradingAuditLog.ActionType.GET_ORDER_STATUS);
+        auditLog.setId(id);
+        auditLog.setCreatedAt(BASE.minusSeconds(secondsAgo));
+        return auditLog;
+    }
+}
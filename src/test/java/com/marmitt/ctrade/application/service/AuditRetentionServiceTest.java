@@ -0,0 +1,198 @@
+package com.marmitt.ctrade.application.service;
+
+import com.marmitt.ctrade.domain.entity.TradingAuditLog;
+import com.marmitt.ctrade.infrastructure.audit.AuditArchiveStore;
+import com.marmitt.ctrade.infrastructure.config.AuditRetentionProperties;
+import com.marmitt.ctrade.infrastructure.repository.TradingAuditLogRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Testes unitários para AuditRetentionService.
+ * Testa o expurgo por tipo de ação, a compactação dos dias frios e a retenção do arquivo.
+ */
+@ExtendWith(MockitoExtension.class)
+class AuditRetentionServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 10, 19, 12, 0);
+    private static final LocalDate COLD_DAY = LocalDate.of(2026, 10, 11);
+
+    @Mock
+    private TradingAuditLogRepository repository;
+
+    @Mock
+    private AuditCounterService counterService;
+
+    @TempDir
+    Path directory;
+
+    private AuditRetentionProperties properties;
+    private AuditArchiveStore archiveStore;
+    private AuditRetentionService retentionService;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AuditRetentionProperties();
+        properties.setHotDays(7);
+        properties.getByActionType().put(TradingAuditLog.ActionType.GET_CURRENT_PRICE, Duration.ofHours(24));
+        properties.getByActionType().put(TradingAuditLog.ActionType.CANCEL_ORDER, Duration.ofDays(5));
+
+        archiveStore = new AuditArchiveStore(directory);
+        retentionService = new AuditRetentionService(repository, archiveStore, counterService, properties,
+                Clock.fixed(NOW.toInstant(ZoneOffset.UTC), ZoneOffset.UTC));
+    }
+
+    @Test
+    void shouldPurgeExpiredRecordsPerActionType() {
+        // Given
+        List<Object[]> counts = new ArrayList<>();
+        counts.add(new Object[]{TradingAuditLog.Status.SUCCESS, 40L});
+        counts.add(new Object[]{TradingAuditLog.Status.ERROR, 2L});
+        lenient().when(repository.countByStatusForActionTypeCreatedBefore(TradingAuditLog.ActionType.GET_CURRENT_PRICE, NOW.minusHours(24)))
+                .thenReturn(counts);
+        lenient().when(repository.deleteByActionTypeCreatedBefore(TradingAuditLog.ActionType.GET_CURRENT_PRICE, NOW.minusHours(24)))
+                .thenReturn(42);
+
+        // When
+        AuditRetentionService.RetentionResult result = retentionService.runRetention();
+
+        // Then
+        assertThat(result.purgedRecords()).isEqualTo(42);
+        verify(repository).deleteByActionTypeCreatedBefore(TradingAuditLog.ActionType.CANCEL_ORDER, NOW.minusDays(5));
+        verify(repository).deleteByActionTypeCreatedBefore(TradingAuditLog.ActionType.PLACE_BUY_ORDER,
+                NOW.minus(Duration.ofDays(7 * 365 + 2)));
+        verify(repository, never()).deleteAllByIdInBatch(any());
+        // Os contadores acompanham a tabela
+        verify(counterService).onAuditLogsDeleted(TradingAuditLog.ActionType.GET_CURRENT_PRICE, TradingAuditLog.Status.SUCCESS, 40L);
+        verify(counterService).onAuditLogsDeleted(TradingAuditLog.ActionType.GET_CURRENT_PRICE, TradingAuditLog.Status.ERROR, 2L);
+    }
+
+    @Test
+    void shouldMoveColdDaysToArchive() {
+        // Given - um dia fora da janela quente, com um cancelamento já vencido
+        when(repository.findOldestCreatedAt()).thenReturn(COLD_DAY.atTime(10, 0));
+        lenient().when(repository.findSlice(eq(COLD_DAY.atStartOfDay()), eq(COLD_DAY.plusDays(1).atStartOfDay()), eq(Long.MIN_VALUE), any()))
+                .thenReturn(List.of(
+                        log(2, TradingAuditLog.ActionType.CANCEL_ORDER, COLD_DAY.atTime(11, 0)),
+                        log(1, TradingAuditLog.ActionType.PLACE_BUY_ORDER, COLD_DAY.atTime(10, 0))));
+
+        // When
+        AuditRetentionService.RetentionResult result = retentionService.runRetention();
+
+        // Then
+        assertThat(result.compactedDays()).isEqualTo(1);
+        assertThat(result.archivedRecords()).isEqualTo(2);
+        verify(repository).deleteAllByIdInBatch(List.of(2L, 1L));
+        assertThat(archiveStore.read(COLD_DAY, auditLog -> true))
+                .extracting(TradingAuditLog::getId).containsExactly(1L);
+        // Tudo o que saiu da tabela, arquivado ou vencido, é descontado dos contadores
+        verify(counterService).onAuditLogsDeleted(TradingAuditLog.ActionType.PLACE_BUY_ORDER, TradingAuditLog.Status.SUCCESS, 1L);
+        verify(counterService).onAuditLogsDeleted(TradingAuditLog.ActionType.CANCEL_ORDER, TradingAuditLog.Status.SUCCESS, 1L);
+        // Os dias da janela quente não são lidos
+        verify(repository, never()).findSlice(eq(LocalDate.of(2026, 10, 13).atStartOfDay()), any(), anyLong(), any());
+    }
+
+    @Test
+    void shouldSkipRecordsAlreadyArchivedByInterruptedRun() {
+        // Given - o id 1 já foi arquivado, mas não chegou a ser apagado da tabela
+        try (AuditArchiveStore.ArchiveWriter writer = archiveStore.openWriter(COLD_DAY)) {
+            writer.writeRowGroup(List.of(log(1, TradingAuditLog.ActionType.PLACE_BUY_ORDER, COLD_DAY.atTime(10, 0))));
+            writer.commit();
+        }
+        when(repository.findOldestCreatedAt()).thenReturn(COLD_DAY.atTime(10, 0));
+        lenient().when(repository.findSlice(eq(COLD_DAY.atStartOfDay()), eq(COLD_DAY.plusDays(1).atStartOfDay()), eq(Long.MIN_VALUE), any()))
+                .thenReturn(List.of(
+                        log(3, TradingAuditLog.ActionType.PLACE_SELL_ORDER, COLD_DAY.atTime(12, 0)),
+                        log(1, TradingAuditLog.ActionType.PLACE_BUY_ORDER, COLD_DAY.atTime(10, 0))));
+
+        // When
+        retentionService.runRetention();
+
+        // Then
+        assertThat(archiveStore.read(COLD_DAY, auditLog -> true))
+                .extracting(TradingAuditLog::getId).containsExactly(1L, 3L);
+        verify(repository).deleteAllByIdInBatch(List.of(3L, 1L));
+    }
+
+    @Test
+    void shouldCompactDayInChunksDeletingEachChunkAfterItsFile() {
+        // Given - blocos de 2 registros lidos de 2 em 2
+        properties.setRowGroupSize(2);
+        properties.setCompactionChunkSize(2);
+        when(repository.findOldestCreatedAt()).thenReturn(COLD_DAY.atTime(10, 0));
+        lenient().when(repository.findSlice(eq(COLD_DAY.atStartOfDay()), eq(COLD_DAY.plusDays(1).atStartOfDay()), eq(Long.MIN_VALUE), any()))
+                .thenReturn(List.of(
+                        log(3, TradingAuditLog.ActionType.PLACE_BUY_ORDER, COLD_DAY.atTime(12, 0)),
+                        log(2, TradingAuditLog.ActionType.PLACE_BUY_ORDER, COLD_DAY.atTime(11, 0))));
+        lenient().when(repository.findSlice(eq(COLD_DAY.atStartOfDay()), eq(COLD_DAY.atTime(11, 0)), eq(2L), any()))
+                .thenReturn(List.of(log(1, TradingAuditLog.ActionType.PLACE_BUY_ORDER, COLD_DAY.atTime(10, 0))));
+
+        // When
+        AuditRetentionService.RetentionResult result = retentionService.runRetention();
+
+        // Then - um arquivo e uma remoção por bloco
+        assertThat(result.archivedRecords()).isEqualTo(3);
+        verify(repository).deleteAllByIdInBatch(List.of(3L, 2L));
+        verify(repository).deleteAllByIdInBatch(List.of(1L));
+        assertThat(archiveStore.filesOf(COLD_DAY)).hasSize(2);
+        assertThat(archiveStore.readIds(COLD_DAY)).containsExactlyInAnyOrder(1L, 2L, 3L);
+        verify(counterService).onAuditLogsDeleted(TradingAuditLog.ActionType.PLACE_BUY_ORDER, TradingAuditLog.Status.SUCCESS, 2L);
+        verify(counterService).onAuditLogsDeleted(TradingAuditLog.ActionType.PLACE_BUY_ORDER, TradingAuditLog.Status.SUCCESS, 1L);
+    }
+
+    @Test
+    void shouldRewriteOrDeleteArchiveFilesWithExpiredActionTypes() {
+        // Given
+        LocalDate day = LocalDate.of(2026, 10, 1);
+        try (AuditArchiveStore.ArchiveWriter writer = archiveStore.openWriter(day)) {
+            writer.writeRowGroup(List.of(
+                    log(1, TradingAuditLog.ActionType.PLACE_BUY_ORDER, day.atTime(9, 0)),
+                    log(2, TradingAuditLog.ActionType.CANCEL_ORDER, day.atTime(9, 5))));
+            writer.commit();
+        }
+        try (AuditArchiveStore.ArchiveWriter writer = archiveStore.openWriter(day.plusDays(1))) {
+            writer.writeRowGroup(List.of(log(3, TradingAuditLog.ActionType.GET_CURRENT_PRICE, day.plusDays(1).atTime(9, 0))));
+            writer.commit();
+        }
+
+        // When
+        AuditRetentionService.RetentionResult result = retentionService.runRetention();
+
+        // Then
+        assertThat(result.rewrittenArchiveFiles()).isEqualTo(1);
+        assertThat(result.deletedArchiveFiles()).isEqualTo(1);
+        assertThat(archiveStore.archivedDays()).containsExactly(day);
+        assertThat(archiveStore.read(day, auditLog -> true))
+                .extracting(TradingAuditLog::getActionType).containsExactly(TradingAuditLog.ActionType.PLACE_BUY_ORDER);
+        assertThat(retentionService.getStatus().lastRun()).isEqualTo(result);
+    }
+
+    private static TradingAuditLog log(long id, TradingAuditLog.ActionType actionType, LocalDateTime createdAt) {
+        TradingAuditLog auditLog = TradingAuditLog.success(actionType);
+        auditLog.setId(id);
+        auditLog.setCreatedAt(createdAt);
+        return auditLog;
+    }
+}
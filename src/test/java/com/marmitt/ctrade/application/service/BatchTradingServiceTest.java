@@ -0,0 +1,147 @@
+package com.marmitt.ctrade.application.service;
+
+import com.marmitt.ctrade.domain.dto.BatchItemResult;
+import com.marmitt.ctrade.domain.dto.BatchOrderCommand;
+import com.marmitt.ctrade.domain.entity.Order;
+import com.marmitt.ctrade.domain.entity.TradingPair;
+import com.marmitt.ctrade.domain.port.ExchangePort;
+import com.marmitt.ctrade.infrastructure.config.BatchTradingProperties;
+import com.marmitt.ctrade.infrastructure.config.RiskProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Testes unitários para BatchTradingService.
+ * Testa validação conjunta, envio paralelo, resultados por item e auditoria única.
+ */
+@ExtendWith(MockitoExtension.class)
+class BatchTradingServiceTest {
+
+    @Mock
+    private ExchangePort exchangePort;
+
+    @Mock
+    private TradingAuditService auditService;
+
+    private OrderStateStore orderStateStore;
+    private PreTradeRiskService riskService;
+    private BatchTradingService batchTradingService;
+    private TradingPair tradingPair;
+
+    @BeforeEach
+    void setUp() {
+        BatchTradingProperties properties = new BatchTradingProperties();
+        properties.setMaxSize(3);
+        properties.setMaxConcurrency(4);
+
+        orderStateStore = new OrderStateStore();
+        riskService = new PreTradeRiskService(new RiskProperties(), new PriceCacheService(5, 100));
+        batchTradingService = new BatchTradingService(exchangePort, auditService, orderStateStore, riskService, properties);
+        tradingPair = new TradingPair("BTC", "USD");
+    }
+
+    @AfterEach
+    void tearDown() {
+        batchTradingService.shutdown();
+    }
+
+    @Test
+    void shouldPlaceValidOrdersAndRejectInvalidOnes() {
+        // Given
+        when(exchangePort.placeOrder(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        List<BatchOrderCommand> commands = List.of(
+                new BatchOrderCommand(tradingPair, Order.OrderSide.BUY, new BigDecimal("1"), new BigDecimal("50000")),
+                new BatchOrderCommand(tradingPair, Order.OrderSide.SELL, BigDecimal.ZERO, new BigDecimal("51000")),
+                new BatchOrderCommand(tradingPair, Order.OrderSide.SELL, new BigDecimal("2"), new BigDecimal("52000"))
+        );
+
+        // When
+        List<BatchItemResult> results = batchTradingService.placeOrders(commands);
+
+        // Then
+        assertThat(results).extracting(BatchItemResult::index).containsExactly(0, 1, 2);
+        assertThat(results).extracting(BatchItemResult::status).containsExactly(
+                BatchItemResult.Status.SUCCESS, BatchItemResult.Status.REJECTED, BatchItemResult.Status.SUCCESS);
+        assertThat(results.get(1).error()).contains("Quantity must be positive");
+        assertThat(orderStateStore.size()).isEqualTo(2);
+        verify(exchangePort, times(2)).placeOrder(any(Order.class));
+        verify(auditService).logOrderPlacementBatch(commands, results);
+    }
+
+    @Test
+    void shouldReportExchangeFailurePerItem() {
+        // Given
+        when(exchangePort.placeOrder(any(Order.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0))
+                .thenThrow(new IllegalStateException("Insufficient balance"));
+        List<BatchOrderCommand> commands = List.of(
+                new BatchOrderCommand(tradingPair, Order.OrderSide.BUY, new BigDecimal("1"), new BigDecimal("50000")),
+                new BatchOrderCommand(tradingPair, Order.OrderSide.BUY, new BigDecimal("1"), new BigDecimal("50000"))
+        );
+
+        // When
+        List<BatchItemResult> results = batchTradingService.placeOrders(commands);
+
+        // Then
+        assertThat(results).extracting(BatchItemResult::status)
+                .containsExactlyInAnyOrder(BatchItemResult.Status.SUCCESS, BatchItemResult.Status.FAILED);
+        assertThat(results).filteredOn(result -> !result.isSuccess())
+                .extracting(BatchItemResult::error)
+                .containsExactly("Insufficient balance");
+    }
+
+    @Test
+    void shouldCancelOrdersAndRejectDuplicates() {
+        // Given
+        Order cancelled = new Order(tradingPair, Order.OrderType.LIMIT, Order.OrderSide.BUY,
+                new BigDecimal("1"), new BigDecimal("50000"));
+        cancelled.updateStatus(Order.OrderStatus.CANCELLED);
+        when(exchangePort.cancelOrder("order-1")).thenReturn(cancelled);
+
+        // When
+        List<BatchItemResult> results = batchTradingService.cancelOrders(List.of("order-1", "order-1", " "));
+
+        // Then
+        assertThat(results).extracting(BatchItemResult::status).containsExactly(
+                BatchItemResult.Status.SUCCESS, BatchItemResult.Status.REJECTED, BatchItemResult.Status.REJECTED);
+        verify(exchangePort, times(1)).cancelOrder("order-1");
+        verify(auditService).logCancelBatch(argThat(logged -> logged.size() == 3));
+    }
+
+    @Test
+    void shouldRejectBatchAboveMaximumSize() {
+        // Given
+        List<String> orderIds = List.of("a", "b", "c", "d");
+
+        // When / Then
+        assertThatThrownBy(() -> batchTradingService.cancelOrders(orderIds))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("exceeds maximum");
+        verifyNoInteractions(exchangePort);
+    }
+
+    @Test
+    void shouldRejectEmptyBatch() {
+        assertThatThrownBy(() -> batchTradingService.placeOrders(Collections.emptyList()))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(auditService, times(0)).logOrderPlacementBatch(anyList(), anyList());
+    }
+}
@@ -0,0 +1,210 @@
+package com.marmitt.ctrade.application.service;
+
+import com.marmitt.ctrade.domain.entity.Order;
+import com.marmitt.ctrade.domain.entity.TradingPair;
+import com.marmitt.ctrade.domain.port.ExchangePort;
+import com.marmitt.ctrade.domain.valueobject.Price;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Testes unitários para ExchangeQueryCache.
+ * Testa TTL, coalescência de chamadas concorrentes, invalidação e métricas.
+ */
+@ExtendWith(MockitoExtension.class)
+class ExchangeQueryCacheTest {
+
+    @Mock
+    private ExchangePort exchangePort;
+
+    private ExchangeQueryCache cache;
+    private TradingPair tradingPair;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ExchangeQueryCache(exchangePort, 60_000, 60_000);
+        tradingPair = new TradingPair("BTC", "USDT");
+    }
+
+    @Test
+    void shouldServeRepeatedPriceLookupsFromCache() {
+        // Given
+        when(exchangePort.getCurrentPrice(tradingPair)).thenReturn(new Price("50000"));
+
+        // When
+        cache.getCurrentPrice(tradingPair);
+        Price second = cache.getCurrentPrice(tradingPair);
+
+        // Then
+        assertThat(second.getValue()).isEqualByComparingTo("50000");
+        verify(exchangePort, times(1)).getCurrentPrice(tradingPair);
+        ExchangeQueryCache.CacheStats stats = cache.getStats().price();
+        assertThat(stats.hits()).isEqualTo(1);
+        assertThat(stats.misses()).isEqualTo(1);
+        assertThat(stats.hitRatio()).isEqualTo(0.5);
+    }
+
+    @Test
+    void shouldNotCacheWhenTtlIsZero() {
+        // Given
+        cache = new ExchangeQueryCache(exchangePort, 0, 0);
+        when(exchangePort.getCurrentPrice(tradingPair)).thenReturn(new Price("50000"));
+
+        // When
+        cache.getCurrentPrice(tradingPair);
+        cache.getCurrentPrice(tradingPair);
+
+        // Then
+        verify(exchangePort, times(2)).getCurrentPrice(tradingPair);
+        assertThat(cache.getStats().price().size()).isZero();
+    }
+
+    @Test
+    void shouldCoalesceConcurrentLookupsIntoSingleExchangeCall() throws Exception {
+        // Given - a primeira chamada fica presa até todas as outras estarem esperando
+        CountDownLatch release = new CountDownLatch(1);
+        when(exchangePort.getCurrentPrice(tradingPair)).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return new Price("50000");
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // When
+        List<Future<Price>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(executor.submit(() -> cache.getCurrentPrice(tradingPair)));
+        }
+        waitUntilCoalesced(7);
+        release.countDown();
+
+        // Then
+        for (Future<Price> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS).getValue()).isEqualByComparingTo("50000");
+        }
+        executor.shutdown();
+        verify(exchangePort, times(1)).getCurrentPrice(tradingPair);
+        assertThat(cache.getStats().price().coalesced()).isEqualTo(7);
+    }
+
+    @Test
+    void shouldPropagateFailureToAllWaitersWithoutCachingIt() throws Exception {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        when(exchangePort.getOrderStatus("order-1"))
+                .thenAnswer(invocation -> {
+                    release.await(5, TimeUnit.SECONDS);
+                    throw new IllegalArgumentException("Order not found: order-1");
+                })
+                .thenReturn(order("order-1"));
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        // When
+        Future<Order> leader = executor.submit(() -> cache.getOrderStatus("order-1"));
+        Future<Order> follower = executor.submit(() -> cache.getOrderStatus("order-1"));
+        waitUntilCoalescedOrders(1);
+        release.countDown();
+
+        // Then
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalArgumentException.class);
+        executor.shutdown();
+        assertThat(cache.getOrderStatus("order-1").getId()).isEqualTo("order-1");
+    }
+
+    @Test
+    void shouldRefetchOrderStatusAfterInvalidation() {
+        // Given
+        when(exchangePort.getOrderStatus("order-1")).thenReturn(order("order-1"));
+        cache.getOrderStatus("order-1");
+
+        // When
+        cache.invalidateOrderStatus("order-1");
+        cache.getOrderStatus("order-1");
+
+        // Then
+        verify(exchangePort, times(2)).getOrderStatus("order-1");
+        assertThat(cache.getStats().orderStatus().invalidations()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotCacheResultOfCallInvalidatedWhileInFlight() {
+        // Given - a invalidação chega enquanto a consulta está em andamento
+        when(exchangePort.getOrderStatus("order-1")).thenAnswer(invocation -> {
+            cache.invalidateOrderStatus("order-1");
+            return order("order-1");
+        });
+
+        // When
+        cache.getOrderStatus("order-1");
+        cache.getOrderStatus("order-1");
+
+        // Then
+        verify(exchangePort, times(2)).getOrderStatus("order-1");
+    }
+
+    @Test
+    void shouldInvalidatePriceBySymbol() {
+        // Given
+        when(exchangePort.getCurrentPrice(tradingPair)).thenReturn(new Price("50000"));
+        cache.getCurrentPrice(tradingPair);
+
+        // When
+        cache.invalidatePrice("BTCUSDT");
+        cache.getCurrentPrice(tradingPair);
+
+        // Then
+        verify(exchangePort, times(2)).getCurrentPrice(tradingPair);
+    }
+
+    @Test
+    void shouldClearExpiredEntries() throws InterruptedException {
+        // Given
+        cache = new ExchangeQueryCache(exchangePort, 1, 1);
+        when(exchangePort.getCurrentPrice(tradingPair)).thenReturn(new Price("50000"));
+        cache.getCurrentPrice(tradingPair);
+        Thread.sleep(5);
+
+        // When
+        cache.clearExpiredEntries();
+
+        // Then
+        assertThat(cache.getStats().price().size()).isZero();
+    }
+
+    private void waitUntilCoalesced(long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (cache.getStats().price().coalesced() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private void waitUntilCoalescedOrders(long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (cache.getStats().orderStatus().coalesced() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private Order order(String id) {
+        return new Order(id, tradingPair, Order.OrderType.LIMIT, Order.OrderSide.BUY,
+                new BigDecimal("1"), new BigDecimal("50000"), Order.OrderStatus.PENDING, null, null);
+    }
+}
@@ -0,0 +1,98 @@
+package com.marmitt.ctrade.application.service;
+
+import com.marmitt.ctrade.domain.entity.TradingPair;
+import com.marmitt.ctrade.domain.port.ExchangePort;
+import com.marmitt.ctrade.domain.valueobject.Price;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Testes unitários para MarketPriceResolver.
+ * Testa a escolha entre o preço em cache e a consulta à exchange.
+ */
+@ExtendWith(MockitoExtension.class)
+class MarketPriceResolverTest {
+
+    @Mock
+    private ExchangePort exchangePort;
+
+    private PriceCacheService priceCacheService;
+    private MarketPriceResolver resolver;
+    private TradingPair tradingPair;
+
+    @BeforeEach
+    void setUp() {
+        priceCacheService = new PriceCacheService(5, 100);
+        resolver = new MarketPriceResolver(priceCacheService, exchangePort, 2000);
+        tradingPair = new TradingPair("BTC", "USD");
+    }
+
+    @Test
+    void shouldUseFreshCachedPriceWithoutCallingExchange() {
+        // Given
+        priceCacheService.updatePrice("BTCUSD", new BigDecimal("50100"), LocalDateTime.now());
+
+        // When
+        MarketPriceResolver.ResolvedPrice resolved = resolver.resolve(tradingPair);
+
+        // Then
+        assertThat(resolved.source()).isEqualTo(MarketPriceResolver.PriceSource.CACHE);
+        assertThat(resolved.price().getValue()).isEqualByComparingTo("50100");
+        verify(exchangePort, never()).getCurrentPrice(any());
+    }
+
+    @Test
+    void shouldFallBackToExchangeWhenCachedPriceIsStale() {
+        // Given - dentro do TTL do cache, mas acima da idade máxima para ordens a mercado
+        priceCacheService.updatePrice("BTCUSD", new BigDecimal("50100"), LocalDateTime.now().minusSeconds(10));
+        when(exchangePort.getCurrentPrice(tradingPair)).thenReturn(new Price("50500"));
+
+        // When
+        MarketPriceResolver.ResolvedPrice resolved = resolver.resolve(tradingPair);
+
+        // Then
+        assertThat(resolved.source()).isEqualTo(MarketPriceResolver.PriceSource.EXCHANGE);
+        assertThat(resolved.price().getValue()).isEqualByComparingTo("50500");
+    }
+
+    @Test
+    void shouldFallBackToExchangeWhenCacheIsEmpty() {
+        // Given
+        when(exchangePort.getCurrentPrice(tradingPair)).thenReturn(new Price("50500"));
+
+        // When
+        MarketPriceResolver.ResolvedPrice resolved = resolver.resolve(tradingPair);
+
+        // Then
+        assertThat(resolved.source()).isEqualTo(MarketPriceResolver.PriceSource.EXCHANGE);
+        verify(exchangePort).getCurrentPrice(tradingPair);
+    }
+
+    @Test
+    void shouldAggregatePlacementLatencyPerSource() {
+        // When
+        resolver.recordPlacementLatency(MarketPriceResolver.PriceSource.CACHE, 100_000);
+        resolver.recordPlacementLatency(MarketPriceResolver.PriceSource.CACHE, 300_000);
+        resolver.recordPlacementLatency(MarketPriceResolver.PriceSource.EXCHANGE, 50_000_000);
+
+        // Then
+        Map<MarketPriceResolver.PriceSource, MarketPriceResolver.LatencyStats> stats = resolver.getPlacementLatencyStats();
+        assertThat(stats.get(MarketPriceResolver.PriceSource.CACHE).count()).isEqualTo(2);
+        assertThat(stats.get(MarketPriceResolver.PriceSource.CACHE).averageMicros()).isEqualTo(200.0);
+        assertThat(stats.get(MarketPriceResolver.PriceSource.CACHE).maxMicros()).isEqualTo(300);
+        assertThat(stats.get(MarketPriceResolver.PriceSource.EXCHANGE).maxMicros()).isEqualTo(50_000);
+    }
+}
@@ -0,0 +1,136 @@
+package com.marmitt.ctrade.application.service;
+
+import com.marmitt.ctrade.domain.entity.Order;
+import com.marmitt.ctrade.domain.entity.TradingPair;
+import com.marmitt.ctrade.domain.port.ExchangePort;
+import com.marmitt.ctrade.infrastructure.config.RiskProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Testes unitários para OrderReconciliationService.
+ * Testa a correção de divergências entre o store local e a exchange.
+ */
+@ExtendWith(MockitoExtension.class)
+class OrderReconciliationServiceTest {
+
+    @Mock
+    private ExchangePort exchangePort;
+
+    private OrderStateStore orderStateStore;
+    private OrderReconciliationService reconciliationService;
+    private TradingPair tradingPair;
+
+    @BeforeEach
+    void setUp() {
+        orderStateStore = new OrderStateStore();
+        reconciliationService = new OrderReconciliationService(exchangePort, orderStateStore,
+                new PreTradeRiskService(new RiskProperties(), new PriceCacheService(5, 100)));
+        tradingPair = new TradingPair("BTC", "USD");
+    }
+
+    @Test
+    void shouldImportActiveOrdersUnknownToStore() {
+        // Given
+        Order remote = newOrder();
+        when(exchangePort.getActiveOrders()).thenReturn(List.of(remote));
+
+        // When
+        OrderReconciliationService.ReconciliationResult result = reconciliationService.reconcile();
+
+        // Then
+        assertThat(result.corrected()).isEqualTo(1);
+        assertThat(orderStateStore.findActive()).extracting(Order::getId).containsExactly(remote.getId());
+        verify(exchangePort, never()).getOrderStatus(remote.getId());
+    }
+
+    @Test
+    void shouldCorrectLocallyActiveOrderFilledOnExchange() {
+        // Given - a atualização de FILLED foi perdida no WebSocket
+        Order local = newOrder();
+        orderStateStore.save(local);
+
+        Order remote = copyWithStatus(local, Order.OrderStatus.FILLED);
+        when(exchangePort.getActiveOrders()).thenReturn(List.of());
+        when(exchangePort.getOrderStatus(local.getId())).thenReturn(remote);
+
+        // When
+        OrderReconciliationService.ReconciliationResult result = reconciliationService.reconcile();
+
+        // Then
+        assertThat(result.corrected()).isEqualTo(1);
+        assertThat(orderStateStore.findActive()).isEmpty();
+        assertThat(orderStateStore.countByStatus(Order.OrderStatus.FILLED)).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRemoveOrdersUnknownToExchange() {
+        // Given
+        Order local = newOrder();
+        orderStateStore.save(local);
+        when(exchangePort.getActiveOrders()).thenReturn(List.of());
+        when(exchangePort.getOrderStatus(local.getId()))
+                .thenThrow(new IllegalArgumentException("Order not found: " + local.getId()));
+
+        // When
+        OrderReconciliationService.ReconciliationResult result = reconciliationService.reconcile();
+
+        // Then
+        assertThat(result.removed()).isEqualTo(1);
+        assertThat(orderStateStore.size()).isZero();
+    }
+
+    @Test
+    void shouldKeepOrderWhenExchangeQueryFailsForOtherReasons() {
+        // Given
+        Order local = newOrder();
+        orderStateStore.save(local);
+        when(exchangePort.getActiveOrders()).thenReturn(List.of());
+        when(exchangePort.getOrderStatus(local.getId()))
+                .thenThrow(new IllegalStateException("Binance rejected request (HTTP 400, code -1021): Timestamp outside recvWindow"));
+
+        // When
+        OrderReconciliationService.ReconciliationResult result = reconciliationService.reconcile();
+
+        // Then
+        assertThat(result.removed()).isZero();
+        assertThat(orderStateStore.size()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldReportNoDriftWhenStoreMatchesExchange() {
+        // Given
+        Order order = newOrder();
+        orderStateStore.save(order);
+        when(exchangePort.getActiveOrders()).thenReturn(List.of(order));
+
+        // When
+        OrderReconciliationService.ReconciliationResult result = reconciliationService.reconcile();
+
+        // Then
+        assertThat(result.checked()).isEqualTo(1);
+        assertThat(result.corrected()).isZero();
+        assertThat(result.removed()).isZero();
+    }
+
+    private Order newOrder() {
+        return new Order(tradingPair, Order.OrderType.LIMIT, Order.OrderSide.BUY,
+                new BigDecimal("1"), new BigDecimal("50000"));
+    }
+
+    private Order copyWithStatus(Order order, Order.OrderStatus status) {
+        return new Order(order.getId(), order.getTradingPair(), order.getType(), order.getSide(),
+                order.getQuantity(), order.getPrice(), status, order.getCreatedAt(), order.getUpdatedAt());
+    }
+}
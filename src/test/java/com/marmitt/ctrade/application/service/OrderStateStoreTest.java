@@ -0,0 +1,187 @@
+package com.marmitt.ctrade.application.service;
+
+import com.marmitt.ctrade.domain.entity.Order;
+import com.marmitt.ctrade.domain.entity.TradingPair;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Testes unitários para OrderStateStore.
+ * Testa a manutenção incremental dos índices por status e por trading pair.
+ */
+class OrderStateStoreTest {
+
+    private OrderStateStore store;
+    private TradingPair btcUsd;
+    private TradingPair ethUsd;
+
+    @BeforeEach
+    void setUp() {
+        store = new OrderStateStore();
+        btcUsd = new TradingPair("BTC", "USD");
+        ethUsd = new TradingPair("ETH", "USD");
+    }
+
+    @Test
+    void shouldIndexOrderByStatusAndTradingPair() {
+        // Given
+        Order order = newOrder(btcUsd);
+
+        // When
+        Order.OrderStatus previous = store.save(order);
+
+        // Then
+        assertThat(previous).isNull();
+        assertThat(store.findById(order.getId())).isPresent();
+        assertThat(store.findByStatus(Order.OrderStatus.PENDING)).extracting(Order::getId).containsExactly(order.getId());
+        assertThat(store.findByTradingPair("BTCUSD")).extracting(Order::getId).containsExactly(order.getId());
+        assertThat(store.findByTradingPair("ETHUSD")).isEmpty();
+    }
+
+    @Test
+    void shouldMoveOrderBetweenStatusIndexesOnUpdate() {
+        // Given
+        Order order = newOrder(btcUsd);
+        store.save(order);
+        LocalDateTime updateTime = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+        // When
+        boolean applied = store.applyStatusUpdate(order.getId(), Order.OrderStatus.FILLED, updateTime);
+
+        // Then
+        assertThat(applied).isTrue();
+        assertThat(store.countByStatus(Order.OrderStatus.PENDING)).isZero();
+        assertThat(store.countByStatus(Order.OrderStatus.FILLED)).isEqualTo(1);
+        assertThat(store.findActive()).isEmpty();
+        assertThat(store.findById(order.getId()).orElseThrow().getUpdatedAt()).isEqualTo(updateTime);
+    }
+
+    @Test
+    void shouldIgnoreStatusUpdateForUnknownOrder() {
+        // When
+        boolean applied = store.applyStatusUpdate("unknown", Order.OrderStatus.FILLED, LocalDateTime.now());
+
+        // Then
+        assertThat(applied).isFalse();
+        assertThat(store.size()).isZero();
+    }
+
+    @Test
+    void shouldReturnOnlyActiveOrders() {
+        // Given
+        Order pending = newOrder(btcUsd);
+        Order partiallyFilled = newOrder(ethUsd);
+        partiallyFilled.updateStatus(Order.OrderStatus.PARTIALLY_FILLED);
+        Order cancelled = newOrder(ethUsd);
+        cancelled.updateStatus(Order.OrderStatus.CANCELLED);
+
+        store.save(pending);
+        store.save(partiallyFilled);
+        store.save(cancelled);
+
+        // When / Then
+        assertThat(store.findActive())
+                .extracting(Order::getId)
+                .containsExactlyInAnyOrder(pending.getId(), partiallyFilled.getId());
+        assertThat(store.findByTradingPair("ETHUSD")).hasSize(2);
+    }
+
+    @Test
+    void shouldReturnPreviousStatusWhenOverwriting() {
+        // Given
+        Order order = newOrder(btcUsd);
+        store.save(order);
+        order.updateStatus(Order.OrderStatus.CANCELLED);
+
+        // When
+        Order.OrderStatus previous = store.save(order);
+
+        // Then
+        assertThat(previous).isEqualTo(Order.OrderStatus.PENDING);
+        assertThat(store.countByStatus(Order.OrderStatus.PENDING)).isZero();
+        assertThat(store.countByStatus(Order.OrderStatus.CANCELLED)).isEqualTo(1);
+    }
+
+    @Test
+    void shouldIsolateStoredOrdersFromExternalMutation() {
+        // Given
+        Order order = newOrder(btcUsd);
+        store.save(order);
+
+        // When - mutações fora do store não podem desalinhar os índices
+        order.updateStatus(Order.OrderStatus.FILLED);
+        store.findById(order.getId()).orElseThrow().setStatus(Order.OrderStatus.CANCELLED);
+
+        // Then
+        assertThat(store.findById(order.getId()).orElseThrow().getStatus()).isEqualTo(Order.OrderStatus.PENDING);
+        assertThat(store.findActive()).hasSize(1);
+    }
+
+    @Test
+    void shouldRemoveOrderFromAllIndexes() {
+        // Given
+        Order order = newOrder(btcUsd);
+        store.save(order);
+
+        // When
+        store.remove(order.getId());
+
+        // Then
+        assertThat(store.size()).isZero();
+        assertThat(store.findActive()).isEmpty();
+        assertThat(store.findByTradingPair("BTCUSD")).isEmpty();
+    }
+
+    @Test
+    void shouldEvictTerminalOrdersAfterRetention() {
+        // Given
+        Order filled = newOrder(btcUsd);
+        Order pending = newOrder(ethUsd);
+        store.save(filled);
+        store.save(pending);
+        store.applyStatusUpdate(filled.getId(), Order.OrderStatus.FILLED, null);
+
+        // When
+        int evicted = store.evictTerminalBefore(Instant.now().plusSeconds(1));
+
+        // Then
+        assertThat(evicted).isEqualTo(1);
+        assertThat(store.findById(filled.getId())).isEmpty();
+        assertThat(store.countByStatus(Order.OrderStatus.FILLED)).isZero();
+        assertThat(store.findByTradingPair("BTCUSD")).isEmpty();
+        assertThat(store.findActive()).extracting(Order::getId).containsExactly(pending.getId());
+    }
+
+    @Test
+    void shouldKeepTerminalOrdersWithinRetention() {
+        // Given
+        Order cancelled = newOrder(btcUsd);
+        store.save(cancelled);
+        store.applyStatusUpdate(cancelled.getId(), Order.OrderStatus.CANCELLED, null);
+
+        // When
+        int evicted = store.evictTerminalBefore(Instant.now().minusSeconds(60));
+
+        // Then
+        assertThat(evicted).isZero();
+        assertThat(store.findById(cancelled.getId())).isPresent();
+    }
+
+    @Test
+    void shouldRejectOrderWithoutId() {
+        assertThatThrownBy(() -> store.save(null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private Order newOrder(TradingPair tradingPair) {
+        return new Order(tradingPair, Order.OrderType.LIMIT, Order.OrderSide.BUY,
+                new BigDecimal("1"), new BigDecimal("100"));
+    }
+}
@@ -0,0 +1,268 @@
+package com.marmitt.ctrade.application.service;
+
+import com.marmitt.ctrade.domain.entity.Order;
+import com.marmitt.ctrade.domain.entity.TradingPair;
+import com.marmitt.ctrade.infrastructure.config.RiskProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Testes unitários para PreTradeRiskService.
+ * Testa limites nocionais, de posição e de quantidade de ordens, inclusive sob concorrência.
+ */
+class PreTradeRiskServiceTest {
+
+    private RiskProperties properties;
+    private PriceCacheService priceCacheService;
+    private PreTradeRiskService riskService;
+    private TradingPair btcUsd;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RiskProperties();
+        priceCacheService = new PriceCacheService(5, 100);
+        riskService = new PreTradeRiskService(properties, priceCacheService);
+        btcUsd = new TradingPair("BTC", "USD");
+    }
+
+    @Test
+    void shouldRejectOrderAboveMaxOrderNotional() {
+        // Given
+        properties.setMaxOrderNotional(new BigDecimal("10000"));
+
+        // When / Then
+        assertThatThrownBy(() -> riskService.reserve(buy("1", "50000")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("order notional");
+        assertThat(riskService.getSnapshot().rejections()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRejectWhenPairOpenOrderLimitReachedAndFreeSlotOnCancel() {
+        // Given
+        properties.setMaxPairOpenOrders(2);
+        Order first = buy("0.1", "50000");
+        riskService.reserve(first);
+        riskService.reserve(buy("0.1", "50000"));
+
+        // When / Then
+        assertThatThrownBy(() -> riskService.reserve(buy("0.1", "50000")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("open orders for BTCUSD");
+
+        riskService.onStatusChange(first.getId(), Order.OrderStatus.CANCELLED);
+        riskService.reserve(buy("0.1", "50000"));
+        assertThat(riskService.getSnapshot().globalOpenOrders()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldRollBackPartialReservationWhenLaterLimitFails() {
+        // Given - o limite global de nocional falha depois dos contadores por par
+        properties.setMaxGlobalOpenNotional(new BigDecimal("1000"));
+
+        // When
+        assertThatThrownBy(() -> riskService.reserve(buy("1", "5000")))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        // Then
+        PreTradeRiskService.PairRiskSnapshot pair = riskService.getSnapshot().pairs().get("BTCUSD");
+        assertThat(pair.openOrders()).isZero();
+        assertThat(pair.openNotional()).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(riskService.getSnapshot().globalOpenOrders()).isZero();
+    }
+
+    @Test
+    void shouldMovePendingQuantityToPositionOnFill() {
+        // Given
+        Order order = buy("2", "100");
+        riskService.reserve(order);
+
+        // When
+        riskService.onOrderAccepted(order.getId(), filled(order));
+
+        // Then
+        PreTradeRiskService.PairRiskSnapshot pair = riskService.getSnapshot().pairs().get("BTCUSD");
+        assertThat(pair.position()).isEqualByComparingTo("2");
+        assertThat(pair.pendingPosition()).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(pair.openOrders()).isZero();
+    }
+
+    @Test
+    void shouldMarkPositionToMarketFromPriceCache() {
+        // Given
+        properties.setMaxPairPositionNotional(new BigDecimal("300"));
+        Order order = buy("2", "100");
+        riskService.reserve(order);
+        riskService.onOrderAccepted(order.getId(), filled(order));
+
+        // When - o preço de mercado subiu para 140: posição de 2 vale 280
+        priceCacheService.updatePrice("BTCUSD", new BigDecimal("140"), LocalDateTime.now());
+
+        // Then - mais 0.5 levaria a posição a 350 a mercado
+        assertThat(riskService.getSnapshot().pairs().get("BTCUSD").positionNotional()).isEqualByComparingTo("280");
+        assertThatThrownBy(() -> riskService.reserve(buy("0.5", "100")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("projected position notional");
+    }
+
+    @Test
+    void shouldAllowOrdersThatReducePosition() {
+        // Given
+        properties.setMaxPairPositionNotional(new BigDecimal("300"));
+        Order order = buy("2", "100");
+        riskService.reserve(order);
+        riskService.onOrderAccepted(order.getId(), filled(order));
+        priceCacheService.updatePrice("BTCUSD", new BigDecimal("200"), LocalDateTime.now());
+
+        // When / Then - posição acima do limite após alta, mas a venda reduz exposição
+        riskService.reserve(sell("1", "200"));
+    }
+
+    @Test
+    void shouldReleaseReservationOnlyOnce() {
+        // Given
+        Order order = buy("1", "100");
+        riskService.reserve(order);
+
+        // When
+        riskService.release(order.getId());
+        riskService.release(order.getId());
+        riskService.onStatusChange(order.getId(), Order.OrderStatus.CANCELLED);
+
+        // Then
+        assertThat(riskService.getSnapshot().globalOpenOrders()).isZero();
+        assertThat(riskService.getSnapshot().globalOpenNotional()).isEqualByComparingTo(BigDecimal.ZERO);
+    }
+
+    @Test
+    void shouldSkipChecksWhenDisabled() {
+        // Given
+        properties.setEnabled(false);
+        properties.setMaxOrderNotional(BigDecimal.ONE);
+
+        // When / Then
+        riskService.reserve(buy("1", "50000"));
+        assertThat(riskService.getSnapshot().checks()).isZero();
+    }
+
+    @Test
+    void shouldNeverExceedLimitUnderConcurrentReservations() throws Exception {
+        // Given - cabem exatamente 50 ordens de 100 no limite de nocional do par
+        properties.setMaxPairOpenNotional(new BigDecimal("5000"));
+        int threads = 16;
+        int attemptsPerThread = 20;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger accepted = new AtomicInteger();
+
+        // When
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < attemptsPerThread; i++) {
+                    try {
+                        riskService.reserve(buy("1", "100"));
+                        accepted.incrementAndGet();
+                    } catch (IllegalArgumentException ignored) {
+                        // rejeição esperada quando o limite é atingido
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Then
+        assertThat(accepted.get()).isEqualTo(50);
+        assertThat(riskService.getSnapshot().pairs().get("BTCUSD").openNotional()).isEqualByComparingTo("5000");
+    }
+
+    @Test
+    void shouldNeverExceedGlobalPositionLimitUnderConcurrentOrdersOnDifferentPairs() throws Exception {
+        // Given - cabem exatamente 50 posições de 100 no limite global, espalhadas em 16 pares
+        properties.setMaxGlobalPositionNotional(new BigDecimal("5000"));
+        int threads = 16;
+        int attemptsPerThread = 20;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger accepted = new AtomicInteger();
+
+        // When
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            TradingPair pair = new TradingPair("C" + t, "USD");
+            priceCacheService.updatePrice(pair.getSymbol(), new BigDecimal("100"), LocalDateTime.now());
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < attemptsPerThread; i++) {
+                    try {
+                        riskService.reserve(new Order(pair, Order.OrderType.LIMIT, Order.OrderSide.BUY,
+                                BigDecimal.ONE, new BigDecimal("100")));
+                        accepted.incrementAndGet();
+                    } catch (IllegalArgumentException ignored) {
+                        // rejeição esperada quando o limite é atingido
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Then
+        assertThat(accepted.get()).isEqualTo(50);
+        assertThat(riskService.getSnapshot().globalPositionNotional()).isEqualByComparingTo("5000");
+    }
+
+    @Test
+    void shouldValuePositionWithoutCachedPriceAtLastFillPrice() {
+        // Given - posição em ETHUSD sem preço em cache, executada a 2000
+        properties.setMaxGlobalPositionNotional(new BigDecimal("5000"));
+        TradingPair ethUsd = new TradingPair("ETH", "USD");
+        Order eth = new Order(ethUsd, Order.OrderType.LIMIT, Order.OrderSide.BUY, new BigDecimal("2"), new BigDecimal("2000"));
+        riskService.reserve(eth);
+        riskService.onOrderAccepted(eth.getId(), filled(eth));
+
+        // When / Then - os 4000 de ETH contam no limite global
+        assertThat(riskService.getSnapshot().globalPositionNotional()).isEqualByComparingTo("4000");
+        assertThatThrownBy(() -> riskService.reserve(buy("0.1", "20000")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("projected global position notional");
+        riskService.reserve(buy("0.05", "20000"));
+    }
+
+    private Order buy(String quantity, String price) {
+        return new Order(btcUsd, Order.OrderType.LIMIT, Order.OrderSide.BUY, new BigDecimal(quantity), new BigDecimal(price));
+    }
+
+    private Order sell(String quantity, String price) {
+        return new Order(btcUsd, Order.OrderType.LIMIT, Order.OrderSide.SELL, new BigDecimal(quantity), new BigDecimal(price));
+    }
+
+    private Order filled(Order order) {
+        return new Order(order.getId(), order.getTradingPair(), order.getType(), order.getSide(),
+                order.getQuantity(), order.getPrice(), Order.OrderStatus.FILLED, order.getCreatedAt(), LocalDateTime.now());
+    }
+}
@@ -1,11 +1,19 @@
 package com.marmitt.ctrade.application.service;
 
+import com.marmitt.ctrade.domain.dto.PriceUpdateMessage;
 import com.marmitt.ctrade.domain.entity.PriceAlert;
+import com.marmitt.ctrade.domain.entity.PriceWindowState;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -307,4 +315,208 @@ class PriceAlertServiceTest {
         assertThat(triggeredAlerts).hasSize(1);
         assertThat(triggeredAlerts.get(0).getAlertType()).isEqualTo(PriceAlert.AlertType.BELOW);
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldTriggerPercentMoveAlertWithinWindow() {
+        // Given
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 12, 0, 0);
+        PriceAlert alert = PriceAlert.percentMove("BTCUSDT", new BigDecimal("2"), 60);
+        priceAlertService.addAlert(alert);
+        
+        // When
+        List<PriceAlert> first = priceAlertService.checkAndTriggerAlerts("BTCUSDT", new BigDecimal("50000"), start);
+        List<PriceAlert> second = priceAlertService.checkAndTriggerAlerts("BTCUSDT", new BigDecimal("50500"), start.plusSeconds(10));
+        List<PriceAlert> third = priceAlertService.checkAndTriggerAlerts("BTCUSDT", new BigDecimal("51500"), start.plusSeconds(20));
+        
+        // Then
+        assertThat(first).isEmpty();
+        assertThat(second).isEmpty();
+        assertThat(third).containsExactly(alert);
+        assertThat(alert.isActive()).isFalse();
+    }
+    
+    @Test
+    void shouldShareWindowStateAcrossAlertsOfSamePair() {
+        // Given
+        priceAlertService.addAlert(PriceAlert.percentMove("BTCUSDT", new BigDecimal("1"), 60));
+        priceAlertService.addAlert(PriceAlert.emaCross("BTCUSDT", 20, PriceAlert.AlertType.EMA_CROSS_ABOVE));
+        priceAlertService.addAlert(new PriceAlert("ETHUSDT", new BigDecimal("3000"), PriceAlert.AlertType.ABOVE));
+        
+        // Then
+        assertThat(priceAlertService.getWindowState("BTCUSDT")).isNotNull();
+        assertThat(priceAlertService.getWindowState("ETHUSDT")).isNull();
+    }
+    
+    @Test
+    void shouldReleaseWindowStateWhenLastWindowAlertIsRemoved() {
+        // Given
+        PriceAlert percentMove = PriceAlert.percentMove("BTCUSDT", new BigDecimal("1"), 60);
+        PriceAlert emaCross = PriceAlert.emaCross("BTCUSDT", 20, PriceAlert.AlertType.EMA_CROSS_ABOVE);
+        priceAlertService.addAlert(percentMove);
+        priceAlertService.addAlert(emaCross);
+        priceAlertService.addAlert(new PriceAlert("BTCUSDT", new BigDecimal("60000"), PriceAlert.AlertType.ABOVE));
+        
+        // When
+        priceAlertService.removeAlert(percentMove.getId());
+        PriceWindowState afterFirstRemoval = priceAlertService.getWindowState("BTCUSDT");
+        priceAlertService.removeAlert(emaCross.getId());
+        
+        // Then - o alerta de preço simples não precisa de janela
+        assertThat(afterFirstRemoval).isNotNull();
+        assertThat(priceAlertService.getWindowState("BTCUSDT")).isNull();
+        assertThat(priceAlertService.getActiveAlerts("BTCUSDT")).hasSize(1);
+    }
+    
+    @Test
+    void shouldReleaseWindowStateWhenInactiveAlertsAreCleared() {
+        // Given
+        PriceAlert alert = PriceAlert.percentMove("BTCUSDT", new BigDecimal("1"), 60);
+        priceAlertService.addAlert(alert);
+        alert.trigger();
+        
+        // When
+        priceAlertService.clearInactiveAlerts();
+        
+        // Then
+        assertThat(priceAlertService.getWindowState("BTCUSDT")).isNull();
+        assertThat(priceAlertService.getActiveAlerts("BTCUSDT")).isEmpty();
+    }
+    
+    @Test
+    void shouldReleaseWindowSamplesButKeepAlerts() {
+        // Given
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 12, 0, 0);
+        PriceAlert alert = PriceAlert.percentMove("BTCUSDT", new BigDecimal("2"), 60);
+        priceAlertService.addAlert(alert);
+        priceAlertService.checkAndTriggerAlerts("BTCUSDT", new BigDecimal("50000"), start);
+        PriceWindowState previous = priceAlertService.getWindowState("BTCUSDT");
+        
+        // When
+        priceAlertService.releaseWindowState("BTCUSDT");
+        List<PriceAlert> afterRelease = priceAlertService.checkAndTriggerAlerts("BTCUSDT", new BigDecimal("51500"), start.plusSeconds(20));
+        
+        // Then - sem a amostra antiga, o movimento não é medido a partir de 50000
+        assertThat(priceAlertService.getWindowState("BTCUSDT")).isNotNull().isNotSameAs(previous);
+        assertThat(afterRelease).isEmpty();
+        assertThat(priceAlertService.getActiveAlerts("BTCUSDT")).containsExactly(alert);
+    }
+    
+    @Test
+    void shouldTriggerTrailingStopFromHighSinceCreation() {
+        // Given
+        PriceAlert alert = PriceAlert.trailingStop("BTCUSDT", new BigDecimal("5"));
+        priceAlertService.addAlert(alert);
+        
+        // When
+        priceAlertService.checkAndTriggerAlerts("BTCUSDT", new BigDecimal("100"));
+        priceAlertService.checkAndTriggerAlerts("BTCUSDT", new BigDecimal("120"));
+        List<PriceAlert> notYet = priceAlertService.checkAndTriggerAlerts("BTCUSDT", new BigDecimal("115"));
+        List<PriceAlert> triggered = priceAlertService.checkAndTriggerAlerts("BTCUSDT", new BigDecimal("114"));
+        
+        // Then
+        assertThat(notYet).isEmpty();
+        assertThat(triggered).containsExactly(alert);
+        assertThat(alert.getHighWaterMark()).isEqualByComparingTo("120");
+    }
+    
+    @Test
+    void shouldTriggerEmaCrossAlert() {
+        // Given
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 12, 0, 0);
+        PriceAlert alert = PriceAlert.emaCross("ETHUSDT", 3, PriceAlert.AlertType.EMA_CROSS_BELOW);
+        priceAlertService.addAlert(alert);
+        
+        // When
+        for (int i = 0; i < 5; i++) {
+            assertThat(priceAlertService.checkAndTriggerAlerts("ETHUSDT", new BigDecimal("3000"), start.plusSeconds(i))).isEmpty();
+        }
+        List<PriceAlert> triggered = priceAlertService.checkAndTriggerAlerts("ETHUSDT", new BigDecimal("2900"), start.plusSeconds(5));
+        
+        // Then
+        assertThat(triggered).containsExactly(alert);
+    }
+    
+    @Test
+    void shouldReplayBackfillWithoutRewindingLiveWindow() {
+        // Given - alerta de 2% em 60s já acompanhando o preço ao vivo
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 12, 0, 0);
+        PriceAlert alert = PriceAlert.percentMove("BTCUSDT", new BigDecimal("2"), 60);
+        alert.setCreatedAt(start.minusMinutes(1));
+        priceAlertService.addAlert(alert);
+        priceAlertService.checkAndTriggerAlerts("BTCUSDT", new BigDecimal("50000"), start.plusSeconds(40));
+        
+        // When - o intervalo sem feed teve um movimento de 3%
+        List<PriceAlert> triggered = priceAlertService.replayBackfill("BTCUSDT", List.of(
+                backfillPoint("50000", start),
+                backfillPoint("51500", start.plusSeconds(20)),
+                backfillPoint("50100", start.plusSeconds(30))));
+        
+        // Then - disparado no horário do ponto, marcado como backfill, e a janela ao vivo intacta
+        assertThat(triggered).containsExactly(alert);
+        assertThat(alert.isBackfill()).isTrue();
+        assertThat(alert.getTriggeredAt()).isEqualTo(start.plusSeconds(20));
+        assertThat(priceAlertService.getWindowState("BTCUSDT").getPercentMove(60)).isEqualByComparingTo("0");
+    }
+    
+    @Test
+    void shouldNotReplayBackfillBeforeAlertCreation() {
+        // Given
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 12, 0, 0);
+        PriceAlert alert = new PriceAlert("BTCUSDT", new BigDecimal("51000"), PriceAlert.AlertType.ABOVE);
+        alert.setCreatedAt(start.plusSeconds(25));
+        priceAlertService.addAlert(alert);
+        
+        // When
+        List<PriceAlert> triggered = priceAlertService.replayBackfill("BTCUSDT", List.of(
+                backfillPoint("51500", start.plusSeconds(20)),
+                backfillPoint("50900", start.plusSeconds(30))));
+        
+        // Then
+        assertThat(triggered).isEmpty();
+        assertThat(alert.isActive()).isTrue();
+    }
+    
+    @Test
+    void shouldTriggerAlertOnlyOnceWhenBackfillRacesLiveTicks() throws Exception {
+        // Given - vários alertas que disparam tanto no backfill quanto ao vivo
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 12, 0, 0);
+        List<PriceAlert> alerts = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            PriceAlert alert = new PriceAlert("BTCUSDT", new BigDecimal("50000"), PriceAlert.AlertType.ABOVE);
+            alert.setCreatedAt(start.minusMinutes(1));
+            priceAlertService.addAlert(alert);
+            alerts.add(alert);
+        }
+        List<PriceUpdateMessage> history = List.of(
+                backfillPoint("51000", start),
+                backfillPoint("52000", start.plusSeconds(1)));
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        
+        // When
+        try {
+            Future<List<PriceAlert>> backfill = executor.submit(() -> priceAlertService.replayBackfill("BTCUSDT", history));
+            Future<List<PriceAlert>> live = executor.submit(() -> {
+                List<PriceAlert> triggered = new ArrayList<>();
+                for (int i = 0; i < 200; i++) {
+                    triggered.addAll(priceAlertService.checkAndTriggerAlerts("BTCUSDT", new BigDecimal("55000")));
+                }
+                return triggered;
+            });
+            List<PriceAlert> triggered = new ArrayList<>(backfill.get(5, TimeUnit.SECONDS));
+            triggered.addAll(live.get(5, TimeUnit.SECONDS));
+            
+            // Then - cada alerta aparece em um único resultado
+            assertThat(triggered).hasSize(alerts.size()).containsExactlyInAnyOrderElementsOf(alerts);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    private static PriceUpdateMessage backfillPoint(String price, LocalDateTime timestamp) {
+        PriceUpdateMessage message = new PriceUpdateMessage();
+        message.setTradingPair("BTCUSDT");
+        message.setPrice(new BigDecimal(price));
+        message.setTimestamp(timestamp);
+        return message;
+    }
+}
@@ -5,7 +5,9 @@ import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -86,6 +88,18 @@ class PriceCacheServiceTest {
         assertThat(priceCacheService.hasPrice("ETH/USD")).isFalse();
     }
     
+    @Test
+    void shouldEvictOnlyGivenTradingPair() {
+        LocalDateTime now = LocalDateTime.now();
+        priceCacheService.updatePrice("BTC/USD", new BigDecimal("50000.00"), now);
+        priceCacheService.updatePrice("ETH/USD", new BigDecimal("3000.00"), now);
+        
+        priceCacheService.evict("BTC/USD");
+        
+        assertThat(priceCacheService.hasPrice("BTC/USD")).isFalse();
+        assertThat(priceCacheService.hasPrice("ETH/USD")).isTrue();
+    }
+    
     @Test
     void shouldHandleInvalidParameters() {
         int initialSize = priceCacheService.getCacheSize();
@@ -98,4 +112,60 @@ class PriceCacheServiceTest {
         assertThat(priceCacheService.getCacheSize()).isEqualTo(initialSize);
         assertThat(priceCacheService.getTotalHistoryEntries()).isEqualTo(initialTotalEntries);
     }
-}
\ No newline at end of file
+    
+    @Test
+    void shouldMergeBackfilledPricesInChronologicalOrder() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        priceCacheService.updatePrice("BTC/USD", new BigDecimal("50000.00"), now.minusSeconds(30));
+        priceCacheService.updatePrice("BTC/USD", new BigDecimal("50300.00"), now);
+        
+        // When - um ponto repetido e dois do intervalo sem feed
+        int merged = priceCacheService.mergeHistory("BTC/USD", List.of(
+                new PriceCacheService.PriceCacheEntry(new BigDecimal("49999.00"), now.minusSeconds(30)),
+                new PriceCacheService.PriceCacheEntry(new BigDecimal("50100.00"), now.minusSeconds(20)),
+                new PriceCacheService.PriceCacheEntry(new BigDecimal("50200.00"), now.minusSeconds(10))));
+        
+        // Then - a entrada ao vivo prevalece e o último preço continua o mais recente
+        assertThat(merged).isEqualTo(2);
+        assertThat(priceCacheService.getPriceHistory("BTC/USD"))
+                .extracting(PriceCacheService.PriceCacheEntry::price)
+                .containsExactly(new BigDecimal("50000.00"), new BigDecimal("50100.00"),
+                        new BigDecimal("50200.00"), new BigDecimal("50300.00"));
+        assertThat(priceCacheService.getLatestPrice("BTC/USD")).contains(new BigDecimal("50300.00"));
+    }
+    
+    @Test
+    void shouldNeverExposePartialHistoryWhileMerging() throws InterruptedException {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        priceCacheService.updatePrice("BTC/USD", new BigDecimal("50000.00"), now);
+        List<PriceCacheService.PriceCacheEntry> backfill = List.of(
+                new PriceCacheService.PriceCacheEntry(new BigDecimal("49900.00"), now.minusSeconds(20)),
+                new PriceCacheService.PriceCacheEntry(new BigDecimal("49950.00"), now.minusSeconds(10)));
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread merger = new Thread(() -> {
+            while (running.get()) {
+                priceCacheService.mergeHistory("BTC/USD", backfill);
+            }
+        });
+        
+        // When
+        merger.start();
+        int missing = 0;
+        try {
+            for (int i = 0; i < 50_000; i++) {
+                if (priceCacheService.getLatestPrice("BTC/USD").isEmpty()) {
+                    missing++;
+                }
+            }
+        } finally {
+            running.set(false);
+            merger.join();
+        }
+        
+        // Then - o leitor nunca vê o histórico esvaziado no meio da intercalação
+        assertThat(missing).isZero();
+        assertThat(priceCacheService.getLatestPrice("BTC/USD")).contains(new BigDecimal("50000.00"));
+    }
+}
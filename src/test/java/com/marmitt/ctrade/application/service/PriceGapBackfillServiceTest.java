@@ -0,0 +1,220 @@
+package com.marmitt.ctrade.application.service;
+
+import com.marmitt.ctrade.domain.dto.PriceUpdateMessage;
+import com.marmitt.ctrade.domain.entity.PriceAlert;
+import com.marmitt.ctrade.domain.port.PriceHistoryPort;
+import com.marmitt.ctrade.infrastructure.config.PriceBackfillProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Testes unitários para PriceGapBackfillService.
+ * Usa cache, métricas e alertas reais, com o histórico da exchange mockado.
+ */
+@ExtendWith(MockitoExtension.class)
+class PriceGapBackfillServiceTest {
+
+    @Mock
+    private ObjectProvider<PriceHistoryPort> historyPortProvider;
+
+    @Mock
+    private PriceHistoryPort historyPort;
+
+    @Mock
+    private AlertNotificationDispatcher notificationDispatcher;
+
+    private PriceCacheService priceCacheService;
+    private PriceMetricsService priceMetricsService;
+    private PriceAlertService priceAlertService;
+    private PriceBackfillProperties properties;
+    private PriceGapBackfillService backfillService;
+    private Instant recoveredAt;
+
+    @BeforeEach
+    void setUp() {
+        priceCacheService = new PriceCacheService(5, 100);
+        priceMetricsService = new PriceMetricsService();
+        priceAlertService = new PriceAlertService();
+        properties = new PriceBackfillProperties();
+        properties.setMaxConcurrency(2);
+        backfillService = new PriceGapBackfillService(historyPortProvider, priceCacheService,
+                priceMetricsService, priceAlertService, notificationDispatcher, properties);
+        recoveredAt = Instant.now();
+    }
+
+    @AfterEach
+    void tearDown() {
+        backfillService.shutdown();
+    }
+
+    @Test
+    void shouldMergeMissedPricesInOrderAndReplayAlertsAsBackfill() throws Exception {
+        // Given - último preço antes da queda há 60s e um alerta que teria disparado no intervalo
+        when(historyPortProvider.getIfAvailable()).thenReturn(historyPort);
+        Instant lastCached = recoveredAt.minusSeconds(60);
+        priceCacheService.updatePrice("BTCUSDT", new BigDecimal("50000"), local(lastCached));
+        PriceAlert alert = new PriceAlert("BTCUSDT", new BigDecimal("51000"), PriceAlert.AlertType.ABOVE);
+        alert.setCreatedAt(local(recoveredAt.minusSeconds(600)));
+        priceAlertService.addAlert(alert);
+
+        // Um tick ao vivo chega enquanto o histórico é buscado
+        LocalDateTime liveTick = local(recoveredAt.plusSeconds(1));
+        when(historyPort.getPriceHistory("BTCUSDT", lastCached, recoveredAt)).thenAnswer(invocation -> {
+            priceCacheService.updatePrice("BTCUSDT", new BigDecimal("50900"), liveTick);
+            return List.of(
+                    point("BTCUSDT", "50000", lastCached),
+                    point("BTCUSDT", "50500", lastCached.plusSeconds(10)),
+                    point("BTCUSDT", "51500", lastCached.plusSeconds(20)),
+                    point("BTCUSDT", "50800", lastCached.plusSeconds(30)));
+        });
+
+        // When
+        List<PriceGapBackfillService.BackfillResult> results = backfillService
+                .backfill(List.of("BTCUSDT"), recoveredAt.minusSeconds(30), recoveredAt)
+                .get(5, TimeUnit.SECONDS);
+
+        // Then - o ponto já conhecido é descartado e os novos entram entre o antigo e o ao vivo
+        assertThat(results).singleElement().satisfies(result -> {
+            assertThat(result.prices()).isEqualTo(3);
+            assertThat(result.alerts()).isEqualTo(1);
+            assertThat(result.error()).isNull();
+        });
+        assertThat(priceCacheService.getPriceHistory("BTCUSDT"))
+                .extracting(PriceCacheService.PriceCacheEntry::price)
+                .containsExactly(new BigDecimal("50000"), new BigDecimal("50500"), new BigDecimal("51500"),
+                        new BigDecimal("50800"), new BigDecimal("50900"));
+        assertThat(priceMetricsService.getMetrics("BTCUSDT").getUpdateCount().get()).isEqualTo(3);
+        assertThat(priceMetricsService.getMetrics("BTCUSDT").getHighestPrice()).isEqualByComparingTo("51500");
+
+        assertThat(alert.isActive()).isFalse();
+        assertThat(alert.isBackfill()).isTrue();
+        assertThat(alert.getTriggeredAt()).isEqualTo(local(lastCached.plusSeconds(20)));
+        verify(notificationDispatcher).enqueue(alert);
+    }
+
+    @Test
+    void shouldFetchPairsWithBoundedConcurrency() throws Exception {
+        // Given
+        when(historyPortProvider.getIfAvailable()).thenReturn(historyPort);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        when(historyPort.getPriceHistory(anyString(), any(Instant.class), any(Instant.class))).thenAnswer(invocation -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            Thread.sleep(50);
+            inFlight.decrementAndGet();
+            return List.of(point(invocation.getArgument(0), "100", recoveredAt.minusSeconds(5)));
+        });
+        List<String> pairs = List.of("BTCUSDT", "ETHUSDT", "SOLUSDT", "ADAUSDT", "XRPUSDT");
+
+        // When
+        List<PriceGapBackfillService.BackfillResult> results = backfillService
+                .backfill(pairs, recoveredAt.minusSeconds(10), recoveredAt)
+                .get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(results).extracting(PriceGapBackfillService.BackfillResult::tradingPair)
+                .containsExactlyElementsOf(pairs);
+        assertThat(maxInFlight.get()).isBetween(1, 2);
+        assertThat(priceCacheService.getCacheSize()).isEqualTo(5);
+    }
+
+    @Test
+    void shouldKeepBackfillingOtherPairsWhenOneFails() throws Exception {
+        // Given
+        when(historyPortProvider.getIfAvailable()).thenReturn(historyPort);
+        when(historyPort.getPriceHistory(eq("ETHUSDT"), any(Instant.class), any(Instant.class)))
+                .thenThrow(new IllegalStateException("Binance klines request for ETHUSDT failed: timeout"));
+        when(historyPort.getPriceHistory(eq("BTCUSDT"), any(Instant.class), any(Instant.class)))
+                .thenReturn(List.of(point("BTCUSDT", "50000", recoveredAt.minusSeconds(5))));
+
+        // When
+        List<PriceGapBackfillService.BackfillResult> results = backfillService
+                .backfill(List.of("ETHUSDT", "BTCUSDT"), recoveredAt.minusSeconds(10), recoveredAt)
+                .get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(results.get(0).error()).contains("timeout");
+        assertThat(results.get(1).prices()).isEqualTo(1);
+        assertThat(priceCacheService.hasPrice("BTCUSDT")).isTrue();
+    }
+
+    @Test
+    void shouldLimitGapToMaxGap() throws Exception {
+        // Given
+        properties.setMaxGap(Duration.ofMinutes(1));
+        when(historyPortProvider.getIfAvailable()).thenReturn(historyPort);
+        when(historyPort.getPriceHistory(anyString(), any(Instant.class), any(Instant.class))).thenReturn(List.of());
+
+        // When
+        backfillService.backfill(List.of("BTCUSDT"), recoveredAt.minus(Duration.ofHours(2)), recoveredAt)
+                .get(5, TimeUnit.SECONDS);
+
+        // Then
+        verify(historyPort).getPriceHistory("BTCUSDT", recoveredAt.minus(Duration.ofMinutes(1)), recoveredAt);
+    }
+
+    @Test
+    void shouldSkipGapsShorterThanMinimum() throws Exception {
+        // Given
+        when(historyPortProvider.getIfAvailable()).thenReturn(historyPort);
+
+        // When
+        List<PriceGapBackfillService.BackfillResult> results = backfillService
+                .backfill(List.of("BTCUSDT"), recoveredAt.minusMillis(500), recoveredAt)
+                .get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(results).isEmpty();
+        verifyNoInteractions(historyPort);
+    }
+
+    @Test
+    void shouldSkipWithoutPriceHistorySource() throws Exception {
+        // Given - feed sem histórico disponível (ex: mock)
+        when(historyPortProvider.getIfAvailable()).thenReturn(null);
+
+        // When
+        List<PriceGapBackfillService.BackfillResult> results = backfillService
+                .backfill(List.of("BTCUSDT"), recoveredAt.minusSeconds(60), recoveredAt)
+                .get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(results).isEmpty();
+        verifyNoInteractions(notificationDispatcher);
+    }
+
+    private static PriceUpdateMessage point(String tradingPair, String price, Instant at) {
+        PriceUpdateMessage message = new PriceUpdateMessage();
+        message.setTradingPair(tradingPair);
+        message.setPrice(new BigDecimal(price));
+        message.setTimestamp(local(at));
+        message.setEventTime(at.toEpochMilli());
+        return message;
+    }
+
+    private static LocalDateTime local(Instant instant) {
+        return LocalDateTime.ofInstant(instant, ZoneId.systemDefault());
+    }
+}
@@ -3,7 +3,7 @@ package com.marmitt.ctrade.application.service;
 import com.marmitt.ctrade.domain.entity.Order;
 import com.marmitt.ctrade.domain.entity.TradingAuditLog;
 import com.marmitt.ctrade.domain.entity.TradingPair;
-import com.marmitt.ctrade.infrastructure.repository.TradingAuditLogRepository;
+import com.marmitt.ctrade.domain.port.AuditLogSink;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -21,7 +21,7 @@ import static org.mockito.Mockito.*;
 class TradingAuditServiceTest {
 
     @Mock
-    private TradingAuditLogRepository auditLogRepository;
+    private AuditLogSink auditLogSink;
 
     @InjectMocks
     private TradingAuditService auditService;
@@ -39,8 +39,6 @@ class TradingAuditServiceTest {
 
     @Test
     void shouldLogOrderPlacement() {
-        when(auditLogRepository.save(any(TradingAuditLog.class))).thenReturn(new TradingAuditLog());
-
         auditService.logOrderPlacement(
             TradingAuditLog.ActionType.PLACE_BUY_ORDER,
             tradingPair,
@@ -51,7 +49,7 @@ class TradingAuditServiceTest {
             order
         );
 
-        verify(auditLogRepository).save(argThat(log -> 
+        verify(auditLogSink).submit(argThat(log -> 
             log.getActionType() == TradingAuditLog.ActionType.PLACE_BUY_ORDER &&
             log.getStatus() == TradingAuditLog.Status.SUCCESS &&
             log.getTradingPair().equals("BTC/USD") &&
@@ -66,15 +64,13 @@ class TradingAuditServiceTest {
 
     @Test
     void shouldLogOrderAction() {
-        when(auditLogRepository.save(any(TradingAuditLog.class))).thenReturn(new TradingAuditLog());
-
         auditService.logOrderAction(
             TradingAuditLog.ActionType.CANCEL_ORDER,
             "order-123",
             order
         );
 
-        verify(auditLogRepository).save(argThat(log -> 
+        verify(auditLogSink).submit(argThat(log -> 
             log.getActionType() == TradingAuditLog.ActionType.CANCEL_ORDER &&
             log.getStatus() == TradingAuditLog.Status.SUCCESS &&
             log.getOrderId().equals("order-123") &&
@@ -84,11 +80,9 @@ class TradingAuditServiceTest {
 
     @Test
     void shouldLogPriceQuery() {
-        when(auditLogRepository.save(any(TradingAuditLog.class))).thenReturn(new TradingAuditLog());
-
         auditService.logPriceQuery(tradingPair, new BigDecimal("50000"));
 
-        verify(auditLogRepository).save(argThat(log -> 
+        verify(auditLogSink).submit(argThat(log -> 
             log.getActionType() == TradingAuditLog.ActionType.GET_CURRENT_PRICE &&
             log.getStatus() == TradingAuditLog.Status.SUCCESS &&
             log.getTradingPair().equals("BTC/USD") &&
@@ -98,11 +92,9 @@ class TradingAuditServiceTest {
 
     @Test
     void shouldLogActiveOrdersQuery() {
-        when(auditLogRepository.save(any(TradingAuditLog.class))).thenReturn(new TradingAuditLog());
-
         auditService.logActiveOrdersQuery(5);
 
-        verify(auditLogRepository).save(argThat(log -> 
+        verify(auditLogSink).submit(argThat(log -> 
             log.getActionType() == TradingAuditLog.ActionType.GET_ACTIVE_ORDERS &&
             log.getStatus() == TradingAuditLog.Status.SUCCESS
         ));
@@ -110,8 +102,6 @@ class TradingAuditServiceTest {
 
     @Test
     void shouldLogValidationError() {
-        when(auditLogRepository.save(any(TradingAuditLog.class))).thenReturn(new TradingAuditLog());
-
         auditService.logValidationError(
             TradingAuditLog.ActionType.PLACE_BUY_ORDER,
             "Quantity must be positive",
@@ -120,7 +110,7 @@ class TradingAuditServiceTest {
             new BigDecimal("50000")
         );
 
-        verify(auditLogRepository).save(argThat(log -> 
+        verify(auditLogSink).submit(argThat(log -> 
             log.getActionType() == TradingAuditLog.ActionType.PLACE_BUY_ORDER &&
             log.getStatus() == TradingAuditLog.Status.VALIDATION_ERROR &&
             log.getErrorMessage().equals("Quantity must be positive") &&
@@ -132,8 +122,6 @@ class TradingAuditServiceTest {
 
     @Test
     void shouldLogError() {
-        when(auditLogRepository.save(any(TradingAuditLog.class))).thenReturn(new TradingAuditLog());
-
         auditService.logError(
             TradingAuditLog.ActionType.PLACE_BUY_ORDER,
             "Exchange connection failed",
@@ -141,7 +129,7 @@ class TradingAuditServiceTest {
             "order-123"
         );
 
-        verify(auditLogRepository).save(argThat(log -> 
+        verify(auditLogSink).submit(argThat(log -> 
             log.getActionType() == TradingAuditLog.ActionType.PLACE_BUY_ORDER &&
             log.getStatus() == TradingAuditLog.Status.ERROR &&
             log.getErrorMessage().equals("Exchange connection failed") &&
@@ -151,13 +139,13 @@ class TradingAuditServiceTest {
     }
 
     @Test
-    void shouldNotThrowWhenRepositoryFails() {
-        when(auditLogRepository.save(any(TradingAuditLog.class)))
-            .thenThrow(new RuntimeException("Database connection failed"));
+    void shouldNotThrowWhenSinkFails() {
+        doThrow(new RuntimeException("Audit journal is closed"))
+            .when(auditLogSink).submit(any(TradingAuditLog.class));
 
         // Should not throw exception even if audit logging fails
         auditService.logPriceQuery(tradingPair, new BigDecimal("50000"));
 
-        verify(auditLogRepository).save(any(TradingAuditLog.class));
+        verify(auditLogSink).submit(any(TradingAuditLog.class));
     }
 }
\ No newline at end of file
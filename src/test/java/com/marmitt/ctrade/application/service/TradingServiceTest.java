@@ -3,22 +3,29 @@ package com.marmitt.ctrade.application.service;
 import com.marmitt.ctrade.domain.entity.Order;
 import com.marmitt.ctrade.domain.entity.TradingAuditLog;
 import com.marmitt.ctrade.domain.entity.TradingPair;
+import com.marmitt.ctrade.domain.port.AsyncExchangePort;
 import com.marmitt.ctrade.domain.port.ExchangePort;
 import com.marmitt.ctrade.domain.valueobject.Price;
+import com.marmitt.ctrade.infrastructure.config.RiskProperties;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.InjectMocks;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -28,8 +35,23 @@ class TradingServiceTest {
     @Mock
     private ExchangePort exchangePort;
     
+    @Mock
+    private AsyncExchangePort asyncExchangePort;
+    
     @Mock
     private TradingAuditService auditService;
+    
+    @Spy
+    private OrderStateStore orderStateStore = new OrderStateStore();
+    
+    @Mock
+    private MarketPriceResolver marketPriceResolver;
+    
+    @Spy
+    private PreTradeRiskService riskService = new PreTradeRiskService(new RiskProperties(), new PriceCacheService(5, 100));
+    
+    @Mock
+    private ExchangeQueryCache exchangeQueryCache;
 
     @InjectMocks
     private TradingService tradingService;
@@ -94,7 +116,8 @@ class TradingServiceTest {
     @DisplayName("Should place market buy order successfully")
     void shouldPlaceMarketBuyOrderSuccessfully() {
         Price currentPrice = new Price("51000");
-        when(exchangePort.getCurrentPrice(tradingPair)).thenReturn(currentPrice);
+        when(marketPriceResolver.resolve(tradingPair))
+            .thenReturn(new MarketPriceResolver.ResolvedPrice(currentPrice, MarketPriceResolver.PriceSource.CACHE));
         
         Order expectedOrder = new Order(tradingPair, Order.OrderType.MARKET, Order.OrderSide.BUY, quantity, currentPrice.getValue());
         when(exchangePort.placeOrder(any(Order.class))).thenReturn(expectedOrder);
@@ -104,7 +127,8 @@ class TradingServiceTest {
         assertThat(result).isNotNull();
         assertThat(result.getSide()).isEqualTo(Order.OrderSide.BUY);
         assertThat(result.getType()).isEqualTo(Order.OrderType.MARKET);
-        verify(exchangePort).getCurrentPrice(tradingPair);
+        verify(exchangePort, never()).getCurrentPrice(any());
+        verify(marketPriceResolver).recordPlacementLatency(eq(MarketPriceResolver.PriceSource.CACHE), anyLong());
         verify(exchangePort).placeOrder(argThat(order -> 
             order.getSide() == Order.OrderSide.BUY &&
             order.getType() == Order.OrderType.MARKET &&
@@ -132,13 +156,28 @@ class TradingServiceTest {
     void shouldGetOrderStatusSuccessfully() {
         String orderId = "order123";
         Order order = new Order(tradingPair, Order.OrderType.LIMIT, Order.OrderSide.BUY, quantity, price);
-        when(exchangePort.getOrderStatus(orderId)).thenReturn(order);
+        when(exchangeQueryCache.getOrderStatus(orderId)).thenReturn(order);
 
         Order result = tradingService.getOrderStatus(orderId);
 
         assertThat(result).isNotNull();
         assertThat(result.getId()).isEqualTo(order.getId());
-        verify(exchangePort).getOrderStatus(orderId);
+        verify(exchangeQueryCache).getOrderStatus(orderId);
+    }
+
+    @Test
+    @DisplayName("Should serve order status from local store without querying exchange")
+    void shouldServeOrderStatusFromLocalStore() {
+        Order placedOrder = new Order(tradingPair, Order.OrderType.LIMIT, Order.OrderSide.BUY, quantity, price);
+        when(exchangePort.placeOrder(any(Order.class))).thenReturn(placedOrder);
+        tradingService.placeBuyOrder(tradingPair, quantity, price);
+
+        Order result = tradingService.getOrderStatus(placedOrder.getId());
+
+        assertThat(result.getId()).isEqualTo(placedOrder.getId());
+        assertThat(result.getStatus()).isEqualTo(Order.OrderStatus.PENDING);
+        verify(exchangePort, never()).getOrderStatus(anyString());
+        verify(exchangeQueryCache, never()).getOrderStatus(anyString());
     }
 
     @Test
@@ -148,25 +187,81 @@ class TradingServiceTest {
             new Order(tradingPair, Order.OrderType.LIMIT, Order.OrderSide.BUY, quantity, price),
             new Order(tradingPair, Order.OrderType.LIMIT, Order.OrderSide.SELL, quantity, price)
         );
-        when(exchangePort.getActiveOrders()).thenReturn(activeOrders);
+        activeOrders.forEach(orderStateStore::save);
 
         List<Order> result = tradingService.getActiveOrders();
 
         assertThat(result).hasSize(2);
-        assertThat(result).containsExactlyElementsOf(activeOrders);
-        verify(exchangePort).getActiveOrders();
+        assertThat(result).containsExactlyInAnyOrderElementsOf(activeOrders);
+        verify(exchangePort, never()).getActiveOrders();
+        verify(auditService).logActiveOrdersQuery(2);
+    }
+
+    @Test
+    @DisplayName("Should apply order status update to local store")
+    void shouldApplyOrderStatusUpdateToLocalStore() {
+        Order order = new Order(tradingPair, Order.OrderType.LIMIT, Order.OrderSide.BUY, quantity, price);
+        orderStateStore.save(order);
+
+        tradingService.processOrderStatusUpdate(order.getId(), Order.OrderStatus.FILLED, "Order filled");
+
+        assertThat(tradingService.getActiveOrders()).isEmpty();
+        assertThat(orderStateStore.findById(order.getId()))
+            .get()
+            .extracting(Order::getStatus)
+            .isEqualTo(Order.OrderStatus.FILLED);
+    }
+
+    @Test
+    @DisplayName("Should place buy order asynchronously and audit on completion")
+    void shouldPlaceBuyOrderAsynchronously() {
+        Order expectedOrder = new Order(tradingPair, Order.OrderType.LIMIT, Order.OrderSide.BUY, quantity, price);
+        when(asyncExchangePort.placeOrder(any(Order.class))).thenReturn(CompletableFuture.completedFuture(expectedOrder));
+
+        Order result = tradingService.placeBuyOrderAsync(tradingPair, quantity, price).join();
+
+        assertThat(result).isEqualTo(expectedOrder);
+        assertThat(orderStateStore.findById(expectedOrder.getId())).isPresent();
+        verify(exchangePort, never()).placeOrder(any());
+        verify(auditService).logOrderPlacement(
+            eq(TradingAuditLog.ActionType.PLACE_BUY_ORDER), eq(tradingPair), eq(Order.OrderType.LIMIT),
+            eq(Order.OrderSide.BUY), eq(quantity), eq(price), eq(expectedOrder));
+    }
+
+    @Test
+    @DisplayName("Should fail async order immediately on validation error")
+    void shouldFailAsyncOrderImmediatelyOnValidationError() {
+        CompletableFuture<Order> future = tradingService.placeSellOrderAsync(tradingPair, null, price);
+
+        assertThat(future).isCompletedExceptionally();
+        verifyNoInteractions(asyncExchangePort);
+        verify(auditService).logValidationError(
+            eq(TradingAuditLog.ActionType.PLACE_SELL_ORDER), eq("Quantity must be positive"), eq(tradingPair), isNull(), eq(price));
+    }
+
+    @Test
+    @DisplayName("Should audit error when async cancellation fails")
+    void shouldAuditErrorWhenAsyncCancellationFails() {
+        when(asyncExchangePort.cancelOrder("order123"))
+            .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("Cannot cancel filled order: order123")));
+
+        assertThatThrownBy(() -> tradingService.cancelOrderAsync("order123").join())
+            .isInstanceOf(CompletionException.class)
+            .hasCauseInstanceOf(IllegalStateException.class);
+        verify(auditService).logError(
+            TradingAuditLog.ActionType.CANCEL_ORDER, "Cannot cancel filled order: order123", null, "order123");
     }
 
     @Test
     @DisplayName("Should get current price successfully")
     void shouldGetCurrentPriceSuccessfully() {
         Price expectedPrice = new Price("50000");
-        when(exchangePort.getCurrentPrice(tradingPair)).thenReturn(expectedPrice);
+        when(exchangeQueryCache.getCurrentPrice(tradingPair)).thenReturn(expectedPrice);
 
         Price result = tradingService.getCurrentPrice(tradingPair);
 
         assertThat(result).isEqualTo(expectedPrice);
-        verify(exchangePort).getCurrentPrice(tradingPair);
+        verify(exchangeQueryCache).getCurrentPrice(tradingPair);
     }
 
     @Test
@@ -78,6 +78,15 @@ class WebSocketServiceTest {
         verify(webSocketPort).subscribeToPrice(tradingPair);
     }
 
+    @Test
+    void shouldUnsubscribeFromTradingPairThroughWebSocketPort() {
+        // When
+        webSocketService.unsubscribeFromTradingPair("BTCUSDT");
+        
+        // Then
+        verify(webSocketPort).unsubscribeFromPrice("BTCUSDT");
+    }
+
     @Test
     void shouldHandleMultipleStartConnectionCalls() {
         // When
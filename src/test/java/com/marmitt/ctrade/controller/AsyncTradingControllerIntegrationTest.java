@@ -0,0 +1,82 @@
+package com.marmitt.ctrade.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marmitt.ctrade.controller.dto.OrderRequest;
+import com.marmitt.ctrade.controller.dto.OrderResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AsyncTradingControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("Should place buy order asynchronously")
+    void shouldPlaceBuyOrderAsynchronously() throws Exception {
+        OrderRequest request = new OrderRequest("BTC/USD", new BigDecimal("0.5"), new BigDecimal("50000"));
+
+        MvcResult pending = mockMvc.perform(post("/api/trading/async/orders/buy")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        MvcResult result = mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.side").value("BUY"))
+                .andExpect(jsonPath("$.id").exists())
+                .andReturn();
+
+        OrderResponse order = objectMapper.readValue(result.getResponse().getContentAsString(), OrderResponse.class);
+
+        MvcResult statusPending = mockMvc.perform(get("/api/trading/async/orders/{orderId}", order.getId()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(statusPending))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(order.getId()));
+    }
+
+    @Test
+    @DisplayName("Should map async exchange failure to bad request")
+    void shouldMapAsyncExchangeFailureToBadRequest() throws Exception {
+        MvcResult pending = mockMvc.perform(delete("/api/trading/async/orders/{orderId}", "non-existent-order"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should get current price asynchronously")
+    void shouldGetCurrentPriceAsynchronously() throws Exception {
+        MvcResult pending = mockMvc.perform(get("/api/trading/async/price/BTC/USD"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.price").exists());
+    }
+}
@@ -0,0 +1,123 @@
+package com.marmitt.ctrade.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marmitt.ctrade.domain.entity.TradingAuditLog;
+import com.marmitt.ctrade.domain.port.AuditLogSink;
+import com.marmitt.ctrade.infrastructure.repository.TradingAuditLogRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AuditControllerIntegrationTest {
+
+    private static final String PAIR = "AUDITTEST";
+    private static final LocalDateTime BASE = LocalDateTime.of(2026, 10, 19, 12, 0);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TradingAuditLogRepository auditLogRepository;
+
+    @Autowired
+    private AuditLogSink auditLogSink;
+
+    @BeforeEach
+    void setUp() {
+        auditLogSink.flush(Duration.ofSeconds(5));
+        auditLogRepository.deleteAll();
+
+        // Dois registros por segundo para exercitar o desempate pelo id
+        List<TradingAuditLog> auditLogs = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            TradingAuditLog auditLog = TradingAuditLog.success(TradingAuditLog.ActionType.PLACE_BUY_ORDER)
+                    .withTradingPair(PAIR)
+                    .withOrderId("order-" + i);
+            auditLog.setCreatedAt(BASE.plusSeconds(i / 2));
+            auditLogs.add(auditLog);
+        }
+        auditLogRepository.saveAll(auditLogs);
+    }
+
+    @Test
+    @DisplayName("Should walk all pages with the returned cursor")
+    void shouldWalkAllPagesWithCursor() throws Exception {
+        List<String> orderIds = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+
+        do {
+            var requestBuilder = get("/api/audit/logs").param("tradingPair", PAIR).param("limit", "10");
+            if (cursor != null) {
+                requestBuilder.param("cursor", cursor);
+            }
+            MvcResult result = mockMvc.perform(requestBuilder)
+                    .andExpect(status().isOk())
+                    .andReturn();
+
+            JsonNode body = objectMapper.readTree(result.getResponse().getContentAsString());
+            body.get("items").forEach(item -> orderIds.add(item.get("orderId").asText()));
+            cursor = body.get("nextCursor").isNull() ? null : body.get("nextCursor").asText();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(orderIds).hasSize(25).doesNotHaveDuplicates();
+        assertThat(orderIds.get(0)).isEqualTo("order-24");
+        assertThat(orderIds.get(24)).isIn("order-0", "order-1");
+    }
+
+    @Test
+    @DisplayName("Should reject unsupported filter combination")
+    void shouldRejectUnsupportedFilterCombination() throws Exception {
+        mockMvc.perform(get("/api/audit/logs").param("tradingPair", PAIR).param("orderId", "order-1"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(org.hamcrest.Matchers.containsString("Unsupported audit filter combination")));
+    }
+
+    @Test
+    @DisplayName("Should export audit logs in range as NDJSON")
+    void shouldExportLogsAsNdjson() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/audit/logs/export")
+                        .param("tradingPair", PAIR)
+                        .param("from", BASE.plusSeconds(5).toString())
+                        .param("to", BASE.plusSeconds(9).toString()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andReturn();
+
+        String[] lines = result.getResponse().getContentAsString().trim().split("\n");
+        assertThat(lines).hasSize(10);
+        assertThat(objectMapper.readTree(lines[0]).get("tradingPair").asText()).isEqualTo(PAIR);
+    }
+}
@@ -1,9 +1,13 @@
 package com.marmitt.ctrade.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marmitt.ctrade.controller.dto.BatchCancelRequest;
+import com.marmitt.ctrade.controller.dto.BatchOrderRequest;
 import com.marmitt.ctrade.controller.dto.OrderRequest;
 import com.marmitt.ctrade.controller.dto.OrderResponse;
+import com.marmitt.ctrade.domain.entity.Order;
 import com.marmitt.ctrade.domain.entity.TradingAuditLog;
+import com.marmitt.ctrade.domain.port.AuditLogSink;
 import com.marmitt.ctrade.infrastructure.repository.TradingAuditLogRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
@@ -18,6 +22,7 @@ import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.*;
@@ -38,9 +43,13 @@ class TradingControllerIntegrationTest {
     
     @Autowired
     private TradingAuditLogRepository auditLogRepository;
+    
+    @Autowired
+    private AuditLogSink auditLogSink;
 
     @BeforeEach
     void setUp() {
+        auditLogSink.flush(Duration.ofSeconds(5));
         auditLogRepository.deleteAll();
     }
 
@@ -69,6 +78,7 @@ class TradingControllerIntegrationTest {
         assertThat(orderResponse.getStatus()).isIn("PENDING", "FILLED");
         
         // Verify audit log was created
+        auditLogSink.flush(Duration.ofSeconds(5));
         List<TradingAuditLog> auditLogs = auditLogRepository.findAll();
         assertThat(auditLogs).hasSize(1);
         
@@ -137,6 +147,7 @@ class TradingControllerIntegrationTest {
                 .andExpect(jsonPath("$.timestamp").exists());
         
         // Verify audit log was created for price query
+        auditLogSink.flush(Duration.ofSeconds(5));
         List<TradingAuditLog> auditLogs = auditLogRepository.findAll();
         assertThat(auditLogs).hasSize(1);
         
@@ -282,6 +293,7 @@ class TradingControllerIntegrationTest {
                 .andExpect(jsonPath("$.id").value(orderResponse.getId()));
         
         // Verify multiple audit logs were created for this complex workflow
+        auditLogSink.flush(Duration.ofSeconds(5));
         List<TradingAuditLog> auditLogs = auditLogRepository.findAll();
         assertThat(auditLogs).hasSizeGreaterThanOrEqualTo(4); // price query + 2 orders + active orders + order status
         
@@ -303,6 +315,54 @@ class TradingControllerIntegrationTest {
         );
     }
     
+    @Test
+    @DisplayName("Should place batch orders and audit them in a single write")
+    void shouldPlaceBatchOrdersAndAuditThemInSingleWrite() throws Exception {
+        BatchOrderRequest request = new BatchOrderRequest(List.of(
+                new BatchOrderRequest.Item("BTC/USD", Order.OrderSide.BUY, new BigDecimal("0.1"), new BigDecimal("49000")),
+                new BatchOrderRequest.Item("ETH/USD", Order.OrderSide.SELL, new BigDecimal("2"), new BigDecimal("3100"))
+        ));
+
+        mockMvc.perform(post("/api/trading/orders/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(2))
+                .andExpect(jsonPath("$.succeeded").value(2))
+                .andExpect(jsonPath("$.results[0].index").value(0))
+                .andExpect(jsonPath("$.results[0].order.side").value("BUY"))
+                .andExpect(jsonPath("$.results[1].order.side").value("SELL"));
+
+        auditLogSink.flush(Duration.ofSeconds(5));
+        List<TradingAuditLog> auditLogs = auditLogRepository.findAll();
+        assertThat(auditLogs).hasSize(2);
+        assertThat(auditLogs).extracting(TradingAuditLog::getRequestId).containsOnly(auditLogs.get(0).getRequestId());
+    }
+
+    @Test
+    @DisplayName("Should report per-item results when cancelling in batch")
+    void shouldReportPerItemResultsWhenCancellingInBatch() throws Exception {
+        BatchCancelRequest request = new BatchCancelRequest(List.of("unknown-order", "unknown-order"));
+
+        mockMvc.perform(post("/api/trading/orders/cancel-batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(2))
+                .andExpect(jsonPath("$.failed").value(2))
+                .andExpect(jsonPath("$.results[0].status").value("FAILED"))
+                .andExpect(jsonPath("$.results[1].status").value("REJECTED"));
+    }
+
+    @Test
+    @DisplayName("Should reject empty batch")
+    void shouldRejectEmptyBatch() throws Exception {
+        mockMvc.perform(post("/api/trading/orders/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new BatchOrderRequest(List.of()))))
+                .andExpect(status().isBadRequest());
+    }
+    
     @Test
     @DisplayName("Should create audit log for validation error at service level")
     void shouldCreateAuditLogForValidationErrorAtServiceLevel() throws Exception {
@@ -0,0 +1,70 @@
+package com.marmitt.ctrade.controller;
+
+import com.marmitt.ctrade.infrastructure.config.ConfigurationBasedTradingPairProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TradingPairControllerIntegrationTest {
+    
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+    
+    @Autowired
+    private ConfigurationBasedTradingPairProvider tradingPairProvider;
+    
+    private MockMvc mockMvc;
+    
+    @BeforeEach
+    void setUp() {
+        this.mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+    }
+    
+    @Test
+    void shouldRejectInvalidSymbolOnAdd() throws Exception {
+        List<String> before = tradingPairProvider.getActiveTradingPairs();
+        
+        mockMvc.perform(post("/api/trading-pairs/{tradingPair}", "btc@usdt"))
+               .andExpect(status().isBadRequest())
+               .andExpect(jsonPath("$.message").value("Invalid trading pair symbol: 'BTC@USDT' (expected 2-20 letters or digits)"));
+        
+        assertThat(tradingPairProvider.getActiveTradingPairs()).isEqualTo(before);
+    }
+    
+    @Test
+    void shouldRejectWholeListWhenOneSymbolIsInvalid() throws Exception {
+        List<String> before = tradingPairProvider.getActiveTradingPairs();
+        
+        mockMvc.perform(put("/api/trading-pairs")
+                       .contentType(MediaType.APPLICATION_JSON)
+                       .content("[\"BTCUSDT\", \"ETH USDT\"]"))
+               .andExpect(status().isBadRequest());
+        
+        assertThat(tradingPairProvider.getActiveTradingPairs()).isEqualTo(before);
+    }
+    
+    @Test
+    void shouldNormalizeSymbolToUpperCase() throws Exception {
+        try {
+            mockMvc.perform(post("/api/trading-pairs/{tradingPair}", "solusdt"))
+                   .andExpect(status().isOk())
+                   .andExpect(jsonPath("$.added[0]").value("SOLUSDT"));
+        } finally {
+            tradingPairProvider.removeTradingPair("SOLUSDT", "test");
+        }
+    }
+}
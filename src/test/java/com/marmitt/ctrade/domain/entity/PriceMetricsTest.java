@@ -314,4 +314,24 @@ class PriceMetricsTest {
         assertThat(priceMetrics.getHighestPrice()).isEqualByComparingTo(positivePrice);
         assertThat(priceMetrics.getPriceRange()).isEqualByComparingTo(positivePrice);
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldBackfillOlderPricesWithoutReplacingCurrentPrice() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        priceMetrics.updatePrice(new BigDecimal("100.00"), now);
+        
+        // When - preços de um intervalo anterior chegam depois do tick atual
+        priceMetrics.backfillPrice(new BigDecimal("90.00"), now.minusSeconds(30));
+        priceMetrics.backfillPrice(new BigDecimal("110.00"), now.minusSeconds(20));
+        
+        // Then
+        assertThat(priceMetrics.getCurrentPrice()).isEqualByComparingTo("100.00");
+        assertThat(priceMetrics.getLastUpdateTime()).isEqualTo(now);
+        assertThat(priceMetrics.getFirstUpdateTime()).isEqualTo(now.minusSeconds(30));
+        assertThat(priceMetrics.getUpdateCount().get()).isEqualTo(3);
+        assertThat(priceMetrics.getLowestPrice()).isEqualByComparingTo("90.00");
+        assertThat(priceMetrics.getHighestPrice()).isEqualByComparingTo("110.00");
+        assertThat(priceMetrics.getAveragePrice()).isEqualByComparingTo("100.00");
+    }
+}
@@ -0,0 +1,130 @@
+package com.marmitt.ctrade.domain.entity;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Testes unitários para PriceWindowState.
+ * Testa janelas deslizantes e EMAs incrementais compartilhadas entre alertas.
+ */
+class PriceWindowStateTest {
+
+    private PriceWindowState windowState;
+    private LocalDateTime baseTime;
+
+    @BeforeEach
+    void setUp() {
+        windowState = new PriceWindowState("BTCUSDT");
+        baseTime = LocalDateTime.of(2024, 1, 1, 12, 0, 0);
+    }
+
+    @Test
+    void shouldComputePercentMoveWithinWindow() {
+        // Given
+        windowState.registerWindow(60);
+
+        // When
+        windowState.update(new BigDecimal("100"), baseTime);
+        windowState.update(new BigDecimal("103"), baseTime.plusSeconds(10));
+        windowState.update(new BigDecimal("105"), baseTime.plusSeconds(20));
+
+        // Then
+        assertThat(windowState.getPercentMove(60)).isEqualByComparingTo("5");
+    }
+
+    @Test
+    void shouldEvictSamplesOutsideWindow() {
+        // Given
+        windowState.registerWindow(30);
+
+        // When
+        windowState.update(new BigDecimal("100"), baseTime);
+        windowState.update(new BigDecimal("110"), baseTime.plusSeconds(40));
+        windowState.update(new BigDecimal("111"), baseTime.plusSeconds(45));
+
+        // Then - o preço 100 saiu da janela de 30s
+        assertThat(windowState.getPercentMove(30)).isLessThan(new BigDecimal("1"));
+    }
+
+    @Test
+    void shouldComputeDownwardMoveAgainstWindowMaximum() {
+        // Given
+        windowState.registerWindow(60);
+
+        // When
+        windowState.update(new BigDecimal("200"), baseTime);
+        windowState.update(new BigDecimal("190"), baseTime.plusSeconds(5));
+
+        // Then
+        assertThat(windowState.getPercentMove(60)).isEqualByComparingTo("5");
+    }
+
+    @Test
+    void shouldReturnZeroMoveForUnregisteredWindow() {
+        // When
+        windowState.update(new BigDecimal("100"), baseTime);
+
+        // Then
+        assertThat(windowState.getPercentMove(60)).isEqualByComparingTo(BigDecimal.ZERO);
+    }
+
+    @Test
+    void shouldDetectCrossAboveEmaAfterWarmUp() {
+        // Given
+        windowState.registerEma(3);
+        for (int i = 0; i < 5; i++) {
+            windowState.update(new BigDecimal("100"), baseTime.plusSeconds(i));
+        }
+        windowState.update(new BigDecimal("95"), baseTime.plusSeconds(5));
+
+        // When
+        windowState.update(new BigDecimal("110"), baseTime.plusSeconds(6));
+
+        // Then
+        assertThat(windowState.crossedAboveEma(3)).isTrue();
+        assertThat(windowState.crossedBelowEma(3)).isFalse();
+    }
+
+    @Test
+    void shouldNotDetectCrossBeforeWarmUp() {
+        // Given
+        windowState.registerEma(20);
+
+        // When
+        windowState.update(new BigDecimal("100"), baseTime);
+        windowState.update(new BigDecimal("120"), baseTime.plusSeconds(1));
+
+        // Then
+        assertThat(windowState.crossedAboveEma(20)).isFalse();
+    }
+
+    @Test
+    void shouldDetectCrossBelowEma() {
+        // Given
+        windowState.registerEma(2);
+        for (int i = 0; i < 4; i++) {
+            windowState.update(new BigDecimal("100"), baseTime.plusSeconds(i));
+        }
+
+        // When
+        windowState.update(new BigDecimal("90"), baseTime.plusSeconds(4));
+
+        // Then
+        assertThat(windowState.crossedBelowEma(2)).isTrue();
+        assertThat(windowState.getEma(2)).isBetween(new BigDecimal("90"), new BigDecimal("100"));
+    }
+
+    @Test
+    void shouldRejectInvalidRegistrations() {
+        assertThatThrownBy(() -> windowState.registerWindow(0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> windowState.registerEma(-1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,204 @@
+package com.marmitt.ctrade.infrastructure.audit;
+
+import com.marmitt.ctrade.domain.entity.Order;
+import com.marmitt.ctrade.domain.entity.TradingAuditLog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes unitários para AuditArchiveStore.
+ * Testa o formato colunar, a publicação atômica dos arquivos e as contagens do cabeçalho.
+ */
+class AuditArchiveStoreTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 10, 10);
+
+    @TempDir
+    Path directory;
+
+    private AuditArchiveStore archiveStore;
+
+    @BeforeEach
+    void setUp() {
+        archiveStore = new AuditArchiveStore(directory);
+    }
+
+    @Test
+    void shouldRoundTripAllColumns() {
+        // Given
+        TradingAuditLog order = TradingAuditLog.success(TradingAuditLog.ActionType.PLACE_BUY_ORDER)
+                .withTradingPair("BTCUSDT")
+                .withOrderId("order-1")
+                .withOrderDetails(Order.OrderType.LIMIT, Order.OrderSide.BUY, new BigDecimal("0.50000000"), new BigDecimal("50000.5"))
+                .withUserContext("desk-1")
+                .withRequestId("req-ç-1");
+        order.setId(100L);
+        order.setCreatedAt(DAY.atTime(10, 15, 30, 123_456_000));
+        TradingAuditLog error = TradingAuditLog.error(TradingAuditLog.ActionType.CANCEL_ORDER, "Order not found");
+        error.setId(98L);
+        error.setCreatedAt(DAY.atTime(9, 0));
+
+        // When
+        try (AuditArchiveStore.ArchiveWriter writer = archiveStore.openWriter(DAY)) {
+            writer.writeRowGroup(List.of(order, error));
+            writer.commit();
+        }
+        List<TradingAuditLog> read = archiveStore.read(DAY, auditLog -> true);
+
+        // Then
+        assertThat(read).hasSize(2);
+        TradingAuditLog restored = read.get(0);
+        assertThat(restored.getId()).isEqualTo(100L);
+        assertThat(restored.getCreatedAt()).isEqualTo(order.getCreatedAt());
+        assertThat(restored.getActionType()).isEqualTo(TradingAuditLog.ActionType.PLACE_BUY_ORDER);
+        assertThat(restored.getStatus()).isEqualTo(TradingAuditLog.Status.SUCCESS);
+        assertThat(restored.getOrderType()).isEqualTo(Order.OrderType.LIMIT);
+        assertThat(restored.getOrderSide()).isEqualTo(Order.OrderSide.BUY);
+        assertThat(restored.getTradingPair()).isEqualTo("BTCUSDT");
+        assertThat(restored.getQuantity()).isEqualTo(new BigDecimal("0.50000000"));
+        assertThat(restored.getTotalValue()).isEqualTo(order.getTotalValue());
+        assertThat(restored.getUserContext()).isEqualTo("desk-1");
+        assertThat(restored.getRequestId()).isEqualTo("req-ç-1");
+
+        TradingAuditLog restoredError = read.get(1);
+        assertThat(restoredError.getId()).isEqualTo(98L);
+        assertThat(restoredError.getErrorMessage()).isEqualTo("Order not found");
+        assertThat(restoredError.getTradingPair()).isNull();
+        assertThat(restoredError.getPrice()).isNull();
+        assertThat(restoredError.getOrderSide()).isNull();
+    }
+
+    @Test
+    void shouldSummarizeCountsFromHeader() {
+        // Given - dois row groups
+        try (AuditArchiveStore.ArchiveWriter writer = archiveStore.openWriter(DAY)) {
+            writer.writeRowGroup(logs(TradingAuditLog.ActionType.GET_CURRENT_PRICE, 1, 3));
+            writer.writeRowGroup(logs(TradingAuditLog.ActionType.CANCEL_ORDER, 10, 2));
+            writer.commit();
+        }
+
+        // When
+        List<AuditArchiveStore.ArchiveFile> files = archiveStore.listFiles();
+
+        // Then
+        assertThat(files).hasSize(1);
+        assertThat(files.get(0).day()).isEqualTo(DAY);
+        assertThat(files.get(0).rows()).isEqualTo(5);
+        assertThat(files.get(0).count(TradingAuditLog.ActionType.GET_CURRENT_PRICE)).isEqualTo(3);
+        assertThat(files.get(0).count(TradingAuditLog.ActionType.CANCEL_ORDER)).isEqualTo(2);
+        assertThat(archiveStore.readIds(DAY)).containsExactlyInAnyOrder(1L, 2L, 3L, 10L, 11L);
+        assertThat(archiveStore.archivedDays()).containsExactly(DAY);
+    }
+
+    @Test
+    void shouldDiscardFileClosedWithoutCommit() throws IOException {
+        // Given
+        try (AuditArchiveStore.ArchiveWriter writer = archiveStore.openWriter(DAY)) {
+            writer.writeRowGroup(logs(TradingAuditLog.ActionType.CANCEL_ORDER, 1, 2));
+        }
+
+        // Then
+        assertThat(archiveStore.listFiles()).isEmpty();
+        try (var files = Files.list(directory)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    void shouldCompressRepetitiveRecords() throws IOException {
+        // Given
+        List<TradingAuditLog> rows = logs(TradingAuditLog.ActionType.GET_CURRENT_PRICE, 1, 10_000);
+
+        // When
+        AuditArchiveStore.ArchiveFile file;
+        try (AuditArchiveStore.ArchiveWriter writer = archiveStore.openWriter(DAY)) {
+            writer.writeRowGroup(rows);
+            file = writer.commit();
+        }
+
+        // Then - bem menos que 10 bytes por registro
+        assertThat(Files.size(file.path())).isLessThan(100_000);
+        assertThat(archiveStore.getStats().rows()).isEqualTo(10_000);
+    }
+
+    @Test
+    void shouldReadArchiveWrittenWithFewerEnumValues() throws IOException {
+        // Given - arquivo gravado quando os enums tinham menos valores, em outra ordem
+        AuditArchiveCodec.Layout oldLayout = new AuditArchiveCodec.Layout(
+                new TradingAuditLog.ActionType[]{TradingAuditLog.ActionType.CANCEL_ORDER, TradingAuditLog.ActionType.PLACE_BUY_ORDER},
+                new TradingAuditLog.Status[]{TradingAuditLog.Status.ERROR, TradingAuditLog.Status.SUCCESS},
+                new Order.OrderType[]{Order.OrderType.LIMIT},
+                new Order.OrderSide[]{Order.OrderSide.SELL, Order.OrderSide.BUY});
+        TradingAuditLog buy = TradingAuditLog.success(TradingAuditLog.ActionType.PLACE_BUY_ORDER)
+                .withOrderDetails(Order.OrderType.LIMIT, Order.OrderSide.BUY, BigDecimal.ONE, BigDecimal.TEN);
+        buy.setId(2L);
+        buy.setCreatedAt(DAY.atTime(11, 0));
+        TradingAuditLog cancel = TradingAuditLog.error(TradingAuditLog.ActionType.CANCEL_ORDER, "Order not found");
+        cancel.setId(1L);
+        cancel.setCreatedAt(DAY.atTime(10, 0));
+        long[][] counts = {{1, 0, 0}, {0, 1, 0}};
+        writeArchive(directory.resolve("audit-20261010-1-1.archive"), oldLayout, counts, List.of(buy, cancel));
+
+        // When
+        List<AuditArchiveStore.ArchiveFile> files = archiveStore.listFiles();
+        List<TradingAuditLog> read = archiveStore.read(DAY, auditLog -> true);
+
+        // Then
+        assertThat(files).hasSize(1);
+        assertThat(files.get(0).rows()).isEqualTo(2);
+        assertThat(files.get(0).count(TradingAuditLog.ActionType.PLACE_BUY_ORDER)).isEqualTo(1);
+        assertThat(files.get(0).count(TradingAuditLog.ActionType.CANCEL_ORDER)).isEqualTo(1);
+        assertThat(files.get(0).count(TradingAuditLog.ActionType.GET_CURRENT_PRICE)).isZero();
+        assertThat(read).extracting(TradingAuditLog::getActionType)
+                .containsExactly(TradingAuditLog.ActionType.PLACE_BUY_ORDER, TradingAuditLog.ActionType.CANCEL_ORDER);
+        assertThat(read).extracting(TradingAuditLog::getStatus)
+                .containsExactly(TradingAuditLog.Status.SUCCESS, TradingAuditLog.Status.ERROR);
+        assertThat(read.get(0).getOrderType()).isEqualTo(Order.OrderType.LIMIT);
+        assertThat(read.get(0).getOrderSide()).isEqualTo(Order.OrderSide.BUY);
+        assertThat(read.get(1).getErrorMessage()).isEqualTo("Order not found");
+    }
+
+    private static void writeArchive(Path path, AuditArchiveCodec.Layout layout, long[][] counts,
+                                     List<TradingAuditLog> rows) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(AuditArchiveCodec.headerLength(layout));
+        AuditArchiveCodec.writeHeader(header, rows.size(), counts, layout);
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(body))) {
+            AuditArchiveCodec.writeRowGroup(rows, out, layout);
+            out.writeInt(0);
+        }
+        try (OutputStream file = Files.newOutputStream(path)) {
+            file.write(header.array());
+            file.write(body.toByteArray());
+        }
+    }
+
+    private static List<TradingAuditLog> logs(TradingAuditLog.ActionType actionType, long firstId, int count) {
+        List<TradingAuditLog> logs = new ArrayList<>();
+        LocalDateTime start = DAY.atTime(12, 0);
+        for (int i = 0; i < count; i++) {
+            TradingAuditLog auditLog = TradingAuditLog.success(actionType).withTradingPair("BTCUSDT");
+            auditLog.setId(firstId + i);
+            auditLog.setCreatedAt(start.plusSeconds(i));
+            logs.add(auditLog);
+        }
+        return logs;
+    }
+}
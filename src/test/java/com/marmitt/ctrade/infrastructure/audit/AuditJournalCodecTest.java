@@ -0,0 +1,137 @@
+package com.marmitt.ctrade.infrastructure.audit;
+
+import com.marmitt.ctrade.domain.entity.Order;
+import com.marmitt.ctrade.domain.entity.TradingAuditLog;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.zip.CRC32C;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes unitários para AuditJournalCodec.
+ */
+class AuditJournalCodecTest {
+
+    private final CRC32C crc = new CRC32C();
+    private final ByteBuffer record = ByteBuffer.allocate(AuditJournalCodec.MAX_RECORD_SIZE);
+
+    @Test
+    void shouldRoundTripAllFields() {
+        // Given
+        TradingAuditLog auditLog = TradingAuditLog.success(TradingAuditLog.ActionType.PLACE_BUY_ORDER)
+                .withTradingPair("BTCUSDT")
+                .withOrderId("order-1")
+                .withOrderDetails(Order.OrderType.LIMIT, Order.OrderSide.BUY, new BigDecimal("0.50000000"), new BigDecimal("50000.12"))
+                .withUserContext("açúcar")
+                .withRequestId("req-1");
+        auditLog.setCreatedAt(LocalDateTime.of(2026, 10, 19, 14, 30, 15, 123_456_789));
+
+        // When
+        int length = AuditJournalCodec.encodeBody(auditLog, record);
+        AuditJournalCodec.seal(record, length, 42, crc);
+
+        // Then
+        assertThat(length % AuditJournalCodec.ALIGNMENT).isZero();
+        assertThat(AuditJournalCodec.check(record, 0, length, crc)).isEqualTo(length);
+        assertThat(AuditJournalCodec.sequence(record, 0)).isEqualTo(42);
+
+        TradingAuditLog decoded = AuditJournalCodec.decode(record, 0);
+        assertThat(decoded.getActionType()).isEqualTo(TradingAuditLog.ActionType.PLACE_BUY_ORDER);
+        assertThat(decoded.getStatus()).isEqualTo(TradingAuditLog.Status.SUCCESS);
+        assertThat(decoded.getOrderType()).isEqualTo(Order.OrderType.LIMIT);
+        assertThat(decoded.getOrderSide()).isEqualTo(Order.OrderSide.BUY);
+        assertThat(decoded.getTradingPair()).isEqualTo("BTCUSDT");
+        assertThat(decoded.getOrderId()).isEqualTo("order-1");
+        assertThat(decoded.getQuantity()).isEqualTo(new BigDecimal("0.50000000"));
+        assertThat(decoded.getPrice()).isEqualTo(new BigDecimal("50000.12"));
+        assertThat(decoded.getTotalValue()).isEqualByComparingTo(auditLog.getTotalValue());
+        assertThat(decoded.getUserContext()).isEqualTo("açúcar");
+        assertThat(decoded.getRequestId()).isEqualTo("req-1");
+        assertThat(decoded.getCreatedAt()).isEqualTo(auditLog.getCreatedAt());
+        assertThat(decoded.getId()).isNull();
+    }
+
+    @Test
+    void shouldPreserveNullFields() {
+        // Given
+        TradingAuditLog auditLog = TradingAuditLog.error(TradingAuditLog.ActionType.GET_CURRENT_PRICE, "Exchange unavailable");
+
+        // When
+        int length = AuditJournalCodec.encodeBody(auditLog, record);
+        AuditJournalCodec.seal(record, length, 1, crc);
+        TradingAuditLog decoded = AuditJournalCodec.decode(record, 0);
+
+        // Then
+        assertThat(decoded.getStatus()).isEqualTo(TradingAuditLog.Status.ERROR);
+        assertThat(decoded.getErrorMessage()).isEqualTo("Exchange unavailable");
+        assertThat(decoded.getTradingPair()).isNull();
+        assertThat(decoded.getOrderType()).isNull();
+        assertThat(decoded.getQuantity()).isNull();
+    }
+
+    @Test
+    void shouldTruncateLongFields() {
+        // Given
+        TradingAuditLog auditLog = TradingAuditLog.error(TradingAuditLog.ActionType.CANCEL_ORDER, "x".repeat(5_000));
+
+        // When
+        int length = AuditJournalCodec.encodeBody(auditLog, record);
+        AuditJournalCodec.seal(record, length, 1, crc);
+
+        // Then
+        assertThat(AuditJournalCodec.decode(record, 0).getErrorMessage()).hasSize(AuditJournalCodec.MAX_FIELD_CHARS);
+    }
+
+    @Test
+    void shouldClampFieldsToColumnSizes() {
+        // Given
+        TradingAuditLog auditLog = TradingAuditLog.success(TradingAuditLog.ActionType.PLACE_BUY_ORDER)
+                .withOrderId("o".repeat(300))
+                .withOrderDetails(Order.OrderType.LIMIT, Order.OrderSide.BUY,
+                        new BigDecimal("0.123456789123"), new BigDecimal("50000"))
+                .withUserContext("u".repeat(2_000))
+                .withRequestId("r".repeat(256));
+
+        // When
+        int length = AuditJournalCodec.encodeBody(auditLog, record);
+        AuditJournalCodec.seal(record, length, 1, crc);
+        TradingAuditLog decoded = AuditJournalCodec.decode(record, 0);
+
+        // Then
+        assertThat(decoded.getOrderId()).hasSize(AuditJournalCodec.MAX_SHORT_FIELD_CHARS);
+        assertThat(decoded.getUserContext()).hasSize(AuditJournalCodec.MAX_SHORT_FIELD_CHARS);
+        assertThat(decoded.getRequestId()).hasSize(AuditJournalCodec.MAX_SHORT_FIELD_CHARS);
+        assertThat(decoded.getQuantity()).isEqualTo(new BigDecimal("0.12345679"));
+        assertThat(decoded.getTotalValue().scale()).isLessThanOrEqualTo(AuditJournalCodec.DECIMAL_SCALE);
+    }
+
+    @Test
+    void shouldDetectCorruptedRecord() {
+        // Given
+        TradingAuditLog auditLog = TradingAuditLog.success(TradingAuditLog.ActionType.GET_ACTIVE_ORDERS);
+        int length = AuditJournalCodec.encodeBody(auditLog, record);
+        AuditJournalCodec.seal(record, length, 7, crc);
+
+        // When
+        record.put(40, (byte) (record.get(40) ^ 0x1));
+
+        // Then
+        assertThat(AuditJournalCodec.check(record, 0, length, crc)).isEqualTo(-1);
+    }
+
+    @Test
+    void shouldReportEndOfDataOnZeroLengthAndTruncationBeyondLimit() {
+        // Given
+        ByteBuffer empty = ByteBuffer.allocate(64);
+        int length = AuditJournalCodec.encodeBody(TradingAuditLog.success(TradingAuditLog.ActionType.GET_ACTIVE_ORDERS), record);
+        AuditJournalCodec.seal(record, length, 1, crc);
+
+        // Then
+        assertThat(AuditJournalCodec.check(empty, 0, empty.capacity(), crc)).isZero();
+        assertThat(AuditJournalCodec.check(record, 0, length - 8, crc)).isEqualTo(-1);
+    }
+}
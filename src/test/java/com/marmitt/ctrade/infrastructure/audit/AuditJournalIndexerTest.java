@@ -0,0 +1,289 @@
+package com.marmitt.ctrade.infrastructure.audit;
+
+import com.marmitt.ctrade.domain.entity.TradingAuditLog;
+import com.marmitt.ctrade.infrastructure.config.AuditJournalProperties;
+import com.marmitt.ctrade.infrastructure.repository.JdbcAuditLogBatchInserter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.when;
+
+/**
+ * Testes unitários para AuditJournalIndexer.
+ * Testa a carga em lotes, o checkpoint entre reinícios e a retentativa quando o banco falha.
+ */
+@ExtendWith(MockitoExtension.class)
+class AuditJournalIndexerTest {
+
+    private static final long SEGMENT_SIZE = 64 * 1024;
+
+    @Mock
+    private JdbcAuditLogBatchInserter inserter;
+
+    @TempDir
+    Path directory;
+
+    private AuditJournal journal;
+    private AuditJournalProperties properties;
+    private AuditJournalIndexer indexer;
+    private final List<TradingAuditLog> inserted = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        journal = new AuditJournal(directory, SEGMENT_SIZE, Clock.systemUTC());
+        journal.open();
+
+        properties = new AuditJournalProperties();
+        properties.setIndexBatchSize(100);
+        properties.setIndexInterval(Duration.ofMillis(20));
+        properties.setIndexRetryInterval(Duration.ofMillis(20));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (indexer != null) {
+            indexer.stop();
+        }
+        journal.close();
+    }
+
+    @Test
+    void shouldIndexRecordsInBatchesAcrossSegments() {
+        // Given
+        recordInserts();
+        for (int i = 0; i < 1_500; i++) {
+            journal.append(auditLog("order-" + i));
+        }
+        indexer = new AuditJournalIndexer(journal, inserter, properties);
+
+        // When
+        int total = 0;
+        int indexed;
+        while ((indexed = indexer.indexNextBatch()) > 0) {
+            assertThat(indexed).isLessThanOrEqualTo(100);
+            total += indexed;
+        }
+
+        // Then
+        assertThat(journal.getStats().segmentsCreated()).isGreaterThan(1);
+        assertThat(total).isEqualTo(1_500);
+        assertThat(inserted).extracting(TradingAuditLog::getOrderId).startsWith("order-0", "order-1").endsWith("order-1499");
+        assertThat(indexer.getStats().indexedSequence()).isEqualTo(1_500);
+        assertThat(indexer.getStats().lag()).isZero();
+    }
+
+    @Test
+    void shouldDeleteIndexedSegmentsAndKeepSequenceAfterReopen() throws IOException {
+        // Given
+        recordInserts();
+        for (int i = 0; i < 1_500; i++) {
+            journal.append(auditLog("order-" + i));
+        }
+        indexer = new AuditJournalIndexer(journal, inserter, properties);
+
+        // When
+        while (indexer.indexNextBatch() > 0) {
+            // indexa tudo
+        }
+
+        // Then - só o segmento ativo sobra
+        assertThat(journal.getStats().segmentsDeleted()).isEqualTo(journal.getStats().segmentsCreated() - 1);
+        try (var segments = Files.list(directory)) {
+            assertThat(segments.filter(path -> path.toString().endsWith(".journal"))).hasSize(1);
+        }
+
+        // When - o último segmento com registros também sai depois de reabrir
+        journal.close();
+        journal = new AuditJournal(directory, SEGMENT_SIZE, Clock.systemUTC());
+        journal.open();
+        when(inserter.hasRows()).thenReturn(true);
+        indexer = new AuditJournalIndexer(journal, inserter, properties);
+        indexer.indexNextBatch();
+        journal.close();
+        journal = new AuditJournal(directory, SEGMENT_SIZE, Clock.systemUTC());
+        journal.open();
+
+        // Then - a numeração continua de onde parou
+        assertThat(journal.append(auditLog("order-1500"))).isEqualTo(1_501);
+    }
+
+    @Test
+    void shouldResumeFromCheckpointAfterRestart() {
+        // Given
+        recordInserts();
+        journal.append(auditLog("order-1"));
+        journal.append(auditLog("order-2"));
+        indexer = new AuditJournalIndexer(journal, inserter, properties);
+        indexer.indexNextBatch();
+
+        // When - novo indexador sobre o mesmo diretório
+        journal.append(auditLog("order-3"));
+        when(inserter.hasRows()).thenReturn(true);
+        AuditJournalIndexer restarted = new AuditJournalIndexer(journal, inserter, properties);
+        restarted.start();
+        boolean indexed = restarted.awaitIndexed(3, Duration.ofSeconds(5));
+        restarted.stop();
+
+        // Then
+        assertThat(indexed).isTrue();
+        assertThat(inserted).extracting(TradingAuditLog::getOrderId).containsExactly("order-1", "order-2", "order-3");
+    }
+
+    @Test
+    void shouldReindexJournalWhenAuditTableIsEmptyAfterRestart() {
+        // Given - checkpoint no fim do journal, mas o banco em memória foi recriado
+        recordInserts();
+        journal.append(auditLog("order-1"));
+        journal.append(auditLog("order-2"));
+        new AuditJournalIndexer(journal, inserter, properties).indexNextBatch();
+        inserted.clear();
+        when(inserter.hasRows()).thenReturn(false);
+
+        // When
+        indexer = new AuditJournalIndexer(journal, inserter, properties);
+        int read = indexer.indexNextBatch();
+
+        // Then
+        assertThat(read).isEqualTo(2);
+        assertThat(inserted).extracting(TradingAuditLog::getOrderId).containsExactly("order-1", "order-2");
+        assertThat(indexer.getStats().indexedSequence()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldKeepPositionWhenDatabaseFails() {
+        // Given
+        journal.append(auditLog("order-1"));
+        indexer = new AuditJournalIndexer(journal, inserter, properties);
+        doThrow(new IllegalStateException("Database unavailable")).when(inserter).insertAll(anyList());
+
+        // When
+        assertThatThrownBy(() -> indexer.indexNextBatch()).isInstanceOf(IllegalStateException.class);
+
+        // Then - depois que o banco volta, o mesmo registro é inserido
+        recordInserts();
+        assertThat(indexer.indexNextBatch()).isEqualTo(1);
+        assertThat(inserted).extracting(TradingAuditLog::getOrderId).containsExactly("order-1");
+    }
+
+    @Test
+    void shouldQuarantineRecordRejectedByDatabaseAndKeepIndexing() {
+        // Given - o banco recusa qualquer lote que contenha o registro "bad"
+        doAnswer(invocation -> {
+            List<TradingAuditLog> batch = invocation.getArgument(0);
+            if (batch.stream().anyMatch(auditLog -> "bad".equals(auditLog.getOrderId()))) {
+                throw new DataIntegrityViolationException("Value too long for column QUANTITY");
+            }
+            inserted.addAll(batch);
+            return null;
+        }).when(inserter).insertAll(anyList());
+        for (String orderId : List.of("order-1", "order-2", "bad", "order-4", "order-5")) {
+            journal.append(auditLog(orderId));
+        }
+        indexer = new AuditJournalIndexer(journal, inserter, properties);
+
+        // When
+        int read = indexer.indexNextBatch();
+        journal.append(auditLog("order-6"));
+        indexer.indexNextBatch();
+
+        // Then
+        assertThat(read).isEqualTo(5);
+        assertThat(inserted).extracting(TradingAuditLog::getOrderId)
+                .containsExactly("order-1", "order-2", "order-4", "order-5", "order-6");
+        assertThat(indexer.getStats().quarantined()).isEqualTo(1);
+        assertThat(indexer.getStats().indexedSequence()).isEqualTo(6);
+    }
+
+    @Test
+    void shouldKeepCheckpointOfInsertedHalvesWhenDatabaseFailsDuringBisection() {
+        // Given - o registro "bad" é recusado e o banco cai depois da primeira metade
+        AtomicInteger calls = new AtomicInteger();
+        doAnswer(invocation -> {
+            List<TradingAuditLog> batch = invocation.getArgument(0);
+            if (calls.incrementAndGet() == 3) {
+                throw new IllegalStateException("Database unavailable");
+            }
+            if (batch.stream().anyMatch(auditLog -> "bad".equals(auditLog.getOrderId()))) {
+                throw new DataIntegrityViolationException("Value too long for column ORDER_ID");
+            }
+            inserted.addAll(batch);
+            return null;
+        }).when(inserter).insertAll(anyList());
+        for (String orderId : List.of("order-1", "order-2", "bad", "order-4")) {
+            journal.append(auditLog(orderId));
+        }
+        indexer = new AuditJournalIndexer(journal, inserter, properties);
+
+        // When - lote inteiro recusado, primeira metade inserida, segunda falha por acesso
+        assertThatThrownBy(() -> indexer.indexNextBatch()).isInstanceOf(IllegalStateException.class);
+        indexer.indexNextBatch();
+
+        // Then - a primeira metade não é reinserida
+        assertThat(inserted).extracting(TradingAuditLog::getOrderId).containsExactly("order-1", "order-2", "order-4");
+        assertThat(indexer.getStats().quarantined()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldIndexInBackgroundAndRetryUntilDatabaseRecovers() {
+        // Given - o banco falha nas duas primeiras tentativas
+        doThrow(new IllegalStateException("Database unavailable"))
+                .doThrow(new IllegalStateException("Database unavailable"))
+                .doAnswer(invocation -> {
+                    inserted.addAll(invocation.getArgument(0));
+                    return null;
+                })
+                .when(inserter).insertAll(anyList());
+        indexer = new AuditJournalIndexer(journal, inserter, properties);
+        indexer.start();
+
+        // When
+        long sequence = journal.append(auditLog("order-1"));
+        boolean indexed = indexer.awaitIndexed(sequence, Duration.ofSeconds(5));
+
+        // Then
+        assertThat(indexed).isTrue();
+        assertThat(indexer.getStats().failedBatches()).isEqualTo(2);
+        assertThat(inserted).extracting(TradingAuditLog::getOrderId).containsExactly("order-1");
+    }
+
+    @Test
+    void shouldTimeOutWhenSequenceIsNotIndexed() {
+        // Given
+        indexer = new AuditJournalIndexer(journal, inserter, properties);
+
+        // When / Then - indexador não iniciado
+        assertThat(indexer.awaitIndexed(1, Duration.ofMillis(50))).isFalse();
+    }
+
+    private void recordInserts() {
+        doAnswer(invocation -> {
+            inserted.addAll(new ArrayList<TradingAuditLog>(invocation.getArgument(0)));
+            return null;
+        }).when(inserter).insertAll(anyList());
+    }
+
+    private static TradingAuditLog auditLog(String orderId) {
+        return TradingAuditLog.success(TradingAuditLog.ActionType.PLACE_SELL_ORDER).withOrderId(orderId);
+    }
+}
@@ -0,0 +1,187 @@
+package com.marmitt.ctrade.infrastructure.audit;
+
+import com.marmitt.ctrade.domain.entity.TradingAuditLog;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Testes unitários para AuditJournal.
+ * Testa gravação, leitura, virada de segmento por tamanho e por dia, e recuperação.
+ */
+class AuditJournalTest {
+
+    private static final long SEGMENT_SIZE = 64 * 1024;
+
+    @TempDir
+    Path directory;
+
+    private MutableClock clock;
+    private AuditJournal journal;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2026-10-19T10:00:00Z"));
+        journal = openJournal();
+    }
+
+    @AfterEach
+    void tearDown() {
+        journal.close();
+    }
+
+    @Test
+    void shouldAssignIncreasingSequencesAndReadRecordsBack() {
+        // When
+        long first = journal.append(auditLog("order-1"));
+        long second = journal.append(auditLog("order-2"));
+
+        // Then
+        assertThat(first).isEqualTo(1);
+        assertThat(second).isEqualTo(2);
+        assertThat(journal.getLastSequence()).isEqualTo(2);
+        assertThat(readAll()).extracting(TradingAuditLog::getOrderId).containsExactly("order-1", "order-2");
+    }
+
+    @Test
+    void shouldRollOverWhenSegmentIsFull() {
+        // When
+        for (int i = 0; i < 2_000; i++) {
+            journal.append(auditLog("order-" + i));
+        }
+
+        // Then
+        assertThat(journal.getStats().segmentsCreated()).isGreaterThan(1);
+        List<TradingAuditLog> records = readAll();
+        assertThat(records).hasSize(2_000);
+        assertThat(records.get(1_999).getOrderId()).isEqualTo("order-1999");
+    }
+
+    @Test
+    void shouldRollOverAtMidnight() throws IOException {
+        // Given
+        journal.append(auditLog("before-midnight"));
+
+        // When
+        clock.advance(Duration.ofDays(1));
+        journal.append(auditLog("after-midnight"));
+
+        // Then
+        assertThat(segmentFiles()).anyMatch(name -> name.startsWith("audit-20261019-"))
+                .anyMatch(name -> name.startsWith("audit-20261020-"));
+        assertThat(readAll()).extracting(TradingAuditLog::getOrderId).containsExactly("before-midnight", "after-midnight");
+    }
+
+    @Test
+    void shouldRecoverLastSequenceAfterReopen() {
+        // Given
+        journal.append(auditLog("order-1"));
+        journal.append(auditLog("order-2"));
+        journal.close();
+
+        // When
+        journal = openJournal();
+        long next = journal.append(auditLog("order-3"));
+
+        // Then
+        assertThat(next).isEqualTo(3);
+        assertThat(readAll()).extracting(TradingAuditLog::getOrderId).containsExactly("order-1", "order-2", "order-3");
+    }
+
+    @Test
+    void shouldRejectSecondJournalOnSameDirectory() {
+        AuditJournal second = new AuditJournal(directory, SEGMENT_SIZE, clock);
+
+        assertThatThrownBy(second::open)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("is in use by another process");
+    }
+
+    @Test
+    void shouldRejectAppendAfterClose() {
+        journal.close();
+
+        assertThatThrownBy(() -> journal.append(auditLog("late")))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Audit journal is closed");
+    }
+
+    private AuditJournal openJournal() {
+        AuditJournal auditJournal = new AuditJournal(directory, SEGMENT_SIZE, clock);
+        auditJournal.open();
+        return auditJournal;
+    }
+
+    private List<TradingAuditLog> readAll() {
+        CRC32C crc = new CRC32C();
+        List<TradingAuditLog> records = new ArrayList<>();
+        OptionalLong segment = journal.nextSegment(0);
+        while (segment.isPresent()) {
+            AuditJournal.ReadView view = journal.readView(segment.getAsLong());
+            int offset = 0;
+            int length;
+            while ((length = AuditJournalCodec.check(view.buffer(), offset, view.limit(), crc)) > 0) {
+                records.add(AuditJournalCodec.decode(view.buffer(), offset));
+                offset += length;
+            }
+            segment = journal.nextSegment(segment.getAsLong());
+        }
+        return records;
+    }
+
+    private List<String> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString()).filter(name -> name.endsWith(".journal")).toList();
+        }
+    }
+
+    private static TradingAuditLog auditLog(String orderId) {
+        return TradingAuditLog.success(TradingAuditLog.ActionType.CANCEL_ORDER).withOrderId(orderId).withTradingPair("BTCUSDT");
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        private void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.marmitt.ctrade.infrastructure.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.marmitt.ctrade.domain.entity.Order;
+import com.marmitt.ctrade.domain.entity.TradingAuditLog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Testes unitários para AuditSpillStore.
+ */
+class AuditSpillStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private AuditSpillStore spillStore;
+
+    @BeforeEach
+    void setUp() {
+        spillStore = new AuditSpillStore(directory, new ObjectMapper().registerModule(new JavaTimeModule()));
+    }
+
+    @Test
+    void shouldRoundTripSpilledLogs() {
+        // Given
+        TradingAuditLog auditLog = TradingAuditLog.success(TradingAuditLog.ActionType.PLACE_BUY_ORDER)
+                .withTradingPair("BTCUSDT")
+                .withOrderId("order-1")
+                .withOrderDetails(Order.OrderType.LIMIT, Order.OrderSide.BUY, new BigDecimal("0.5"), new BigDecimal("50000"))
+                .withRequestId("req-1");
+        spillStore.append(List.of(auditLog));
+        spillStore.append(List.of(TradingAuditLog.error(TradingAuditLog.ActionType.CANCEL_ORDER, "Order not found")));
+
+        // When
+        List<TradingAuditLog> replayed = new ArrayList<>();
+        int count = spillStore.replay(replayed::addAll);
+
+        // Then
+        assertThat(count).isEqualTo(2);
+        assertThat(replayed.get(0).getOrderId()).isEqualTo("order-1");
+        assertThat(replayed.get(0).getTotalValue()).isEqualByComparingTo("25000");
+        assertThat(replayed.get(0).getCreatedAt()).isEqualTo(auditLog.getCreatedAt());
+        assertThat(replayed.get(1).getStatus()).isEqualTo(TradingAuditLog.Status.ERROR);
+        assertThat(spillStore.hasPending()).isFalse();
+    }
+
+    @Test
+    void shouldKeepFileWhenReplayFails() {
+        // Given
+        spillStore.append(List.of(TradingAuditLog.success(TradingAuditLog.ActionType.GET_ACTIVE_ORDERS)));
+
+        // When
+        assertThatThrownBy(() -> spillStore.replay(logs -> {
+            throw new IllegalStateException("Database unavailable");
+        })).isInstanceOf(IllegalStateException.class);
+
+        // Then
+        assertThat(spillStore.hasPending()).isTrue();
+        List<TradingAuditLog> replayed = new ArrayList<>();
+        assertThat(spillStore.replay(replayed::addAll)).isEqualTo(1);
+    }
+
+    @Test
+    void shouldReportNothingPendingForEmptyDirectory() {
+        assertThat(spillStore.hasPending()).isFalse();
+        assertThat(spillStore.replay(logs -> {
+            throw new AssertionError("Nothing should be replayed");
+        })).isZero();
+    }
+}
@@ -1,11 +1,18 @@
 package com.marmitt.ctrade.infrastructure.config;
 
+import com.marmitt.ctrade.domain.event.TradingPairsChangedEvent;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
 /**
  * Testes unitários para ConfigurationBasedTradingPairProvider.
@@ -13,10 +20,13 @@ import static org.assertj.core.api.Assertions.assertThat;
 class ConfigurationBasedTradingPairProviderTest {
 
     private ConfigurationBasedTradingPairProvider provider;
+    private ApplicationEventPublisher eventPublisher;
 
     @BeforeEach
     void setUp() {
         provider = new ConfigurationBasedTradingPairProvider();
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        provider.setApplicationEventPublisher(eventPublisher);
     }
 
     @Test
@@ -79,6 +89,18 @@ class ConfigurationBasedTradingPairProviderTest {
         assertThat(formatted).isEqualTo("btcusdt@trade/ethusdt@trade");
     }
 
+    @Test
+    void shouldFormatSingleStreamName() {
+        // Given
+        provider.setStreamFormat("bookTicker");
+        
+        // When
+        String stream = provider.formatStreamName("SOLUSDT");
+        
+        // Then
+        assertThat(stream).isEqualTo("solusdt@bookTicker");
+    }
+
     @Test
     void shouldFormatDefaultTradingPairsWhenNoneConfigured() {
         // Given
@@ -116,4 +138,93 @@ class ConfigurationBasedTradingPairProviderTest {
         assertThat(tradingPairs1).isNotSameAs(tradingPairs2);
         assertThat(tradingPairs1).isEqualTo(tradingPairs2);
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldPublishOnlyDifferenceWhenUpdatingPairs() {
+        // Given
+        provider.setActive(List.of("BTCUSDT", "ETHUSDT"));
+        
+        // When
+        TradingPairsChangedEvent event = provider.updateActiveTradingPairs(List.of("ethusdt", " SOLUSDT ", "SOLUSDT"), "api");
+        
+        // Then
+        assertThat(provider.getActiveTradingPairs()).containsExactly("ETHUSDT", "SOLUSDT");
+        assertThat(event.getAdded()).containsExactly("SOLUSDT");
+        assertThat(event.getRemoved()).containsExactly("BTCUSDT");
+        assertThat(event.getOrigin()).isEqualTo("api");
+        verify(eventPublisher).publishEvent(event);
+    }
+
+    @Test
+    void shouldNotPublishWhenPairsAreUnchanged() {
+        // Given
+        provider.setActive(List.of("BTCUSDT", "ETHUSDT"));
+        
+        // When
+        TradingPairsChangedEvent event = provider.updateActiveTradingPairs(List.of("ETHUSDT", "BTCUSDT"), "file:pairs.txt");
+        
+        // Then
+        assertThat(event.isEmpty()).isTrue();
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void shouldAddAndRemoveSinglePair() {
+        // Given
+        provider.setActive(List.of("BTCUSDT"));
+        
+        // When
+        TradingPairsChangedEvent added = provider.addTradingPair("ethusdt", "api");
+        TradingPairsChangedEvent removed = provider.removeTradingPair("btcusdt", "api");
+        
+        // Then
+        assertThat(added.getAdded()).containsExactly("ETHUSDT");
+        assertThat(removed.getRemoved()).containsExactly("BTCUSDT");
+        assertThat(provider.getActiveTradingPairs()).containsExactly("ETHUSDT");
+    }
+
+    @Test
+    void shouldAddAndRemovePairsStartingFromDefaults() {
+        // Given - nada configurado, valem os pares padrão
+
+        // When
+        TradingPairsChangedEvent added = provider.addTradingPair("solusdt", "api");
+        TradingPairsChangedEvent removed = provider.removeTradingPair("BTCUSDC", "api");
+        
+        // Then
+        assertThat(added.getAdded()).containsExactly("SOLUSDT");
+        assertThat(added.getRemoved()).isEmpty();
+        assertThat(removed.getRemoved()).containsExactly("BTCUSDC");
+        assertThat(provider.getActiveTradingPairs()).containsExactly("BTCUSDT", "USDCUSDT", "SOLUSDT");
+    }
+
+    @Test
+    void shouldKeepEmptyListSetAtRuntime() {
+        // Given
+        provider.setActive(List.of("ETHUSDT"));
+        
+        // When
+        TradingPairsChangedEvent event = provider.removeTradingPair("ETHUSDT", "api");
+        
+        // Then - a lista vazia vale como está, sem voltar aos pares padrão
+        assertThat(event.getRemoved()).containsExactly("ETHUSDT");
+        assertThat(event.getAdded()).isEmpty();
+        assertThat(provider.getActiveTradingPairs()).isEmpty();
+        assertThat(provider.isActiveTradingPair("BTCUSDT")).isFalse();
+    }
+
+    @Test
+    void shouldRejectInvalidSymbolsWithoutChangingPairs() {
+        // Given
+        provider.setActive(List.of("BTCUSDT"));
+        
+        // When & Then
+        assertThatThrownBy(() -> provider.updateActiveTradingPairs(List.of("ETHUSDT", "eth/usdt"), "api"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("ETH/USDT");
+        assertThatThrownBy(() -> provider.addTradingPair("BTCUSDT@ticker", "api"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(provider.getActiveTradingPairs()).containsExactly("BTCUSDT");
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+}
@@ -0,0 +1,86 @@
+package com.marmitt.ctrade.infrastructure.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para TradingPairFileWatcher.
+ */
+@ExtendWith(MockitoExtension.class)
+class TradingPairFileWatcherTest {
+    
+    @TempDir
+    Path tempDir;
+    
+    @Mock
+    private ConfigurationBasedTradingPairProvider tradingPairProvider;
+    
+    private Path file;
+    private TradingPairFileWatcher watcher;
+    
+    @BeforeEach
+    void setUp() {
+        file = tempDir.resolve("pairs.txt");
+        watcher = new TradingPairFileWatcher(file.toString(), tradingPairProvider);
+    }
+    
+    @Test
+    void shouldParseLinesCommasAndComments() {
+        // When
+        List<String> pairs = TradingPairFileWatcher.parse("""
+                # pares monitorados
+                BTCUSDT, ethusdt
+                
+                SOLUSDT # adicionado hoje
+                """);
+        
+        // Then
+        assertThat(pairs).containsExactly("BTCUSDT", "ethusdt", "SOLUSDT");
+    }
+    
+    @Test
+    void shouldApplyFileOnlyWhenContentChanges() throws Exception {
+        // Given
+        Files.writeString(file, "BTCUSDT\nETHUSDT\n");
+        
+        // When
+        watcher.checkForChanges();
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().plusSeconds(10)));
+        watcher.checkForChanges();
+        
+        // Then - o timestamp mudou, mas o conteúdo não
+        verify(tradingPairProvider, times(1)).updateActiveTradingPairs(List.of("BTCUSDT", "ETHUSDT"), "file:pairs.txt");
+        
+        // When
+        Files.writeString(file, "ETHUSDT\n");
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().plusSeconds(20)));
+        watcher.checkForChanges();
+        
+        // Then
+        verify(tradingPairProvider).updateActiveTradingPairs(List.of("ETHUSDT"), "file:pairs.txt");
+    }
+    
+    @Test
+    void shouldKeepCurrentPairsWhenFileIsMissing() {
+        // When
+        watcher.checkForChanges();
+        
+        // Then
+        verify(tradingPairProvider, never()).updateActiveTradingPairs(any(), anyString());
+    }
+}
@@ -0,0 +1,105 @@
+package com.marmitt.ctrade.infrastructure.exchange.async;
+
+import com.marmitt.ctrade.domain.entity.Order;
+import com.marmitt.ctrade.domain.entity.TradingPair;
+import com.marmitt.ctrade.domain.port.ExchangePort;
+import com.marmitt.ctrade.domain.valueobject.Price;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Testes unitários para VirtualThreadExchangeAdapter.
+ * Testa execução em virtual threads e propagação de falhas pelo future.
+ */
+@ExtendWith(MockitoExtension.class)
+class VirtualThreadExchangeAdapterTest {
+
+    @Mock
+    private ExchangePort exchangePort;
+
+    private VirtualThreadExchangeAdapter adapter;
+    private TradingPair tradingPair;
+
+    @BeforeEach
+    void setUp() {
+        adapter = new VirtualThreadExchangeAdapter(exchangePort);
+        tradingPair = new TradingPair("BTC", "USD");
+    }
+
+    @AfterEach
+    void tearDown() {
+        adapter.shutdown();
+    }
+
+    @Test
+    void shouldRunExchangeCallsOnVirtualThreads() {
+        // Given
+        AtomicBoolean ranOnVirtualThread = new AtomicBoolean(false);
+        when(exchangePort.getCurrentPrice(tradingPair)).thenAnswer(invocation -> {
+            ranOnVirtualThread.set(Thread.currentThread().isVirtual());
+            return new Price("50000");
+        });
+
+        // When
+        Price price = adapter.getCurrentPrice(tradingPair).join();
+
+        // Then
+        assertThat(price.getValue()).isEqualByComparingTo("50000");
+        assertThat(ranOnVirtualThread).isTrue();
+    }
+
+    @Test
+    void shouldCompleteExceptionallyWithOriginalException() {
+        // Given
+        when(exchangePort.cancelOrder("missing")).thenThrow(new IllegalArgumentException("Order not found: missing"));
+
+        // When
+        CompletableFuture<Order> future = adapter.cancelOrder("missing");
+
+        // Then
+        assertThatThrownBy(future::join)
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldKeepManyBlockingCallsInFlightConcurrently() throws Exception {
+        // Given - cada chamada bloqueia até todas estarem em voo ao mesmo tempo
+        int inFlight = 200;
+        CountDownLatch allStarted = new CountDownLatch(inFlight);
+        when(exchangePort.placeOrder(any(Order.class))).thenAnswer(invocation -> {
+            allStarted.countDown();
+            allStarted.await(5, TimeUnit.SECONDS);
+            return invocation.getArgument(0);
+        });
+
+        // When
+        List<CompletableFuture<Order>> futures = new ArrayList<>();
+        for (int i = 0; i < inFlight; i++) {
+            futures.add(adapter.placeOrder(new Order(tradingPair, Order.OrderType.LIMIT, Order.OrderSide.BUY,
+                    new BigDecimal("1"), new BigDecimal("50000"))));
+        }
+
+        // Then
+        assertThat(allStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+    }
+}
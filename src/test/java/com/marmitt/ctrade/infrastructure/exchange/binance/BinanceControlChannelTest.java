@@ -0,0 +1,264 @@
+package com.marmitt.ctrade.infrastructure.exchange.binance;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.WebSocket;
+import okhttp3.WebSocketListener;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes para BinanceControlChannel contra um servidor WebSocket local (MockWebServer)
+ * que responde às mensagens de controle como a Binance.
+ */
+class BinanceControlChannelTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final BlockingQueue<Received> received = new LinkedBlockingQueue<>();
+
+    private MockWebServer server;
+    private ThreadPoolTaskScheduler taskScheduler;
+    private OkHttpClient client;
+    private WebSocket socket;
+    private volatile List<String> desired = List.of("btcusdt@ticker");
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new MockWebServer();
+        server.enqueue(new MockResponse().withWebSocketUpgrade(new FakeBinanceServer()));
+        server.start();
+
+        taskScheduler = new ThreadPoolTaskScheduler();
+        taskScheduler.initialize();
+        client = new OkHttpClient();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (socket != null) {
+            socket.close(1000, "Test finished");
+        }
+        taskScheduler.shutdown();
+        client.dispatcher().executorService().shutdown();
+        server.shutdown();
+    }
+
+    @Test
+    void shouldBatchSubscriptionsAndTrackAck() throws Exception {
+        // Given
+        BinanceControlChannel channel = openChannel(5, 200);
+
+        // When
+        desired = List.of("btcusdt@ticker", "ethusdt@ticker", "solusdt@ticker");
+        channel.requestFlush();
+        channel.requestFlush();
+
+        // Then
+        Received message = received.poll(5, TimeUnit.SECONDS);
+        assertThat(message).isNotNull();
+        assertThat(message.json().get("method").asText()).isEqualTo("SUBSCRIBE");
+        assertThat(message.json().get("params")).extracting(JsonNode::asText)
+                .containsExactly("ethusdt@ticker", "solusdt@ticker");
+        waitUntil(() -> channel.getStats().acknowledged() == 1);
+        assertThat(channel.getStats().activeStreams()).isEqualTo(3);
+        assertThat(channel.getStats().pendingRequests()).isZero();
+        assertThat(received.poll(300, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    void shouldSpaceMessagesByRateLimit() throws Exception {
+        // Given - um stream por mensagem, no máximo 10 mensagens por segundo
+        BinanceControlChannel channel = openChannel(10, 1);
+
+        // When
+        desired = List.of("btcusdt@ticker", "ethusdt@ticker", "solusdt@ticker", "adausdt@ticker");
+        channel.requestFlush();
+
+        // Then
+        Received first = received.poll(5, TimeUnit.SECONDS);
+        received.poll(5, TimeUnit.SECONDS);
+        Received third = received.poll(5, TimeUnit.SECONDS);
+        assertThat(third).isNotNull();
+        assertThat(Duration.ofNanos(third.atNanos() - first.atNanos())).isGreaterThanOrEqualTo(Duration.ofMillis(180));
+        waitUntil(() -> channel.getStats().acknowledged() == 3);
+        assertThat(channel.getStats().sentMessages()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldNotRetryRejectedSubscription() throws Exception {
+        // Given
+        BinanceControlChannel channel = openChannel(5, 200);
+
+        // When
+        desired = List.of("btcusdt@ticker", "invalid@ticker");
+        channel.requestFlush();
+        assertThat(received.poll(5, TimeUnit.SECONDS)).isNotNull();
+        waitUntil(() -> channel.getStats().failed() == 1);
+        channel.requestFlush();
+
+        // Then
+        assertThat(received.poll(300, TimeUnit.MILLISECONDS)).isNull();
+        assertThat(channel.getStats().activeStreams()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldMeasureHeartbeatRoundTrip() throws Exception {
+        // Given
+        BinanceControlChannel channel = openChannel(5, 200);
+
+        // When
+        channel.heartbeat(System.nanoTime(), 0);
+
+        // Then
+        Received message = received.poll(5, TimeUnit.SECONDS);
+        assertThat(message).isNotNull();
+        assertThat(message.json().get("method").asText()).isEqualTo("LIST_SUBSCRIPTIONS");
+        waitUntil(() -> channel.getRttMillis() >= 0);
+        assertThat(channel.isHeartbeatOverdue(System.nanoTime(), 0)).isFalse();
+        assertThat(channel.getStats().heartbeatRttMillis()).isGreaterThanOrEqualTo(0);
+        assertThat(channel.getStats().acknowledged()).isZero();
+    }
+
+    @Test
+    void shouldNotSendHeartbeatBeforeInterval() throws Exception {
+        // Given
+        BinanceControlChannel channel = openChannel(5, 200);
+
+        // When
+        channel.heartbeat(System.nanoTime(), Duration.ofSeconds(15).toNanos());
+
+        // Then
+        assertThat(received.poll(300, TimeUnit.MILLISECONDS)).isNull();
+        assertThat(channel.getRttMillis()).isEqualTo(-1);
+    }
+
+    @Test
+    void shouldResubscribeStaleStream() throws Exception {
+        // Given
+        desired = List.of("btcusdt@ticker", "ethusdt@ticker");
+        BinanceControlChannel channel = openChannel(10, 200);
+
+        // When
+        boolean requested = channel.resubscribe("ethusdt@ticker");
+
+        // Then - cancela e assina de novo só o stream parado
+        assertThat(requested).isTrue();
+        Received unsubscribe = received.poll(5, TimeUnit.SECONDS);
+        Received subscribe = received.poll(5, TimeUnit.SECONDS);
+        assertThat(unsubscribe).isNotNull();
+        assertThat(subscribe).isNotNull();
+        assertThat(unsubscribe.json().get("method").asText()).isEqualTo("UNSUBSCRIBE");
+        assertThat(unsubscribe.json().get("params")).extracting(JsonNode::asText).containsExactly("ethusdt@ticker");
+        assertThat(subscribe.json().get("method").asText()).isEqualTo("SUBSCRIBE");
+        assertThat(subscribe.json().get("params")).extracting(JsonNode::asText).containsExactly("ethusdt@ticker");
+        waitUntil(() -> channel.getStats().acknowledged() == 2);
+        assertThat(channel.getStats().activeStreams()).isEqualTo(2);
+        assertThat(channel.getStats().resubscriptions()).isEqualTo(1);
+        assertThat(channel.resubscribe("solusdt@ticker")).isFalse();
+    }
+
+    @Test
+    void shouldResendRequestWhoseAckWasLost() throws Exception {
+        // Given - o servidor aplica a primeira assinatura de "noack" mas a resposta se perde
+        BinanceControlChannel channel = openChannel(10, 200, Duration.ofMillis(300));
+
+        // When - nenhum outro flush ou verificação de saúde acontece
+        desired = List.of("btcusdt@ticker", "noack@ticker");
+        channel.requestFlush();
+
+        // Then - vencido o prazo, a requisição é descartada e a assinatura sai de novo
+        Received first = received.poll(5, TimeUnit.SECONDS);
+        Received retry = received.poll(5, TimeUnit.SECONDS);
+        assertThat(first).isNotNull();
+        assertThat(retry).isNotNull();
+        assertThat(retry.json().get("method").asText()).isEqualTo("SUBSCRIBE");
+        assertThat(retry.json().get("params")).extracting(JsonNode::asText).containsExactly("noack@ticker");
+        assertThat(Duration.ofNanos(retry.atNanos() - first.atNanos())).isGreaterThanOrEqualTo(Duration.ofMillis(300));
+        waitUntil(() -> channel.getStats().acknowledged() == 1);
+        assertThat(channel.getStats().timedOut()).isEqualTo(1);
+        assertThat(channel.getStats().activeStreams()).isEqualTo(2);
+        assertThat(channel.getStats().pendingRequests()).isZero();
+    }
+
+    private BinanceControlChannel openChannel(int maxMessagesPerSecond, int maxStreamsPerMessage) throws Exception {
+        return openChannel(maxMessagesPerSecond, maxStreamsPerMessage, Duration.ofSeconds(5));
+    }
+
+    private BinanceControlChannel openChannel(int maxMessagesPerSecond, int maxStreamsPerMessage,
+                                              Duration ackTimeout) throws Exception {
+        BinanceControlChannel channel = new BinanceControlChannel("BINANCE-0-0", objectMapper, taskScheduler,
+                () -> desired, Duration.ofMillis(50), maxMessagesPerSecond, maxStreamsPerMessage, ackTimeout);
+        CountDownLatch opened = new CountDownLatch(1);
+        socket = client.newWebSocket(new Request.Builder().url(server.url("/stream")).build(), new WebSocketListener() {
+            @Override
+            public void onOpen(@NotNull WebSocket webSocket, @NotNull Response response) {
+                opened.countDown();
+            }
+
+            @Override
+            public void onMessage(@NotNull WebSocket webSocket, @NotNull String text) {
+                channel.handleMessage(text);
+            }
+        });
+        assertThat(opened.await(5, TimeUnit.SECONDS)).isTrue();
+        channel.attach(socket, desired);
+        return channel;
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met in time").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private record Received(JsonNode json, long atNanos) {}
+
+    /**
+     * Responde como a Binance: {@code {"result":null,"id":N}}, ou erro para streams inválidos.
+     * A primeira mensagem com streams "noack" fica sem resposta.
+     */
+    private class FakeBinanceServer extends WebSocketListener {
+
+        private final AtomicBoolean ackDropped = new AtomicBoolean();
+
+        @Override
+        public void onMessage(@NotNull WebSocket webSocket, @NotNull String text) {
+            try {
+                JsonNode json = objectMapper.readTree(text);
+                received.add(new Received(json, System.nanoTime()));
+                long id = json.get("id").asLong();
+                if (text.contains("noack@") && ackDropped.compareAndSet(false, true)) {
+                    return;
+                }
+                if (text.contains("invalid@")) {
+                    webSocket.send("{\"error\":{\"code\":2,\"msg\":\"Invalid request\"},\"id\":" + id + "}");
+                } else {
+                    webSocket.send("{\"result\":null,\"id\":" + id + "}");
+                }
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
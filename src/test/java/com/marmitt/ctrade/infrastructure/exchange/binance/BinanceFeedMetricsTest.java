@@ -0,0 +1,66 @@
+package com.marmitt.ctrade.infrastructure.exchange.binance;
+
+import com.marmitt.ctrade.infrastructure.websocket.StreamStalenessTracker.SymbolStaleness;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * Testes unitários para BinanceFeedMetrics.
+ */
+@ExtendWith(MockitoExtension.class)
+class BinanceFeedMetricsTest {
+
+    @Mock
+    private BinanceWebSocketAdapter adapter;
+
+    private SimpleMeterRegistry registry;
+    private BinanceFeedMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        metrics = new BinanceFeedMetrics(adapter);
+        metrics.bindTo(registry);
+    }
+
+    @Test
+    void shouldExportStalenessGauges() {
+        // Given
+        when(adapter.getSymbolStaleness()).thenReturn(List.of(
+                new SymbolStaleness("BTCUSDT", 800, 1000, false),
+                new SymbolStaleness("ETHUSDT", 12_000, 1000, true)));
+
+        // When
+        metrics.refreshSymbolGauges();
+
+        // Then
+        assertThat(registry.get("websocket.feed.stale.symbols").gauge().value()).isEqualTo(1.0);
+        assertThat(registry.get("websocket.feed.staleness.max").gauge().value()).isEqualTo(12_000.0);
+        assertThat(registry.get("websocket.symbol.staleness").tag("symbol", "ETHUSDT").gauge().value())
+                .isEqualTo(12_000.0);
+    }
+
+    @Test
+    void shouldDropGaugesOfRemovedSymbols() {
+        // Given
+        when(adapter.getSymbolStaleness())
+                .thenReturn(List.of(new SymbolStaleness("BTCUSDT", 800, 1000, false)))
+                .thenReturn(List.of());
+        metrics.refreshSymbolGauges();
+
+        // When
+        metrics.refreshSymbolGauges();
+
+        // Then
+        assertThat(registry.find("websocket.symbol.staleness").tag("symbol", "BTCUSDT").gauge()).isNull();
+    }
+}
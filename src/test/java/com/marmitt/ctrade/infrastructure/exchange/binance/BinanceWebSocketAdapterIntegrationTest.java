@@ -5,15 +5,13 @@ import com.marmitt.ctrade.domain.dto.PriceUpdateMessage;
 import com.marmitt.ctrade.domain.port.TradingPairProvider;
 import com.marmitt.ctrade.infrastructure.config.WebSocketProperties;
 import com.marmitt.ctrade.infrastructure.exchange.binance.strategy.BinanceStreamProcessingStrategy;
-import com.marmitt.ctrade.infrastructure.websocket.ConnectionManager;
-import com.marmitt.ctrade.infrastructure.websocket.ConnectionStatsTracker;
-import com.marmitt.ctrade.infrastructure.websocket.WebSocketConnectionHandler;
 import com.marmitt.ctrade.infrastructure.websocket.WebSocketEventPublisher;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.TaskScheduler;
 
 import java.util.List;
 import java.util.Optional;
@@ -28,23 +26,16 @@ import static org.mockito.Mockito.when;
 @ExtendWith(MockitoExtension.class)
 class BinanceWebSocketAdapterIntegrationTest {
 
-    @Mock
     private WebSocketProperties properties;
     
-    @Mock
-    private WebSocketConnectionHandler connectionHandler;
-    
-    @Mock
-    private ConnectionManager connectionManager;
-    
-    @Mock
-    private ConnectionStatsTracker statsTracker;
-    
     @Mock
     private WebSocketEventPublisher eventPublisher;
     
     @Mock
     private TradingPairProvider tradingPairProvider;
+    
+    @Mock
+    private TaskScheduler taskScheduler;
 
     private ObjectMapper objectMapper;
     private BinanceWebSocketAdapter adapter;
@@ -52,15 +43,14 @@ class BinanceWebSocketAdapterIntegrationTest {
     @BeforeEach
     void setUp() {
         objectMapper = new ObjectMapper();
+        properties = new WebSocketProperties();
         
         // Usa o construtor de produção (com implementações reais)
         adapter = new BinanceWebSocketAdapter(
                 properties,
-                connectionHandler,
-                connectionManager,
-                statsTracker,
                 eventPublisher,
                 tradingPairProvider,
+                taskScheduler,
                 objectMapper  // ObjectMapper real → cria BinanceStreamProcessingStrategy real + listeners reais
         );
     }
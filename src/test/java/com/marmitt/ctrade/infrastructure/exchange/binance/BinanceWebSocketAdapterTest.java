@@ -1,18 +1,45 @@
 package com.marmitt.ctrade.infrastructure.exchange.binance;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marmitt.ctrade.domain.dto.PriceUpdateMessage;
+import com.marmitt.ctrade.domain.port.ExchangeWebSocketAdapter.ConnectionStatus;
 import com.marmitt.ctrade.domain.port.TradingPairProvider;
 import com.marmitt.ctrade.infrastructure.config.WebSocketProperties;
 import com.marmitt.ctrade.infrastructure.websocket.ConnectionManager;
 import com.marmitt.ctrade.infrastructure.websocket.ConnectionStatsTracker;
 import com.marmitt.ctrade.infrastructure.websocket.WebSocketEventPublisher;
 import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.WebSocket;
+import okhttp3.WebSocketListener;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -22,9 +49,6 @@ import static org.mockito.Mockito.when;
 @ExtendWith(MockitoExtension.class)
 class BinanceWebSocketAdapterTest {
 
-    @Mock
-    private WebSocketProperties properties;
-    
     @Mock
     private ConnectionManager connectionManager;
     
@@ -41,12 +65,21 @@ class BinanceWebSocketAdapterTest {
     private OkHttpClient okHttpClient;
     
     @Mock
-    private BinanceWebSocketListener binanceWebSocketListener;
+    private TaskScheduler taskScheduler;
+    
+    @Mock
+    private ScheduledFuture<?> scheduledFuture;
 
+    private WebSocketProperties properties;
     private BinanceWebSocketAdapter adapter;
 
     @BeforeEach
     void setUp() {
+        properties = new WebSocketProperties();
+        properties.setUrl("wss://stream.test/stream");
+        lenient().when(tradingPairProvider.formatStreamName(anyString()))
+                .thenAnswer(invocation -> invocation.<String>getArgument(0).toLowerCase() + "@ticker");
+
         // Usa o construtor para testes (package-private) - injeta todas as dependências mockadas
         adapter = new BinanceWebSocketAdapter(
                 properties,
@@ -55,7 +88,8 @@ class BinanceWebSocketAdapterTest {
                 eventPublisher,
                 tradingPairProvider,
                 okHttpClient,
-                binanceWebSocketListener
+                taskScheduler,
+                new ObjectMapper()
         );
     }
 
@@ -86,4 +120,432 @@ class BinanceWebSocketAdapterTest {
         // Then
         assertThat(isConnected).isTrue();
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldDistributeStreamsAcrossConnections() {
+        // Given
+        properties.getSharding().setConnections(2);
+        when(tradingPairProvider.getActiveTradingPairs())
+                .thenReturn(List.of("BTCUSDT", "ETHUSDT", "ADAUSDT", "SOLUSDT", "XRPUSDT"));
+        when(connectionManager.tryBeginConnect()).thenReturn(true);
+        
+        // When
+        adapter.connect();
+        
+        // Then - um socket por shard, com os streams em round-robin
+        assertThat(openedStreams(2)).containsExactly(
+                "btcusdt@ticker/adausdt@ticker/xrpusdt@ticker",
+                "ethusdt@ticker/solusdt@ticker");
+        assertThat(adapter.getStreamConnectionStats())
+                .extracting(BinanceWebSocketAdapter.StreamConnectionStats::streams)
+                .containsExactly(3, 2);
+        assertThat(adapter.getStreamConnectionStats())
+                .allSatisfy(shard -> assertThat(shard.connection().totalConnections()).isEqualTo(1));
+    }
+
+    @Test
+    void shouldSubscribeNewPairsOverOpenSocketInOneMessage() {
+        // Given
+        properties.getSharding().setConnections(1);
+        when(tradingPairProvider.getActiveTradingPairs()).thenReturn(List.of("BTCUSDT"));
+        when(connectionManager.tryBeginConnect()).thenReturn(true);
+        when(connectionManager.isConnected()).thenReturn(true);
+        WebSocket socket = mock(WebSocket.class);
+        when(okHttpClient.newWebSocket(any(Request.class), any(WebSocketListener.class))).thenReturn(socket);
+        when(socket.send(anyString())).thenReturn(true);
+        doReturn(scheduledFuture).when(taskScheduler).schedule(any(Runnable.class), any(Instant.class));
+        adapter.connect();
+        
+        // When - dois pares dentro da mesma janela de batch
+        adapter.subscribeToPrice("ETHUSDT");
+        adapter.subscribeToPrice("SOLUSDT");
+        runScheduledFlush(1);
+        openedListeners(1).get(0).onMessage(socket, "{\"result\":null,\"id\":1}");
+        
+        // Then - uma única mensagem pelo socket aberto, sem reconexão
+        verify(socket).send("{\"method\":\"SUBSCRIBE\",\"params\":[\"ethusdt@ticker\",\"solusdt@ticker\"],\"id\":1}");
+        verify(socket, never()).close(anyInt(), anyString());
+        assertThat(adapter.getStreamConnectionStats()).singleElement().satisfies(stats -> {
+            assertThat(stats.streams()).isEqualTo(3);
+            assertThat(stats.control().acknowledged()).isEqualTo(1);
+            assertThat(stats.control().activeStreams()).isEqualTo(3);
+            assertThat(stats.control().pendingRequests()).isZero();
+        });
+        verify(eventPublisher, never()).publishPriceUpdate(any(), any(), anyString());
+    }
+
+    @Test
+    void shouldCancelOppositeRequestsAndRespectRateLimit() {
+        // Given
+        properties.getSharding().setConnections(1);
+        properties.getControl().setMaxMessagesPerSecond(1);
+        when(tradingPairProvider.getActiveTradingPairs()).thenReturn(List.of("BTCUSDT", "ETHUSDT"));
+        when(connectionManager.tryBeginConnect()).thenReturn(true);
+        when(connectionManager.isConnected()).thenReturn(true);
+        WebSocket socket = mock(WebSocket.class);
+        when(okHttpClient.newWebSocket(any(Request.class), any(WebSocketListener.class))).thenReturn(socket);
+        when(socket.send(anyString())).thenReturn(true);
+        doReturn(scheduledFuture).when(taskScheduler).schedule(any(Runnable.class), any(Instant.class));
+        adapter.connect();
+        
+        // When - SOLUSDT entra e sai na mesma janela
+        adapter.subscribeToPrice("SOLUSDT");
+        adapter.subscribeToPrice("ADAUSDT");
+        adapter.unsubscribeFromPrice("SOLUSDT");
+        adapter.unsubscribeFromPrice("ETHUSDT");
+        runScheduledFlush(1);
+        
+        // Then - o cancelamento sai primeiro e a assinatura espera o intervalo mínimo
+        verify(socket).send("{\"method\":\"UNSUBSCRIBE\",\"params\":[\"ethusdt@ticker\"],\"id\":1}");
+        verify(socket, times(1)).send(anyString());
+        runScheduledFlush(3); // o envio também agenda o prazo de resposta
+        verify(socket, times(1)).send(anyString());
+    }
+
+    @Test
+    void shouldReconnectWithPairsChangedWhileDisconnected() {
+        // Given
+        properties.getSharding().setConnections(1);
+        when(tradingPairProvider.getActiveTradingPairs())
+                .thenReturn(List.of("BTCUSDT", "ETHUSDT"))
+                .thenReturn(List.of("ETHUSDT", "SOLUSDT"));
+        when(connectionManager.tryBeginConnect()).thenReturn(true);
+        adapter.connect();
+        adapter.disconnect();
+        
+        // When
+        adapter.connect();
+        
+        // Then - o shard existente sai com a lista nova na URL
+        assertThat(openedStreams(2)).containsExactly(
+                "btcusdt@ticker/ethusdt@ticker",
+                "ethusdt@ticker/solusdt@ticker");
+    }
+
+    @Test
+    void shouldOpenNewConnectionWhenShardsAreFull() {
+        // Given
+        properties.getSharding().setConnections(1);
+        properties.getSharding().setMaxStreamsPerConnection(2);
+        when(tradingPairProvider.getActiveTradingPairs()).thenReturn(List.of("BTCUSDT", "ETHUSDT"));
+        when(connectionManager.tryBeginConnect()).thenReturn(true);
+        when(connectionManager.isConnected()).thenReturn(true);
+        adapter.connect();
+        
+        // When
+        adapter.subscribeToPrice("ADAUSDT");
+        adapter.subscribeToPrice("BTCUSDT"); // já atribuído, nada muda
+        
+        // Then
+        assertThat(openedStreams(2)).containsExactly("btcusdt@ticker/ethusdt@ticker", "adausdt@ticker");
+        assertThat(adapter.getStreamConnectionStats())
+                .extracting(BinanceWebSocketAdapter.StreamConnectionStats::shard)
+                .containsExactly(0, 1);
+    }
+
+    @Test
+    void shouldCloseShardWhenItsLastStreamIsRemoved() {
+        // Given - o segundo shard só tem ADAUSDT
+        properties.getSharding().setConnections(1);
+        properties.getSharding().setMaxStreamsPerConnection(2);
+        when(tradingPairProvider.getActiveTradingPairs()).thenReturn(List.of("BTCUSDT", "ETHUSDT"));
+        when(connectionManager.tryBeginConnect()).thenReturn(true);
+        when(connectionManager.isConnected()).thenReturn(true);
+        WebSocket firstSocket = mock(WebSocket.class);
+        WebSocket secondSocket = mock(WebSocket.class);
+        WebSocket thirdSocket = mock(WebSocket.class);
+        when(okHttpClient.newWebSocket(any(Request.class), any(WebSocketListener.class)))
+                .thenReturn(firstSocket, secondSocket, thirdSocket);
+        adapter.connect();
+        adapter.subscribeToPrice("ADAUSDT");
+        
+        // When
+        adapter.unsubscribeFromPrice("ADAUSDT");
+        adapter.subscribeToPrice("SOLUSDT");
+        
+        // Then - o socket vazio é fechado e o shard novo não reaproveita o índice
+        verify(secondSocket).close(1000, "Manual disconnect");
+        verify(firstSocket, never()).close(anyInt(), anyString());
+        assertThat(adapter.getStreamConnectionStats())
+                .extracting(BinanceWebSocketAdapter.StreamConnectionStats::shard)
+                .containsExactly(0, 2);
+    }
+
+    @Test
+    void shouldReportIdleFeedWithoutShardsAsConnected() {
+        // Given - nenhum par ativo, então nenhum shard
+        when(tradingPairProvider.getActiveTradingPairs()).thenReturn(List.of());
+        when(connectionManager.tryBeginConnect()).thenReturn(true);
+        when(connectionManager.getStatus()).thenReturn(ConnectionStatus.CONNECTING);
+        
+        // When
+        adapter.connect();
+        
+        // Then
+        verify(connectionManager).markConnected();
+        verify(connectionManager, never()).updateStatus(ConnectionStatus.FAILED);
+        verify(okHttpClient, never()).newWebSocket(any(Request.class), any(WebSocketListener.class));
+    }
+
+    @Test
+    void shouldAggregateStatsOfAllConnections() {
+        // Given
+        properties.getSharding().setConnections(3);
+        when(tradingPairProvider.getActiveTradingPairs()).thenReturn(List.of("BTCUSDT", "ETHUSDT", "ADAUSDT"));
+        when(connectionManager.tryBeginConnect()).thenReturn(true);
+        
+        // When
+        adapter.connect();
+        
+        // Then
+        assertThat(adapter.getConnectionStats().totalConnections()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldPublishOnlyFirstArrivalAcrossReplicas() {
+        // Given - um shard servido por duas conexões idênticas
+        properties.getSharding().setConnections(1);
+        properties.getSharding().setReplicas(2);
+        when(tradingPairProvider.getActiveTradingPairs()).thenReturn(List.of("BTCUSDT"));
+        when(connectionManager.tryBeginConnect()).thenReturn(true);
+        adapter.connect();
+        List<WebSocketListener> listeners = openedListeners(2);
+        WebSocket webSocket = mock(WebSocket.class);
+        
+        // When - a réplica 1 entrega o primeiro evento antes da 0, o segundo chega depois
+        listeners.get(1).onMessage(webSocket, ticker(1000L, "50000.00"));
+        listeners.get(0).onMessage(webSocket, ticker(1000L, "50000.00"));
+        listeners.get(0).onMessage(webSocket, ticker(2000L, "50100.00"));
+        listeners.get(1).onMessage(webSocket, ticker(2000L, "50100.00"));
+        
+        // Then - cada evento é publicado uma única vez
+        ArgumentCaptor<PriceUpdateMessage> published = ArgumentCaptor.forClass(PriceUpdateMessage.class);
+        verify(eventPublisher, times(2)).publishPriceUpdate(eq(adapter), published.capture(), eq("BINANCE"));
+        assertThat(published.getAllValues())
+                .extracting(PriceUpdateMessage::getEventTime)
+                .containsExactly(1000L, 2000L);
+        assertThat(adapter.getStreamConnectionStats())
+                .extracting(stats -> stats.feed().wins(), stats -> stats.feed().duplicates())
+                .containsExactly(tuple(1L, 1L), tuple(1L, 1L));
+        assertThat(adapter.getStreamConnectionStats())
+                .allSatisfy(stats -> assertThat(stats.feed().winRate()).isEqualTo(0.5));
+    }
+
+    @Test
+    void shouldRotateConnectionBeforeClosingTheOldOne() {
+        // Given - uma conexão aberta e já no limite de idade
+        properties.getSharding().setConnections(1);
+        properties.getRotation().setMaxConnectionAge(Duration.ZERO);
+        when(tradingPairProvider.getActiveTradingPairs()).thenReturn(List.of("BTCUSDT"));
+        when(connectionManager.tryBeginConnect()).thenReturn(true);
+        WebSocket oldSocket = mock(WebSocket.class);
+        WebSocket newSocket = mock(WebSocket.class);
+        when(okHttpClient.newWebSocket(any(Request.class), any(WebSocketListener.class))).thenReturn(oldSocket, newSocket);
+        adapter.connect();
+        WebSocketListener oldListener = openedListeners(1).get(0);
+        oldListener.onOpen(oldSocket, mock(Response.class));
+        oldListener.onMessage(oldSocket, ticker(1000L, "50000.00"));
+        
+        // When - o reserva abre ao lado do atual e entrega o evento seguinte
+        adapter.rotateDueConnections();
+        WebSocketListener newListener = openedListeners(2).get(1);
+        newListener.onOpen(newSocket, mock(Response.class));
+        verify(oldSocket, never()).close(anyInt(), anyString());
+        newListener.onMessage(newSocket, ticker(2000L, "50100.00"));
+        oldListener.onMessage(oldSocket, ticker(2000L, "50100.00"));
+        oldListener.onClosed(oldSocket, 1000, "Rotated");
+        
+        // Then - o antigo é fechado só depois, sem evento perdido nem repetido
+        verify(oldSocket).close(1000, "Rotated");
+        verify(eventPublisher, times(2)).publishPriceUpdate(eq(adapter), any(PriceUpdateMessage.class), eq("BINANCE"));
+        assertThat(openedStreams(2)).containsExactly("btcusdt@ticker", "btcusdt@ticker");
+        assertThat(adapter.getStreamConnectionStats()).singleElement().satisfies(stats -> {
+            assertThat(stats.status()).isEqualTo(ConnectionStatus.CONNECTED);
+            assertThat(stats.rotations()).isEqualTo(1);
+        });
+    }
+
+    @Test
+    void shouldKeepCurrentSocketWhenReplacementFails() {
+        // Given
+        properties.getSharding().setConnections(1);
+        properties.getRotation().setMaxConnectionAge(Duration.ZERO);
+        when(tradingPairProvider.getActiveTradingPairs()).thenReturn(List.of("BTCUSDT"));
+        when(connectionManager.tryBeginConnect()).thenReturn(true);
+        WebSocket oldSocket = mock(WebSocket.class);
+        WebSocket newSocket = mock(WebSocket.class);
+        when(okHttpClient.newWebSocket(any(Request.class), any(WebSocketListener.class))).thenReturn(oldSocket, newSocket);
+        adapter.connect();
+        openedListeners(1).get(0).onOpen(oldSocket, mock(Response.class));
+        
+        // When
+        adapter.rotateDueConnections();
+        openedListeners(2).get(1).onFailure(newSocket, new IOException("handshake failed"), null);
+        
+        // Then - a conexão segue no socket antigo e pode tentar de novo
+        verify(oldSocket, never()).close(anyInt(), anyString());
+        assertThat(adapter.getStreamConnectionStats()).singleElement().satisfies(stats -> {
+            assertThat(stats.status()).isEqualTo(ConnectionStatus.CONNECTED);
+            assertThat(stats.rotations()).isZero();
+            assertThat(stats.connection().totalErrors()).isEqualTo(1);
+        });
+        adapter.rotateDueConnections();
+        openedListeners(3);
+    }
+
+    @Test
+    void shouldResubscribeOnlyTheStaleStream() throws InterruptedException {
+        // Given - BTCUSDT segue chegando e ETHUSDT parou
+        properties.getSharding().setConnections(1);
+        properties.getStaleness().setMinStaleAfter(Duration.ofMillis(100));
+        when(tradingPairProvider.getActiveTradingPairs()).thenReturn(List.of("BTCUSDT", "ETHUSDT"));
+        when(connectionManager.tryBeginConnect()).thenReturn(true);
+        WebSocket socket = mock(WebSocket.class);
+        when(okHttpClient.newWebSocket(any(Request.class), any(WebSocketListener.class))).thenReturn(socket);
+        when(socket.send(anyString())).thenReturn(true);
+        doReturn(scheduledFuture).when(taskScheduler).schedule(any(Runnable.class), any(Instant.class));
+        adapter.connect();
+        WebSocketListener listener = openedListeners(1).get(0);
+        listener.onOpen(socket, mock(Response.class));
+        Thread.sleep(150);
+        listener.onMessage(socket, ticker(1000L, "50000.00"));
+        
+        // When
+        adapter.checkConnectionHealth();
+        runScheduledFlush(1);
+        
+        // Then - só o stream parado é reassinado, sem rotação
+        verify(socket).send("{\"method\":\"UNSUBSCRIBE\",\"params\":[\"ethusdt@ticker\"],\"id\":1}");
+        verify(okHttpClient, times(1)).newWebSocket(any(Request.class), any(WebSocketListener.class));
+        assertThat(adapter.getStreamConnectionStats()).singleElement().satisfies(stats -> {
+            assertThat(stats.control().resubscriptions()).isEqualTo(1);
+            assertThat(stats.staleStreams()).isZero();
+            assertThat(stats.staleRotations()).isZero();
+        });
+    }
+
+    @Test
+    void shouldRotateConnectionWhenAllStreamsAreStale() throws InterruptedException {
+        // Given
+        properties.getSharding().setConnections(1);
+        properties.getStaleness().setMinStaleAfter(Duration.ofMillis(50));
+        when(tradingPairProvider.getActiveTradingPairs()).thenReturn(List.of("BTCUSDT"));
+        when(connectionManager.tryBeginConnect()).thenReturn(true);
+        WebSocket oldSocket = mock(WebSocket.class);
+        when(okHttpClient.newWebSocket(any(Request.class), any(WebSocketListener.class))).thenReturn(oldSocket);
+        adapter.connect();
+        openedListeners(1).get(0).onOpen(oldSocket, mock(Response.class));
+        Thread.sleep(100);
+        assertThat(adapter.getSymbolStaleness()).singleElement().satisfies(symbol -> {
+            assertThat(symbol.symbol()).isEqualTo("BTCUSDT");
+            assertThat(symbol.stale()).isTrue();
+        });
+        
+        // When
+        adapter.checkConnectionHealth();
+        
+        // Then - um socket reserva é aberto só para esta conexão
+        assertThat(openedStreams(2)).containsExactly("btcusdt@ticker", "btcusdt@ticker");
+        verify(oldSocket, never()).close(anyInt(), anyString());
+        assertThat(adapter.getStreamConnectionStats()).singleElement()
+                .satisfies(stats -> assertThat(stats.staleRotations()).isEqualTo(1));
+    }
+
+    @Test
+    void shouldAnnounceRecoveryOnlyAfterAllConnectionsOfShardWereDown() {
+        // Given - um shard com uma conexão, aberta e depois derrubada
+        properties.getSharding().setConnections(1);
+        when(tradingPairProvider.getActiveTradingPairs()).thenReturn(List.of("BTCUSDT", "ETHUSDT"));
+        when(connectionManager.tryBeginConnect()).thenReturn(true);
+        WebSocket oldSocket = mock(WebSocket.class);
+        WebSocket newSocket = mock(WebSocket.class);
+        when(okHttpClient.newWebSocket(any(Request.class), any(WebSocketListener.class))).thenReturn(oldSocket, newSocket);
+        adapter.connect();
+        openedListeners(1).get(0).onOpen(oldSocket, mock(Response.class));
+        Instant beforeFailure = Instant.now();
+        openedListeners(1).get(0).onFailure(oldSocket, new IOException("connection reset"), null);
+        Instant afterFailure = Instant.now();
+        
+        // When - a reconexão agendada abre o socket novo
+        runScheduledFlush(1);
+        openedListeners(2).get(1).onOpen(newSocket, mock(Response.class));
+        
+        // Then - a recuperação é anunciada uma vez, com os pares do shard e o início da queda
+        ArgumentCaptor<Instant> disconnectedAt = ArgumentCaptor.forClass(Instant.class);
+        verify(eventPublisher).publishFeedRecovered(eq(adapter), eq(List.of("BTCUSDT", "ETHUSDT")),
+                disconnectedAt.capture(), eq("BINANCE"));
+        assertThat(disconnectedAt.getValue()).isBetween(beforeFailure, afterFailure);
+    }
+
+    @Test
+    void shouldSubscribePairAddedWhileShardWasDownOnReconnect() {
+        // Given - o único shard caiu e aguarda a reconexão agendada
+        properties.getSharding().setConnections(1);
+        when(tradingPairProvider.getActiveTradingPairs()).thenReturn(List.of("BTCUSDT"));
+        when(connectionManager.tryBeginConnect()).thenReturn(true);
+        WebSocket oldSocket = mock(WebSocket.class);
+        WebSocket newSocket = mock(WebSocket.class);
+        when(okHttpClient.newWebSocket(any(Request.class), any(WebSocketListener.class))).thenReturn(oldSocket, newSocket);
+        adapter.connect();
+        openedListeners(1).get(0).onOpen(oldSocket, mock(Response.class));
+        openedListeners(1).get(0).onFailure(oldSocket, new IOException("connection reset"), null);
+        
+        // When - um par entra durante a queda e a reconexão roda
+        adapter.subscribeToPrice("ETHUSDT");
+        ArgumentCaptor<Runnable> tasks = ArgumentCaptor.forClass(Runnable.class);
+        verify(taskScheduler, atLeastOnce()).schedule(tasks.capture(), any(Instant.class));
+        tasks.getAllValues().get(0).run();
+        
+        // Then - o socket novo já abre com o par incluído
+        verify(connectionManager).addSubscription("ETHUSDT");
+        assertThat(openedStreams(2)).containsExactly("btcusdt@ticker", "btcusdt@ticker/ethusdt@ticker");
+    }
+
+    @Test
+    void shouldNotAnnounceRecoveryWhileAnotherReplicaIsConnected() {
+        // Given
+        properties.getSharding().setConnections(1);
+        properties.getSharding().setReplicas(2);
+        when(tradingPairProvider.getActiveTradingPairs()).thenReturn(List.of("BTCUSDT"));
+        when(connectionManager.tryBeginConnect()).thenReturn(true);
+        WebSocket socket = mock(WebSocket.class);
+        when(okHttpClient.newWebSocket(any(Request.class), any(WebSocketListener.class))).thenReturn(socket);
+        adapter.connect();
+        List<WebSocketListener> listeners = openedListeners(2);
+        listeners.forEach(listener -> listener.onOpen(socket, mock(Response.class)));
+        
+        // When - só uma das réplicas cai e volta
+        listeners.get(0).onFailure(socket, new IOException("connection reset"), null);
+        runScheduledFlush(1);
+        openedListeners(3).get(2).onOpen(socket, mock(Response.class));
+        
+        // Then - a outra réplica cobriu o intervalo
+        verify(eventPublisher, never()).publishFeedRecovered(any(), any(), any(), anyString());
+    }
+
+    private static String ticker(long eventTime, String price) {
+        return """
+            {"stream": "btcusdt@ticker", "data": {"e": "24hrTicker", "E": %d, "s": "BTCUSDT", "c": "%s"}}
+            """.formatted(eventTime, price);
+    }
+
+    private void runScheduledFlush(int expectedSchedules) {
+        ArgumentCaptor<Runnable> tasks = ArgumentCaptor.forClass(Runnable.class);
+        verify(taskScheduler, times(expectedSchedules)).schedule(tasks.capture(), any(Instant.class));
+        tasks.getValue().run();
+    }
+
+    private List<WebSocketListener> openedListeners(int expectedSockets) {
+        ArgumentCaptor<WebSocketListener> listeners = ArgumentCaptor.forClass(WebSocketListener.class);
+        verify(okHttpClient, times(expectedSockets)).newWebSocket(any(Request.class), listeners.capture());
+        return listeners.getAllValues();
+    }
+
+    private List<String> openedStreams(int expectedSockets) {
+        ArgumentCaptor<Request> requests = ArgumentCaptor.forClass(Request.class);
+        verify(okHttpClient, times(expectedSockets)).newWebSocket(requests.capture(), any(WebSocketListener.class));
+        return requests.getAllValues().stream()
+                .map(request -> request.url().queryParameter("streams"))
+                .toList();
+    }
+}
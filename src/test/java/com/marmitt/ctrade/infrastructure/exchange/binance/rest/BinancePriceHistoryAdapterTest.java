@@ -0,0 +1,160 @@
+package com.marmitt.ctrade.infrastructure.exchange.binance.rest;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.marmitt.ctrade.domain.dto.PriceUpdateMessage;
+import com.marmitt.ctrade.domain.port.ExchangePort;
+import com.marmitt.ctrade.infrastructure.config.BinanceRestProperties;
+import com.marmitt.ctrade.infrastructure.config.ExchangeRateLimitProperties;
+import com.marmitt.ctrade.infrastructure.config.PriceBackfillProperties;
+import com.marmitt.ctrade.infrastructure.exchange.ratelimit.RateLimitedExchangePort;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Testes para BinancePriceHistoryAdapter usando um servidor HTTP local (MockWebServer)
+ * no lugar da API da Binance.
+ */
+class BinancePriceHistoryAdapterTest {
+
+    private static final long START = 1_700_000_000_000L;
+
+    private MockWebServer server;
+    private BinanceRestProperties restProperties;
+    private PriceBackfillProperties backfillProperties;
+    private BinancePriceHistoryAdapter adapter;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+
+        restProperties = new BinanceRestProperties();
+        restProperties.setBaseUrl(server.url("/").toString());
+        backfillProperties = new PriceBackfillProperties();
+        backfillProperties.setPageSize(2);
+
+        adapter = createAdapter(new ExchangeRateLimitProperties());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        adapter.shutdown();
+        server.shutdown();
+    }
+
+    @Test
+    void shouldReadKlinesAcrossPagesInOrder() throws Exception {
+        // Given - duas páginas cheias de 2 klines e uma parcial
+        server.enqueue(json(klines(0, 1)));
+        server.enqueue(json(klines(2, 3)));
+        server.enqueue(json(klines(4)));
+
+        // When
+        List<PriceUpdateMessage> history = adapter.getPriceHistory("BTCUSDT",
+                Instant.ofEpochMilli(START), Instant.ofEpochMilli(START + 10_000));
+
+        // Then
+        assertThat(history).extracting(PriceUpdateMessage::getEventTime)
+                .containsExactly(START + 999, START + 1999, START + 2999, START + 3999, START + 4999);
+        assertThat(history).extracting(PriceUpdateMessage::getTradingPair).containsOnly("BTCUSDT");
+        assertThat(history.get(4).getPrice()).isEqualByComparingTo("50004");
+
+        RecordedRequest first = server.takeRequest();
+        assertThat(first.getMethod()).isEqualTo("GET");
+        assertThat(first.getRequestUrl().encodedPath()).isEqualTo("/api/v3/klines");
+        assertThat(first.getRequestUrl().queryParameter("symbol")).isEqualTo("BTCUSDT");
+        assertThat(first.getRequestUrl().queryParameter("interval")).isEqualTo("1s");
+        assertThat(first.getRequestUrl().queryParameter("startTime")).isEqualTo(Long.toString(START));
+        assertThat(first.getRequestUrl().queryParameter("limit")).isEqualTo("2");
+        assertThat(first.getHeader("X-MBX-APIKEY")).isNull();
+        assertThat(server.takeRequest().getRequestUrl().queryParameter("startTime")).isEqualTo(Long.toString(START + 1001));
+        assertThat(server.takeRequest().getRequestUrl().queryParameter("startTime")).isEqualTo(Long.toString(START + 3001));
+    }
+
+    @Test
+    void shouldClampOpenKlineToEndOfInterval() {
+        // Given - a última kline ainda está aberta no fim do intervalo
+        server.enqueue(json(klines(0)));
+
+        // When
+        List<PriceUpdateMessage> history = adapter.getPriceHistory("BTCUSDT",
+                Instant.ofEpochMilli(START), Instant.ofEpochMilli(START + 500));
+
+        // Then
+        assertThat(history).singleElement()
+                .satisfies(point -> assertThat(point.getEventTime()).isEqualTo(START + 500));
+    }
+
+    @Test
+    void shouldReportRejectedRequest() {
+        // Given
+        server.enqueue(new MockResponse().setResponseCode(400)
+                .setBody("{\"code\":-1121,\"msg\":\"Invalid symbol.\"}"));
+
+        // When / Then
+        assertThatThrownBy(() -> adapter.getPriceHistory("NOPE",
+                Instant.ofEpochMilli(START), Instant.ofEpochMilli(START + 1000)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("HTTP 400")
+                .hasMessageContaining("Invalid symbol.");
+    }
+
+    @Test
+    void shouldChargeKlinesWeightToSharedRateLimiter() {
+        // Given - saldo para uma única página e ninguém liberando a fila
+        ExchangeRateLimitProperties rateLimitProperties = new ExchangeRateLimitProperties();
+        rateLimitProperties.setWeightPerSecond(2);
+        rateLimitProperties.setMaxQueueWait(Duration.ofMillis(50));
+        adapter.shutdown();
+        adapter = createAdapter(rateLimitProperties);
+        server.enqueue(json(klines(0, 1)));
+        server.enqueue(json(klines(2, 3)));
+
+        // When / Then - a segunda página espera o limite e desiste sem chamar a exchange
+        assertThatThrownBy(() -> adapter.getPriceHistory("BTCUSDT",
+                Instant.ofEpochMilli(START), Instant.ofEpochMilli(START + 10_000)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("rate limit");
+        assertThat(server.getRequestCount()).isEqualTo(1);
+    }
+
+    private BinancePriceHistoryAdapter createAdapter(ExchangeRateLimitProperties rateLimitProperties) {
+        return new BinancePriceHistoryAdapter(restProperties, backfillProperties,
+                BinanceRestExchangeAdapter.createHttpClient(restProperties),
+                new BinanceResponseDecoder(new JsonFactory()),
+                new RateLimitedExchangePort(mock(ExchangePort.class), rateLimitProperties));
+    }
+
+    /**
+     * Klines de 1s a partir de START, com fechamento em 50000 + índice.
+     */
+    private static String klines(int... indexes) {
+        StringBuilder body = new StringBuilder("[");
+        for (int index : indexes) {
+            long open = START + index * 1000L;
+            if (body.length() > 1) {
+                body.append(',');
+            }
+            body.append("[%d,\"50000.00\",\"50010.00\",\"49990.00\",\"%d.00\",\"1.0\",%d,\"50000.0\",3,\"0.5\",\"25000.0\",\"0\"]"
+                    .formatted(open, 50000 + index, open + 999));
+        }
+        return body.append(']').toString();
+    }
+
+    private static MockResponse json(String body) {
+        return new MockResponse().setHeader("Content-Type", "application/json").setBody(body);
+    }
+}
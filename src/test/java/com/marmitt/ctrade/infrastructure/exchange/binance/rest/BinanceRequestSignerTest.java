@@ -0,0 +1,62 @@
+package com.marmitt.ctrade.infrastructure.exchange.binance.rest;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Testes unitários para BinanceRequestSigner.
+ * Usa o exemplo de assinatura da documentação da API da Binance.
+ */
+class BinanceRequestSignerTest {
+
+    private static final String SECRET = "NhqPtmdSJYdKjVHjA7PZj4Mge3R5YNiP1e3UZjInClVN65XAbvqqM6A7H5fATj0j";
+    private static final String PAYLOAD = "symbol=LTCBTC&side=BUY&type=LIMIT&timeInForce=GTC&quantity=1&price=0.1"
+            + "&recvWindow=5000&timestamp=1499827319559";
+    private static final String EXPECTED = "c8db56825ae71d6d79447849e617115f4a920fa2acdcab2b053c4b2838bd6b71";
+
+    @Test
+    void shouldMatchDocumentedSignature() {
+        // Given
+        BinanceRequestSigner signer = new BinanceRequestSigner(SECRET);
+
+        // When / Then
+        assertThat(signer.sign(PAYLOAD)).isEqualTo(EXPECTED);
+        assertThat(signer.sign(PAYLOAD)).isEqualTo(EXPECTED);
+    }
+
+    @Test
+    void shouldProduceSameSignatureAcrossThreads() throws Exception {
+        // Given
+        BinanceRequestSigner signer = new BinanceRequestSigner(SECRET);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        Set<String> signatures = ConcurrentHashMap.newKeySet();
+
+        // When
+        List<Future<?>> futures = IntStream.range(0, 200)
+                .<Future<?>>mapToObj(i -> executor.submit(() -> signatures.add(signer.sign(PAYLOAD))))
+                .toList();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // Then
+        assertThat(signatures).containsExactly(EXPECTED);
+    }
+
+    @Test
+    void shouldRejectBlankSecret() {
+        assertThatThrownBy(() -> new BinanceRequestSigner(" "))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,143 @@
+package com.marmitt.ctrade.infrastructure.exchange.binance.rest;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Testes unitários para BinanceResponseDecoder.
+ */
+class BinanceResponseDecoderTest {
+
+    private final BinanceResponseDecoder decoder = new BinanceResponseDecoder(new JsonFactory());
+
+    @Test
+    void shouldDecodeOrderSkippingUnusedFields() throws IOException {
+        // Given
+        String body = """
+                {"symbol":"BTCUSDT","orderId":28,"orderListId":-1,"clientOrderId":"order-1",
+                 "transactTime":1507725176595,"price":"50000.00000000","origQty":"0.50000000",
+                 "executedQty":"0.50000000","cummulativeQuoteQty":"25000.00000000","status":"FILLED",
+                 "timeInForce":"GTC","type":"LIMIT","side":"BUY","workingTime":1507725176595,
+                 "fills":[{"price":"50000.00","qty":"0.5","commission":"0.001","commissionAsset":"BNB","tradeId":56}],
+                 "selfTradePreventionMode":"NONE"}
+                """;
+
+        // When
+        BinanceResponseDecoder.DecodedOrder order = decoder.decodeOrder(stream(body));
+
+        // Then
+        assertThat(order.symbol()).isEqualTo("BTCUSDT");
+        assertThat(order.exchangeOrderId()).isEqualTo(28);
+        assertThat(order.clientOrderId()).isEqualTo("order-1");
+        assertThat(order.status()).isEqualTo("FILLED");
+        assertThat(order.side()).isEqualTo("BUY");
+        assertThat(order.type()).isEqualTo("LIMIT");
+        assertThat(order.price()).isEqualByComparingTo("50000");
+        assertThat(order.originalQuantity()).isEqualByComparingTo("0.5");
+        assertThat(order.executedQuantity()).isEqualByComparingTo("0.5");
+        assertThat(order.createdAtMillis()).isEqualTo(1507725176595L);
+        assertThat(order.updatedAtMillis()).isEqualTo(1507725176595L);
+    }
+
+    @Test
+    void shouldUseOriginalClientOrderIdFromCancelResponse() throws IOException {
+        // Given
+        String body = """
+                {"symbol":"BTCUSDT","origClientOrderId":"order-1","orderId":4,"clientOrderId":"cancel-xyz",
+                 "transactTime":1684804350068,"price":"50000.0","origQty":"1.0","executedQty":"0.0",
+                 "status":"CANCELED","type":"LIMIT","side":"SELL"}
+                """;
+
+        // When
+        BinanceResponseDecoder.DecodedOrder order = decoder.decodeOrder(stream(body));
+
+        // Then
+        assertThat(order.clientOrderId()).isEqualTo("order-1");
+        assertThat(order.status()).isEqualTo("CANCELED");
+    }
+
+    @Test
+    void shouldDecodeOpenOrdersArray() throws IOException {
+        // Given
+        String body = """
+                [{"symbol":"ETHUSDT","orderId":1,"clientOrderId":"a","price":"3000","origQty":"2","executedQty":"1",
+                  "status":"PARTIALLY_FILLED","type":"LIMIT","side":"BUY","time":1000,"updateTime":2000},
+                 {"symbol":"BTCUSDT","orderId":2,"clientOrderId":"b","price":"50000","origQty":"1","executedQty":"0",
+                  "status":"NEW","type":"LIMIT","side":"SELL","time":3000,"updateTime":3000}]
+                """;
+
+        // When
+        List<BinanceResponseDecoder.DecodedOrder> orders = decoder.decodeOrders(stream(body));
+
+        // Then
+        assertThat(orders).extracting(BinanceResponseDecoder.DecodedOrder::clientOrderId).containsExactly("a", "b");
+        assertThat(orders.get(0).createdAtMillis()).isEqualTo(1000);
+        assertThat(orders.get(0).updatedAtMillis()).isEqualTo(2000);
+    }
+
+    @Test
+    void shouldDecodePrice() throws IOException {
+        assertThat(decoder.decodePrice(stream("{\"symbol\":\"BTCUSDT\",\"price\":\"61234.56000000\"}")))
+                .isEqualByComparingTo(new BigDecimal("61234.56"));
+    }
+
+    @Test
+    void shouldDecodeKlinesClosePriceAndTimes() throws IOException {
+        // Given
+        String body = """
+                [[1700000000000,"50000.00","50010.00","49990.00","50005.00","1.5",1700000000999,"75000.0",12,"0.7","35000.0","0"],
+                 [1700000001000,"50005.00","50020.00","50000.00","50015.50","2.0",1700000001999,"100000.0",8,"1.0","50000.0","0"]]
+                """;
+
+        // When
+        List<BinanceResponseDecoder.DecodedKline> klines = decoder.decodeKlines(stream(body));
+
+        // Then
+        assertThat(klines).extracting(BinanceResponseDecoder.DecodedKline::openTimeMillis)
+                .containsExactly(1700000000000L, 1700000001000L);
+        assertThat(klines).extracting(BinanceResponseDecoder.DecodedKline::closeTimeMillis)
+                .containsExactly(1700000000999L, 1700000001999L);
+        assertThat(klines.get(1).closePrice()).isEqualByComparingTo("50015.5");
+    }
+
+    @Test
+    void shouldFailOnTruncatedKline() {
+        assertThatThrownBy(() -> decoder.decodeKlines(stream("[[1700000000000,\"50000.00\"]]")))
+                .isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void shouldDecodeErrorBody() {
+        BinanceResponseDecoder.ApiError error = decoder.decodeError(stream("{\"code\":-2013,\"msg\":\"Order does not exist.\"}"));
+
+        assertThat(error.code()).isEqualTo(-2013);
+        assertThat(error.message()).isEqualTo("Order does not exist.");
+    }
+
+    @Test
+    void shouldTolerateNonJsonErrorBody() {
+        BinanceResponseDecoder.ApiError error = decoder.decodeError(stream("<html>Bad Gateway</html>"));
+
+        assertThat(error.code()).isZero();
+    }
+
+    @Test
+    void shouldFailOnOrderWithoutStatus() {
+        assertThatThrownBy(() -> decoder.decodeOrder(stream("{\"clientOrderId\":\"a\"}")))
+                .isInstanceOf(IOException.class);
+    }
+
+    private static InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
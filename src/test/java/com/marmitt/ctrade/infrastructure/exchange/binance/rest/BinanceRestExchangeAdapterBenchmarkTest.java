@@ -0,0 +1,140 @@
+package com.marmitt.ctrade.infrastructure.exchange.binance.rest;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.marmitt.ctrade.domain.entity.Order;
+import com.marmitt.ctrade.domain.entity.TradingPair;
+import com.marmitt.ctrade.infrastructure.config.BinanceRestProperties;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark de latência do envio de ordens contra o servidor local: envio sequencial
+ * (uma ordem por vez) versus envio com várias ordens em voo sobre o pool de conexões.
+ *
+ * Executado apenas com {@code CTRADE_BENCHMARK=true}, por exemplo:
+ * {@code CTRADE_BENCHMARK=true ./gradlew test --tests '*BinanceRestExchangeAdapterBenchmarkTest'}
+ */
+@EnabledIfEnvironmentVariable(named = "CTRADE_BENCHMARK", matches = "true")
+class BinanceRestExchangeAdapterBenchmarkTest {
+
+    private static final int WARMUP_ORDERS = 200;
+    private static final int ORDERS = 500;
+    private static final long SERVER_LATENCY_MILLIS = 2;
+
+    private MockWebServer server;
+    private BinanceRestExchangeAdapter adapter;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                // Simula o tempo de processamento da exchange
+                return new MockResponse()
+                        .setHeadersDelay(SERVER_LATENCY_MILLIS, TimeUnit.MILLISECONDS)
+                        .setBody("{\"symbol\":\"BTCUSDT\",\"orderId\":1,\"clientOrderId\":\"x\",\"transactTime\":1,"
+                                + "\"price\":\"50000\",\"origQty\":\"0.1\",\"executedQty\":\"0\",\"status\":\"NEW\","
+                                + "\"type\":\"LIMIT\",\"side\":\"BUY\"}");
+            }
+        });
+        server.start();
+
+        BinanceRestProperties properties = new BinanceRestProperties();
+        properties.setBaseUrl(server.url("/").toString());
+        properties.setApiKey("bench-key");
+        properties.setSecretKey("bench-secret");
+        properties.setMaxInFlightRequests(16);
+        properties.setMaxIdleConnections(16);
+
+        adapter = new BinanceRestExchangeAdapter(properties,
+                BinanceRestExchangeAdapter.createHttpClient(properties),
+                new BinanceResponseDecoder(new JsonFactory()),
+                System::currentTimeMillis);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        adapter.shutdown();
+        server.shutdown();
+    }
+
+    @Test
+    void sequentialVersusPipelinedOrderPlacement() {
+        runSequential(WARMUP_ORDERS);
+        runPipelined(WARMUP_ORDERS);
+
+        long[] sequential = runSequential(ORDERS);
+        long sequentialWall = sequential[sequential.length - 1];
+        long[] pipelined = runPipelined(ORDERS);
+        long pipelinedWall = pipelined[pipelined.length - 1];
+
+        report("sequential", Arrays.copyOf(sequential, ORDERS), sequentialWall);
+        report("pipelined", Arrays.copyOf(pipelined, ORDERS), pipelinedWall);
+
+        assertThat(pipelinedWall).isLessThan(sequentialWall);
+    }
+
+    /**
+     * @return latência de cada ordem em nanos, seguida do tempo total
+     */
+    private long[] runSequential(int count) {
+        long[] result = new long[count + 1];
+        long start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            long sent = System.nanoTime();
+            adapter.placeOrder(order());
+            result[i] = System.nanoTime() - sent;
+        }
+        result[count] = System.nanoTime() - start;
+        return result;
+    }
+
+    private long[] runPipelined(int count) {
+        long[] result = new long[count + 1];
+        List<CompletableFuture<Void>> futures = new ArrayList<>(count);
+        long start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            int index = i;
+            long sent = System.nanoTime();
+            futures.add(adapter.placeOrderAsync(order())
+                    .thenAccept(order -> result[index] = System.nanoTime() - sent));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        result[count] = System.nanoTime() - start;
+        return result;
+    }
+
+    private static void report(String mode, long[] latencies, long wallNanos) {
+        Arrays.sort(latencies);
+        System.out.printf("%-10s orders=%d total=%dms throughput=%.0f orders/s p50=%.2fms p99=%.2fms max=%.2fms%n",
+                mode,
+                latencies.length,
+                TimeUnit.NANOSECONDS.toMillis(wallNanos),
+                latencies.length / (wallNanos / 1_000_000_000.0),
+                latencies[latencies.length / 2] / 1_000_000.0,
+                latencies[(int) (latencies.length * 0.99)] / 1_000_000.0,
+                latencies[latencies.length - 1] / 1_000_000.0);
+    }
+
+    private static Order order() {
+        return new Order(new TradingPair("BTC", "USDT"), Order.OrderType.LIMIT, Order.OrderSide.BUY,
+                new BigDecimal("0.1"), new BigDecimal("50000"));
+    }
+}
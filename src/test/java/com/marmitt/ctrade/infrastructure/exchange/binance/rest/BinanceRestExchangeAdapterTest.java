@@ -0,0 +1,316 @@
+package com.marmitt.ctrade.infrastructure.exchange.binance.rest;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.marmitt.ctrade.domain.entity.Order;
+import com.marmitt.ctrade.domain.entity.TradingPair;
+import com.marmitt.ctrade.domain.valueobject.Price;
+import com.marmitt.ctrade.infrastructure.config.BinanceRestProperties;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Testes para BinanceRestExchangeAdapter usando um servidor HTTP local (MockWebServer)
+ * no lugar da API da Binance.
+ */
+class BinanceRestExchangeAdapterTest {
+
+    private static final String API_KEY = "test-api-key";
+    private static final String SECRET = "test-secret";
+    private static final long TIMESTAMP = 1_700_000_000_000L;
+
+    private MockWebServer server;
+    private BinanceRestExchangeAdapter adapter;
+    private BinanceRequestSigner signer;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+
+        BinanceRestProperties properties = new BinanceRestProperties();
+        properties.setBaseUrl(server.url("/").toString());
+        properties.setApiKey(API_KEY);
+        properties.setSecretKey(SECRET);
+
+        adapter = new BinanceRestExchangeAdapter(properties,
+                BinanceRestExchangeAdapter.createHttpClient(properties),
+                new BinanceResponseDecoder(new JsonFactory()),
+                () -> TIMESTAMP);
+        signer = new BinanceRequestSigner(SECRET);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        adapter.shutdown();
+        server.shutdown();
+    }
+
+    @Test
+    void shouldPlaceSignedLimitOrder() throws Exception {
+        // Given
+        Order order = limitOrder();
+        server.enqueue(json(orderJson(order.getId(), "NEW")));
+
+        // When
+        Order result = adapter.placeOrder(order);
+
+        // Then
+        assertThat(result.getId()).isEqualTo(order.getId());
+        assertThat(result.getStatus()).isEqualTo(Order.OrderStatus.PENDING);
+        assertThat(result.getPrice()).isEqualByComparingTo("50000");
+
+        RecordedRequest request = server.takeRequest();
+        assertThat(request.getMethod()).isEqualTo("POST");
+        assertThat(request.getPath()).isEqualTo("/api/v3/order");
+        assertThat(request.getHeader("X-MBX-APIKEY")).isEqualTo(API_KEY);
+
+        String body = request.getBody().readUtf8();
+        String payload = body.substring(0, body.indexOf("&signature="));
+        assertThat(payload).isEqualTo("symbol=BTCUSDT&side=BUY&type=LIMIT&timeInForce=GTC&price=50000&quantity=0.5"
+                + "&newClientOrderId=" + order.getId() + "&newOrderRespType=RESULT&recvWindow=5000&timestamp=" + TIMESTAMP);
+        assertThat(body).endsWith("&signature=" + signer.sign(payload));
+    }
+
+    @Test
+    void shouldSendMarketOrderWithoutPrice() throws Exception {
+        // Given
+        Order order = new Order(new TradingPair("BTC", "USDT"), Order.OrderType.MARKET, Order.OrderSide.SELL,
+                new BigDecimal("1"), new BigDecimal("50000"));
+        server.enqueue(json(orderJson(order.getId(), "FILLED")));
+
+        // When
+        Order result = adapter.placeOrder(order);
+
+        // Then - o preço de referência local é mantido
+        assertThat(result.getStatus()).isEqualTo(Order.OrderStatus.FILLED);
+        assertThat(result.getPrice()).isEqualByComparingTo("50000");
+        String body = server.takeRequest().getBody().readUtf8();
+        assertThat(body).contains("type=MARKET").doesNotContain("price=").doesNotContain("timeInForce");
+    }
+
+    @Test
+    void shouldQueryAndCancelOrdersWithTheirSymbol() throws Exception {
+        // Given
+        Order order = limitOrder();
+        server.enqueue(json(orderJson(order.getId(), "NEW")));
+        server.enqueue(json(orderJson(order.getId(), "PARTIALLY_FILLED")));
+        server.enqueue(json("{\"symbol\":\"BTCUSDT\",\"origClientOrderId\":\"" + order.getId() + "\",\"clientOrderId\":\"c1\","
+                + "\"orderId\":7,\"price\":\"50000\",\"origQty\":\"0.5\",\"executedQty\":\"0.1\","
+                + "\"status\":\"CANCELED\",\"type\":\"LIMIT\",\"side\":\"BUY\",\"transactTime\":1700000000500}"));
+        adapter.placeOrder(order);
+        server.takeRequest();
+
+        // When
+        Order status = adapter.getOrderStatus(order.getId());
+        Order cancelled = adapter.cancelOrder(order.getId());
+
+        // Then
+        assertThat(status.getStatus()).isEqualTo(Order.OrderStatus.PARTIALLY_FILLED);
+        assertThat(status.getTradingPair()).isEqualTo(new TradingPair("BTC", "USDT"));
+        assertThat(cancelled.getId()).isEqualTo(order.getId());
+        assertThat(cancelled.getStatus()).isEqualTo(Order.OrderStatus.CANCELLED);
+
+        RecordedRequest query = server.takeRequest();
+        assertThat(query.getMethod()).isEqualTo("GET");
+        assertThat(query.getRequestUrl().queryParameter("symbol")).isEqualTo("BTCUSDT");
+        assertThat(query.getRequestUrl().queryParameter("origClientOrderId")).isEqualTo(order.getId());
+        assertThat(query.getRequestUrl().queryParameter("signature")).isNotBlank();
+
+        RecordedRequest cancel = server.takeRequest();
+        assertThat(cancel.getMethod()).isEqualTo("DELETE");
+        assertThat(cancel.getRequestUrl().encodedPath()).isEqualTo("/api/v3/order");
+    }
+
+    @Test
+    void shouldLookUpPairOfOrderUnknownToThisProcessAmongOpenOrders() throws Exception {
+        // Given - ordem enviada antes de um restart
+        server.enqueue(json("[" + orderJson("before-restart", "NEW") + "]"));
+        server.enqueue(json(orderJson("before-restart", "PARTIALLY_FILLED")));
+
+        // When
+        Order status = adapter.getOrderStatus("before-restart");
+
+        // Then
+        assertThat(status.getStatus()).isEqualTo(Order.OrderStatus.PARTIALLY_FILLED);
+        assertThat(server.takeRequest().getRequestUrl().encodedPath()).isEqualTo("/api/v3/openOrders");
+        RecordedRequest query = server.takeRequest();
+        assertThat(query.getRequestUrl().encodedPath()).isEqualTo("/api/v3/order");
+        assertThat(query.getRequestUrl().queryParameter("symbol")).isEqualTo("BTCUSDT");
+    }
+
+    @Test
+    void shouldNotReportUnresolvableOrderAsMissing() {
+        // Given - a ordem não está entre as abertas e o par dela é desconhecido
+        server.enqueue(json("[]"));
+
+        // When / Then
+        assertThatThrownBy(() -> adapter.getOrderStatus("unknown"))
+                .isInstanceOf(IllegalStateException.class)
+                .isNotInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Cannot resolve trading pair");
+    }
+
+    @Test
+    void shouldMapUnknownOrderErrorToIllegalArgument() {
+        // Given
+        Order order = limitOrder();
+        server.enqueue(json(orderJson(order.getId(), "NEW")));
+        server.enqueue(new MockResponse().setResponseCode(400).setBody("{\"code\":-2011,\"msg\":\"Unknown order sent.\"}"));
+        adapter.placeOrder(order);
+
+        // When / Then
+        assertThatThrownBy(() -> adapter.cancelOrder(order.getId()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unknown order sent.");
+    }
+
+    @Test
+    void shouldMapRateLimitAndServerErrorsToIllegalState() {
+        // Given
+        server.enqueue(new MockResponse().setResponseCode(429).setBody("{\"code\":-1003,\"msg\":\"Too many requests\"}"));
+        server.enqueue(new MockResponse().setResponseCode(503).setBody("Service Unavailable"));
+        TradingPair pair = new TradingPair("BTC", "USDT");
+
+        // When / Then
+        assertThatThrownBy(() -> adapter.getCurrentPrice(pair))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("rate limit");
+        assertThatThrownBy(() -> adapter.getCurrentPrice(pair))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("503");
+    }
+
+    @Test
+    void shouldRejectOrderRefusedByExchange() {
+        // Given
+        server.enqueue(new MockResponse().setResponseCode(400)
+                .setBody("{\"code\":-2010,\"msg\":\"Account has insufficient balance for requested action.\"}"));
+        Order order = limitOrder();
+
+        // When / Then
+        assertThatThrownBy(() -> adapter.placeOrder(order))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("HTTP 400")
+                .hasMessageContaining("insufficient balance");
+
+        // A ordem recusada é esquecida: a consulta volta a procurá-la nas abertas
+        server.enqueue(json("[]"));
+        assertThatThrownBy(() -> adapter.getOrderStatus(order.getId()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Cannot resolve trading pair");
+    }
+
+    @Test
+    void shouldNotMapOtherClientErrorsToMissingOrder() {
+        // Given
+        Order order = limitOrder();
+        server.enqueue(json(orderJson(order.getId(), "NEW")));
+        server.enqueue(new MockResponse().setResponseCode(400)
+                .setBody("{\"code\":-1021,\"msg\":\"Timestamp for this request is outside of the recvWindow.\"}"));
+        adapter.placeOrder(order);
+
+        // When / Then
+        assertThatThrownBy(() -> adapter.getOrderStatus(order.getId()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("recvWindow");
+    }
+
+    @Test
+    void shouldGetCurrentPriceFromUnsignedEndpoint() throws Exception {
+        // Given
+        server.enqueue(json("{\"symbol\":\"ETHUSDT\",\"price\":\"3021.45000000\"}"));
+
+        // When
+        Price price = adapter.getCurrentPrice(new TradingPair("ETH", "USDT"));
+
+        // Then
+        assertThat(price.getValue()).isEqualByComparingTo("3021.45");
+        RecordedRequest request = server.takeRequest();
+        assertThat(request.getPath()).isEqualTo("/api/v3/ticker/price?symbol=ETHUSDT");
+        assertThat(request.getHeader("X-MBX-APIKEY")).isNull();
+    }
+
+    @Test
+    void shouldListOpenOrdersInferringPairFromSymbol() {
+        // Given
+        server.enqueue(json("[{\"symbol\":\"ETHUSDT\",\"orderId\":1,\"clientOrderId\":\"external-1\",\"price\":\"3000\","
+                + "\"origQty\":\"2\",\"executedQty\":\"0\",\"status\":\"NEW\",\"type\":\"LIMIT\",\"side\":\"SELL\","
+                + "\"time\":1700000000000,\"updateTime\":1700000000000}]"));
+
+        // When
+        List<Order> orders = adapter.getActiveOrders();
+
+        // Then
+        assertThat(orders).hasSize(1);
+        assertThat(orders.get(0).getTradingPair()).isEqualTo(new TradingPair("ETH", "USDT"));
+        assertThat(orders.get(0).getSide()).isEqualTo(Order.OrderSide.SELL);
+    }
+
+    @Test
+    void shouldReuseKeepAliveConnection() throws Exception {
+        // Given
+        server.enqueue(json("{\"symbol\":\"BTCUSDT\",\"price\":\"1\"}"));
+        server.enqueue(json("{\"symbol\":\"BTCUSDT\",\"price\":\"2\"}"));
+        TradingPair pair = new TradingPair("BTC", "USDT");
+
+        // When
+        adapter.getCurrentPrice(pair);
+        adapter.getCurrentPrice(pair);
+
+        // Then - a segunda requisição é a segunda na mesma conexão
+        assertThat(server.takeRequest().getSequenceNumber()).isZero();
+        assertThat(server.takeRequest().getSequenceNumber()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldPlaceOrdersAsynchronously() throws Exception {
+        // Given
+        Order first = limitOrder();
+        Order second = limitOrder();
+        server.enqueue(json(orderJson(first.getId(), "NEW")));
+        server.enqueue(json(orderJson(second.getId(), "NEW")));
+
+        // When
+        List<Order> results = List.of(
+                adapter.placeOrderAsync(first).get(5, TimeUnit.SECONDS),
+                adapter.placeOrderAsync(second).get(5, TimeUnit.SECONDS));
+
+        // Then
+        assertThat(results).extracting(Order::getId).containsExactly(first.getId(), second.getId());
+    }
+
+    @Test
+    void shouldMapBinanceStatuses() {
+        assertThat(BinanceRestExchangeAdapter.toOrderStatus("NEW")).isEqualTo(Order.OrderStatus.PENDING);
+        assertThat(BinanceRestExchangeAdapter.toOrderStatus("EXPIRED")).isEqualTo(Order.OrderStatus.CANCELLED);
+        assertThat(BinanceRestExchangeAdapter.toTradingPair("BTCFDUSD")).isEqualTo(new TradingPair("BTC", "FDUSD"));
+        assertThat(BinanceRestExchangeAdapter.toTradingPair("ETHBTC")).isEqualTo(new TradingPair("ETH", "BTC"));
+    }
+
+    private static Order limitOrder() {
+        return new Order(new TradingPair("BTC", "USDT"), Order.OrderType.LIMIT, Order.OrderSide.BUY,
+                new BigDecimal("0.50000000"), new BigDecimal("50000.00"));
+    }
+
+    private static String orderJson(String clientOrderId, String status) {
+        return "{\"symbol\":\"BTCUSDT\",\"orderId\":42,\"clientOrderId\":\"" + clientOrderId + "\","
+                + "\"transactTime\":1700000000100,\"price\":\"50000.00000000\",\"origQty\":\"0.50000000\","
+                + "\"executedQty\":\"0.00000000\",\"status\":\"" + status + "\",\"type\":\"LIMIT\",\"side\":\"BUY\"}";
+    }
+
+    private static MockResponse json(String body) {
+        return new MockResponse().setHeader("Content-Type", "application/json").setBody(body);
+    }
+}
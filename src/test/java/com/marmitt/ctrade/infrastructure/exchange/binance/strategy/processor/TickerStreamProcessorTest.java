@@ -78,6 +78,8 @@ class TickerStreamProcessorTest {
         assertThat(priceUpdate.getTradingPair()).isEqualTo("BTCUSD");
         assertThat(priceUpdate.getPrice()).isEqualTo(new BigDecimal("50000.00"));
         assertThat(priceUpdate.getTimestamp()).isNotNull();
+        assertThat(priceUpdate.getEventTime()).isEqualTo(1640995200000L);
+        assertThat(priceUpdate.sequence()).isEqualTo(1640995200000L);
     }
     
     @Test
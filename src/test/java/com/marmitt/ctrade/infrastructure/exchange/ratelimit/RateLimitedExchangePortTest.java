@@ -0,0 +1,226 @@
+package com.marmitt.ctrade.infrastructure.exchange.ratelimit;
+
+import com.marmitt.ctrade.domain.entity.Order;
+import com.marmitt.ctrade.domain.entity.TradingPair;
+import com.marmitt.ctrade.domain.port.ExchangePort;
+import com.marmitt.ctrade.infrastructure.config.ExchangeRateLimitProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Testes unitários para RateLimitedExchangePort.
+ * Testa o caminho rápido, a fila de prioridade e as métricas de espera.
+ */
+@ExtendWith(MockitoExtension.class)
+class RateLimitedExchangePortTest {
+
+    @Mock
+    private ExchangePort delegate;
+
+    private ExchangeRateLimitProperties properties;
+    private RateLimitedExchangePort rateLimitedPort;
+    private Order order;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ExchangeRateLimitProperties();
+        properties.setWeightPerSecond(10);
+        properties.setWeightPerMinute(600);
+        properties.setMaxQueueWait(Duration.ofSeconds(5));
+        properties.getWeights().setPlaceOrder(5);
+        properties.getWeights().setCancelOrder(5);
+        properties.getWeights().setOrderStatus(5);
+
+        rateLimitedPort = new RateLimitedExchangePort(delegate, properties);
+        rateLimitedPort.start();
+
+        order = new Order(new TradingPair("BTC", "USD"), Order.OrderType.LIMIT, Order.OrderSide.BUY,
+                new BigDecimal("1"), new BigDecimal("50000"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        rateLimitedPort.stop();
+    }
+
+    @Test
+    void shouldCallDelegateDirectlyWhenUnderLimit() {
+        // Given
+        when(delegate.placeOrder(order)).thenReturn(order);
+
+        // When
+        Order result = rateLimitedPort.placeOrder(order);
+
+        // Then
+        assertThat(result).isSameAs(order);
+        assertThat(rateLimitedPort.getStats().immediate()).isEqualTo(1);
+        assertThat(rateLimitedPort.getStats().throttled()).isZero();
+    }
+
+    @Test
+    void shouldPrioritizeCancelsOverNewOrdersAndQueries() throws Exception {
+        // Given - esgota o bucket por segundo
+        List<String> callOrder = new CopyOnWriteArrayList<>();
+        when(delegate.placeOrder(any(Order.class))).thenAnswer(invocation -> {
+            callOrder.add("new");
+            return order;
+        });
+        lenient().when(delegate.getOrderStatus(anyString())).thenAnswer(invocation -> {
+            callOrder.add("query");
+            return order;
+        });
+        when(delegate.cancelOrder(anyString())).thenAnswer(invocation -> {
+            callOrder.add("cancel");
+            return order;
+        });
+        rateLimitedPort.placeOrder(order);
+        rateLimitedPort.placeOrder(order);
+        callOrder.clear();
+
+        // When - consulta e nova ordem chegam antes do cancelamento
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        Future<?> query = executor.submit(() -> rateLimitedPort.getOrderStatus("order-1"));
+        waitUntil(() -> rateLimitedPort.getStats().throttled() >= 1);
+        Future<?> newOrder = executor.submit(() -> rateLimitedPort.placeOrder(order));
+        waitUntil(() -> rateLimitedPort.getStats().throttled() >= 2);
+        Future<?> cancel = executor.submit(() -> rateLimitedPort.cancelOrder("order-2"));
+
+        cancel.get(5, TimeUnit.SECONDS);
+        newOrder.get(5, TimeUnit.SECONDS);
+        query.get(5, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        // Then
+        assertThat(callOrder).containsExactly("cancel", "new", "query");
+        RateLimitedExchangePort.RateLimitStats stats = rateLimitedPort.getStats();
+        assertThat(stats.throttled()).isEqualTo(3);
+        assertThat(stats.waitByPriority().get(RequestPriority.QUERY).maxWaitMillis())
+                .isGreaterThanOrEqualTo(stats.waitByPriority().get(RequestPriority.CANCEL).maxWaitMillis());
+    }
+
+    @Test
+    void shouldNotLetNewCallersTakeTokensWhileDispatcherWaitsForQueuedCancel() throws Exception {
+        // Given - o dispatcher segura o cancelamento esperando tokens que, para quem chega, já estão disponíveis
+        rateLimitedPort.stop();
+        GatedLimiter limiter = new GatedLimiter();
+        rateLimitedPort = new RateLimitedExchangePort(delegate, properties, limiter);
+        rateLimitedPort.start();
+        List<String> callOrder = new CopyOnWriteArrayList<>();
+        when(delegate.cancelOrder(anyString())).thenAnswer(invocation -> {
+            callOrder.add("cancel");
+            return order;
+        });
+        when(delegate.placeOrder(any(Order.class))).thenAnswer(invocation -> {
+            callOrder.add("new");
+            return order;
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        Future<?> cancel = executor.submit(() -> rateLimitedPort.cancelOrder("order-1"));
+        waitUntil(() -> limiter.dispatcherAttempts.get() > 0);
+
+        // When
+        Future<?> newOrder = executor.submit(() -> rateLimitedPort.placeOrder(order));
+        waitUntil(() -> rateLimitedPort.getStats().queueSize() == 1 || !callOrder.isEmpty());
+        limiter.releaseDispatcher = true;
+
+        cancel.get(5, TimeUnit.SECONDS);
+        newOrder.get(5, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        // Then
+        assertThat(callOrder).containsExactly("cancel", "new");
+        assertThat(rateLimitedPort.getStats().immediate()).isZero();
+    }
+
+    @Test
+    void shouldFailWhenQueueWaitExceedsMaximum() {
+        // Given
+        properties.setMaxQueueWait(Duration.ofMillis(100));
+        when(delegate.placeOrder(order)).thenReturn(order);
+        rateLimitedPort.placeOrder(order);
+        rateLimitedPort.placeOrder(order);
+
+        // When / Then - repor 5 tokens leva 500ms
+        assertThatThrownBy(() -> rateLimitedPort.placeOrder(order))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("rate limit");
+        assertThat(rateLimitedPort.getStats().timedOut()).isEqualTo(1);
+        assertThat(rateLimitedPort.getStats().queueSize()).isZero();
+    }
+
+    @Test
+    void shouldBypassLimiterWhenDisabled() {
+        // Given
+        properties.setEnabled(false);
+        when(delegate.cancelOrder("order-1")).thenReturn(order);
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            rateLimitedPort.cancelOrder("order-1");
+        }
+
+        // Then
+        assertThat(rateLimitedPort.getStats().throttled()).isZero();
+        verify(delegate, times(10)).cancelOrder("order-1");
+    }
+
+    /**
+     * Limiter que nega tokens ao primeiro chamador e ao dispatcher até ser liberado, e concede
+     * aos demais chamadores: simula o saldo reposto antes de o dispatcher acordar.
+     */
+    private static final class GatedLimiter extends RequestWeightLimiter {
+
+        private final AtomicInteger dispatcherAttempts = new AtomicInteger();
+        private final AtomicBoolean firstCaller = new AtomicBoolean(true);
+        private volatile boolean releaseDispatcher;
+
+        private GatedLimiter() {
+            super(10, 600);
+        }
+
+        @Override
+        public synchronized long tryAcquire(int weight) {
+            if (Thread.currentThread().getName().equals("exchange-rate-limit-dispatcher")) {
+                dispatcherAttempts.incrementAndGet();
+                return releaseDispatcher ? 0 : TimeUnit.MILLISECONDS.toNanos(10);
+            }
+            return firstCaller.getAndSet(false) ? TimeUnit.MILLISECONDS.toNanos(10) : 0;
+        }
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Condition not met within 2 seconds");
+            }
+            Thread.sleep(5);
+        }
+    }
+}
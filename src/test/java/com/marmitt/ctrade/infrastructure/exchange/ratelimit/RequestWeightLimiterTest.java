@@ -0,0 +1,92 @@
+package com.marmitt.ctrade.infrastructure.exchange.ratelimit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Testes unitários para RequestWeightLimiter.
+ * Usa um relógio controlado para verificar consumo e reposição dos dois buckets.
+ */
+class RequestWeightLimiterTest {
+
+    private AtomicLong clock;
+    private RequestWeightLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong(0);
+        limiter = new RequestWeightLimiter(10, 30, clock::get);
+    }
+
+    @Test
+    void shouldGrantImmediatelyWhileUnderLimit() {
+        // When / Then
+        assertThat(limiter.tryAcquire(4)).isZero();
+        assertThat(limiter.tryAcquire(6)).isZero();
+        assertThat(limiter.availablePerSecond()).isZero();
+    }
+
+    @Test
+    void shouldReturnWaitTimeWithoutConsumingWhenSecondBucketIsEmpty() {
+        // Given
+        limiter.tryAcquire(10);
+
+        // When
+        long wait = limiter.tryAcquire(5);
+
+        // Then - 5 tokens a 10/s levam 500ms
+        assertThat(TimeUnit.NANOSECONDS.toMillis(wait)).isEqualTo(500);
+        assertThat(limiter.availablePerMinute()).isEqualTo(20.0);
+    }
+
+    @Test
+    void shouldRefillPerSecondBucketOverTime() {
+        // Given
+        limiter.tryAcquire(10);
+
+        // When
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+
+        // Then
+        assertThat(limiter.tryAcquire(5)).isZero();
+    }
+
+    @Test
+    void shouldEnforcePerMinuteBucketEvenWhenSecondBucketRefills() {
+        // Given - consome 30 de peso em 3 segundos
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire(10)).isZero();
+            clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        }
+
+        // When - o bucket por segundo está cheio, mas o por minuto só repôs 1.5
+        long wait = limiter.tryAcquire(10);
+
+        // Then
+        assertThat(wait).isGreaterThan(TimeUnit.SECONDS.toNanos(10));
+    }
+
+    @Test
+    void shouldRefundUnusedPermit() {
+        // Given
+        limiter.tryAcquire(10);
+
+        // When
+        limiter.refund(10);
+
+        // Then
+        assertThat(limiter.tryAcquire(10)).isZero();
+    }
+
+    @Test
+    void shouldRejectWeightAboveCapacity() {
+        assertThatThrownBy(() -> limiter.tryAcquire(11))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
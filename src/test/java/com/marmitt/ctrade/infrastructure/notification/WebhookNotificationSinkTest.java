@@ -0,0 +1,78 @@
+package com.marmitt.ctrade.infrastructure.notification;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.marmitt.ctrade.domain.dto.AlertNotificationBatch;
+import com.marmitt.ctrade.domain.entity.PriceAlert;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Testes para WebhookNotificationSink usando um servidor HTTP local (MockWebServer).
+ */
+class WebhookNotificationSinkTest {
+
+    private MockWebServer server;
+    private WebhookNotificationSink sink;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        sink = new WebhookNotificationSink(server.url("/alerts").toString(), new OkHttpClient(), objectMapper);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    void shouldPostBatchAsJson() throws Exception {
+        // Given
+        server.enqueue(new MockResponse().setResponseCode(204));
+        AlertNotificationBatch batch = batch();
+
+        // When
+        sink.send(batch);
+
+        // Then
+        RecordedRequest request = server.takeRequest();
+        assertThat(request.getMethod()).isEqualTo("POST");
+        assertThat(request.getPath()).isEqualTo("/alerts");
+        assertThat(request.getHeader("Content-Type")).startsWith("application/json");
+        assertThat(request.getBody().readUtf8()).contains("\"target\":\"BTCUSDT\"");
+    }
+
+    @Test
+    void shouldFailOnNonSuccessfulResponse() {
+        // Given
+        server.enqueue(new MockResponse().setResponseCode(503));
+
+        // When & Then
+        assertThatThrownBy(() -> sink.send(batch()))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("503");
+    }
+
+    private AlertNotificationBatch batch() {
+        PriceAlert alert = new PriceAlert("BTCUSDT", new BigDecimal("50000"), PriceAlert.AlertType.ABOVE);
+        alert.trigger();
+        return new AlertNotificationBatch("BTCUSDT", List.of(alert), LocalDateTime.now());
+    }
+}
@@ -0,0 +1,163 @@
+package com.marmitt.ctrade.infrastructure.repository;
+
+import com.marmitt.ctrade.domain.entity.Order;
+import com.marmitt.ctrade.domain.entity.TradingAuditLog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark de throughput de inserção de auditoria no H2 em memória.
+ *
+ * <ul>
+ *   <li>identity-per-row: comportamento anterior, um insert com retorno da chave IDENTITY
+ *       em uma transação própria por registro (REQUIRES_NEW)</li>
+ *   <li>identity-single-tx: mesma chave IDENTITY, mas todos os registros em uma transação;
+ *       cada insert ainda vai ao banco sozinho para devolver a chave</li>
+ *   <li>sequence-batch: IDs reservados em blocos da sequence e JDBC batch em lotes, como no
+ *       {@link JdbcAuditLogBatchInserter}</li>
+ * </ul>
+ *
+ * Executado apenas com {@code CTRADE_BENCHMARK=true}, por exemplo:
+ * {@code CTRADE_BENCHMARK=true ./gradlew test --tests '*AuditLogInsertBenchmarkTest'}
+ */
+@EnabledIfEnvironmentVariable(named = "CTRADE_BENCHMARK", matches = "true")
+class AuditLogInsertBenchmarkTest {
+
+    private static final int WARMUP_ROWS = 5_000;
+    private static final int ROWS = 50_000;
+    private static final int BATCH_SIZE = 500;
+
+    private static final String COLUMNS = """
+            action_type VARCHAR(255) NOT NULL, trading_pair VARCHAR(255), order_id VARCHAR(255),
+            order_type VARCHAR(255), order_side VARCHAR(255), quantity NUMERIC(19, 8), price NUMERIC(19, 8),
+            total_value NUMERIC(19, 8), status VARCHAR(255), error_message VARCHAR(1000),
+            created_at TIMESTAMP NOT NULL, user_context VARCHAR(255), request_id VARCHAR(255)
+            """;
+
+    private static final String IDENTITY_INSERT_SQL = """
+            INSERT INTO trading_audit_log_identity (action_type, trading_pair, order_id, order_type, order_side,
+                quantity, price, total_value, status, error_message, created_at, user_context, request_id)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private JdbcAuditLogBatchInserter batchInserter;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:audit-benchmark-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+
+        jdbcTemplate.execute("CREATE TABLE trading_audit_log_identity (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+                + COLUMNS + ")");
+        jdbcTemplate.execute("CREATE TABLE trading_audit_log (id BIGINT NOT NULL PRIMARY KEY, " + COLUMNS + ")");
+        jdbcTemplate.execute("CREATE SEQUENCE " + TradingAuditLog.ID_SEQUENCE
+                + " START WITH 1 INCREMENT BY " + TradingAuditLog.ID_ALLOCATION_SIZE);
+
+        batchInserter = new JdbcAuditLogBatchInserter(jdbcTemplate, List.of());
+    }
+
+    @Test
+    void identityVersusPooledSequenceBatchInsert() {
+        insertIdentityPerRow(auditLogs(WARMUP_ROWS));
+        insertIdentitySingleTransaction(auditLogs(WARMUP_ROWS));
+        insertSequenceBatched(auditLogs(WARMUP_ROWS));
+
+        long perRow = insertIdentityPerRow(auditLogs(ROWS));
+        long singleTransaction = insertIdentitySingleTransaction(auditLogs(ROWS));
+        long batched = insertSequenceBatched(auditLogs(ROWS));
+
+        report("identity-per-row", perRow);
+        report("identity-single-tx", singleTransaction);
+        report("sequence-batch", batched);
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM trading_audit_log", Long.class))
+                .isEqualTo(WARMUP_ROWS + ROWS);
+        assertThat(batched).isLessThan(perRow);
+    }
+
+    private long insertIdentityPerRow(List<TradingAuditLog> auditLogs) {
+        long start = System.nanoTime();
+        for (TradingAuditLog auditLog : auditLogs) {
+            transactionTemplate.executeWithoutResult(status -> insertWithGeneratedKey(auditLog));
+        }
+        return System.nanoTime() - start;
+    }
+
+    private long insertIdentitySingleTransaction(List<TradingAuditLog> auditLogs) {
+        long start = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> auditLogs.forEach(this::insertWithGeneratedKey));
+        return System.nanoTime() - start;
+    }
+
+    private long insertSequenceBatched(List<TradingAuditLog> auditLogs) {
+        long start = System.nanoTime();
+        for (int from = 0; from < auditLogs.size(); from += BATCH_SIZE) {
+            List<TradingAuditLog> batch = auditLogs.subList(from, Math.min(from + BATCH_SIZE, auditLogs.size()));
+            transactionTemplate.executeWithoutResult(status -> batchInserter.insertAll(batch));
+        }
+        return System.nanoTime() - start;
+    }
+
+    private void insertWithGeneratedKey(TradingAuditLog auditLog) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(IDENTITY_INSERT_SQL, Statement.RETURN_GENERATED_KEYS);
+            ps.setString(1, auditLog.getActionType().name());
+            ps.setString(2, auditLog.getTradingPair());
+            ps.setString(3, auditLog.getOrderId());
+            ps.setString(4, auditLog.getOrderType().name());
+            ps.setString(5, auditLog.getOrderSide().name());
+            ps.setBigDecimal(6, auditLog.getQuantity());
+            ps.setBigDecimal(7, auditLog.getPrice());
+            ps.setBigDecimal(8, auditLog.getTotalValue());
+            ps.setString(9, auditLog.getStatus().name());
+            ps.setString(10, auditLog.getErrorMessage());
+            ps.setObject(11, auditLog.getCreatedAt());
+            ps.setString(12, auditLog.getUserContext());
+            ps.setString(13, auditLog.getRequestId());
+            return ps;
+        }, keyHolder);
+        auditLog.setId(keyHolder.getKey().longValue());
+    }
+
+    private static List<TradingAuditLog> auditLogs(int count) {
+        List<TradingAuditLog> auditLogs = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            auditLogs.add(TradingAuditLog.success(TradingAuditLog.ActionType.PLACE_BUY_ORDER)
+                    .withTradingPair("BTCUSDT")
+                    .withOrderId("order-" + i)
+                    .withOrderDetails(Order.OrderType.LIMIT, Order.OrderSide.BUY, new BigDecimal("0.1"), new BigDecimal("50000"))
+                    .withRequestId(UUID.randomUUID().toString()));
+        }
+        return auditLogs;
+    }
+
+    private static void report(String mode, long wallNanos) {
+        System.out.printf("%-20s rows=%d total=%dms throughput=%.0f rows/s%n",
+                mode,
+                ROWS,
+                TimeUnit.NANOSECONDS.toMillis(wallNanos),
+                ROWS / (wallNanos / 1_000_000_000.0));
+    }
+}
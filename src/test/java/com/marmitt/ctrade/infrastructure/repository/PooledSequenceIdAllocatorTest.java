@@ -0,0 +1,103 @@
+package com.marmitt.ctrade.infrastructure.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.support.incrementer.DataFieldMaxValueIncrementer;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Testes unitários para PooledSequenceIdAllocator.
+ */
+class PooledSequenceIdAllocatorTest {
+
+    @Test
+    void shouldHitSequenceOncePerAllocationBlock() {
+        // Given - sequence com increment igual ao tamanho do bloco, a partir de 1
+        FakeSequence sequence = new FakeSequence(1, 10);
+        PooledSequenceIdAllocator allocator = new PooledSequenceIdAllocator(sequence, 10);
+
+        // When
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < 25; i++) {
+            ids.add(allocator.nextId());
+        }
+
+        // Then - valores 1, 11, 21 reservam {1}, [2..11], [12..21] e parte de [22..31]
+        assertThat(ids).hasSize(25).allSatisfy(id -> assertThat(id).isPositive());
+        assertThat(sequence.calls.get()).isEqualTo(4);
+    }
+
+    @Test
+    void shouldReserveBlockEndingAtSequenceValue() {
+        // Given
+        FakeSequence sequence = new FakeSequence(501, 500);
+        PooledSequenceIdAllocator allocator = new PooledSequenceIdAllocator(sequence, 500);
+
+        // When / Then
+        assertThat(allocator.nextId()).isEqualTo(2);
+        for (int i = 0; i < 499; i++) {
+            allocator.nextId();
+        }
+        assertThat(allocator.nextId()).isEqualTo(502);
+        assertThat(sequence.calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldNotOverlapWithAnotherAllocatorOnSameSequence() {
+        // Given - dois consumidores da mesma sequence, como o Hibernate e o insert via JDBC
+        FakeSequence sequence = new FakeSequence(1, 50);
+        PooledSequenceIdAllocator first = new PooledSequenceIdAllocator(sequence, 50);
+        PooledSequenceIdAllocator second = new PooledSequenceIdAllocator(sequence, 50);
+
+        // When
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < 300; i++) {
+            ids.add(first.nextId());
+            ids.add(second.nextId());
+        }
+
+        // Then
+        assertThat(ids).hasSize(600);
+    }
+
+    @Test
+    void shouldRejectNonPositiveAllocationSize() {
+        assertThatThrownBy(() -> new PooledSequenceIdAllocator(new FakeSequence(1, 1), 0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Allocation size must be positive");
+    }
+
+    private static final class FakeSequence implements DataFieldMaxValueIncrementer {
+
+        private final AtomicLong value;
+        private final long increment;
+        private final AtomicInteger calls = new AtomicInteger();
+
+        private FakeSequence(long start, long increment) {
+            this.value = new AtomicLong(start - increment);
+            this.increment = increment;
+        }
+
+        @Override
+        public int nextIntValue() {
+            return (int) nextLongValue();
+        }
+
+        @Override
+        public long nextLongValue() {
+            calls.incrementAndGet();
+            return value.addAndGet(increment);
+        }
+
+        @Override
+        public String nextStringValue() {
+            return String.valueOf(nextLongValue());
+        }
+    }
+}
@@ -119,49 +119,29 @@ class AbstractWebSocketAdapterTest {
     }
 
     @Test
-    void shouldConnectWhenCircuitBreakerAllows() {
+    void shouldConnectWhenManagerGrantsAttempt() {
         // Given
-        when(connectionManager.canConnect()).thenReturn(true);
-        when(connectionManager.isConnectingOrConnected()).thenReturn(false);
+        when(connectionManager.tryBeginConnect()).thenReturn(true);
         
         // When
         adapter.connect();
         
         // Then
-        verify(connectionManager).canConnect();
-        verify(connectionManager).isConnectingOrConnected();
-        verify(connectionManager).updateStatus(ConnectionStatus.CONNECTING);
+        verify(connectionManager).tryBeginConnect();
         verify(statsTracker).recordConnection();
         assertThat(adapter.doConnectCalled).isTrue();
     }
 
     @Test
-    void shouldNotConnectWhenCircuitBreakerBlocks() {
-        // Given
-        when(connectionManager.canConnect()).thenReturn(false);
-        
-        // When
-        adapter.connect();
-        
-        // Then
-        verify(connectionManager).canConnect();
-        verify(connectionManager, never()).updateStatus(any());
-        verify(statsTracker, never()).recordConnection();
-        assertThat(adapter.doConnectCalled).isFalse();
-    }
-
-    @Test
-    void shouldNotConnectWhenAlreadyConnectingOrConnected() {
-        // Given
-        when(connectionManager.canConnect()).thenReturn(true);
-        when(connectionManager.isConnectingOrConnected()).thenReturn(true);
+    void shouldNotConnectWhenManagerRejectsAttempt() {
+        // Given - circuit breaker aberto ou outra tentativa em andamento
+        when(connectionManager.tryBeginConnect()).thenReturn(false);
         
         // When
         adapter.connect();
         
         // Then
-        verify(connectionManager).canConnect();
-        verify(connectionManager).isConnectingOrConnected();
+        verify(connectionManager).tryBeginConnect();
         verify(connectionManager, never()).updateStatus(any());
         verify(statsTracker, never()).recordConnection();
         assertThat(adapter.doConnectCalled).isFalse();
@@ -195,7 +175,7 @@ class AbstractWebSocketAdapterTest {
     }
 
     @Test
-    void shouldNotSubscribeToPriceWhenNotConnected() {
+    void shouldRecordSubscriptionToPriceWhenNotConnected() {
         // Given
         String tradingPair = "BTCUSDT";
         when(connectionManager.isConnected()).thenReturn(false);
@@ -203,10 +183,22 @@ class AbstractWebSocketAdapterTest {
         // When
         adapter.subscribeToPrice(tradingPair);
         
+        // Then - o par não se perde: o adapter o aplica quando reconectar
+        verify(connectionManager).addSubscription(tradingPair);
+        assertThat(adapter.lastSubscribedPair).isEqualTo(tradingPair);
+    }
+
+    @Test
+    void shouldUnsubscribeFromPrice() {
+        // Given
+        String tradingPair = "BTCUSDT";
+        
+        // When
+        adapter.unsubscribeFromPrice(tradingPair);
+        
         // Then
-        verify(connectionManager).isConnected();
-        verify(connectionManager, never()).addSubscription(any());
-        assertThat(adapter.lastSubscribedPair).isNull();
+        verify(connectionManager).removeSubscription(tradingPair);
+        assertThat(adapter.lastUnsubscribedPair).isEqualTo(tradingPair);
     }
 
     @Test
@@ -412,6 +404,7 @@ class AbstractWebSocketAdapterTest {
         boolean doDisconnectCalled = false;
         boolean doSubscribeToOrderUpdatesCalled = false;
         String lastSubscribedPair = null;
+        String lastUnsubscribedPair = null;
 
         protected TestWebSocketAdapter(WebSocketEventPublisher eventPublisher,
                                        ConnectionManager connectionManager,
@@ -440,6 +433,11 @@ class AbstractWebSocketAdapterTest {
             lastSubscribedPair = tradingPair;
         }
 
+        @Override
+        protected void doUnsubscribeFromPrice(String tradingPair) {
+            lastUnsubscribedPair = tradingPair;
+        }
+
         @Override
         protected void doSubscribeToOrderUpdates() {
             doSubscribeToOrderUpdatesCalled = true;
@@ -1,17 +1,23 @@
 package com.marmitt.ctrade.infrastructure.websocket;
 
 import com.marmitt.ctrade.domain.port.ExchangeWebSocketAdapter.ConnectionStatus;
+import com.marmitt.ctrade.infrastructure.config.WebSocketProperties;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.scheduling.TaskScheduler;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.*;
@@ -293,13 +299,43 @@ class ConnectionManagerTest {
     }
 
     @Test
-    void shouldHandleExceptionDuringReconnection() {
+    void shouldRescheduleWhenReconnectionActionThrows() {
         // Given
         Runnable connectAction = mock(Runnable.class);
         doThrow(new RuntimeException("Connection failed")).when(connectAction).run();
         String exchangeName = "BINANCE";
+        List<Runnable> scheduled = new ArrayList<>();
         
         when(reconnectionStrategy.shouldReconnect()).thenReturn(true);
+        when(reconnectionStrategy.getNextDelay()).thenReturn(Duration.ofSeconds(1), Duration.ofSeconds(2));
+        when(taskScheduler.schedule(any(Runnable.class), any(Instant.class))).thenAnswer(invocation -> {
+            scheduled.add(invocation.getArgument(0));
+            return scheduledFuture;
+        });
+        
+        // When
+        connectionManager.scheduleReconnectionBasedOnStrategy(connectAction, exchangeName);
+        scheduled.get(0).run();
+        
+        // Then - a falha é contada e a próxima tentativa fica agendada com o próximo atraso
+        verify(reconnectionStrategy).recordAttempt();
+        verify(statsTracker).recordReconnection();
+        verify(statsTracker).recordError();
+        verify(circuitBreaker).recordFailure();
+        verify(reconnectionStrategy, times(2)).getNextDelay();
+        assertThat(scheduled).hasSize(2);
+        assertThat(connectionManager.getStatus()).isEqualTo(ConnectionStatus.RECONNECTING);
+    }
+
+    @Test
+    void shouldMarkFailedWhenThrowingReconnectionExhaustsAttempts() {
+        // Given
+        Runnable connectAction = mock(Runnable.class);
+        doThrow(new RuntimeException("Connection failed")).when(connectAction).run();
+        String exchangeName = "BINANCE";
+        
+        when(reconnectionStrategy.shouldReconnect()).thenReturn(true, false);
+        when(reconnectionStrategy.getNextDelay()).thenReturn(Duration.ofSeconds(1));
         when(taskScheduler.schedule(any(Runnable.class), any(Instant.class))).thenAnswer(invocation -> {
             // Execute the scheduled task immediately for testing
             Runnable task = invocation.getArgument(0);
@@ -313,7 +349,9 @@ class ConnectionManagerTest {
         // Then
         verify(reconnectionStrategy).recordAttempt();
         verify(statsTracker).recordReconnection();
+        verify(statsTracker).recordError();
         verify(connectAction).run();
+        verify(taskScheduler, times(1)).schedule(any(Runnable.class), any(Instant.class));
         assertThat(connectionManager.getStatus()).isEqualTo(ConnectionStatus.FAILED);
     }
 
@@ -363,4 +401,167 @@ class ConnectionManagerTest {
         assertThat(connectionManager.getSubscribedPairs()).isEmpty();
         assertThat(connectionManager.isOrderUpdatesSubscribed()).isFalse();
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldRejectTransitionsOutsideStateMachine() {
+        // When - CONNECTED só é alcançável a partir de CONNECTING
+        boolean updated = connectionManager.updateStatus(ConnectionStatus.CONNECTED);
+
+        // Then
+        assertThat(updated).isFalse();
+        assertThat(connectionManager.getStatus()).isEqualTo(ConnectionStatus.DISCONNECTED);
+        assertThat(connectionManager.getStateStats().rejectedTransitions()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldAllowOnlyOneConnectInFlight() throws InterruptedException {
+        // Given
+        when(circuitBreaker.canConnect()).thenReturn(true);
+        int threads = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger granted = new AtomicInteger();
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                    if (connectionManager.tryBeginConnect()) {
+                        granted.incrementAndGet();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            worker.start();
+            workers.add(worker);
+        }
+
+        // When
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        // Then
+        assertThat(granted.get()).isEqualTo(1);
+        assertThat(connectionManager.getStatus()).isEqualTo(ConnectionStatus.CONNECTING);
+        assertThat(connectionManager.getStateStats().suppressedConnects()).isEqualTo(threads - 1);
+    }
+
+    @Test
+    void shouldNotBeginConnectWhenCircuitBreakerIsOpen() {
+        // Given
+        when(circuitBreaker.canConnect()).thenReturn(false);
+
+        // When
+        boolean started = connectionManager.tryBeginConnect();
+
+        // Then
+        assertThat(started).isFalse();
+        assertThat(connectionManager.getStatus()).isEqualTo(ConnectionStatus.DISCONNECTED);
+    }
+
+    @Test
+    void shouldResetBackoffAndCircuitBreakerWhenConnected() {
+        // Given
+        when(circuitBreaker.canConnect()).thenReturn(true);
+        connectionManager.tryBeginConnect();
+
+        // When
+        boolean connected = connectionManager.markConnected();
+
+        // Then
+        assertThat(connected).isTrue();
+        verify(reconnectionStrategy).reset();
+        verify(circuitBreaker).recordSuccess();
+        assertThat(connectionManager.getStateStats().transitions())
+                .containsKeys("DISCONNECTED->CONNECTING", "CONNECTING->CONNECTED");
+        assertThat(connectionManager.getStateStats().transitions().get("CONNECTING->CONNECTED").count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldIgnoreStaleConnectionLostEvents() {
+        // Given - desconexão manual já aplicada
+        connectionManager.updateStatus(ConnectionStatus.DISCONNECTED);
+
+        // When - callback de fechamento do socket antigo
+        boolean lost = connectionManager.markConnectionLost(ConnectionStatus.FAILED, true);
+
+        // Then
+        assertThat(lost).isFalse();
+        assertThat(connectionManager.getStatus()).isEqualTo(ConnectionStatus.DISCONNECTED);
+        verify(circuitBreaker, never()).recordFailure();
+    }
+
+    @Test
+    void shouldCoalesceConcurrentReconnectionRequests() {
+        // Given
+        when(reconnectionStrategy.getNextDelay()).thenReturn(Duration.ofSeconds(1));
+        when(reconnectionStrategy.shouldReconnect()).thenReturn(true);
+        when(taskScheduler.schedule(any(Runnable.class), any(Instant.class))).thenAnswer(invocation -> scheduledFuture);
+        Runnable connectAction = mock(Runnable.class);
+
+        // When - falha e fechamento do mesmo socket pedem reconexão
+        connectionManager.scheduleReconnectionBasedOnStrategy(connectAction, "BINANCE");
+        connectionManager.scheduleReconnectionBasedOnStrategy(connectAction, "BINANCE");
+
+        // Then
+        verify(taskScheduler, times(1)).schedule(any(Runnable.class), any(Instant.class));
+        assertThat(connectionManager.getStateStats().coalescedReconnects()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldDelayReconnectionUntilCircuitBreakerTimeout() {
+        // Given
+        when(reconnectionStrategy.getNextDelay()).thenReturn(Duration.ofSeconds(1));
+        when(reconnectionStrategy.shouldReconnect()).thenReturn(true);
+        when(circuitBreaker.getRemainingOpenTime()).thenReturn(Duration.ofSeconds(90));
+        when(taskScheduler.schedule(any(Runnable.class), any(Instant.class))).thenAnswer(invocation -> scheduledFuture);
+        Instant before = Instant.now();
+
+        // When
+        connectionManager.scheduleReconnectionBasedOnStrategy(mock(Runnable.class), "BINANCE");
+
+        // Then
+        ArgumentCaptor<Instant> startTime = ArgumentCaptor.forClass(Instant.class);
+        verify(taskScheduler).schedule(any(Runnable.class), startTime.capture());
+        assertThat(startTime.getValue()).isAfterOrEqualTo(before.plusSeconds(90));
+    }
+
+    @Test
+    void shouldSkipScheduledReconnectionAfterManualDisconnect() {
+        // Given
+        Runnable connectAction = mock(Runnable.class);
+        when(reconnectionStrategy.shouldReconnect()).thenReturn(true);
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        when(taskScheduler.schedule(task.capture(), any(Instant.class))).thenAnswer(invocation -> scheduledFuture);
+        connectionManager.scheduleReconnectionBasedOnStrategy(connectAction, "BINANCE");
+
+        // When - desconexão antes da task disparar
+        connectionManager.updateStatus(ConnectionStatus.DISCONNECTED);
+        task.getValue().run();
+
+        // Then
+        verify(connectAction, never()).run();
+        verify(reconnectionStrategy, never()).recordAttempt();
+        assertThat(connectionManager.getStatus()).isEqualTo(ConnectionStatus.DISCONNECTED);
+    }
+
+    @Test
+    void shouldCreateManagersWithIndependentCircuitBreakers() {
+        // Given
+        WebSocketProperties properties = new WebSocketProperties();
+        properties.getCircuitBreaker().setFailureThreshold(1);
+        properties.getCircuitBreaker().setOpenTimeout(Duration.ofMinutes(10));
+        ConnectionManager failing = ConnectionManager.create(taskScheduler, statsTracker, properties);
+        ConnectionManager healthy = ConnectionManager.create(taskScheduler, statsTracker, properties);
+
+        // When
+        assertThat(failing.tryBeginConnect()).isTrue();
+        failing.markConnectionLost(ConnectionStatus.FAILED, true);
+
+        // Then - só o circuito da conexão que falhou abre
+        assertThat(failing.canConnect()).isFalse();
+        assertThat(healthy.tryBeginConnect()).isTrue();
+    }
+}
@@ -0,0 +1,95 @@
+package com.marmitt.ctrade.infrastructure.websocket;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes unitários para FirstArrivalDeduplicator.
+ * Testa a escolha da primeira chegada e as métricas por fonte.
+ */
+class FirstArrivalDeduplicatorTest {
+
+    private FirstArrivalDeduplicator deduplicator;
+
+    @BeforeEach
+    void setUp() {
+        deduplicator = new FirstArrivalDeduplicator();
+    }
+
+    @Test
+    void shouldAcceptOnlyFirstArrivalOfEachSequence() {
+        // When
+        boolean first = deduplicator.accept("A", "BTCUSDT", 100);
+        boolean duplicate = deduplicator.accept("B", "BTCUSDT", 100);
+        boolean next = deduplicator.accept("B", "BTCUSDT", 101);
+
+        // Then
+        assertThat(first).isTrue();
+        assertThat(duplicate).isFalse();
+        assertThat(next).isTrue();
+        assertThat(deduplicator.getSourceStats("A").wins()).isEqualTo(1);
+        assertThat(deduplicator.getSourceStats("B").duplicates()).isEqualTo(1);
+        assertThat(deduplicator.getSourceStats("B").winRate()).isEqualTo(0.5);
+    }
+
+    @Test
+    void shouldDropEventOlderThanLastAccepted() {
+        // Given
+        deduplicator.accept("A", "BTCUSDT", 200);
+
+        // When
+        boolean accepted = deduplicator.accept("B", "BTCUSDT", 150);
+
+        // Then
+        assertThat(accepted).isFalse();
+        assertThat(deduplicator.getSourceStats("B").stale()).isEqualTo(1);
+        assertThat(deduplicator.getSourceStats("B").duplicates()).isZero();
+    }
+
+    @Test
+    void shouldTrackSymbolsIndependently() {
+        // Given
+        deduplicator.accept("A", "BTCUSDT", 100);
+
+        // When / Then
+        assertThat(deduplicator.accept("B", "ETHUSDT", 100)).isTrue();
+    }
+
+    @Test
+    void shouldPassEventsWithoutSequence() {
+        // When / Then
+        assertThat(deduplicator.accept("A", "BTCUSDT", 0)).isTrue();
+        assertThat(deduplicator.accept("B", "BTCUSDT", 0)).isTrue();
+    }
+
+    @Test
+    void shouldAcceptSequenceAgainAfterForget() {
+        // Given
+        deduplicator.accept("A", "BTCUSDT", 100);
+
+        // When
+        deduplicator.forget("BTCUSDT");
+
+        // Then
+        assertThat(deduplicator.accept("A", "BTCUSDT", 50)).isTrue();
+    }
+
+    @Test
+    void shouldMeasureLagOfDuplicates() throws InterruptedException {
+        // Given
+        deduplicator.accept("A", "BTCUSDT", 100);
+        Thread.sleep(5);
+
+        // When
+        deduplicator.accept("B", "BTCUSDT", 100);
+
+        // Then
+        FirstArrivalDeduplicator.SourceStats stats = deduplicator.getSourceStats("B");
+        assertThat(stats.avgLagMillis()).isGreaterThanOrEqualTo(5.0);
+        assertThat(stats.maxLagMillis()).isEqualTo(stats.avgLagMillis());
+        assertThat(deduplicator.getSourceStats("unknown").received()).isZero();
+        assertThat(deduplicator.getStats()).containsOnlyKeys("A", "B");
+    }
+}
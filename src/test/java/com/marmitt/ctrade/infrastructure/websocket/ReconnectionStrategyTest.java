@@ -4,6 +4,8 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -23,21 +25,64 @@ class ReconnectionStrategyTest {
     }
     
     @Test
-    void shouldUseExponentialBackoff() {
-        // First attempt
-        Duration delay1 = strategy.getNextDelay();
-        strategy.recordAttempt();
-        assertThat(delay1).isEqualTo(Duration.ofSeconds(1));
+    void shouldUseDecorrelatedJitterBetweenBaseAndThreeTimesPreviousDelay() {
+        // Given
+        strategy = new ReconnectionStrategy(20, Duration.ofSeconds(1), Duration.ofMinutes(5));
+        Duration previous = Duration.ofSeconds(1);
         
-        // Second attempt
-        Duration delay2 = strategy.getNextDelay();
-        strategy.recordAttempt();
-        assertThat(delay2).isEqualTo(Duration.ofSeconds(2));
+        for (int i = 0; i < 20; i++) {
+            // When
+            Duration delay = strategy.getNextDelay();
+            strategy.recordAttempt();
+            
+            // Then
+            assertThat(delay).isBetween(Duration.ofSeconds(1), previous.multipliedBy(3));
+            previous = delay;
+        }
+    }
+    
+    @Test
+    void shouldSpreadDelaysOfConnectionsFailingTogether() {
+        // Given - várias conexões caindo ao mesmo tempo
+        Set<Duration> firstDelays = new HashSet<>();
+        
+        // When
+        for (int i = 0; i < 20; i++) {
+            firstDelays.add(new ReconnectionStrategy(10, Duration.ofSeconds(1), Duration.ofMinutes(5)).getNextDelay());
+        }
         
-        // Third attempt
-        Duration delay3 = strategy.getNextDelay();
+        // Then
+        assertThat(firstDelays).hasSizeGreaterThan(1);
+        assertThat(firstDelays).allSatisfy(delay -> assertThat(delay).isBetween(Duration.ofSeconds(1), Duration.ofSeconds(3)));
+    }
+    
+    @Test
+    void shouldRestartFromBaseDelayAfterReset() {
+        // Given - backoff já no teto
+        strategy = new ReconnectionStrategy(10, Duration.ofSeconds(10), Duration.ofSeconds(10));
+        strategy.getNextDelay();
         strategy.recordAttempt();
-        assertThat(delay3).isEqualTo(Duration.ofSeconds(4));
+        
+        // When
+        strategy.reset();
+        
+        // Then
+        assertThat(strategy.getNextDelay()).isEqualTo(Duration.ofSeconds(10));
+    }
+    
+    @Test
+    void shouldUseConfiguredMaxAttempts() {
+        // Given
+        strategy = new ReconnectionStrategy(3, Duration.ofMillis(500), Duration.ofSeconds(30));
+        
+        // When
+        for (int i = 0; i < 3; i++) {
+            strategy.recordAttempt();
+        }
+        
+        // Then
+        assertThat(strategy.shouldReconnect()).isFalse();
+        assertThat(strategy.getMaxAttempts()).isEqualTo(3);
     }
     
     @Test
@@ -69,10 +114,11 @@ class ReconnectionStrategyTest {
     void shouldCapMaxDelay() {
         // Force many attempts to test max delay
         for (int i = 0; i < 15; i++) {
+            strategy.getNextDelay();
             strategy.recordAttempt();
         }
         
         Duration delay = strategy.getNextDelay();
         assertThat(delay).isLessThanOrEqualTo(Duration.ofMinutes(5));
     }
-}
\ No newline at end of file
+}
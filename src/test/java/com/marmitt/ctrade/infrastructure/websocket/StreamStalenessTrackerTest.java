@@ -0,0 +1,78 @@
+package com.marmitt.ctrade.infrastructure.websocket;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes unitários para StreamStalenessTracker.
+ * Usa instantes em nanos explícitos para controlar o tempo.
+ */
+class StreamStalenessTrackerTest {
+
+    private static final long SECOND = Duration.ofSeconds(1).toNanos();
+
+    private StreamStalenessTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new StreamStalenessTracker(Duration.ofSeconds(10), 5);
+    }
+
+    @Test
+    void shouldFlagSymbolWithoutEventsAfterMinimum() {
+        // Given
+        tracker.expect(List.of("BTCUSDT", "ETHUSDT"), 0);
+
+        // When
+        tracker.record("ETHUSDT", 9 * SECOND);
+
+        // Then
+        assertThat(tracker.staleSymbols(10 * SECOND)).isEmpty();
+        assertThat(tracker.staleSymbols(11 * SECOND)).containsExactly("BTCUSDT");
+    }
+
+    @Test
+    void shouldUseObservedCadenceAboveMinimum() {
+        // Given - eventos a cada 4s: limite de 20s em vez do piso de 10s
+        for (long t = 0; t <= 40; t += 4) {
+            tracker.record("ADAUSDT", t * SECOND);
+        }
+
+        // When / Then
+        assertThat(tracker.staleSymbols(55 * SECOND)).isEmpty();
+        assertThat(tracker.staleSymbols(61 * SECOND)).containsExactly("ADAUSDT");
+        assertThat(tracker.snapshot(61 * SECOND).get("ADAUSDT"))
+                .isEqualTo(new StreamStalenessTracker.SymbolStaleness("ADAUSDT", 21_000, 4_000, true));
+    }
+
+    @Test
+    void shouldGiveFullWindowAfterRestart() {
+        // Given
+        tracker.expect(List.of("BTCUSDT"), 0);
+
+        // When
+        tracker.restart("BTCUSDT", 15 * SECOND);
+
+        // Then
+        assertThat(tracker.staleSymbols(20 * SECOND)).isEmpty();
+        assertThat(tracker.staleSymbols(26 * SECOND)).containsExactly("BTCUSDT");
+    }
+
+    @Test
+    void shouldForgetSymbolsNoLongerExpected() {
+        // Given
+        tracker.expect(List.of("BTCUSDT", "ETHUSDT"), 0);
+
+        // When
+        tracker.expect(List.of("ETHUSDT", "SOLUSDT"), 20 * SECOND);
+
+        // Then - ETHUSDT mantém o relógio antigo, SOLUSDT começa agora
+        assertThat(tracker.snapshot(25 * SECOND)).containsOnlyKeys("ETHUSDT", "SOLUSDT");
+        assertThat(tracker.staleSymbols(25 * SECOND)).containsExactly("ETHUSDT");
+    }
+}
@@ -3,6 +3,7 @@ package com.marmitt.ctrade.infrastructure.websocket;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -102,4 +103,37 @@ class WebSocketCircuitBreakerTest {
         // but we can at least verify the basic state management
         assertThat(circuitBreaker.getState()).isEqualTo(WebSocketCircuitBreaker.State.OPEN);
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldUseConfiguredThresholdAndOpenTimeout() {
+        // Given - abre com 2 falhas e libera o teste imediatamente
+        circuitBreaker = new WebSocketCircuitBreaker(2, Duration.ZERO);
+        circuitBreaker.recordFailure();
+        assertThat(circuitBreaker.isOpen()).isFalse();
+        circuitBreaker.recordFailure();
+        assertThat(circuitBreaker.isOpen()).isTrue();
+        
+        // When
+        boolean canConnect = circuitBreaker.canConnect();
+        
+        // Then
+        assertThat(canConnect).isTrue();
+        assertThat(circuitBreaker.getState()).isEqualTo(WebSocketCircuitBreaker.State.HALF_OPEN);
+        
+        circuitBreaker.recordFailure();
+        assertThat(circuitBreaker.getState()).isEqualTo(WebSocketCircuitBreaker.State.OPEN);
+    }
+    
+    @Test
+    void shouldKeepCircuitOpenUntilTimeoutElapses() {
+        // Given
+        circuitBreaker = new WebSocketCircuitBreaker(1, Duration.ofMinutes(10));
+        
+        // When
+        circuitBreaker.recordFailure();
+        
+        // Then
+        assertThat(circuitBreaker.canConnect()).isFalse();
+        assertThat(circuitBreaker.getRemainingOpenTime()).isGreaterThan(Duration.ofMinutes(9));
+    }
+}
@@ -4,6 +4,7 @@ import com.marmitt.ctrade.domain.dto.OrderUpdateMessage;
 import com.marmitt.ctrade.domain.dto.PriceUpdateMessage;
 import com.marmitt.ctrade.domain.entity.Order;
 import com.marmitt.ctrade.domain.event.OrderUpdateEvent;
+import com.marmitt.ctrade.domain.event.PriceFeedRecoveredEvent;
 import com.marmitt.ctrade.domain.event.PriceUpdateEvent;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,7 +15,9 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
@@ -423,4 +426,22 @@ class WebSocketEventPublisherTest {
         PriceUpdateEvent capturedEvent = eventCaptor.getValue();
         assertThat(capturedEvent.getSource()).isEqualTo(complexSource);
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldPublishFeedRecoveredEventCorrectly() {
+        // Given
+        Instant disconnectedAt = Instant.now().minusSeconds(30);
+
+        // When
+        webSocketEventPublisher.publishFeedRecovered("TestAdapter", List.of("BTCUSDT", "ETHUSDT"), disconnectedAt, "BINANCE");
+
+        // Then
+        ArgumentCaptor<PriceFeedRecoveredEvent> eventCaptor = ArgumentCaptor.forClass(PriceFeedRecoveredEvent.class);
+        verify(applicationEventPublisher).publishEvent(eventCaptor.capture());
+
+        PriceFeedRecoveredEvent capturedEvent = eventCaptor.getValue();
+        assertThat(capturedEvent.getTradingPairs()).containsExactly("BTCUSDT", "ETHUSDT");
+        assertThat(capturedEvent.getDisconnectedAt()).isEqualTo(disconnectedAt);
+        assertThat(capturedEvent.getExchangeSource()).isEqualTo("BINANCE");
+    }
+}